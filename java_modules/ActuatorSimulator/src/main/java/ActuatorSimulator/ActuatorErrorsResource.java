@@ -0,0 +1,82 @@
+/*
+ * A simulated actuator's errors resource, notifying its observers of the
+ * errors occurred in serving the actuator's PUT requests as the Contiki-NG
+ * actuators do (see contikiNG_devices/src/actuator/resources/actuatorErrors.c)
+ */
+
+package ActuatorSimulator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.ScheduledExecutorService;
+
+/* ----------------------- Maven Dependencies Resources ----------------------- */
+
+// Californium CoAP Server
+import org.eclipse.californium.core.server.resources.CoapExchange;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.CONTENT;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.VALID;
+import static org.eclipse.californium.core.coap.MediaTypeRegistry.APPLICATION_JSON;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import static devices.actuator.BaseActuator.actuatorErrorsResRelPath;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class ActuatorErrorsResource extends SimulatedActuatorResource
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The last error reported on the resource in JSON format, which
+  // is kept (and not reset after being notified as in the Contiki-NG
+  // actuators) as its observers are notified asynchronously
+  private volatile String lastErrorJSON = null;
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * ActuatorErrorsResource constructor
+   * @param actuator           The simulated actuator the resource belongs to
+   * @param responsesScheduler The executor the delayed responses are sent on
+   * @param simStats           The simulator's statistics
+   */
+  ActuatorErrorsResource(SimulatedActuator actuator, ScheduledExecutorService responsesScheduler,
+                         ActuatorSimStats simStats)
+   { super(actuatorErrorsResRelPath,actuator,responsesScheduler,simStats); }
+
+
+  /**
+   * Notifies the resource's observers of an error
+   * @param errCode  The error's code (BaseActuatorErrCode ordinal)
+   * @param errDscr  The error's additional description (optional)
+   * @param clientIP The IP of the client whose request raised the error
+   */
+  void notifyError(int errCode, String errDscr, String clientIP)
+   {
+    if(errDscr != null)
+     lastErrorJSON = "{\"errCode\": " + errCode + ", \"errDscr\": \""
+                     + errDscr.replace("\"","\\\"") + "\", \"clientIP\": \"" + clientIP + "\" }";
+    else
+     lastErrorJSON = "{\"errCode\": " + errCode + ", \"clientIP\": \"" + clientIP + "\" }";
+    changed();
+   }
+
+
+  /**
+   * Returns the last reported error to the resource's observers, or
+   * an empty confirmation response if no error was reported yet or
+   * to the clients (supposedly) requesting to observe the resource
+   * @param exchange The CoAP exchange
+   */
+  @Override
+  void serveGET(CoapExchange exchange)
+   {
+    String errorJSON = lastErrorJSON;
+    if(errorJSON != null && isNotification(exchange))
+     exchange.respond(CONTENT,errorJSON,APPLICATION_JSON);
+    else
+     exchange.respond(VALID);
+   }
+ }
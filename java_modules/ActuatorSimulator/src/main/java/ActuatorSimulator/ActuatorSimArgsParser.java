@@ -0,0 +1,189 @@
+/* SafeTunnels CoAP Actuators Simulator Command-Line Input Arguments Parser */
+
+package ActuatorSimulator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import static modules.InputArgsParser.InputArgsParser.parseIntArg;
+import static modules.InputArgsParser.InputArgsParser.parseLogLevelArg;
+import static modules.InputArgsParser.InputArgsParser.setTargetDB;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+abstract class ActuatorSimArgsParser
+ {
+  /* ============================ PACKAGE ATTRIBUTES ============================ */
+
+  // The UDP port the simulated actuators' CoAP server listens
+  // on the loopback interface ("-port" option, CoAP default port)
+  static int PORT = 5683;
+
+  // The number of simulated actuators ("-actuators" option, bounded by
+  // the database's SMALLINT actuator IDs, see DBs/SafeTunnelsPhyDB.sql)
+  static int ACTUATORS_NUM = 100;
+  static final int ACTUATORS_NUM_MAX = 30000;
+
+  // The delay in milliseconds the simulated actuators respond
+  // to the CoAP requests with ("-delay" option, 0 = no delay)
+  static int RESPONSE_DELAY = 0;
+
+  // The share of received CoAP messages dropped, simulating a lossy
+  // network ("-loss" option, in percent, including CoAP pings)
+  static int LOSS_PERCENT = 0;
+
+  // The maximum number of observers per simulated actuator, beyond which observe
+  // registrations are rejected with a 5.03 "TooManyObservers" response as with the
+  // Contiki-NG actuators ("-maxObservers" option, COAP_MAX_OPEN_TRANSACTIONS - 1,
+  // see contikiNG_devices/src/actuator/project-conf.h)
+  static int MAX_OBSERVERS = 5;
+
+  // The mean period in milliseconds each simulated actuator's fan relative speed
+  // or light state is changed externally, notifying their observers ("-changePeriod"
+  // option, simulating manual actuations, 0 = no external changes)
+  static int CHANGE_PERIOD = 0;
+
+  // Whether the simulated actuators should be registered
+  // into the database ("-noRegister" option to disable it)
+  static boolean REGISTER_ACTUATORS = true;
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * Parses the actuators' simulator command-line input arguments
+   * @param args The command line input arguments with
+   *             which the simulator was started
+   */
+  static void parseActuatorSimInputArgs(String[] args)
+   {
+    // A boolean used to check whether the
+    // provided input arguments are valid
+    boolean validArgs = true;
+
+    // Cycle all provided arguments
+    for(int i = 0; i < args.length; i++)
+     {
+      /* ---------- "-noRegister" option (do not register the actuators) ---------- */
+      if(args[i].equalsIgnoreCase("-noRegister"))
+       {
+        REGISTER_ACTUATORS = false;
+        Log.info("The simulated actuators will NOT be registered into the database");
+        continue;
+       }
+
+      // All other options require a value
+      if(args.length <= i + 1)
+       {
+        Log.err("Missing \"" + args[i] + "\" value");
+        validArgs = false;
+        break;
+       }
+
+      /* ------------ "-db" option (override target database) ------------ */
+      if(args[i].equalsIgnoreCase("-db"))
+       setTargetDB(args[i + 1]);
+      else
+
+      /* -------------- "-log" option (override log level) -------------- */
+      if(args[i].equalsIgnoreCase("-log"))
+       {
+        if(!parseLogLevelArg(args[i + 1]))
+         {
+          validArgs = false;
+          break;
+         }
+       }
+
+      /* ---------------------- Integer-valued options ---------------------- */
+      else
+       {
+        int optionValue;
+
+        /* ------------- "-port" option (CoAP server UDP port) ------------- */
+        if(args[i].equalsIgnoreCase("-port"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],1,65535)) != -1)
+           PORT = optionValue;
+         }
+        else
+
+        /* ---------- "-actuators" option (number of simulated actuators) ---------- */
+        if(args[i].equalsIgnoreCase("-actuators"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],1,ACTUATORS_NUM_MAX)) != -1)
+           ACTUATORS_NUM = optionValue;
+         }
+        else
+
+        /* ------------- "-delay" option (CoAP responses delay) ------------- */
+        if(args[i].equalsIgnoreCase("-delay"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],0,Integer.MAX_VALUE)) != -1)
+           RESPONSE_DELAY = optionValue;
+         }
+        else
+
+        /* ------------- "-loss" option (CoAP messages loss percent) ------------- */
+        if(args[i].equalsIgnoreCase("-loss"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],0,100)) != -1)
+           LOSS_PERCENT = optionValue;
+         }
+        else
+
+        /* ------- "-maxObservers" option (observers limit per actuator) ------- */
+        if(args[i].equalsIgnoreCase("-maxObservers"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],0,Integer.MAX_VALUE)) != -1)
+           MAX_OBSERVERS = optionValue;
+         }
+        else
+
+        /* ------- "-changePeriod" option (actuators' external changes period) ------- */
+        if(args[i].equalsIgnoreCase("-changePeriod"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],0,Integer.MAX_VALUE)) != -1)
+           CHANGE_PERIOD = optionValue;
+         }
+
+        // Unsupported command line option
+        else
+         {
+          Log.err("Unsupported command line option \"" + args[i] +  "\"");
+          optionValue = -1;
+         }
+
+        // If the option's value is not valid
+        if(optionValue == -1)
+         {
+          validArgs = false;
+          break;
+         }
+       }
+
+      // Move one (and so two) values ahead the input argument index
+      i++;
+     }
+
+    /*/ ----------- Outside the input arguments parsing cycle ----------- /*/
+
+    // If invalid command-line inputs arguments were provided
+    if(!validArgs)
+     {
+      // Ensure the errors logged so far to be written before the helper message
+      Log.flush();
+
+      // Display a helper message outlining the
+      // program's allowed options and values
+      System.out.println("Usage: java ActuatorSimulator [-port port] [-actuators num] "
+                         + "[-delay ms] [-loss percent] [-maxObservers num] [-changePeriod ms] "
+                         + "[-db \"targetDatabase\"] [-noRegister] [-log \"logLevelOverride\"]  "
+                         + "logLevelOverride: {DEBUG, WARNING, INFO, ERROR, FATAL}");
+
+      // Terminate the program
+      System.exit(1);
+     }
+   }
+ }
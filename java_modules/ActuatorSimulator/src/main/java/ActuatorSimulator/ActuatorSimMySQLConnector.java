@@ -0,0 +1,41 @@
+/* SafeTunnels CoAP Actuators Simulator MySQL Database Connector */
+
+package ActuatorSimulator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import modules.MySQLConnector.DevMACIDPair;
+import modules.MySQLConnector.MySQLConnector;
+import static devices.BaseDevice.DevType.actuator;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class ActuatorSimMySQLConnector extends MySQLConnector
+ {
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * ActuatorSimMySQLConnector constructor, attempting to
+   * establish a connection with the SafeTunnels MySQL database
+   */
+  ActuatorSimMySQLConnector()
+   { super(); }
+
+
+  /**
+   * Attempts to register the simulated actuators into the database, where the
+   * actuators already registered by previous simulator runs are kept as-is
+   * @param MACs The MACs of the simulated actuators
+   * @return The DevMACIDPair (<MAC,actuatorID> pairs) list of
+   *         the simulated actuators, in the order of their MACs
+   * @throws SQLException Failed to register the actuators into the database
+   */
+  ArrayList<DevMACIDPair> registerActuators(List<String> MACs) throws SQLException
+   { return registerDevices(actuator,MACs); }
+ }
@@ -0,0 +1,37 @@
+/*
+ * The statistics of an actuators' simulator run, i.e. the number of CoAP
+ * requests served per method, of the observe notifications sent, of the
+ * observe registrations rejected because of the actuators' observers limit,
+ * of the errors reported on the actuators' "actuatorErrors" resources and
+ * of the CoAP messages dropped to simulate a lossy network
+ */
+
+package ActuatorSimulator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.atomic.LongAdder;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class ActuatorSimStats
+ {
+  /* ============================ PACKAGE ATTRIBUTES ============================ */
+
+  // The number of CoAP requests served per method
+  final LongAdder GETs = new LongAdder();
+  final LongAdder PUTs = new LongAdder();
+
+  // The number of observe notifications sent
+  final LongAdder notifications = new LongAdder();
+
+  // The number of observe registrations rejected (5.03, too many observers)
+  final LongAdder rejectedObservers = new LongAdder();
+
+  // The number of errors reported on the actuators' "actuatorErrors" resources
+  final LongAdder reportedErrors = new LongAdder();
+
+  // The number of received CoAP messages dropped (simulated loss)
+  final LongAdder droppedMsgs = new LongAdder();
+ }
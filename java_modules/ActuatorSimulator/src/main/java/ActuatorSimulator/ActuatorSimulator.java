@@ -0,0 +1,268 @@
+/*
+ * SafeTunnels CoAP Actuators Simulator Main Class, simulating a fleet of
+ * SafeTunnels actuators for testing the Control Module at scale, where:
+ *   - The simulated actuators are registered into the SafeTunnels database (so
+ *     that they are managed by a Control Module (re)started afterwards)
+ *   - The simulated actuators are served by a single CoAP server on the loopback
+ *     interface as its "/{MAC}/fan", "/{MAC}/light" and "/{MAC}/actuatorErrors"
+ *     resources, to be targeted by the Control Module via its "-actuatorEndpoint
+ *     coap://127.0.0.1:<port>/{MAC}/" option
+ *   - The simulated actuators mirror the Contiki-NG actuators' requests, responses,
+ *     observe notifications and observers limit, under a configurable response
+ *     delay and messages loss, possibly changing their state externally
+ *   - The simulator statistics are periodically reported
+ */
+
+package ActuatorSimulator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/* ----------------------- Maven Dependencies Resources ----------------------- */
+
+// Californium CoAP Server
+import org.eclipse.californium.core.CoapServer;
+import org.eclipse.californium.core.coap.EmptyMessage;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.network.CoapEndpoint;
+import org.eclipse.californium.core.network.interceptors.MessageInterceptorAdapter;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import modules.MySQLConnector.DevMACIDPair;
+import static ActuatorSimulator.ActuatorSimArgsParser.*;
+import static ActuatorSimulator.ActuatorSimulatorErrCode.ERR_ACTSIM_REGISTER_ACTUATORS_FAILED;
+import static ActuatorSimulator.ActuatorSimulatorErrCode.ERR_ACTSIM_SERVER_START_FAILED;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class ActuatorSimulator
+ {
+  /* ======================== ACTUATORS SIMULATOR PARAMETERS ======================== */
+
+  // The period in milliseconds the simulator statistics are reported with
+  private static final int REPORT_PERIOD = 10 * 1000;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The simulator's statistics
+  private final ActuatorSimStats simStats = new ActuatorSimStats();
+
+  // The simulated actuators
+  private final ArrayList<SimulatedActuator> actuators = new ArrayList<>();
+
+  // The simulated actuators' CoAP server
+  private final CoapServer coapServer;
+
+  // The executor sending the delayed responses and running
+  // the simulated actuators' external changes and the reports
+  private final ScheduledThreadPoolExecutor simScheduler;
+
+  // Whether the simulator has been stopped
+  private final AtomicBoolean stopped = new AtomicBoolean(false);
+
+  // The simulator's start time and the statistics at the last report
+  private final long startNanos;
+  private long lastReportNanos;
+  private long lastGETs, lastPUTs, lastNotifications;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Registers the simulated actuators into the SafeTunnels database
+   */
+  private void registerActuators()
+   {
+    // Attempt to connect with the SafeTunnels MySQL database
+    ActuatorSimMySQLConnector actuatorSimMySQLConnector = new ActuatorSimMySQLConnector();
+
+    ArrayList<String> actuatorsMACs = new ArrayList<>();
+    actuators.forEach(actuator -> actuatorsMACs.add(actuator.MAC));
+
+    ArrayList<DevMACIDPair> actuatorsList = null;
+    try
+     { actuatorsList = actuatorSimMySQLConnector.registerActuators(actuatorsMACs); }
+    catch(SQLException sqlExcp)
+     { Log.code(ERR_ACTSIM_REGISTER_ACTUATORS_FAILED,"(reason = " + sqlExcp.getMessage() + ")"); }
+    Log.info(actuatorsList.size() + " simulated actuators registered into the database");
+
+    // The Control Module retrieves the actuators from the database at startup only
+    Log.warn("The Control Module must have been (re)started after the simulated actuators' "
+             + "first registration with the \"-actuatorEndpoint coap://127.0.0.1:"
+             + PORT + "/{MAC}/\" option for targeting them");
+   }
+
+
+  /**
+   * Builds the interceptor dropping the received CoAP messages (requests,
+   * ACKs, RSTs and pings) with LOSS_PERCENT probability, simulating a lossy
+   * network where the CoAP retransmissions of confirmable messages apply
+   * @return The messages loss interceptor
+   */
+  private MessageInterceptorAdapter lossInterceptor()
+   {
+    return new MessageInterceptorAdapter()
+     {
+      @Override
+      public void receiveRequest(Request request)
+       {
+        if(ThreadLocalRandom.current().nextInt(100) < LOSS_PERCENT)
+         {
+          simStats.droppedMsgs.increment();
+          request.setCanceled(true);
+         }
+       }
+
+      @Override
+      public void receiveEmptyMessage(EmptyMessage message)
+       {
+        if(ThreadLocalRandom.current().nextInt(100) < LOSS_PERCENT)
+         {
+          simStats.droppedMsgs.increment();
+          message.setCanceled(true);
+         }
+       }
+     };
+   }
+
+
+  /**
+   * Schedules the next external change of a simulated actuator after an
+   * exponentially distributed delay of CHANGE_PERIOD mean (and so on
+   * until the simulator is stopped)
+   * @param actuator The simulated actuator to be changed
+   */
+  private void scheduleChange(SimulatedActuator actuator)
+   {
+    long changeDelay = (long)(-CHANGE_PERIOD * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+
+    simScheduler.schedule(() ->
+     {
+      actuator.randomChange();
+      scheduleChange(actuator);
+     },changeDelay,TimeUnit.MILLISECONDS);
+   }
+
+
+  /**
+   * Reports the simulator statistics since the last report
+   */
+  private synchronized void report()
+   {
+    long nowNanos = System.nanoTime();
+    double elapsedSecs = (nowNanos - lastReportNanos) / 1e9;
+    long GETs = simStats.GETs.sum();
+    long PUTs = simStats.PUTs.sum();
+    long notifications = simStats.notifications.sum();
+    int observers = actuators.stream().mapToInt(SimulatedActuator::getObserversNum).sum();
+
+    Log.info(String.format("[+%ds] Served %.1f GET/s, %.1f PUT/s, %.1f notifications/s, "
+                           + "%d observers (%d rejected), %d errors reported, %d messages dropped",
+                           (nowNanos - startNanos) / 1000000000,
+                           (GETs - lastGETs) / elapsedSecs,(PUTs - lastPUTs) / elapsedSecs,
+                           (notifications - lastNotifications) / elapsedSecs,observers,
+                           simStats.rejectedObservers.sum(),simStats.reportedErrors.sum(),
+                           simStats.droppedMsgs.sum()));
+
+    lastReportNanos = nowNanos;
+    lastGETs = GETs;
+    lastPUTs = PUTs;
+    lastNotifications = notifications;
+   }
+
+
+  /**
+   * ActuatorSimulator constructor, possibly registering the simulated
+   * actuators into the database, starting their CoAP server and
+   * scheduling their external changes and the reports
+   */
+  private ActuatorSimulator()
+   {
+    // Initialize the executor, as it is used by the simulated actuators' resources
+    simScheduler = new ScheduledThreadPoolExecutor(Runtime.getRuntime().availableProcessors());
+    simScheduler.setRemoveOnCancelPolicy(true);
+
+    // Initialize the simulated actuators
+    for(int i = 0; i < ACTUATORS_NUM; i++)
+     actuators.add(new SimulatedActuator(SimulatedActuator.simulatedMAC(i),simScheduler,simStats));
+
+    // Register the simulated actuators into the database, if not disabled
+    if(REGISTER_ACTUATORS)
+     registerActuators();
+
+    // Initialize the CoAP server on the loopback interface
+    // with the messages loss interceptor, if any
+    CoapEndpoint.Builder endpointBuilder = new CoapEndpoint.Builder();
+    endpointBuilder.setInetSocketAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(),PORT));
+    CoapEndpoint coapEndpoint = endpointBuilder.build();
+    if(LOSS_PERCENT > 0)
+     coapEndpoint.addInterceptor(lossInterceptor());
+
+    coapServer = new CoapServer();
+    coapServer.addEndpoint(coapEndpoint);
+    actuators.forEach(actuator -> coapServer.add(actuator));
+
+    // Attempt to start the CoAP server
+    try
+     { coapServer.start(); }
+    catch(IllegalStateException startExcp)
+     { Log.code(ERR_ACTSIM_SERVER_START_FAILED,"(port = " + PORT + ", reason = " + startExcp.getMessage() + ")"); }
+
+    // Schedule the simulated actuators' external changes
+    if(CHANGE_PERIOD > 0)
+     actuators.forEach(this::scheduleChange);
+
+    // Schedule the reports
+    startNanos = lastReportNanos = System.nanoTime();
+    simScheduler.scheduleAtFixedRate(this::report,REPORT_PERIOD,REPORT_PERIOD,TimeUnit.MILLISECONDS);
+
+    Log.info("Actuators simulator started (" + ACTUATORS_NUM + " actuators on coap://"
+             + coapEndpoint.getAddress().getHostString() + ":" + PORT + "/{MAC}/, "
+             + RESPONSE_DELAY + "ms response delay, " + LOSS_PERCENT + "% loss, "
+             + MAX_OBSERVERS + " max observers per actuator)");
+   }
+
+
+  /**
+   * Stops the simulator, reporting its final
+   * statistics and stopping its CoAP server
+   */
+  private void stop()
+   {
+    if(!stopped.compareAndSet(false,true))
+     return;
+
+    simScheduler.shutdownNow();
+    coapServer.destroy();
+
+    Log.info("Actuators simulator stopped, final statistics:");
+    report();
+    Log.flush();
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * Actuators simulator application entry point
+   */
+  public static void main(String[] args)
+   {
+    // Parse the possible command-line input arguments
+    ActuatorSimArgsParser.parseActuatorSimInputArgs(args);
+
+    // Start the simulator, stopping it when the program is terminated
+    ActuatorSimulator actuatorSimulator = new ActuatorSimulator();
+    Runtime.getRuntime().addShutdownHook(new Thread(actuatorSimulator::stop));
+   }
+ }
@@ -0,0 +1,51 @@
+/* SafeTunnels CoAP Actuators Simulator Errors Definitions */
+
+package ActuatorSimulator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.EnumMap;
+import java.util.Map;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import errors.ErrCodeInfo;
+import errors.ModuleErrCode;
+import static errors.ErrCodeSeverity.FATAL;
+
+
+/* ============================== ENUM DEFINITION ============================== */
+public enum ActuatorSimulatorErrCode implements ModuleErrCode
+ {
+  /* ====================== Enumeration Values Definition ====================== */
+
+  // Failed to register the simulated actuators into the database
+  ERR_ACTSIM_REGISTER_ACTUATORS_FAILED,
+
+  // Failed to start the simulated actuators' CoAP server
+  ERR_ACTSIM_SERVER_START_FAILED;
+
+
+  /* ================= ActuatorSimulator ErrCodeInfo Map ================= */
+
+  private static final EnumMap<ActuatorSimulatorErrCode,ErrCodeInfo> ActuatorSimulatorErrCodeInfoMap = new EnumMap<>(Map.ofEntries
+   (
+    Map.entry(ERR_ACTSIM_REGISTER_ACTUATORS_FAILED,new ErrCodeInfo(FATAL,"Failed to register the simulated actuators into the database")),
+    Map.entry(ERR_ACTSIM_SERVER_START_FAILED,new ErrCodeInfo(FATAL,"Failed to start the simulated actuators' CoAP server"))
+   ));
+
+
+  /* ========================== Enumeration Methods  ========================== */
+
+  /**
+   * @return The errCodeInfo object associated with an enum
+   */
+  public ErrCodeInfo getErrCodeInfo()
+   { return ActuatorSimulatorErrCodeInfoMap.get(this); }
+
+  /**
+   * @return The ModuleErrCode's name
+   */
+  public String getModuleName()
+   { return "ActuatorSimulator"; }
+ }
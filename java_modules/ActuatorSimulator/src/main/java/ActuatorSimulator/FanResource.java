@@ -0,0 +1,99 @@
+/*
+ * A simulated actuator's fan resource, whose GET and PUT requests
+ * and observe notifications mirror the Contiki-NG actuators' ones
+ * (see contikiNG_devices/src/actuator/resources/fan.c)
+ */
+
+package ActuatorSimulator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.ScheduledExecutorService;
+
+/* ----------------------- Maven Dependencies Resources ----------------------- */
+
+// Californium CoAP Server
+import org.eclipse.californium.core.server.resources.CoapExchange;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.CHANGED;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.CONTENT;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.VALID;
+import static org.eclipse.californium.core.coap.MediaTypeRegistry.APPLICATION_JSON;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import static devices.actuator.BaseActuator.actuatorFanRelSpeedResRelPath;
+import static devices.actuator.BaseActuatorErrCode.ERR_FAN_PUT_FANRELSPEED_INVALID;
+import static devices.actuator.BaseActuatorErrCode.ERR_FAN_PUT_NO_FANRELSPEED;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class FanResource extends SimulatedActuatorResource
+ {
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * FanResource constructor
+   * @param actuator           The simulated actuator the resource belongs to
+   * @param responsesScheduler The executor the delayed responses are sent on
+   * @param simStats           The simulator's statistics
+   */
+  FanResource(SimulatedActuator actuator, ScheduledExecutorService responsesScheduler,
+              ActuatorSimStats simStats)
+   { super(actuatorFanRelSpeedResRelPath,actuator,responsesScheduler,simStats); }
+
+
+  /**
+   * Returns the actuator's current fan relative speed in JSON format
+   * @param exchange The CoAP exchange
+   */
+  @Override
+  void serveGET(CoapExchange exchange)
+   {
+    exchange.respond(CONTENT,"{ \"fanRelSpeed\": " + actuator.fanRelSpeed + " }",
+                     APPLICATION_JSON);
+   }
+
+
+  /**
+   * Sets the actuator's fan relative speed to the "fanRelSpeed"
+   * variable value, reporting the request's errors as the
+   * Contiki-NG actuators do (4.02 + "actuatorErrors" notification)
+   * @param exchange The CoAP exchange
+   */
+  @Override
+  void servePUT(CoapExchange exchange)
+   {
+    // Ensure the "fanRelSpeed" variable to be present in the PUT request body
+    String newFanRelSpeedStr = getPostVariable(exchange,"fanRelSpeed");
+    if(newFanRelSpeedStr == null)
+     {
+      actuator.reportError(ERR_FAN_PUT_NO_FANRELSPEED,null,exchange);
+      return;
+     }
+
+    // Ensure the received fan relative speed to be valid ([0,100])
+    int newFanRelSpeed;
+    try
+     { newFanRelSpeed = Integer.parseInt(newFanRelSpeedStr); }
+    catch(NumberFormatException nfExcp)
+     { newFanRelSpeed = -1; }
+    if(newFanRelSpeed < 0 || newFanRelSpeed > 100)
+     {
+      actuator.reportError(ERR_FAN_PUT_FANRELSPEED_INVALID,"(" + newFanRelSpeedStr + ")",exchange);
+      return;
+     }
+
+    // If the received fan relative speed differs from its current
+    // value, update it and notify the resource's observers
+    if(actuator.fanRelSpeed != newFanRelSpeed)
+     {
+      actuator.fanRelSpeed = newFanRelSpeed;
+      exchange.respond(CHANGED);
+      changed();
+     }
+
+    // Otherwise report that the resource's state has NOT changed
+    else
+     exchange.respond(VALID);
+   }
+ }
@@ -0,0 +1,101 @@
+/*
+ * A simulated actuator's light resource, whose GET and PUT requests
+ * and observe notifications mirror the Contiki-NG actuators' ones
+ * (see contikiNG_devices/src/actuator/resources/light.c)
+ */
+
+package ActuatorSimulator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.ScheduledExecutorService;
+
+/* ----------------------- Maven Dependencies Resources ----------------------- */
+
+// Californium CoAP Server
+import org.eclipse.californium.core.server.resources.CoapExchange;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.CHANGED;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.CONTENT;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.VALID;
+import static org.eclipse.californium.core.coap.MediaTypeRegistry.APPLICATION_JSON;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import devices.actuator.BaseActuator.LightState;
+import static devices.actuator.BaseActuator.LightState.LIGHT_STATE_INVALID;
+import static devices.actuator.BaseActuator.actuatorLightStateResRelPath;
+import static devices.actuator.BaseActuatorErrCode.ERR_LIGHT_PUT_LIGHTSTATE_INVALID;
+import static devices.actuator.BaseActuatorErrCode.ERR_LIGHT_PUT_NO_LIGHTSTATE;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class LightResource extends SimulatedActuatorResource
+ {
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * LightResource constructor
+   * @param actuator           The simulated actuator the resource belongs to
+   * @param responsesScheduler The executor the delayed responses are sent on
+   * @param simStats           The simulator's statistics
+   */
+  LightResource(SimulatedActuator actuator, ScheduledExecutorService responsesScheduler,
+                ActuatorSimStats simStats)
+   { super(actuatorLightStateResRelPath,actuator,responsesScheduler,simStats); }
+
+
+  /**
+   * Returns the actuator's current light state (ordinal) in JSON format
+   * @param exchange The CoAP exchange
+   */
+  @Override
+  void serveGET(CoapExchange exchange)
+   {
+    exchange.respond(CONTENT,"{ \"lightState\": " + actuator.lightState.ordinal() + " }",
+                     APPLICATION_JSON);
+   }
+
+
+  /**
+   * Sets the actuator's light state to the "lightState" variable
+   * value, reporting the request's errors as the Contiki-NG
+   * actuators do (4.02 + "actuatorErrors" notification)
+   * @param exchange The CoAP exchange
+   */
+  @Override
+  void servePUT(CoapExchange exchange)
+   {
+    // Ensure the "lightState" variable to be present in the PUT request body
+    String newLightStateStr = getPostVariable(exchange,"lightState");
+    if(newLightStateStr == null)
+     {
+      actuator.reportError(ERR_LIGHT_PUT_NO_LIGHTSTATE,null,exchange);
+      return;
+     }
+
+    // Ensure the received light state to be valid (by name)
+    LightState newLightState;
+    try
+     { newLightState = LightState.valueOf(newLightStateStr); }
+    catch(IllegalArgumentException invalidStateExcp)
+     { newLightState = LIGHT_STATE_INVALID; }
+    if(newLightState == LIGHT_STATE_INVALID)
+     {
+      actuator.reportError(ERR_LIGHT_PUT_LIGHTSTATE_INVALID,"(\"" + newLightStateStr + "\")",exchange);
+      return;
+     }
+
+    // If the received light state differs from its current
+    // value, update it and notify the resource's observers
+    if(actuator.lightState != newLightState)
+     {
+      actuator.lightState = newLightState;
+      exchange.respond(CHANGED);
+      changed();
+     }
+
+    // Otherwise report that the resource's state has NOT changed
+    else
+     exchange.respond(VALID);
+   }
+ }
@@ -0,0 +1,143 @@
+/*
+ * A simulated SafeTunnels actuator, served as the "/{MAC}" CoAP resource
+ * (its MAC without colons) of the simulator's CoAP server and hosting
+ * the "fan", "light" and "actuatorErrors" resources of the Contiki-NG
+ * actuators, sharing their observers limit
+ */
+
+package ActuatorSimulator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+
+/* ----------------------- Maven Dependencies Resources ----------------------- */
+
+// Californium CoAP Server
+import org.eclipse.californium.core.CoapResource;
+import org.eclipse.californium.core.server.resources.CoapExchange;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.BAD_OPTION;
+import static org.eclipse.californium.core.coap.MediaTypeRegistry.TEXT_PLAIN;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import devices.DevicesRegistry;
+import devices.actuator.BaseActuator.LightState;
+import devices.actuator.BaseActuatorErrCode;
+import logging.Log;
+import static devices.actuator.BaseActuator.LightState.LIGHT_OFF;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class SimulatedActuator extends CoapResource
+ {
+  /* ============================ PACKAGE ATTRIBUTES ============================ */
+
+  // The simulated actuator's MAC
+  final String MAC;
+
+  // The simulated actuator's current fan relative speed and light state
+  volatile int fanRelSpeed;
+  volatile LightState lightState;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The simulated actuator's resources
+  private final FanResource fanRes;
+  private final LightResource lightRes;
+  private final ActuatorErrorsResource errorsRes;
+
+  // The simulator's statistics
+  private final ActuatorSimStats simStats;
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * SimulatedActuator constructor, initializing its resources
+   * @param MAC                The simulated actuator's MAC
+   * @param responsesScheduler The executor the delayed responses are sent on
+   * @param simStats           The simulator's statistics
+   */
+  SimulatedActuator(String MAC, ScheduledExecutorService responsesScheduler, ActuatorSimStats simStats)
+   {
+    super(MAC.replace(":",""));
+    this.MAC = MAC;
+    this.simStats = simStats;
+
+    // As the Contiki-NG actuators, start with the fan
+    // stopped and the light OFF (nominal conditions)
+    fanRelSpeed = 0;
+    lightState = LIGHT_OFF;
+
+    fanRes = new FanResource(this,responsesScheduler,simStats);
+    lightRes = new LightResource(this,responsesScheduler,simStats);
+    errorsRes = new ActuatorErrorsResource(this,responsesScheduler,simStats);
+    add(fanRes);
+    add(lightRes);
+    add(errorsRes);
+   }
+
+
+  /**
+   * Builds the MAC of the i-th simulated actuator (EUI-64, as of the Contiki-NG
+   * devices), sharing the "41:53" ("AS") prefix to be told apart from real actuators
+   * @param i The index of the simulated actuator
+   * @return The MAC of the i-th simulated actuator
+   */
+  static String simulatedMAC(int i)
+   { return DevicesRegistry.syntheticMAC("41:53:00:00",i); }
+
+
+  /**
+   * @return The number of observers of all the simulated
+   *         actuator's resources (sharing their limit, as
+   *         with the Contiki-NG COAP_MAX_OBSERVERS)
+   */
+  int getObserversNum()
+   { return fanRes.getObserverCount() + lightRes.getObserverCount() + errorsRes.getObserverCount(); }
+
+
+  /**
+   * Reports an error occurred in serving a PUT request as the Contiki-NG
+   * actuators do, i.e. by responding the client with a 4.02 BAD_OPTION
+   * and its description and notifying the "actuatorErrors" observers
+   * @param errCode  The error's code
+   * @param errDscr  The error's additional description (optional)
+   * @param exchange The CoAP exchange of the request raising the error
+   */
+  void reportError(BaseActuatorErrCode errCode, String errDscr, CoapExchange exchange)
+   {
+    String clientIP = exchange.getSourceAddress().getHostAddress();
+    String errStr = errCode.getErrCodeInfo().humanDscr;
+    if(errDscr != null)
+     errStr += " " + errDscr;
+
+    simStats.reportedErrors.increment();
+    Log.dbg("[" + MAC + "]: " + errStr + " (clientIP = " + clientIP + ")");
+
+    exchange.respond(BAD_OPTION,errStr,TEXT_PLAIN);
+    errorsRes.notifyError(errCode.ordinal(),errDscr,clientIP);
+   }
+
+
+  /**
+   * Randomly changes the simulated actuator's fan relative speed or light
+   * state, simulating a manual actuation and notifying its observers
+   */
+  void randomChange()
+   {
+    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+    if(rnd.nextBoolean())
+     {
+      fanRelSpeed = rnd.nextInt(101);
+      fanRes.changed();
+     }
+    else
+     {
+      lightState = LightState.values[rnd.nextInt(LightState.LIGHT_STATE_INVALID.ordinal())];
+      lightRes.changed();
+     }
+   }
+ }
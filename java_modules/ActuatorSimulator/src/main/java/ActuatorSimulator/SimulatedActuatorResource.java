@@ -0,0 +1,175 @@
+/*
+ * A CoAP resource of a simulated actuator, mimicking the behaviour of the
+ * Contiki-NG actuators' resources (see contikiNG_devices/src/actuator/resources)
+ * under configurable network conditions, where:
+ *   - All resources are observable, where observe registrations exceeding the
+ *     actuator's observers limit (shared by all its resources, as with the
+ *     Contiki-NG COAP_MAX_OBSERVERS) are rejected with a 5.03 "TooManyObservers"
+ *     response, as with the Contiki-NG CoAP engine
+ *   - The responses to the clients' requests (but not the observe notifications)
+ *     are sent after the configured response delay, without blocking the CoAP
+ *     server's threads
+ */
+
+package ActuatorSimulator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/* ----------------------- Maven Dependencies Resources ----------------------- */
+
+// Californium CoAP Server
+import org.eclipse.californium.core.CoapResource;
+import org.eclipse.californium.core.observe.ObserveRelation;
+import org.eclipse.californium.core.server.resources.CoapExchange;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.METHOD_NOT_ALLOWED;
+import static org.eclipse.californium.core.coap.CoAP.ResponseCode.SERVICE_UNAVAILABLE;
+import static org.eclipse.californium.core.coap.MediaTypeRegistry.TEXT_PLAIN;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import static ActuatorSimulator.ActuatorSimArgsParser.MAX_OBSERVERS;
+import static ActuatorSimulator.ActuatorSimArgsParser.RESPONSE_DELAY;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+abstract class SimulatedActuatorResource extends CoapResource
+ {
+  /* ============================ PACKAGE ATTRIBUTES ============================ */
+
+  // The simulated actuator the resource belongs to
+  final SimulatedActuator actuator;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The executor the delayed responses are sent on
+  private final ScheduledExecutorService responsesScheduler;
+
+  // The simulator's statistics
+  private final ActuatorSimStats simStats;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Serves a client's request after the configured response delay
+   * @param serveRequest The task serving the client's request
+   */
+  private void serveDelayed(Runnable serveRequest)
+   {
+    if(RESPONSE_DELAY == 0)
+     serveRequest.run();
+    else
+     responsesScheduler.schedule(serveRequest,RESPONSE_DELAY,TimeUnit.MILLISECONDS);
+   }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * SimulatedActuatorResource constructor
+   * @param name               The resource's name (relative path)
+   * @param actuator           The simulated actuator the resource belongs to
+   * @param responsesScheduler The executor the delayed responses are sent on
+   * @param simStats           The simulator's statistics
+   */
+  SimulatedActuatorResource(String name, SimulatedActuator actuator,
+                            ScheduledExecutorService responsesScheduler, ActuatorSimStats simStats)
+   {
+    super(name);
+    this.actuator = actuator;
+    this.responsesScheduler = responsesScheduler;
+    this.simStats = simStats;
+    setObservable(true);
+   }
+
+
+  /**
+   * Serves a GET request or builds an observe notification
+   * @param exchange The CoAP exchange
+   */
+  abstract void serveGET(CoapExchange exchange);
+
+
+  /**
+   * Serves a PUT request (not allowed by default)
+   * @param exchange The CoAP exchange
+   */
+  void servePUT(CoapExchange exchange)
+   { exchange.respond(METHOD_NOT_ALLOWED); }
+
+
+  /**
+   * @return Whether an exchange is relative to an observe notification
+   *         (and not to a client's request)
+   */
+  static boolean isNotification(CoapExchange exchange)
+   {
+    ObserveRelation observeRelation = exchange.advanced().getRelation();
+    return observeRelation != null && observeRelation.isEstablished();
+   }
+
+
+  /**
+   * Extracts a variable from a CoAP request's form-encoded payload
+   * (as of the Contiki-NG coap_get_post_variable() function)
+   * @param exchange The CoAP exchange
+   * @param name     The variable's name
+   * @return The variable's value, or null if the variable is missing or empty
+   */
+  static String getPostVariable(CoapExchange exchange, String name)
+   {
+    for(String variable : exchange.getRequestText().split("&"))
+     if(variable.startsWith(name + "=") && variable.length() > name.length() + 1)
+      return variable.substring(name.length() + 1);
+    return null;
+   }
+
+
+  /* ============================ CALIFORNIUM HANDLERS ============================ */
+
+  /**
+   * Californium GET handler, rejecting the observe registrations beyond
+   * the actuator's observers limit and serving the other requests after
+   * the response delay (and the observe notifications immediately)
+   * @param exchange The CoAP exchange
+   */
+  @Override
+  public final void handleGET(CoapExchange exchange)
+   {
+    // Observe notification
+    if(isNotification(exchange))
+     {
+      simStats.notifications.increment();
+      serveGET(exchange);
+      return;
+     }
+
+    simStats.GETs.increment();
+
+    // Observe registration exceeding the actuator's observers limit
+    Integer observe = exchange.getRequestOptions().getObserve();
+    if(observe != null && observe == 0 && actuator.getObserversNum() >= MAX_OBSERVERS)
+     {
+      simStats.rejectedObservers.increment();
+      serveDelayed(() -> exchange.respond(SERVICE_UNAVAILABLE,"TooManyObservers",TEXT_PLAIN));
+      return;
+     }
+
+    serveDelayed(() -> serveGET(exchange));
+   }
+
+
+  /**
+   * Californium PUT handler, serving the request after the response delay
+   * @param exchange The CoAP exchange
+   */
+  @Override
+  public final void handlePUT(CoapExchange exchange)
+   {
+    simStats.PUTs.increment();
+    serveDelayed(() -> servePUT(exchange));
+   }
+ }
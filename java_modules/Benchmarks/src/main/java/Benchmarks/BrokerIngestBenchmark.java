@@ -0,0 +1,211 @@
+/*
+ * SafeTunnels Sensors MQTT Broker Ingest Benchmark, publishing sensors' readings
+ * through the embedded MQTT broker to a SensorsMQTTHandler subscribed on behalf
+ * of a registry of stub sensors, so as to measure the end-to-end MQTT ingest
+ * throughput (PAHO publisher -> broker -> PAHO subscriber -> ingest path)
+ * without an external broker or network access, where:
+ *   - The publication QoS (0 or 1, a QoS 1 publication waiting for its PUBACK)
+ *     and the number of ingest pipeline lanes are parametrized
+ *   - The readings are published to the sensors in a round-robin fashion, the
+ *     publisher waiting for the readings published more than INGEST_WINDOW
+ *     publications before to be ingested, so that the measured throughput is
+ *     the one sustained by the whole ingest path (and not the publisher's only)
+ *
+ * Running this class's main() method reports the throughput (ops/s) and the
+ * average time per reading (us/op) of each benchmark configuration
+ */
+
+package Benchmarks;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/* ----------------------------- JMH Resources ----------------------------- */
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/* --------------------------- PAHO MQTT Resources --------------------------- */
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import devices.DevicesRegistry;
+import logging.Log;
+import modules.EmbeddedMQTTBroker.EmbeddedMQTTBroker;
+import modules.SensorsMQTTHandler.SensorsIngestPipeline;
+import modules.SensorsMQTTHandler.SensorsMQTTHandler;
+import static devices.sensor.BaseSensor.TOPIC_SENSORS_C02;
+import static devices.sensor.BaseSensor.TOPIC_SENSORS_TEMP;
+import static errors.ErrCodeSeverity.FATAL;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BrokerIngestBenchmark
+ {
+  /* ========================== BENCHMARK PARAMETERS ========================== */
+
+  // The readings' publication QoS
+  @Param({"0","1"})
+  public int QoS;
+
+  // The number of ingest pipeline lanes (0 -> messages processed inline)
+  @Param({"0","4"})
+  public int ingestLanes;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The number of sensors in the handler's registry
+  private static final int SENSORS_NUM = 100;
+
+  // The maximum number of published readings not yet ingested
+  private static final int INGEST_WINDOW = 1024;
+
+  // The maximum time in milliseconds waited for a reading to be ingested, beyond
+  // which it is deemed lost (e.g. a dropped QoS 0 publication) and the benchmark fails
+  private static final int INGEST_TIMEOUT = 5000;
+
+  // The embedded MQTT broker and the readings' publisher
+  private EmbeddedMQTTBroker broker;
+  private MqttClient publisher;
+
+  // The stub sensors and their pre-built C02 and temperature readings
+  private StubSensor[] sensors;
+  private byte[][] C02Readings;
+  private byte[][] tempReadings;
+
+  // The number of readings published so far
+  private long published;
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * Starts the embedded MQTT broker, subscribes a sensors MQTT handler
+   * on it and connects the readings' publisher
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException, MqttException
+   {
+    // Only log FATAL errors
+    Log.LOG_LEVEL = FATAL;
+
+    // Start the embedded MQTT broker on an ephemeral port
+    broker = new EmbeddedMQTTBroker(0);
+    SensorsMQTTHandler.MQTT_BROKER_ENDPOINT = broker.getEndpoint();
+
+    // Build the stub sensors and their readings
+    ArrayList<StubSensor> sensorsList = new ArrayList<>(SENSORS_NUM);
+    C02Readings = new byte[SENSORS_NUM][];
+    tempReadings = new byte[SENSORS_NUM][];
+    for(int i = 0; i < SENSORS_NUM; i++)
+     {
+      String MAC = StubSensor.benchmarkMAC(i);
+      sensorsList.add(new StubSensor(MAC,(short)(i + 1)));
+      C02Readings[i] = ("{ \"MAC\": \"" + MAC + "\", \"C02\": " + (400 + i) + " }").getBytes(StandardCharsets.US_ASCII);
+      tempReadings[i] = ("{ \"MAC\": \"" + MAC + "\", \"temp\": " + (10 + i % 30) + " }").getBytes(StandardCharsets.US_ASCII);
+     }
+    sensors = sensorsList.toArray(new StubSensor[0]);
+
+    // Subscribe the sensors MQTT handler on the embedded broker
+    SensorsIngestPipeline.INGEST_LANES = ingestLanes;
+    new SensorsMQTTHandler("BrokerIngestBenchmark",new DevicesRegistry<>(sensorsList));
+
+    // Connect the readings' publisher
+    publisher = new MqttClient(broker.getEndpoint(),"BrokerIngestBenchmark-publisher",new MemoryPersistence());
+    MqttConnectOptions connOpts = new MqttConnectOptions();
+    connOpts.setMaxInflight(INGEST_WINDOW * 2);
+    publisher.connect(connOpts);
+    published = 0;
+   }
+
+
+  /**
+   * Disconnects the readings' publisher (where the broker and the handler are
+   * left running, as closing the broker would make the handler reconnect)
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws MqttException
+   {
+    publisher.disconnect();
+    publisher.close();
+   }
+
+
+  /**
+   * Publishes the next reading, waiting for the reading published
+   * INGEST_WINDOW publications before to have been ingested
+   * @throws IllegalStateException The reading was not ingested within INGEST_TIMEOUT
+   */
+  @Benchmark
+  public void publishReading() throws MqttException
+   {
+    long reading = published++;
+    int sensor = (int)(reading % SENSORS_NUM);
+
+    // Alternate C02 and temperature readings on each sensor
+    if((reading / SENSORS_NUM) % 2 == 0)
+     publisher.publish(TOPIC_SENSORS_C02,C02Readings[sensor],QoS,false);
+    else
+     publisher.publish(TOPIC_SENSORS_TEMP,tempReadings[sensor],QoS,false);
+
+    // The readings of a sensor are ingested in order, so that the reading published
+    // INGEST_WINDOW publications before is ingested once its sensor has received
+    // at least as many readings as the ones published to it up to that reading
+    if(reading >= INGEST_WINDOW)
+     {
+      long windowReading = reading - INGEST_WINDOW;
+      StubSensor windowSensor = sensors[(int)(windowReading % SENSORS_NUM)];
+      long windowSensorReadings = windowReading / SENSORS_NUM + 1;
+      long ingestDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(INGEST_TIMEOUT);
+      while(windowSensor.readingsNum < windowSensorReadings)
+       {
+        if(System.nanoTime() - ingestDeadline > 0)
+         throw new IllegalStateException("Reading " + windowReading + " was not ingested within "
+                                         + INGEST_TIMEOUT + "ms (QoS = " + QoS + ")");
+        Thread.onSpinWait();
+       }
+     }
+   }
+
+
+  /**
+   * Runs the broker ingest benchmarks, reporting their
+   * throughput (ops/s) and average time per reading (us/op)
+   * @param args Optional regular expression the benchmarks names must match
+   */
+  public static void main(String[] args) throws RunnerException
+   {
+    String benchmarksRegex = (args.length > 0) ? args[0] : BrokerIngestBenchmark.class.getSimpleName();
+
+    // Throughput (ops/s)
+    Options thrptOpts = new OptionsBuilder()
+      .include(benchmarksRegex)
+      .mode(Mode.Throughput)
+      .timeUnit(TimeUnit.SECONDS)
+      .build();
+
+    // Average time per reading (us/op)
+    Options avgTimeOpts = new OptionsBuilder()
+      .include(benchmarksRegex)
+      .mode(Mode.AverageTime)
+      .timeUnit(TimeUnit.MICROSECONDS)
+      .build();
+
+    new Runner(thrptOpts).run();
+    new Runner(avgTimeOpts).run();
+   }
+ }
@@ -0,0 +1,205 @@
+/*
+ * SafeTunnels Database Write Benchmark, comparing the strategies for writing sensors'
+ * C02 samples into the database (see DBWriteStrategy) against an embedded, in-memory
+ * H2 database in MySQL compatibility mode loaded from a SafeTunnels database dump
+ * (see EmbeddedSafeTunnelsDB), where:
+ *   - Each benchmark operation writes a batch of samples, whose size is parametrized
+ *     (the single-row strategies writing the batch's samples one at a time)
+ *   - The samples are addressed round-robin to the sensors stored in the database
+ *     dump, and the time series table is emptied before each benchmark iteration
+ *
+ * Running this class's main() method reports, for each strategy and batch size, the
+ * written rows per second (the "rows" secondary result of the throughput benchmarks)
+ * and the batches' write latency percentiles, including their p99 (the "p0.99"
+ * secondary result of the sample time benchmarks)
+ *
+ * NOTE: The embedded database is accessed in-process, and so the benchmarks do
+ *       not account for the network round trips to the MySQL server, which
+ *       favour the batched and multi-row strategies even further
+ */
+
+package Benchmarks;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/* ----------------------------- JMH Resources ----------------------------- */
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import modules.MySQLConnector.SeriesTable;
+import static errors.ErrCodeSeverity.FATAL;
+import static modules.MySQLConnector.MySQLConnector.*;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DBWriteBenchmark
+ {
+  /* ========================== BENCHMARK PARAMETERS ========================== */
+
+  // The database write strategy
+  @Param({"STATEMENT","PREPARED","BATCHED","MULTI_ROW"})
+  public DBWriteStrategy strategy;
+
+  // The number of samples written per benchmark operation
+  @Param({"1","16","256"})
+  public int batchSize;
+
+  // The path of the SafeTunnels database dump the embedded database is loaded from
+  @Param({"DBs/SafeTunnelsPhyDB_clean.sql"})
+  public String DBDump;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The time series table the samples are written into
+  private static final SeriesTable C02_SERIES = new SeriesTable(ST_DB_SENSORS_TABLE_C02,
+                                                                ST_DB_SENSORS_COLUMN_ID,
+                                                                ST_DB_SENSORS_COLUMN_C02);
+
+  // The timestamp of the first written sample (2023-06-01 00:00:00 UTC)
+  private static final long FIRST_TIMESTAMP = 1685577600000L;
+
+  // The connection with the embedded database
+  private Connection conn;
+
+  // The writer of samples adopting the benchmarked strategy
+  private DBWriteStrategy.SeriesWriter seriesWriter;
+
+  // The batch's samples devices' IDs and values
+  private int[] devIDs;
+  private int[] values;
+
+  // The timestamp of the next sample to be written (each sample has a distinct
+  // timestamp, as to never collide on the table's primary key in the embedded
+  // database, see the DBWriteStrategy's note on the timestamps' precision)
+  private long nextTimestamp;
+
+
+  /* ============================= AUXILIARY COUNTERS ============================= */
+
+  /**
+   * The number of rows written by the benchmark, reported as rows/s
+   * in the throughput benchmarks (reset for each benchmark iteration)
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class WrittenRows
+   {
+    public long rows;
+
+    @Setup(Level.Iteration)
+    public void reset()
+     { rows = 0; }
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * Loads the embedded database and opens the writer
+   * of samples adopting the benchmarked strategy
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException, SQLException
+   {
+    Log.LOG_LEVEL = FATAL;
+
+    String DBURL = EmbeddedSafeTunnelsDB.load(DBDump);
+    conn = EmbeddedSafeTunnelsDB.connect(DBURL);
+    seriesWriter = strategy.open(conn,C02_SERIES,batchSize);
+
+    // Build the batch's samples, addressed round-robin to the sensors in the database
+    int[] sensorsIDs = EmbeddedSafeTunnelsDB.getDevIDs(conn,ST_DB_SENSORS_TABLE,ST_DB_SENSORS_COLUMN_ID);
+    if(sensorsIDs.length == 0)
+     throw new IllegalStateException("No sensors in the SafeTunnels database dump \"" + DBDump + "\"");
+
+    Random rnd = new Random(42);
+    devIDs = new int[batchSize];
+    values = new int[batchSize];
+    for(int i = 0; i < batchSize; i++)
+     {
+      devIDs[i] = sensorsIDs[i % sensorsIDs.length];
+      values[i] = 400 + rnd.nextInt(4000);
+     }
+    nextTimestamp = FIRST_TIMESTAMP;
+   }
+
+
+  /**
+   * Empties the time series table before each benchmark iteration,
+   * so that its size does not grow across the benchmark
+   */
+  @Setup(Level.Iteration)
+  public void emptySeriesTable() throws SQLException
+   {
+    try(Statement stmt = conn.createStatement())
+     { stmt.executeUpdate("TRUNCATE TABLE " + C02_SERIES.table); }
+   }
+
+
+  /**
+   * Closes the writer and the connection with the embedded database
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException
+   {
+    seriesWriter.close();
+    conn.close();
+   }
+
+
+  /**
+   * Writes a batch of samples into the time series table
+   */
+  @Benchmark
+  public void writeBatch(WrittenRows writtenRows) throws SQLException
+   {
+    seriesWriter.write(devIDs,values,nextTimestamp);
+    nextTimestamp += batchSize;
+    writtenRows.rows += batchSize;
+   }
+
+
+  /**
+   * Runs the database write benchmarks, reporting the rows written per
+   * second and the batches' write latency percentiles (including p99)
+   * @param args Optional regular expression the benchmarks names must match
+   */
+  public static void main(String[] args) throws RunnerException
+   {
+    String benchmarksRegex = (args.length > 0) ? args[0] : DBWriteBenchmark.class.getSimpleName();
+
+    // Rows per second (and batches per second)
+    Options thrptOpts = new OptionsBuilder()
+      .include(benchmarksRegex)
+      .mode(Mode.Throughput)
+      .timeUnit(TimeUnit.SECONDS)
+      .build();
+
+    // Batches' write latency percentiles (microseconds)
+    Options sampleTimeOpts = new OptionsBuilder()
+      .include(benchmarksRegex)
+      .mode(Mode.SampleTime)
+      .timeUnit(TimeUnit.MICROSECONDS)
+      .build();
+
+    new Runner(thrptOpts).run();
+    new Runner(sampleTimeOpts).run();
+   }
+ }
@@ -0,0 +1,227 @@
+/*
+ * Strategies for writing devices' state samples into a SafeTunnels database time
+ * series table, benchmarked against one another by the DBWriteBenchmark, where:
+ *   - STATEMENT: One string-built Statement insert per sample (as the original
+ *                MySQLConnector.pushDevState() query building)
+ *   - PREPARED:  One cached PreparedStatement insert per sample (as the current
+ *                MySQLConnector.pushDevState())
+ *   - BATCHED:   The MySQLConnector.pushDevStatesBatch() cached PreparedStatement
+ *                upsert ("INSERT ... ON DUPLICATE KEY UPDATE"), whose samples
+ *                are executed as a JDBC batch
+ *   - MULTI_ROW: The BATCHED strategy's upsert inserting all samples as a single
+ *                multi-row upsert (i.e. the query the MySQL driver rewrites the
+ *                BATCHED strategy's batches into when "rewriteBatchedStatements"
+ *                is enabled, which the embedded database does not emulate)
+ *
+ * NOTE: Unlike MySQLConnector.pushDevState(), which leaves the samples' timestamp
+ *       to the tables' CURRENT_TIMESTAMP default, the single-row strategies insert
+ *       each sample with an explicit timestamp as the batched ones, where samples
+ *       are given timestamps 1ms apart so as to never collide on the time series
+ *       tables' {devID,timestamp} primary key. This holds on the embedded H2
+ *       database only, as its TIMESTAMP columns keep fractional seconds, while
+ *       the MySQL server's TIMESTAMP columns (0 fractional digits) would truncate
+ *       them to the second, making the single-row inserts fail on duplicate keys
+ *       and the upserts overwrite rather than insert most of their samples
+ */
+
+package Benchmarks;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import modules.MySQLConnector.SeriesTable;
+import static modules.MySQLConnector.MySQLConnector.ST_DB_COMMON_COLUMN_TIMESTAMP;
+
+
+/* ============================== ENUM DEFINITION ============================== */
+public enum DBWriteStrategy
+ {
+  /* ---------------------------- String-built Statement ---------------------------- */
+  STATEMENT
+   {
+    @Override
+    SeriesWriter open(Connection conn, SeriesTable series, int batchSize) throws SQLException
+     {
+      Statement stmt = conn.createStatement();
+      String insertPrefix = insertQueryPrefix(series);
+
+      return new SeriesWriter()
+       {
+        @Override
+        public void write(int[] devIDs, int[] values, long firstTimestamp) throws SQLException
+         {
+          for(int i = 0; i < devIDs.length; i++)
+           stmt.executeUpdate(insertPrefix + "(" + devIDs[i] + "," + values[i]
+                              + ",'" + new Timestamp(firstTimestamp + i) + "')");
+         }
+
+        @Override
+        public void close() throws SQLException
+         { stmt.close(); }
+       };
+     }
+   },
+
+  /* ------------------------ Single-row Prepared Statement ------------------------ */
+  PREPARED
+   {
+    @Override
+    SeriesWriter open(Connection conn, SeriesTable series, int batchSize) throws SQLException
+     {
+      PreparedStatement stmt = conn.prepareStatement(insertQueryPrefix(series) + "(?,?,?)");
+
+      return new SeriesWriter()
+       {
+        @Override
+        public void write(int[] devIDs, int[] values, long firstTimestamp) throws SQLException
+         {
+          for(int i = 0; i < devIDs.length; i++)
+           {
+            stmt.setInt(1,devIDs[i]);
+            stmt.setInt(2,values[i]);
+            stmt.setTimestamp(3,new Timestamp(firstTimestamp + i));
+            stmt.executeUpdate();
+           }
+         }
+
+        @Override
+        public void close() throws SQLException
+         { stmt.close(); }
+       };
+     }
+   },
+
+  /* ---------------------------- Batched Prepared Statement ---------------------------- */
+  BATCHED
+   {
+    @Override
+    SeriesWriter open(Connection conn, SeriesTable series, int batchSize) throws SQLException
+     {
+      PreparedStatement stmt = conn.prepareStatement(insertQueryPrefix(series) + "(?,?,?)"
+                                                     + upsertQuerySuffix(series));
+
+      return new SeriesWriter()
+       {
+        @Override
+        public void write(int[] devIDs, int[] values, long firstTimestamp) throws SQLException
+         {
+          for(int i = 0; i < devIDs.length; i++)
+           {
+            stmt.setInt(1,devIDs[i]);
+            stmt.setInt(2,values[i]);
+            stmt.setTimestamp(3,new Timestamp(firstTimestamp + i));
+            stmt.addBatch();
+           }
+          try
+           { stmt.executeBatch(); }
+          finally
+           { stmt.clearBatch(); }
+         }
+
+        @Override
+        public void close() throws SQLException
+         { stmt.close(); }
+       };
+     }
+   },
+
+  /* --------------------------- Multi-row Prepared Statement --------------------------- */
+  MULTI_ROW
+   {
+    @Override
+    SeriesWriter open(Connection conn, SeriesTable series, int batchSize) throws SQLException
+     {
+      // Build the multi-row upsert query for the batch size
+      StringBuilder insertQuery = new StringBuilder(insertQueryPrefix(series));
+      for(int i = 0; i < batchSize; i++)
+       insertQuery.append((i == 0) ? "(?,?,?)" : ",(?,?,?)");
+      insertQuery.append(upsertQuerySuffix(series));
+      PreparedStatement stmt = conn.prepareStatement(insertQuery.toString());
+
+      return new SeriesWriter()
+       {
+        @Override
+        public void write(int[] devIDs, int[] values, long firstTimestamp) throws SQLException
+         {
+          for(int i = 0, param = 1; i < devIDs.length; i++)
+           {
+            stmt.setInt(param++,devIDs[i]);
+            stmt.setInt(param++,values[i]);
+            stmt.setTimestamp(param++,new Timestamp(firstTimestamp + i));
+           }
+          stmt.executeUpdate();
+         }
+
+        @Override
+        public void close() throws SQLException
+         { stmt.close(); }
+       };
+     }
+   };
+
+
+  /* ============================ WRITER INTERFACE ============================ */
+
+  /**
+   * A writer of devices' state samples into a time
+   * series table, holding its strategy's statements
+   */
+  public interface SeriesWriter extends AutoCloseable
+   {
+    /**
+     * Writes a batch of samples into the writer's time series table, whose timestamps
+     * are consecutive milliseconds starting from 'firstTimestamp'
+     * @param devIDs         The samples' devices IDs
+     * @param values         The samples' values (as many as the devices IDs, which
+     *                       for the MULTI_ROW strategy must match its batch size)
+     * @param firstTimestamp The first sample's timestamp (in milliseconds since the epoch)
+     * @throws SQLException Failed to write the samples into the database
+     */
+    void write(int[] devIDs, int[] values, long firstTimestamp) throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+   }
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * @return The prefix of a query inserting samples into a time series
+   *         table, up to (and excluding) the samples' values tuples
+   */
+  private static String insertQueryPrefix(SeriesTable series)
+   {
+    return "INSERT INTO " + series.table + "(" + series.devIDColumn + "," + series.valueColumn
+           + "," + ST_DB_COMMON_COLUMN_TIMESTAMP + ") VALUES";
+   }
+
+
+  /**
+   * @return The suffix of the MySQLConnector.pushDevStatesBatch() upsert query, by
+   *         which a sample whose {devID,timestamp} primary key already exists
+   *         in the time series table overwrites its value
+   */
+  private static String upsertQuerySuffix(SeriesTable series)
+   { return " ON DUPLICATE KEY UPDATE " + series.valueColumn + " = VALUES(" + series.valueColumn + ")"; }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * Opens a writer of samples into a time series table adopting the strategy
+   * @param conn      The database connection the samples are written on
+   * @param series    The time series table the samples are written into
+   * @param batchSize The number of samples written per batch
+   * @return The writer of samples into the time series table
+   * @throws SQLException Failed to prepare the strategy's statements
+   */
+  abstract SeriesWriter open(Connection conn, SeriesTable series, int batchSize) throws SQLException;
+ }
@@ -0,0 +1,180 @@
+/*
+ * Embedded SafeTunnels Database, creating an in-process, in-memory H2 database
+ * in MySQL compatibility mode loaded from a SafeTunnels database MySQL dump
+ * (e.g. "DBs/SafeTunnelsPhyDB_clean.sql"), used as a stand-in for the MySQL
+ * server in the database benchmarks, where the dump's statements that are
+ * specific to the MySQL server and have no H2 counterpart are skipped
+ * (CREATE DATABASE, USE, LOCK/UNLOCK TABLES) or rewritten (the UNIQUE
+ * keys' names, which must be unique per schema rather than per table in H2)
+ */
+
+package Benchmarks;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import modules.MySQLConnector.MySQLConnector;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public abstract class EmbeddedSafeTunnelsDB
+ {
+  /* =================== EMBEDDED DATABASE CONNECTION PARAMETERS =================== */
+
+  // The H2 in-memory database URL prefix
+  private static final String DB_URL_PREFIX = "jdbc:h2:mem:";
+
+  // The H2 database options emulating the MySQL server (identifiers are case
+  // insensitive as on the MySQL server, and the in-memory database is kept
+  // as long as the JVM is running rather than as long as it has connections)
+  private static final String DB_URL_OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                                               + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+  // The embedded database user and password
+  private static final String DB_USER = "root";
+  private static final String DB_PWD = "";
+
+  /* ========================= MySQL DUMP TRANSLATION ========================= */
+
+  // The MySQL dump statements that have no H2 counterpart and are skipped
+  private static final Pattern SKIPPED_STMTS =
+    Pattern.compile("(?is)(CREATE\\s+DATABASE|USE|LOCK\\s+TABLES|UNLOCK\\s+TABLES)\\b.*");
+
+  // The UNIQUE keys' names in the MySQL dump, which are stripped
+  private static final Pattern UNIQUE_KEY_NAME = Pattern.compile("UNIQUE KEY `[^`]*`");
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Resolves the path of a database dump, which if relative is looked up from
+   * the current working directory upwards (so that the dump is found whether
+   * the benchmarks are run from the repository's root or from a module)
+   * @param DBDump The path of the database dump
+   * @return The resolved path of the database dump
+   * @throws FileNotFoundException The database dump was not found
+   */
+  private static Path resolveDBDump(String DBDump) throws FileNotFoundException
+   {
+    Path DBDumpPath = Path.of(DBDump);
+    if(!DBDumpPath.isAbsolute())
+     for(Path dir = Path.of("").toAbsolutePath(); dir != null; dir = dir.getParent())
+      if(Files.isRegularFile(dir.resolve(DBDump)))
+       return dir.resolve(DBDump);
+
+    if(Files.isRegularFile(DBDumpPath))
+     return DBDumpPath;
+    throw new FileNotFoundException("SafeTunnels database dump \"" + DBDump + "\" not found");
+   }
+
+
+  /**
+   * Splits a MySQL dump into its statements, discarding
+   * its comments and translating them for the H2 database
+   * @param DBDumpPath The path of the database dump
+   * @return The list of the translated database dump statements
+   * @throws IOException Failed to read the database dump
+   */
+  private static List<String> readDBDumpStmts(Path DBDumpPath) throws IOException
+   {
+    ArrayList<String> DBDumpStmts = new ArrayList<>();
+    StringBuilder DBDumpStmt = new StringBuilder();
+
+    for(String line : Files.readAllLines(DBDumpPath))
+     {
+      // Skip the dump's comments and empty lines
+      if(line.startsWith("--") || line.isBlank())
+       continue;
+
+      // Append the line to the current statement until its end is reached
+      DBDumpStmt.append(line).append('\n');
+      if(!line.trim().endsWith(";"))
+       continue;
+
+      String stmt = DBDumpStmt.toString().trim();
+      DBDumpStmt.setLength(0);
+      if(!SKIPPED_STMTS.matcher(stmt).matches())
+       DBDumpStmts.add(UNIQUE_KEY_NAME.matcher(stmt).replaceAll("UNIQUE KEY"));
+     }
+    return DBDumpStmts;
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * Creates the embedded SafeTunnels database (named as the SafeTunnels MySQL database)
+   * and loads it from a SafeTunnels database MySQL dump, replacing its contents if it
+   * was already created (e.g. by a previous benchmark trial in the same JVM)
+   * @param DBDump The path of the database dump
+   * @return The JDBC URL of the embedded SafeTunnels database
+   * @throws IOException  Failed to read the database dump
+   * @throws SQLException Failed to load the database dump
+   */
+  public static String load(String DBDump) throws IOException, SQLException
+   {
+    Path DBDumpPath = resolveDBDump(DBDump);
+    String DBURL = DB_URL_PREFIX + MySQLConnector.ST_DB_NAME + DB_URL_OPTIONS;
+
+    try(Connection conn = DriverManager.getConnection(DBURL,DB_USER,DB_PWD);
+        Statement stmt = conn.createStatement())
+     {
+      // Drop the database's previous contents, as the dump's tables are dropped in
+      // an order violating their foreign keys (whose checks the dump disables via
+      // MySQL server-specific statements that have no effect on the H2 database)
+      stmt.execute("DROP ALL OBJECTS");
+
+      for(String DBDumpStmt : readDBDumpStmts(DBDumpPath))
+       stmt.execute(DBDumpStmt);
+     }
+
+    Log.dbg("Embedded SafeTunnels database loaded from \"" + DBDumpPath + "\" (" + DBURL + ")");
+    return DBURL;
+   }
+
+
+  /**
+   * Connects with the embedded SafeTunnels database
+   * @param DBURL The JDBC URL of the embedded SafeTunnels database
+   * @return A new connection with the embedded SafeTunnels database
+   * @throws SQLException Failed to connect with the embedded database
+   */
+  public static Connection connect(String DBURL) throws SQLException
+   { return DriverManager.getConnection(DBURL,DB_USER,DB_PWD); }
+
+
+  /**
+   * Retrieves the IDs of the devices stored in a devices table
+   * @param conn        A connection with the embedded SafeTunnels database
+   * @param devTable    The devices table
+   * @param devIDColumn The devices table's ID column
+   * @return The IDs of the devices stored in the table
+   * @throws SQLException Failed to retrieve the devices' IDs
+   */
+  public static int[] getDevIDs(Connection conn, String devTable, String devIDColumn) throws SQLException
+   {
+    try(Statement stmt = conn.createStatement();
+        ResultSet devSet = stmt.executeQuery("SELECT " + devIDColumn + " FROM " + devTable))
+     {
+      ArrayList<Integer> devIDs = new ArrayList<>();
+      while(devSet.next())
+       devIDs.add(devSet.getInt(1));
+      return devIDs.stream().mapToInt(Integer::intValue).toArray();
+     }
+   }
+ }
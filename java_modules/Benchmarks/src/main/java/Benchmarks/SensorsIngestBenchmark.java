@@ -0,0 +1,282 @@
+/*
+ * SafeTunnels Sensors MQTT Ingest Benchmark, driving the SensorsMQTTHandler's
+ * messageArrived() callback with synthetic MQTT messages on the sensors' C02,
+ * temperature and errors topics addressed to a registry of stub sensors, where:
+ *   - The number of sensors, the share of invalid messages (non-JSON payloads,
+ *     unknown sensor MACs and invalid quantities) and the number of ingest
+ *     pipeline lanes (0 -> messages processed inline) are parametrized
+ *   - The messages are built ahead of the benchmark and submitted in a round-robin
+ *     fashion, so that only the handler's ingest path is measured
+ *   - With ingest lanes, the submission waits for the message submitted
+ *     INGEST_WINDOW submissions before to have been processed, so that the
+ *     measured throughput is the one sustained by the lanes (and not the
+ *     enqueueing's only), the lanes being stopped at the end of each trial
+ *
+ * Running this class's main() method reports the throughput (ops/s), the average
+ * time per message (ns/op) and, via the JMH GC profiler, the allocation rate of
+ * each benchmark configuration (the benchmarks' JAR also accepts the standard
+ * JMH command-line options, e.g. "java -jar Benchmarks.jar -prof gc")
+ */
+
+package Benchmarks;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/* ----------------------------- JMH Resources ----------------------------- */
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/* --------------------------- PAHO MQTT Resources --------------------------- */
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import devices.DevicesRegistry;
+import devices.sensor.BaseSensorErrCode;
+import logging.Log;
+import modules.SensorsMQTTHandler.IngestOverflowPolicy;
+import modules.SensorsMQTTHandler.SensorsIngestPipeline;
+import modules.SensorsMQTTHandler.SensorsMQTTHandler;
+import static devices.sensor.BaseSensor.SensorMQTTCliState.MQTT_CLI_STATE_BROKER_SUBSCRIBED;
+import static devices.sensor.BaseSensor.TOPIC_SENSORS_C02;
+import static devices.sensor.BaseSensor.TOPIC_SENSORS_ERRORS;
+import static devices.sensor.BaseSensor.TOPIC_SENSORS_TEMP;
+import static errors.ErrCodeSeverity.FATAL;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SensorsIngestBenchmark
+ {
+  /* ========================== BENCHMARK PARAMETERS ========================== */
+
+  // The number of sensors in the handler's registry
+  @Param({"2","100","10000"})
+  public int sensorsNum;
+
+  // The share of invalid MQTT messages (in percent)
+  @Param({"0","10"})
+  public int invalidMsgsPercent;
+
+  // The number of ingest pipeline lanes (0 -> messages processed inline)
+  @Param({"0","4"})
+  public int ingestLanes;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The number of pre-built MQTT messages (a power of 2)
+  private static final int MSGS_NUM = 1 << 14;
+
+  // The share of MQTT messages published on the sensors' errors topic (in percent)
+  private static final int ERROR_MSGS_PERCENT = 2;
+
+  // The maximum number of submitted messages not yet processed by the ingest lanes
+  private static final int INGEST_WINDOW = 1024;
+
+  // The maximum time in milliseconds waited for a message to be processed
+  // by the ingest lanes, beyond which the benchmark fails
+  private static final int INGEST_TIMEOUT = 5000;
+
+  // The benchmarked sensors MQTT handler and its ingest pipeline (null if inline)
+  private SensorsMQTTHandler MQTTHandler;
+  private SensorsIngestPipeline ingestPipeline;
+
+  // The pre-built MQTT messages and their topics
+  private String[] msgsTopics;
+  private MqttMessage[] msgs;
+
+  // The index of the next MQTT message to be submitted
+  private int nextMsg;
+
+  // The number of MQTT messages submitted so far
+  private long submitted;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Builds a MQTT message from its JSON payload
+   */
+  private static MqttMessage buildMsg(String payload)
+   { return new MqttMessage(payload.getBytes(StandardCharsets.US_ASCII)); }
+
+
+  /**
+   * Builds a random valid MQTT message addressed to one of the benchmark
+   * sensors, storing its topic into the msgsTopics array at index 'i'
+   */
+  private MqttMessage buildValidMsg(Random rnd, int i)
+   {
+    String MAC = StubSensor.benchmarkMAC(rnd.nextInt(sensorsNum));
+    int msgType = rnd.nextInt(100);
+
+    // Sensor error message (never a disconnection, which is a no-op once offline)
+    if(msgType < ERROR_MSGS_PERCENT)
+     {
+      msgsTopics[i] = TOPIC_SENSORS_ERRORS;
+      return buildMsg("{\"MAC\":\"" + MAC + "\",\"errCode\":"
+                      + BaseSensorErrCode.ERR_SENSOR_PUB_QUANTITY_FAILED.ordinal()
+                      + ",\"MQTTCliState\":" + MQTT_CLI_STATE_BROKER_SUBSCRIBED.ordinal() + "}");
+     }
+
+    // C02 reading
+    if(msgType % 2 == 0)
+     {
+      msgsTopics[i] = TOPIC_SENSORS_C02;
+      return buildMsg("{\"MAC\":\"" + MAC + "\",\"C02\":" + (400 + rnd.nextInt(4000)) + "}");
+     }
+
+    // Temperature reading
+    msgsTopics[i] = TOPIC_SENSORS_TEMP;
+    return buildMsg("{\"MAC\":\"" + MAC + "\",\"temp\":" + (10 + rnd.nextInt(40)) + "}");
+   }
+
+
+  /**
+   * Builds a random invalid MQTT message, storing
+   * its topic into the msgsTopics array at index 'i'
+   */
+  private MqttMessage buildInvalidMsg(Random rnd, int i)
+   {
+    String MAC = StubSensor.benchmarkMAC(rnd.nextInt(sensorsNum));
+    msgsTopics[i] = rnd.nextBoolean() ? TOPIC_SENSORS_C02 : TOPIC_SENSORS_TEMP;
+
+    switch(rnd.nextInt(3))
+     {
+      // Non-JSON payload
+      case 0:
+       return buildMsg("C02=" + rnd.nextInt(4000));
+
+      // Unknown sensor MAC
+      case 1:
+       return buildMsg("{\"MAC\":\"" + StubSensor.benchmarkMAC(sensorsNum + rnd.nextInt(1000))
+                       + "\",\"C02\":1000,\"temp\":20}");
+
+      // Invalid quantity value
+      default:
+       return buildMsg("{\"MAC\":\"" + MAC + "\",\"C02\":\"high\",\"temp\":\"hot\"}");
+     }
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * Builds the registry of stub sensors, the benchmarked
+   * sensors MQTT handler and the MQTT messages to be submitted
+   */
+  @Setup(Level.Trial)
+  public void setup()
+   {
+    // Only log FATAL errors, so that the invalid messages' logging
+    // does not dominate (and pollute the output of) the benchmarks
+    Log.LOG_LEVEL = FATAL;
+
+    // Build the registry of stub sensors
+    ArrayList<StubSensor> sensors = new ArrayList<>(sensorsNum);
+    for(int i = 0; i < sensorsNum; i++)
+     sensors.add(new StubSensor(StubSensor.benchmarkMAC(i),(short)(i + 1)));
+
+    // Build the sensors MQTT handler, detached from any MQTT broker (where
+    // its lanes never drop messages, as awaited by the benchmark)
+    SensorsIngestPipeline.INGEST_LANES = ingestLanes;
+    SensorsIngestPipeline.INGEST_OVERFLOW_POLICY = IngestOverflowPolicy.BLOCK;
+    MQTTHandler = new SensorsMQTTHandler(new DevicesRegistry<>(sensors));
+    ingestPipeline = MQTTHandler.getIngestPipeline();
+
+    // Build the MQTT messages to be submitted (with a fixed seed, so that
+    // all benchmark runs of a configuration submit the same messages)
+    Random rnd = new Random(42);
+    msgsTopics = new String[MSGS_NUM];
+    msgs = new MqttMessage[MSGS_NUM];
+    for(int i = 0; i < MSGS_NUM; i++)
+     msgs[i] = (rnd.nextInt(100) < invalidMsgsPercent) ? buildInvalidMsg(rnd,i) : buildValidMsg(rnd,i);
+    nextMsg = 0;
+    submitted = 0;
+   }
+
+
+  /**
+   * Stops the handler's ingest lanes, if any, so
+   * that their threads do not leak between trials
+   */
+  @TearDown(Level.Trial)
+  public void tearDown()
+   {
+    if(ingestPipeline != null)
+     ingestPipeline.shutdown();
+   }
+
+
+  /**
+   * Submits the next MQTT message to the sensors MQTT handler, waiting
+   * with ingest lanes for the message submitted INGEST_WINDOW submissions
+   * before to have been processed
+   * @throws IllegalStateException The message was not processed within INGEST_TIMEOUT
+   */
+  @Benchmark
+  public void messageArrived()
+   {
+    int msg = nextMsg;
+    nextMsg = (msg + 1) & (MSGS_NUM - 1);
+    MQTTHandler.messageArrived(msgsTopics[msg],msgs[msg]);
+
+    if(ingestPipeline != null && ++submitted > INGEST_WINDOW)
+     {
+      long windowMsgs = submitted - INGEST_WINDOW;
+      if(ingestPipeline.getProcessedMsgs() < windowMsgs)
+       {
+        long ingestDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(INGEST_TIMEOUT);
+        while(ingestPipeline.getProcessedMsgs() < windowMsgs)
+         {
+          if(System.nanoTime() - ingestDeadline > 0)
+           throw new IllegalStateException("Message " + windowMsgs + " was not processed within "
+                                           + INGEST_TIMEOUT + "ms");
+          Thread.onSpinWait();
+         }
+       }
+     }
+   }
+
+
+  /**
+   * Runs the sensors MQTT ingest benchmarks, reporting their throughput (ops/s),
+   * average time per message (ns/op) and allocation rate (GC profiler)
+   * @param args Optional regular expression the benchmarks names must match
+   */
+  public static void main(String[] args) throws RunnerException
+   {
+    String benchmarksRegex = (args.length > 0) ? args[0] : SensorsIngestBenchmark.class.getSimpleName();
+
+    // Throughput (ops/s)
+    Options thrptOpts = new OptionsBuilder()
+      .include(benchmarksRegex)
+      .mode(Mode.Throughput)
+      .timeUnit(TimeUnit.SECONDS)
+      .addProfiler(GCProfiler.class)
+      .build();
+
+    // Average time per message (ns/op)
+    Options avgTimeOpts = new OptionsBuilder()
+      .include(benchmarksRegex)
+      .mode(Mode.AverageTime)
+      .timeUnit(TimeUnit.NANOSECONDS)
+      .addProfiler(GCProfiler.class)
+      .build();
+
+    new Runner(thrptOpts).run();
+    new Runner(avgTimeOpts).run();
+   }
+ }
@@ -0,0 +1,77 @@
+/*
+ * Stub sensor used as the sink of the benchmarked sensors' MQTT messages, which
+ * just records its received quantities and connection state changes (so that
+ * the benchmarks measure the messages' ingest path only, and not the database
+ * writes or GUI updates performed by the Cloud and Control modules' sensors)
+ */
+
+package Benchmarks;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import devices.DevicesRegistry;
+import devices.sensor.BaseSensor;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class StubSensor extends BaseSensor
+ {
+  /* ============================ PUBLIC ATTRIBUTES ============================ */
+
+  // The sensor's last received quantities
+  public volatile int C02;
+  public volatile int temp;
+
+  // The number of readings and disconnections received by the sensor
+  public volatile long readingsNum;
+  public volatile long disconnectionsNum;
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * StubSensor constructor, initializing its attributes
+   * @param MAC The sensor's (unique) MAC
+   * @param ID The sensor's unique ID
+   */
+  public StubSensor(String MAC, short ID)
+   { super(MAC,ID); }
+
+
+  /**
+   * Builds the MAC of the i-th benchmark sensor (EUI-64, as of the Contiki-NG devices)
+   * @param i The index of the benchmark sensor
+   * @return The MAC of the i-th benchmark sensor
+   */
+  public static String benchmarkMAC(int i)
+   { return DevicesRegistry.syntheticMAC("00:12:4b:00",i); }
+
+
+  @Override
+  public void setConnStateOffline()
+   {
+    connState = false;
+    disconnectionsNum++;
+   }
+
+  @Override
+  public void setConnStateOnline()
+   { connState = true; }
+
+  @Override
+  public void setC02(int newC02)
+   {
+    C02 = newC02;
+    readingsNum++;
+    connState = true;
+   }
+
+  @Override
+  public void setTemp(int newTemp)
+   {
+    temp = newTemp;
+    readingsNum++;
+    connState = true;
+   }
+ }
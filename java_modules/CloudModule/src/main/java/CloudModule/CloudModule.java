@@ -11,6 +11,7 @@ import java.util.ArrayList;
 /* --------------------------- SafeTunnels Resources --------------------------- */
 import logging.Log;
 import errors.ErrCodeSeverity;
+import devices.DevicesRegistry;
 import modules.InputArgsParser.InputArgsParser;
 import modules.MySQLConnector.DevMACIDPair;
 import static devices.BaseDevice.DevType.sensor;
@@ -61,8 +62,9 @@ final class CloudModule
     // Sort the CloudSensorManagers by increasing sensorID
     Collections.sort(cloudSensorsManagersList);
 
-    // Attempt to instantiate the Cloud Module MQTT Client Handler
-    cloudMQTTHandler = new SensorsMQTTHandler("CloudModule",cloudSensorsManagersList);
+    // Attempt to instantiate the Cloud Module MQTT Client Handler, passing
+    // it the CloudSensorManagers indexed by their MAC in a DevicesRegistry
+    cloudMQTTHandler = new SensorsMQTTHandler("CloudModule",new DevicesRegistry<>(cloudSensorsManagersList));
 
     // Log that the Cloud Module has been successfully initialized
     Log.info("Cloud Module successfully initialized");
@@ -79,6 +81,10 @@ final class CloudModule
     // Parse the possible command-line input arguments
     InputArgsParser.parseCMDInputArgs("CloudModule",args);
 
+    // If requested, start the embedded MQTT broker and connect to it
+    if(InputArgsParser.EMBEDDED_BROKER_PORT != -1)
+     SensorsMQTTHandler.useEmbeddedBroker(InputArgsParser.EMBEDDED_BROKER_PORT);
+
     // If the command-line input arguments
     // are valid, start the Cloud Module
     new CloudModule();
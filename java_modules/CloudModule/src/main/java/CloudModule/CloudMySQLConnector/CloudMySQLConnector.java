@@ -4,12 +4,11 @@ package CloudModule.CloudMySQLConnector;
 
 /* ================================== IMPORTS ================================== */
 
-/* --------------------- Java Standard Libraries Resources --------------------- */
-import java.sql.SQLException;
-
 /* --------------------------- SafeTunnels Resources --------------------------- */
 import logging.Log;
 import modules.MySQLConnector.MySQLConnector;
+import modules.MySQLConnector.SeriesBatchWriter;
+import modules.MySQLConnector.SeriesTable;
 import static CloudModule.CloudMySQLConnector.CloudMySQLConnectorErrCode.*;
 import devices.sensor.BaseSensor.SensorQuantity;
 import static devices.sensor.BaseSensor.SensorQuantity.C02;
@@ -18,99 +17,86 @@ import static devices.sensor.BaseSensor.SensorQuantity.C02;
 /* ============================== CLASS DEFINITION ============================== */
 final public class CloudMySQLConnector extends MySQLConnector
  {
-  /* ============================= PRIVATE METHODS ============================= */
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The sensors' time series tables
+  private static final SeriesTable sensorsConnStateSeries = new SeriesTable(ST_DB_SENSORS_TABLE_CONNSTATE,
+                                                                            ST_DB_SENSORS_COLUMN_ID,ST_DB_COMMON_COLUMN_CONNSTATE);
+  private static final SeriesTable sensorsC02Series = new SeriesTable(ST_DB_SENSORS_TABLE_C02,
+                                                                      ST_DB_SENSORS_COLUMN_ID,ST_DB_SENSORS_COLUMN_C02);
+  private static final SeriesTable sensorsTempSeries = new SeriesTable(ST_DB_SENSORS_TABLE_TEMP,
+                                                                       ST_DB_SENSORS_COLUMN_ID,ST_DB_SENSORS_COLUMN_TEMP);
+
+  // The asynchronous batch writer the sensors' samples are pushed into the database with
+  private final SeriesBatchWriter seriesWriter;
 
-  /**
-   * @param sensorQuantity The sensor quantity to retrieve the
-   *                       database table name (C02 || TEMP)
-   * @return The SafeTunnels database table name
-   *         associated with a sensor quantity
-   */
-  private String getSensorQuantityTableName(SensorQuantity sensorQuantity)
-   {
-    if(sensorQuantity == C02)
-     return ST_DB_SENSORS_TABLE_C02;
-    else
-     return ST_DB_SENSORS_TABLE_TEMP;
-   }
 
+  /* ============================= PRIVATE METHODS ============================= */
 
   /**
    * @param sensorQuantity The sensor quantity to retrieve the
-   *                       database column name (C02 || TEMP)
-   * @return The SafeTunnels database column name
-   *         associated with a sensor quantity
+   *                       database time series table (C02 || TEMP)
+   * @return The SafeTunnels database time series
+   *         table associated with a sensor quantity
    */
-  private String getSensorQuantityColumnName(SensorQuantity sensorQuantity)
+  private SeriesTable getSensorQuantitySeries(SensorQuantity sensorQuantity)
    {
     if(sensorQuantity == C02)
-     return ST_DB_SENSORS_COLUMN_C02;
+     return sensorsC02Series;
     else
-     return ST_DB_SENSORS_COLUMN_TEMP;
+     return sensorsTempSeries;
    }
 
   /* ============================== PUBLIC METHODS ============================== */
 
   /**
-   *  Cloud MySQL Connector constructor, attempting to establish
-   *  a connection with the SafeTunnels MySQL database
+   *  Cloud MySQL Connector constructor, attempting to establish a connection
+   *  with the SafeTunnels MySQL database and starting its batch writer
    */
   public CloudMySQLConnector()
-   { super(); }
+   {
+    super();
+    seriesWriter = new SeriesBatchWriter(this,"CloudSeriesWriter");
+   }
 
 
   /**
-   * Pushes an updated sensor connection state into the database
+   * Queues an updated sensor connection state for being pushed into the database
    * @param sensorID The ID of the sensor to update the connection status
    * @param connState The sensor updated connection state as a
    *                  boolean (false -> offline, true -> online)
    */
   public void pushSensorConnState(int sensorID, boolean connState)
    {
-    // Convert the boolean "connState" into a (short) bit (0 -> offline, 1 -> online)
-    short connStatusBit = connState?(short)1:(short)0;
+    // Convert the boolean "connState" into a bit (0 -> offline, 1 -> online)
+    int connStatusBit = connState?1:0;
 
-    try
+    // Attempt to queue the updated sensor connection state, logging the error
+    // if it was dropped because the database is lagging behind the sensors
+    if(!seriesWriter.push(sensorsConnStateSeries,sensorID,connStatusBit))
      {
-      // Attempt to push the updated sensor connection state into the database
-      pushDevState(ST_DB_SENSORS_TABLE_CONNSTATE,ST_DB_SENSORS_COLUMN_ID,
-                   ST_DB_COMMON_COLUMN_CONNSTATE,sensorID,String.valueOf(connStatusBit));
-
-      // If successful, log the updated sensor connection state
-      if(connState)
-       Log.info("sensor" + sensorID + " is now online (pushed into the database)");
-      else
-       Log.warn("sensor" + sensorID + " appears to be offline (pushed into the database)");
+      Log.code(ERR_CLOUD_PUSH_CONNSTATE_FAILED,"(sensorID = " + sensorID + ", "
+               + "connState = " + connState + ", reason = write queue full)");
+      return;
      }
-    catch(SQLException sqlExcp)
-     { Log.code(ERR_CLOUD_PUSH_CONNSTATE_FAILED,"(sensorID = " + sensorID + ", "
-                + "connState = " + connState + ", reason = " + sqlExcp.getMessage() + ")"); }
+
+    // If successful, log the received sensor connection state (which is written into
+    // the database asynchronously, its failures being reported by the batch writer)
+    if(connState)
+     Log.info("sensor" + sensorID + " online state received and queued for the database");
+    else
+     Log.warn("sensor" + sensorID + " offline state received and queued for the database");
    }
 
 
   /**
-   * Pushes an updated sensor quantity value into the database
+   * Queues an updated sensor quantity value for being pushed into the database
+   * (samples dropped because the database is lagging behind the sensors are
+   * reported in bulk by the batch writer)
    * @param sensorID The ID of the sensor to update the quantity value
    * @param sensorQuantity The sensor quantity to be updated (C02 || TEMP)
    * @param quantityValue The updated quantity value
    */
   public void pushSensorQuantityValue(int sensorID, SensorQuantity sensorQuantity, int quantityValue)
-   {
-    // Retrieve the names of the database table and
-    // column associated with the quantity to be updated
-    String sensorQuantityTableName = getSensorQuantityTableName(sensorQuantity);
-    String sensorQuantityColumnName = getSensorQuantityColumnName(sensorQuantity);
-
-    try
-     {
-      // Attempt to push the updated sensor quantity value into the database
-      pushDevState(sensorQuantityTableName,ST_DB_SENSORS_COLUMN_ID,sensorQuantityColumnName,sensorID,String.valueOf(quantityValue));
-
-      // If successful, log the updated sensor quantity
-      Log.dbg("Pushed sensor" + sensorID + " updated " + sensorQuantity + " (" + quantityValue + ") into the database");
-     }
-    catch(SQLException sqlExcp)
-     { Log.code(ERR_CLOUD_PUSH_QUANTITY_FAILED,"(sensorID = " + sensorID + ", quantity = "
-       + sensorQuantity + ", value = " + quantityValue + ", reason = " + sqlExcp.getMessage() + ")"); }
-   }
- }
\ No newline at end of file
+   { seriesWriter.push(getSensorQuantitySeries(sensorQuantity),sensorID,quantityValue); }
+ }
@@ -0,0 +1,367 @@
+/*
+ * SafeTunnels Devices Registry, indexing the devices managed by a
+ * module by their MAC address packed into a 64-bit integer key
+ */
+
+package devices;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class DevicesRegistry<T extends BaseDevice> implements Iterable<T>
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The minimum capacity of the registry's hash table (must be a power of 2)
+  private static final int MIN_TABLE_CAPACITY = 16;
+
+  // The maximum number of octets in a device's MAC address (EUI-64)
+  private static final int MAX_MAC_OCTETS = 8;
+
+  /*
+   * The registry's open-addressing (linear probing) hash table, where
+   * the packed MAC keys and their associated devices are stored in
+   * parallel arrays, with a 'null' device marking an empty slot
+   *
+   * NOTE: The table is kept at most half full, so that lookups
+   *       terminate after a few probes on average
+   */
+  private long[] MACKeysTable;
+  private BaseDevice[] devicesTable;
+
+  // The hash table's index mask (= capacity - 1)
+  private int tableMask;
+
+  // The registered devices in their registration order (used for iteration)
+  private final ArrayList<T> devicesList;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * @param c A character
+   * @return The hexadecimal value of the character, or -1 if
+   *         it does not represent a valid hexadecimal digit
+   */
+  private static int hexDigitValue(int c)
+   {
+    if(c >= '0' && c <= '9')
+     return c - '0';
+    if(c >= 'a' && c <= 'f')
+     return c - 'a' + 10;
+    if(c >= 'A' && c <= 'F')
+     return c - 'A' + 10;
+    return -1;
+   }
+
+
+  /**
+   * Spreads the bits of a packed MAC key into a hash table index
+   * (MurmurHash3 64-bit finalizer), so that MACs differing only
+   * in their last octets are evenly distributed in the table
+   * @param MACKey A packed MAC key
+   * @return The MAC key's hash
+   */
+  private static int hashMACKey(long MACKey)
+   {
+    MACKey ^= MACKey >>> 33;
+    MACKey *= 0xff51afd7ed558ccdL;
+    MACKey ^= MACKey >>> 33;
+    MACKey *= 0xc4ceb9fe1a85ec53L;
+    MACKey ^= MACKey >>> 33;
+    return (int)MACKey;
+   }
+
+
+  /**
+   * Allocates an empty hash table of the given capacity
+   * @param capacity The hash table capacity (must be a power of 2)
+   */
+  private void allocTable(int capacity)
+   {
+    MACKeysTable = new long[capacity];
+    devicesTable = new BaseDevice[capacity];
+    tableMask = capacity - 1;
+   }
+
+
+  /**
+   * Inserts a device into the hash table, which is
+   * assumed not to already contain its MAC key
+   * @param MACKey The device's packed MAC key
+   * @param device The device to be inserted
+   */
+  private void tableInsert(long MACKey, BaseDevice device)
+   {
+    int slot = hashMACKey(MACKey) & tableMask;
+
+    while(devicesTable[slot] != null)
+     slot = (slot + 1) & tableMask;
+
+    MACKeysTable[slot] = MACKey;
+    devicesTable[slot] = device;
+   }
+
+
+  /**
+   * Normalizes a MAC address stored either in a CharSequence or in a byte array
+   * into a packed 64-bit key (see the MACToKey() public methods)
+   * @param MACChars  The MAC address as a CharSequence (null if 'MACBytes' is used)
+   * @param MACBytes  The MAC address as ASCII bytes (used if 'MACChars' is null)
+   * @param from      The index of the MAC address first character (inclusive)
+   * @param to        The index of the MAC address last character (exclusive)
+   * @return The MAC address packed into a 64-bit key
+   * @throws IllegalArgumentException The MAC address is not valid
+   */
+  private static long MACToKey(CharSequence MACChars, byte[] MACBytes, int from, int to)
+   {
+    long MACKey = 0;     // The packed MAC key
+    int numOctets = 0;   // The number of octets parsed so far
+    int octet = 0;       // The value of the octet being parsed
+    int octetDigits = 0; // The number of hexadecimal digits in the octet being parsed
+
+    for(int i = from; i < to; i++)
+     {
+      int c = (MACChars != null) ? MACChars.charAt(i) : (MACBytes[i] & 0xff);
+      int digitValue = hexDigitValue(c);
+
+      // Hexadecimal digit
+      if(digitValue != -1)
+       {
+        // If the current octet is complete (MAC without separators), append it to the key
+        if(octetDigits == 2)
+         {
+          if(++numOctets > MAX_MAC_OCTETS)
+           throw invalidMACExcp(MACChars,MACBytes,from,to);
+          MACKey = (MACKey << 8) | octet;
+          octet = 0;
+          octetDigits = 0;
+         }
+        octet = (octet << 4) | digitValue;
+        octetDigits++;
+       }
+
+      // Octets separator
+      else
+       if((c == ':' || c == '-') && octetDigits > 0)
+        {
+         if(++numOctets > MAX_MAC_OCTETS)
+          throw invalidMACExcp(MACChars,MACBytes,from,to);
+         MACKey = (MACKey << 8) | octet;
+         octet = 0;
+         octetDigits = 0;
+        }
+
+       // Any other character (or an empty octet)
+       else
+        throw invalidMACExcp(MACChars,MACBytes,from,to);
+     }
+
+    // Append the last octet, which must be non-empty
+    if(octetDigits == 0 || ++numOctets > MAX_MAC_OCTETS)
+     throw invalidMACExcp(MACChars,MACBytes,from,to);
+    return (MACKey << 8) | octet;
+   }
+
+
+  /**
+   * @return The exception to be thrown when attempting
+   *         to normalize an invalid MAC address
+   */
+  private static IllegalArgumentException invalidMACExcp(CharSequence MACChars, byte[] MACBytes, int from, int to)
+   {
+    String MAC = (MACChars != null) ? MACChars.subSequence(from,to).toString()
+                                    : new String(MACBytes,from,to - from,StandardCharsets.US_ASCII);
+    return new IllegalArgumentException("Invalid MAC address (\"" + MAC + "\")");
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * Normalizes a MAC address into a packed 64-bit key, where MAC addresses
+   * are accepted both as EUI-48 and EUI-64 identifiers (the latter being
+   * used by the Contiki-NG devices) in upper or lower case, and with
+   * their octets optionally separated by ':' or '-' characters
+   * @param MAC The MAC address to be normalized
+   * @return The MAC address packed into a 64-bit key
+   * @throws IllegalArgumentException The MAC address is not valid
+   */
+  public static long MACToKey(CharSequence MAC)
+   { return MACToKey(MAC,null,0,MAC.length()); }
+
+
+  /**
+   * Normalizes a MAC address stored as ASCII characters in a
+   * byte array into a packed 64-bit key (see MACToKey(CharSequence))
+   * @param buffer The byte array containing the MAC address
+   * @param from   The index of the MAC address first character (inclusive)
+   * @param to     The index of the MAC address last character (exclusive)
+   * @return The MAC address packed into a 64-bit key
+   * @throws IllegalArgumentException The MAC address is not valid
+   */
+  public static long MACToKey(byte[] buffer, int from, int to)
+   { return MACToKey(null,buffer,from,to); }
+
+
+  /**
+   * Builds the MAC (EUI-64, as of the Contiki-NG devices) of the i-th device
+   * of a synthetic fleet (e.g. simulated or benchmark devices), where the
+   * fleet's devices share a 4-octet prefix telling them apart from real devices
+   * @param prefix The fleet's MAC prefix (4 octets, e.g. "4c:47:00:00")
+   * @param i      The index of the device in the fleet
+   * @return The MAC of the i-th device of the fleet
+   */
+  public static String syntheticMAC(String prefix, int i)
+   {
+    return String.format("%s:%02x:%02x:%02x:%02x",prefix,
+                         (i >>> 24) & 0xff,(i >>> 16) & 0xff,(i >>> 8) & 0xff,i & 0xff);
+   }
+
+
+  /**
+   * DevicesRegistry constructor, initializing an empty registry
+   */
+  public DevicesRegistry()
+   {
+    devicesList = new ArrayList<>();
+    allocTable(MIN_TABLE_CAPACITY);
+   }
+
+
+  /**
+   * DevicesRegistry constructor, registering a collection of devices
+   * (devices with an invalid or duplicate MAC address are logged and skipped)
+   * @param devices The devices to be registered
+   */
+  public DevicesRegistry(Collection<? extends T> devices)
+   {
+    devicesList = new ArrayList<>(devices.size());
+
+    // Size the table so that it's at most half full once populated
+    int capacity = MIN_TABLE_CAPACITY;
+    while(capacity < devices.size() * 2)
+     capacity <<= 1;
+    allocTable(capacity);
+
+    for(T device : devices)
+     if(!register(device))
+      Log.err("Could not register " + device.getDevType() + device.ID + " by its MAC address"
+              + " (\"" + device.MAC + "\"), which is invalid or used by another device");
+   }
+
+
+  /**
+   * Registers a device in the registry
+   *
+   * NOTE: Registering devices is NOT thread-safe, and must be
+   *       completed before the registry is shared between threads
+   *
+   * @param device The device to be registered
+   * @return 'true' if the device was registered, or 'false' if its
+   *         MAC is invalid or another device with such MAC exists
+   */
+  public boolean register(T device)
+   {
+    long MACKey;
+
+    // Attempt to normalize the device's MAC address
+    try
+     { MACKey = MACToKey(device.MAC); }
+    catch(IllegalArgumentException invalidMACExcp)
+     { return false; }
+
+    // Ensure that no other device with such MAC exists
+    if(get(MACKey) != null)
+     return false;
+
+    // If the table would become more than half full, double its capacity
+    if((devicesList.size() + 1) * 2 > devicesTable.length)
+     {
+      long[] oldMACKeysTable = MACKeysTable;
+      BaseDevice[] oldDevicesTable = devicesTable;
+
+      allocTable(devicesTable.length << 1);
+      for(int i = 0; i < oldDevicesTable.length; i++)
+       if(oldDevicesTable[i] != null)
+        tableInsert(oldMACKeysTable[i],oldDevicesTable[i]);
+     }
+
+    // Insert the device in the table and in the devices list
+    tableInsert(MACKey,device);
+    devicesList.add(device);
+    return true;
+   }
+
+
+  /**
+   * Retrieves the device associated with a packed MAC key
+   * @param MACKey The packed MAC key (see MACToKey())
+   * @return The device associated with such MAC key, or null if none exists
+   */
+  @SuppressWarnings("unchecked")
+  public T get(long MACKey)
+   {
+    int slot = hashMACKey(MACKey) & tableMask;
+    BaseDevice device;
+
+    // Linearly probe the table up to the first empty slot
+    while((device = devicesTable[slot]) != null)
+     {
+      if(MACKeysTable[slot] == MACKey)
+       return (T)device;
+      slot = (slot + 1) & tableMask;
+     }
+    return null;
+   }
+
+
+  /**
+   * Retrieves the device associated with a MAC address
+   * @param MAC The device's MAC address
+   * @return The device associated with such MAC address, or null
+   *         if the MAC address is invalid or no such device exists
+   */
+  public T get(String MAC)
+   {
+    try
+     { return get(MACToKey(MAC)); }
+    catch(IllegalArgumentException invalidMACExcp)
+     { return null; }
+   }
+
+
+  /**
+   * @return The number of devices in the registry
+   */
+  public int size()
+   { return devicesList.size(); }
+
+
+  /**
+   * @return An unmodifiable view of the registered
+   *         devices in their registration order
+   */
+  public List<T> asList()
+   { return Collections.unmodifiableList(devicesList); }
+
+
+  /**
+   * @return An iterator over the registered devices in their registration order
+   */
+  @Override
+  public Iterator<T> iterator()
+   { return asList().iterator(); }
+ }
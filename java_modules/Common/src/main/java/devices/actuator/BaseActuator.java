@@ -49,10 +49,16 @@ public abstract class BaseActuator extends BaseDevice
 
   /* ================================ ATTRIBUTES ================================ */
 
-  // Actuators Resources Relative Paths
-  protected static final String actuatorFanRelSpeedResRelPath = "fan";
-  protected static final String actuatorLightStateResRelPath = "light";
-  protected static final String actuatorErrorsResRelPath = "actuatorErrors";
+  // Actuators Resources Relative Paths (also served by the actuators' simulator)
+  public static final String actuatorFanRelSpeedResRelPath = "fan";
+  public static final String actuatorLightStateResRelPath = "light";
+  public static final String actuatorErrorsResRelPath = "actuatorErrors";
+
+  // The template of the actuators' CoAP endpoints overriding their fd00:: IPv6
+  // endpoints derived from their MACs, where "{MAC}" is replaced by an actuator's
+  // MAC without colons (e.g. "coap://127.0.0.1:5683/{MAC}/" for targeting the
+  // actuators' simulator, null -> actuators' IPv6 endpoints, "-actuatorEndpoint" option)
+  public static String ACTUATOR_COAP_ENDPOINT_TEMPLATE = null;
 
 
   /* ============================= PUBLIC METHODS ============================= */
@@ -69,6 +69,22 @@ public abstract class BaseSensor extends BaseDevice
   // Average Fan Relative Speed subscription topic
   public final static String TOPIC_AVG_FAN_REL_SPEED = "SafeTunnels/avgFanRelSpeed";
 
+  /* -------------- Operating States Hysteresis and Dwell Configuration -------------- */
+
+  // The hysteresis bands below the C02 WARNING, ALERT and EMERGENCY thresholds (a
+  // C02 reading must fall below (threshold - band) to leave the state above it),
+  // as applied by the Control Module ("-C02Band" option)
+  public static int[] C02_HYSTERESIS_BANDS = {100,250,500};
+
+  // The hysteresis bands below the temperature WARNING, ALERT
+  // and EMERGENCY thresholds ("-tempBand" option)
+  public static int[] TEMP_HYSTERESIS_BANDS = {1,1,1};
+
+  // The minimum dwell times in milliseconds the readings of a quantity must be below
+  // the hysteresis band of its WARNING, ALERT and EMERGENCY states for leaving them
+  // (escalations to a higher operating state are always applied immediately, "-dwell" option)
+  public static long[] OPSTATES_DWELL_TIMES = {5000,5000,5000};
+
 
   /* ============================= PUBLIC METHODS ============================= */
 
@@ -0,0 +1,259 @@
+/*
+ * SafeTunnels Asynchronous Log Writer, decoupling the logging threads (e.g. the MQTT
+ * and CoAP callback threads) from the console or GUI I/O, where log events are
+ * published into a preallocated lock-free ring buffer and a single consumer thread
+ * formats and writes them to the (current) standard output in batches
+ */
+
+package logging;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class AsyncLogWriter
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The maximum number of log events written per batch
+  private static final int MAX_BATCH_SIZE = 256;
+
+  // The maximum time in milliseconds the consumer thread sleeps without
+  // checking for new log events (it is normally woken up by the producers)
+  private static final int MAX_IDLE_PARK = 50;
+
+  // The maximum time in milliseconds waited for the log events to be written on a flush
+  private static final int FLUSH_TIMEOUT = 2000;
+
+  // The ring buffer's log events and its index mask
+  private final LogEvent[] events;
+  private final int eventsMask;
+
+  // The sequence number of each ring buffer slot, where a slot whose sequence
+  // equals a position is free for that position's producer, and a slot whose
+  // sequence equals the position + 1 holds a log event to be consumed
+  private final AtomicLong sequenceClaimed;
+  private final AtomicLongArray slotsSequences;
+
+  // The position of the next log event to be consumed (consumer thread only)
+  // and the number of log events that have been written so far
+  private long consumePos;
+  private final AtomicLong writtenEvents;
+
+  // The number of log events dropped since the consumer last reported them
+  private final AtomicLong droppedEvents;
+
+  // The consumer thread and whether it is parked waiting for log events
+  private final Thread consumerThread;
+  private volatile boolean consumerParked;
+
+
+  /* ============================== PRIVATE CLASSES ============================== */
+
+  /**
+   * A preallocated log event, reused across the ring buffer's laps
+   */
+  private static final class LogEvent
+   {
+    // The log event's ANSI color, header and message
+    String color;
+    String header;
+    String msg;
+   }
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Attempts to publish a log event into the ring buffer
+   * @return 'true' if the event was published, or 'false' if the buffer is full
+   */
+  private boolean tryPublish(String color, String header, String msg)
+   {
+    while(true)
+     {
+      long pos = sequenceClaimed.get();
+      int slot = (int)(pos & eventsMask);
+      long slotSeq = slotsSequences.get(slot);
+
+      // If the slot is free for this position, attempt to claim it
+      if(slotSeq == pos)
+       {
+        if(sequenceClaimed.compareAndSet(pos,pos + 1))
+         {
+          LogEvent event = events[slot];
+          event.color = color;
+          event.header = header;
+          event.msg = msg;
+
+          // Make the log event visible to the consumer
+          slotsSequences.set(slot,pos + 1);
+          return true;
+         }
+       }
+
+      // If the slot still holds the log event of the previous lap, the buffer is full
+      else
+       if(slotSeq < pos)
+        return false;
+
+      // Otherwise another producer claimed the position, retry
+     }
+   }
+
+
+  /**
+   * Writes to the standard output the log events published so
+   * far (up to MAX_BATCH_SIZE), returning the number of events written
+   */
+  private int writeBatch()
+   {
+    // Retrieve the current standard output (which may have been redirected, e.g. to the GUI)
+    PrintStream out = System.out;
+    int batchSize = 0;
+
+    while(batchSize < MAX_BATCH_SIZE)
+     {
+      int slot = (int)(consumePos & eventsMask);
+      if(slotsSequences.get(slot) != consumePos + 1)
+       break;
+
+      // Format and write the log event, releasing its slot
+      LogEvent event = events[slot];
+      try
+       { out.println(event.color + event.header + event.msg + Log.COLOR_RST); }
+      catch(RuntimeException runtimeExcp)
+       { /* A failing output must not terminate the consumer thread */ }
+      event.color = event.header = event.msg = null;
+      slotsSequences.set(slot,consumePos + events.length);
+      consumePos++;
+      batchSize++;
+     }
+
+    if(batchSize > 0)
+     {
+      writtenEvents.addAndGet(batchSize);
+      out.flush();
+     }
+    return batchSize;
+   }
+
+
+  /**
+   * Consumer thread main loop, writing the published log events in batches
+   */
+  private void consumerLoop()
+   {
+    while(true)
+     {
+      // Write the published log events, if any
+      if(writeBatch() > 0)
+       {
+        // Report the log events that were dropped because the buffer was full, if any
+        long dropped = droppedEvents.getAndSet(0);
+        if(dropped > 0)
+         System.out.println(Log.COLOR_WARNING + "[WARN]: " + dropped
+                            + " log lines were dropped (log buffer full)" + Log.COLOR_RST);
+        continue;
+       }
+
+      // Otherwise wait for log events to be published, checking again
+      // after having set that the consumer is parked so that no wake-up is lost
+      consumerParked = true;
+      if(slotsSequences.get((int)(consumePos & eventsMask)) != consumePos + 1)
+       LockSupport.parkNanos(this,TimeUnit.MILLISECONDS.toNanos(MAX_IDLE_PARK));
+      consumerParked = false;
+     }
+   }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * AsyncLogWriter constructor, preallocating its ring
+   * buffer and starting its consumer thread
+   * @param capacity The ring buffer's capacity (rounded up to a power of 2)
+   */
+  AsyncLogWriter(int capacity)
+   {
+    int bufferSize = Integer.highestOneBit(Math.max(capacity - 1,1)) << 1;
+    events = new LogEvent[bufferSize];
+    slotsSequences = new AtomicLongArray(bufferSize);
+    for(int i = 0; i < bufferSize; i++)
+     {
+      events[i] = new LogEvent();
+      slotsSequences.set(i,i);
+     }
+    eventsMask = bufferSize - 1;
+    sequenceClaimed = new AtomicLong();
+    writtenEvents = new AtomicLong();
+    droppedEvents = new AtomicLong();
+    consumePos = 0;
+
+    consumerThread = new Thread(this::consumerLoop,"AsyncLogWriter");
+    consumerThread.setDaemon(true);
+    consumerThread.start();
+
+    // Write the pending log events on the application's termination
+    Runtime.getRuntime().addShutdownHook(new Thread(this::flush,"AsyncLogWriterShutdown"));
+   }
+
+
+  /**
+   * Publishes a log event to be asynchronously written, applying
+   * the overflow policy if the ring buffer is full
+   * @param color  The log event's ANSI color
+   * @param header The log event's header
+   * @param msg    The log event's message
+   * @param policy The policy to be applied if the ring buffer is full
+   */
+  void publish(String color, String header, String msg, LogOverflowPolicy policy)
+   {
+    if(!tryPublish(color,header,msg))
+     {
+      if(policy == LogOverflowPolicy.DROP || Thread.currentThread() == consumerThread)
+       {
+        droppedEvents.incrementAndGet();
+        return;
+       }
+
+      // BLOCK policy: wait for space in the buffer
+      while(!tryPublish(color,header,msg))
+       {
+        LockSupport.unpark(consumerThread);
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+       }
+     }
+
+    // Wake up the consumer thread if it is waiting for log events
+    if(consumerParked)
+     LockSupport.unpark(consumerThread);
+   }
+
+
+  /**
+   * Waits (up to FLUSH_TIMEOUT) for all log events published so far to be written
+   */
+  void flush()
+   {
+    // The consumer thread cannot wait for itself
+    if(Thread.currentThread() == consumerThread)
+     return;
+
+    long target = sequenceClaimed.get();
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_TIMEOUT);
+
+    while(writtenEvents.get() < target && System.nanoTime() < deadline)
+     {
+      LockSupport.unpark(consumerThread);
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+     }
+   }
+ }
@@ -8,6 +8,7 @@ package logging;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 
 /* --------------------------- SafeTunnels Resources --------------------------- */
@@ -33,10 +34,24 @@ public abstract class Log
   // Whether FATAL errors should terminate the application
   public static final boolean EXIT_IF_FATAL = true;
 
+  // Whether log lines are written asynchronously by a dedicated thread (which must
+  // be set before the first log line, as the asynchronous writer is then started)
+  public static boolean LOG_ASYNC = true;
+
+  // The capacity of the asynchronous log events ring buffer
+  public static int LOG_BUFFER_CAPACITY = 8192;
+
+  // The policy applied when the asynchronous log events ring buffer is full
+  public static LogOverflowPolicy LOG_OVERFLOW_POLICY = LogOverflowPolicy.BLOCK;
+
+  // The asynchronous log writer, started on the first log line if LOG_ASYNC == true
+  private static volatile AsyncLogWriter asyncLogWriter;
+  private static volatile boolean asyncLogWriterInit;
+
   /* ------------------------ Logging Colors Definitions ------------------------ */
 
   // Reset color
-  private final static String COLOR_RST   = "\u001B[0m";
+  final static String COLOR_RST   = "\u001B[0m";
 
   /*
   // Error Code Severity Colors (4 bit)
@@ -50,7 +65,7 @@ public abstract class Log
   // Error Code Severity Colors (8 bit)
   private final static String COLOR_DBG = "\033[38;5;246m";
   private final static String COLOR_INFO = "\033[38;5;33m";
-  private final static String COLOR_WARNING = "\033[38;5;202m";
+  final static String COLOR_WARNING = "\033[38;5;202m";
   private final static String COLOR_ERROR = "\033[38;5;160m";
   private final static String COLOR_FATAL = "\033[38;5;9m";
 
@@ -83,6 +98,70 @@ public abstract class Log
    { return "[" + devType + devID + " - " + sev + "]: "; }
 
 
+  /**
+   * @return The asynchronous log writer, starting it on the first
+   *         invocation, or null if LOG_ASYNC == false
+   */
+  private static AsyncLogWriter getAsyncLogWriter()
+   {
+    if(!asyncLogWriterInit)
+     synchronized(Log.class)
+      {
+       if(!asyncLogWriterInit)
+        {
+         if(LOG_ASYNC)
+          asyncLogWriter = new AsyncLogWriter(LOG_BUFFER_CAPACITY);
+         asyncLogWriterInit = true;
+        }
+      }
+    return asyncLogWriter;
+   }
+
+
+  /**
+   * Writes a log line, asynchronously if LOG_ASYNC == true
+   * @param color  The log line's ANSI color
+   * @param header The log line's header
+   * @param msg    The log line's message
+   */
+  private static void emit(String color, String header, String msg)
+   {
+    AsyncLogWriter writer = getAsyncLogWriter();
+    if(writer != null)
+     writer.publish(color,header,msg,LOG_OVERFLOW_POLICY);
+    else
+     System.out.println(color + header + msg + COLOR_RST);
+   }
+
+
+  /**
+   * Formats a log message template, replacing each "{}" placeholder with
+   * the next argument (placeholders exceeding the arguments are kept as is)
+   * @param template The log message template
+   * @param numArgs  The number of arguments (1 to 3)
+   * @param arg1     The first argument
+   * @param arg2     The second argument (if numArgs >= 2)
+   * @param arg3     The third argument (if numArgs == 3)
+   * @return The formatted log message
+   */
+  private static String format(String template, int numArgs, Object arg1, Object arg2, Object arg3)
+   {
+    StringBuilder logStr = new StringBuilder(template.length() + 16 * numArgs);
+    int argIndex = 0;
+    int from = 0;
+    int placeholder;
+
+    while(argIndex < numArgs && (placeholder = template.indexOf("{}",from)) != -1)
+     {
+      logStr.append(template,from,placeholder);
+      logStr.append(argIndex == 0 ? arg1 : (argIndex == 1 ? arg2 : arg3));
+      argIndex++;
+      from = placeholder + 2;
+     }
+    return logStr.append(template,from,template.length()).toString();
+   }
+
+
   /**
    * Terminates the program if a fatal error
    * has occurred and EXIT_IF_FATAL == true
@@ -93,8 +172,10 @@ public abstract class Log
     // If a fatal error has occurred and the application should terminate
     if(sevLev == ErrCodeSeverity.FATAL && EXIT_IF_FATAL)
      {
-      // Print that the application will now terminate
-      System.out.println(COLOR_FATAL + "The application will now exit" + COLOR_RST);
+      // Print that the application will now terminate, synchronously
+      // writing all log lines (and so the fatal error) logged so far
+      emit(COLOR_FATAL,"","The application will now exit");
+      flush();
 
       // Wait a delay before terminating the application (this is to allow
       // the error message to be displayed in the ControlModule's GUI)
@@ -111,6 +192,18 @@ public abstract class Log
 
   /* ============================== PUBLIC METHODS ============================== */
 
+  /**
+   * Waits for all log lines logged so far to be written (if LOG_ASYNC == true),
+   * e.g. before printing directly on the standard output or terminating
+   */
+  public static void flush()
+   {
+    AsyncLogWriter writer = asyncLogWriter;
+    if(writer != null)
+     writer.flush();
+   }
+
+
   /* ----------------- Plain Severity-based Logging (noErrCode) ----------------- */
 
   /**
@@ -121,7 +214,7 @@ public abstract class Log
    {
     // Log only if LOG_LEVEL == DEBUG
     if(ErrCodeSeverity.DEBUG.ordinal() == LOG_LEVEL.ordinal())
-     System.out.println(COLOR_DBG + "[DBG]: " + logStr + COLOR_RST);
+     emit(COLOR_DBG,"[DBG]: ",logStr);
    }
 
   /**
@@ -132,7 +225,7 @@ public abstract class Log
    {
     // Log only if LOG_LEVEL >= INFO
     if(ErrCodeSeverity.INFO.ordinal() >= LOG_LEVEL.ordinal())
-     System.out.println(COLOR_INFO + "[INFO]: " + logStr + COLOR_RST);
+     emit(COLOR_INFO,"[INFO]: ",logStr);
    }
 
   /**
@@ -143,7 +236,7 @@ public abstract class Log
    {
     // Log only if LOG_LEVEL >= WARNING
     if(ErrCodeSeverity.WARNING.ordinal() >= LOG_LEVEL.ordinal())
-     System.out.println(COLOR_WARNING + "[WARN]: " + logStr + COLOR_RST);
+     emit(COLOR_WARNING,"[WARN]: ",logStr);
    }
 
   /**
@@ -154,7 +247,7 @@ public abstract class Log
    {
     // Log only if LOG_LEVEL >= ERROR
     if(ErrCodeSeverity.ERROR.ordinal() >= LOG_LEVEL.ordinal())
-     System.out.println(COLOR_ERROR + "[ERR]: " + logStr + COLOR_RST);
+     emit(COLOR_ERROR,"[ERR]: ",logStr);
    }
 
   /**
@@ -164,13 +257,230 @@ public abstract class Log
   public static void fatal(String logStr)
    {
     // Log the fatal error
-    System.out.println(COLOR_FATAL + "[FATAL]: " + logStr + COLOR_RST);
+    emit(COLOR_FATAL,"[FATAL]: ",logStr);
 
     // Terminate the program if EXIT_IF_FATAL == true
     checkFatalExit(ErrCodeSeverity.FATAL);
    }
 
 
+  /* ------------------- Lazy and Parameterized Plain Logging ------------------- */
+
+  /*
+   * The following overloads build the log message only if its severity is
+   * enabled by the LOG_LEVEL, so that hot paths (e.g. per-reading logging)
+   * do not pay for the message's construction when it is not logged, where:
+   *  - Supplier overloads build the message by invoking the supplier
+   *  - Template overloads replace each "{}" placeholder in the template
+   *    with the next argument, e.g. Log.dbg("sensor{} C02 {}",ID,C02)
+   *  - int template overloads avoid boxing primitive arguments (which
+   *    outside of the Integer cache allocates) before the severity check
+   */
+
+  /**
+   * @param sev An ErrCodeSeverity
+   * @return Whether log messages of such severity are logged
+   */
+  public static boolean isEnabled(ErrCodeSeverity sev)
+   { return sev.ordinal() >= LOG_LEVEL.ordinal(); }
+
+  /**
+   * Lazy DEBUG plain logging
+   * @param logStrSupplier The supplier of the String to be logged
+   */
+  public static void dbg(Supplier<String> logStrSupplier)
+   {
+    if(isEnabled(ErrCodeSeverity.DEBUG))
+     emit(COLOR_DBG,"[DBG]: ",logStrSupplier.get());
+   }
+
+  /**
+   * Parameterized DEBUG plain logging
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   */
+  public static void dbg(String template, Object arg1)
+   {
+    if(isEnabled(ErrCodeSeverity.DEBUG))
+     emit(COLOR_DBG,"[DBG]: ",format(template,1,arg1,null,null));
+   }
+
+  /**
+   * Parameterized DEBUG plain logging
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   * @param arg2     The argument replacing the second "{}" placeholder
+   */
+  public static void dbg(String template, Object arg1, Object arg2)
+   {
+    if(isEnabled(ErrCodeSeverity.DEBUG))
+     emit(COLOR_DBG,"[DBG]: ",format(template,2,arg1,arg2,null));
+   }
+
+  /**
+   * Parameterized DEBUG plain logging
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   * @param arg2     The argument replacing the second "{}" placeholder
+   * @param arg3     The argument replacing the third "{}" placeholder
+   */
+  public static void dbg(String template, Object arg1, Object arg2, Object arg3)
+   {
+    if(isEnabled(ErrCodeSeverity.DEBUG))
+     emit(COLOR_DBG,"[DBG]: ",format(template,3,arg1,arg2,arg3));
+   }
+
+  /**
+   * Parameterized DEBUG plain logging of two int arguments
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   * @param arg2     The argument replacing the second "{}" placeholder
+   */
+  public static void dbg(String template, int arg1, int arg2)
+   {
+    if(isEnabled(ErrCodeSeverity.DEBUG))
+     emit(COLOR_DBG,"[DBG]: ",format(template,2,arg1,arg2,null));
+   }
+
+  /**
+   * Lazy INFO plain logging
+   * @param logStrSupplier The supplier of the String to be logged
+   */
+  public static void info(Supplier<String> logStrSupplier)
+   {
+    if(isEnabled(ErrCodeSeverity.INFO))
+     emit(COLOR_INFO,"[INFO]: ",logStrSupplier.get());
+   }
+
+  /**
+   * Parameterized INFO plain logging
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   */
+  public static void info(String template, Object arg1)
+   {
+    if(isEnabled(ErrCodeSeverity.INFO))
+     emit(COLOR_INFO,"[INFO]: ",format(template,1,arg1,null,null));
+   }
+
+  /**
+   * Parameterized INFO plain logging
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   * @param arg2     The argument replacing the second "{}" placeholder
+   */
+  public static void info(String template, Object arg1, Object arg2)
+   {
+    if(isEnabled(ErrCodeSeverity.INFO))
+     emit(COLOR_INFO,"[INFO]: ",format(template,2,arg1,arg2,null));
+   }
+
+  /**
+   * Parameterized INFO plain logging
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   * @param arg2     The argument replacing the second "{}" placeholder
+   * @param arg3     The argument replacing the third "{}" placeholder
+   */
+  public static void info(String template, Object arg1, Object arg2, Object arg3)
+   {
+    if(isEnabled(ErrCodeSeverity.INFO))
+     emit(COLOR_INFO,"[INFO]: ",format(template,3,arg1,arg2,arg3));
+   }
+
+  /**
+   * Lazy WARNING plain logging
+   * @param logStrSupplier The supplier of the String to be logged
+   */
+  public static void warn(Supplier<String> logStrSupplier)
+   {
+    if(isEnabled(ErrCodeSeverity.WARNING))
+     emit(COLOR_WARNING,"[WARN]: ",logStrSupplier.get());
+   }
+
+  /**
+   * Parameterized WARNING plain logging
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   */
+  public static void warn(String template, Object arg1)
+   {
+    if(isEnabled(ErrCodeSeverity.WARNING))
+     emit(COLOR_WARNING,"[WARN]: ",format(template,1,arg1,null,null));
+   }
+
+  /**
+   * Parameterized WARNING plain logging
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   * @param arg2     The argument replacing the second "{}" placeholder
+   */
+  public static void warn(String template, Object arg1, Object arg2)
+   {
+    if(isEnabled(ErrCodeSeverity.WARNING))
+     emit(COLOR_WARNING,"[WARN]: ",format(template,2,arg1,arg2,null));
+   }
+
+  /**
+   * Parameterized WARNING plain logging
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   * @param arg2     The argument replacing the second "{}" placeholder
+   * @param arg3     The argument replacing the third "{}" placeholder
+   */
+  public static void warn(String template, Object arg1, Object arg2, Object arg3)
+   {
+    if(isEnabled(ErrCodeSeverity.WARNING))
+     emit(COLOR_WARNING,"[WARN]: ",format(template,3,arg1,arg2,arg3));
+   }
+
+  /**
+   * Lazy ERROR plain logging
+   * @param logStrSupplier The supplier of the String to be logged
+   */
+  public static void err(Supplier<String> logStrSupplier)
+   {
+    if(isEnabled(ErrCodeSeverity.ERROR))
+     emit(COLOR_ERROR,"[ERR]: ",logStrSupplier.get());
+   }
+
+  /**
+   * Parameterized ERROR plain logging
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   */
+  public static void err(String template, Object arg1)
+   {
+    if(isEnabled(ErrCodeSeverity.ERROR))
+     emit(COLOR_ERROR,"[ERR]: ",format(template,1,arg1,null,null));
+   }
+
+  /**
+   * Parameterized ERROR plain logging
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   * @param arg2     The argument replacing the second "{}" placeholder
+   */
+  public static void err(String template, Object arg1, Object arg2)
+   {
+    if(isEnabled(ErrCodeSeverity.ERROR))
+     emit(COLOR_ERROR,"[ERR]: ",format(template,2,arg1,arg2,null));
+   }
+
+  /**
+   * Parameterized ERROR plain logging
+   * @param template The log message template
+   * @param arg1     The argument replacing the first "{}" placeholder
+   * @param arg2     The argument replacing the second "{}" placeholder
+   * @param arg3     The argument replacing the third "{}" placeholder
+   */
+  public static void err(String template, Object arg1, Object arg2, Object arg3)
+   {
+    if(isEnabled(ErrCodeSeverity.ERROR))
+     emit(COLOR_ERROR,"[ERR]: ",format(template,3,arg1,arg2,arg3));
+   }
+
+
   /* -------------------------- ModuleErrCode Logging -------------------------- */
 
   /**
@@ -194,9 +504,8 @@ public abstract class Log
 
     // If LOG_LEVEL >= the errCodeInfo severity, log the ModuleErrCode
     if(errCodeInfo.sevLev.ordinal() >= LOG_LEVEL.ordinal())
-     System.out.println(ErrCodeSevColorMap.get(errCodeInfo.sevLev)
-                        + printLogHeaderModule(errCodeInfo.sevLev)
-                        + errCodeInfo.humanDscr + " " + addDscr + COLOR_RST);
+     emit(ErrCodeSevColorMap.get(errCodeInfo.sevLev),printLogHeaderModule(errCodeInfo.sevLev),
+          errCodeInfo.humanDscr + " " + addDscr);
 
     // In case of a fatal error, terminate the program if EXIT_IF_FATAL == true
     checkFatalExit(errCodeInfo.sevLev);
@@ -228,9 +537,8 @@ public abstract class Log
 
     // If LOG_LEVEL >= the errCodeInfo severity, log the DevErrCode
     if(errCodeInfo.sevLev.ordinal() >= LOG_LEVEL.ordinal())
-     System.out.println(ErrCodeSevColorMap.get(errCodeInfo.sevLev)
-                        + printLogHeaderDev(devErrCode.getDevType(),devID,errCodeInfo.sevLev)
-                        + errCodeInfo.humanDscr + " " + addDscr + COLOR_RST);
+     emit(ErrCodeSevColorMap.get(errCodeInfo.sevLev),printLogHeaderDev(devErrCode.getDevType(),devID,errCodeInfo.sevLev),
+          errCodeInfo.humanDscr + " " + addDscr);
 
     // In case of a fatal error, terminate the program if EXIT_IF_FATAL == true
     checkFatalExit(errCodeInfo.sevLev);
@@ -263,9 +571,8 @@ public abstract class Log
 
     // If LOG_LEVEL >= the errCodeInfo severity, log the ModuleErrCode
     if(errCodeInfo.sevLev.ordinal() >= LOG_LEVEL.ordinal())
-     System.out.println(ErrCodeSevColorMap.get(errCodeInfo.sevLev)
-                        + printLogHeaderModule(errCodeInfo.sevLev) + errCodeInfo.humanDscr
-                        + " " + errCodeExcp.addDscr + COLOR_RST);
+     emit(ErrCodeSevColorMap.get(errCodeInfo.sevLev),printLogHeaderModule(errCodeInfo.sevLev),
+          errCodeInfo.humanDscr + " " + errCodeExcp.addDscr);
 
     // In case of a fatal error, terminate the program if EXIT_IF_FATAL == true
     checkFatalExit(errCodeInfo.sevLev);
@@ -282,9 +589,9 @@ public abstract class Log
 
     // If LOG_LEVEL >= the errCodeInfo severity, log the DevErrCode
     if(errCodeInfo.sevLev.ordinal() >= LOG_LEVEL.ordinal())
-     System.out.println(ErrCodeSevColorMap.get(errCodeInfo.sevLev)
-                        + printLogHeaderDev(((DevErrCode)devErrCodeExcp.errCode).getDevType(),devErrCodeExcp.devID,errCodeInfo.sevLev)
-                        + errCodeInfo.humanDscr + " " + devErrCodeExcp.addDscr + COLOR_RST);
+     emit(ErrCodeSevColorMap.get(errCodeInfo.sevLev),
+          printLogHeaderDev(((DevErrCode)devErrCodeExcp.errCode).getDevType(),devErrCodeExcp.devID,errCodeInfo.sevLev),
+          errCodeInfo.humanDscr + " " + devErrCodeExcp.addDscr);
 
     // In case of a fatal error, terminate the program if EXIT_IF_FATAL == true
     checkFatalExit(errCodeInfo.sevLev);
@@ -305,6 +612,8 @@ public abstract class Log
     Log.info("This is a info message");
     Log.warn("This is a warning message");
     Log.err("This is a error message");
+    Log.dbg("This is a {} debug message with {} arguments","parameterized",2);
+    Log.dbg(() -> "This is a lazy debug message");
     Log.fatal("This is a fatal message");
     Log.dbg("This should not be printed with EXIT_IF_FATAL == true");
 
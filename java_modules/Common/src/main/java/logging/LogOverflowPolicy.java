@@ -0,0 +1,14 @@
+/* The policies applicable when the asynchronous log buffer is full */
+
+package logging;
+
+
+/* ============================== ENUM DEFINITION ============================== */
+public enum LogOverflowPolicy
+ {
+  // The logging thread waits for space in the buffer (no log line is lost)
+  BLOCK,
+
+  // The log line is dropped (the logging thread never waits)
+  DROP
+ }
@@ -0,0 +1,524 @@
+/*
+ * A client session of the embedded MQTT broker, reading and serving the MQTT
+ * packets of a client connection on its own thread, where the packets sent to
+ * the client (acknowledgements and the messages delivered to its subscriptions,
+ * possibly from other sessions' threads) are serialized on its output stream
+ */
+
+package modules.EmbeddedMQTTBroker;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import static modules.EmbeddedMQTTBroker.EmbeddedMQTTBrokerErrCode.ERR_EMBEDDED_BROKER_PROTOCOL_VIOLATION;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class BrokerSession implements Runnable
+ {
+  /* ============================ MQTT PACKET TYPES ============================ */
+
+  private static final int CONNECT = 1;
+  private static final int CONNACK = 2;
+  private static final int PUBLISH = 3;
+  private static final int PUBACK = 4;
+  private static final int SUBSCRIBE = 8;
+  private static final int SUBACK = 9;
+  private static final int UNSUBSCRIBE = 10;
+  private static final int UNSUBACK = 11;
+  private static final int PINGREQ = 12;
+  private static final int PINGRESP = 13;
+  private static final int DISCONNECT = 14;
+
+  // The CONNACK "unacceptable protocol version" return code
+  private static final int CONNACK_BAD_PROTOCOL_VERSION = 1;
+
+  // The maximum size of a received MQTT packet's remaining length
+  private static final int MAX_PACKET_SIZE = 1 << 20;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // A MQTT protocol violation by the client
+  private static final class ProtocolViolationException extends IOException
+   {
+    ProtocolViolationException(String dscr)
+     { super(dscr); }
+   }
+
+  // The broker the session belongs to
+  private final EmbeddedMQTTBroker broker;
+
+  // The client's connection and its streams
+  private final Socket clientSocket;
+  private final DataInputStream in;
+  private final OutputStream out;
+
+  // The client ID (null until the client's CONNECT is received)
+  private String clientID;
+
+  // The client's "last will" message (null if none or once the client has disconnected)
+  private volatile String willTopic;
+  private byte[] willPayload;
+  private int willQoS;
+  private boolean willRetain;
+
+  // The client's subscriptions topic filters and their QoS
+  private final Map<String,Integer> subscriptions = new ConcurrentHashMap<>();
+
+  // The packet ID of the last QoS 1 message delivered to the client
+  // (guarded, as the output stream, by the session's monitor)
+  private int lastPacketID = 0;
+
+  // Whether the session has been closed (atomically, as it may be closed concurrently
+  // by its reader thread, a session takeover or the broker's shutdown)
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Reads a MQTT UTF-8 (length-prefixed) string from the client
+   * @return The read string
+   * @throws IOException Failed to read the string
+   */
+  private String readString() throws IOException
+   { return new String(readBinary(),StandardCharsets.UTF_8); }
+
+
+  /**
+   * Reads MQTT binary (length-prefixed) data from the client
+   * @return The read binary data
+   * @throws IOException Failed to read the binary data
+   */
+  private byte[] readBinary() throws IOException
+   {
+    byte[] data = new byte[in.readUnsignedShort()];
+    in.readFully(data);
+    return data;
+   }
+
+
+  /**
+   * Reads a MQTT packet's remaining length (variable-length encoded)
+   * @return The packet's remaining length
+   * @throws IOException Failed to read the remaining length, or it is invalid
+   */
+  private int readRemainingLength() throws IOException
+   {
+    int remainingLength = 0;
+    for(int shift = 0; shift < 28; shift += 7)
+     {
+      int encodedByte = in.readUnsignedByte();
+      remainingLength |= (encodedByte & 0x7f) << shift;
+      if((encodedByte & 0x80) == 0)
+       {
+        if(remainingLength > MAX_PACKET_SIZE)
+         throw new ProtocolViolationException("packet of " + remainingLength + " bytes exceeds the maximum size");
+        return remainingLength;
+       }
+     }
+    throw new ProtocolViolationException("malformed remaining length");
+   }
+
+
+  /**
+   * Ensures a field of a MQTT packet not to exceed the packet's remaining length
+   * @param fieldLength     The field's length
+   * @param remainingLength The packet's remaining length before the field
+   * @return The packet's remaining length after the field
+   * @throws ProtocolViolationException The field exceeds the packet's remaining length
+   */
+  private static int consume(int fieldLength, int remainingLength) throws ProtocolViolationException
+   {
+    if(fieldLength > remainingLength)
+     throw new ProtocolViolationException("field of " + fieldLength + " bytes exceeds the packet's remaining length ("
+                                          + remainingLength + " bytes)");
+    return remainingLength - fieldLength;
+   }
+
+
+  /**
+   * Sends a MQTT packet to the client
+   * @param header        The packet's fixed header first byte
+   * @param variableParts The packet's variable header and payload parts
+   * @throws IOException Failed to send the packet
+   */
+  private synchronized void send(int header, byte[]... variableParts) throws IOException
+   {
+    int remainingLength = 0;
+    for(byte[] part : variableParts)
+     remainingLength += part.length;
+
+    out.write(header);
+    do
+     {
+      int encodedByte = remainingLength & 0x7f;
+      remainingLength >>>= 7;
+      out.write(remainingLength > 0 ? encodedByte | 0x80 : encodedByte);
+     }
+    while(remainingLength > 0);
+
+    for(byte[] part : variableParts)
+     out.write(part);
+    out.flush();
+   }
+
+
+  /**
+   * Encodes a MQTT UTF-8 (length-prefixed) string
+   */
+  private static byte[] encodeString(String str)
+   {
+    byte[] strBytes = str.getBytes(StandardCharsets.UTF_8);
+    byte[] encoded = new byte[strBytes.length + 2];
+    encoded[0] = (byte)(strBytes.length >>> 8);
+    encoded[1] = (byte)strBytes.length;
+    System.arraycopy(strBytes,0,encoded,2,strBytes.length);
+    return encoded;
+   }
+
+
+  /**
+   * Encodes a MQTT packet ID
+   */
+  private static byte[] encodePacketID(int packetID)
+   { return new byte[]{(byte)(packetID >>> 8),(byte)packetID}; }
+
+
+  /**
+   * Serves the client's CONNECT packet, taking over any session with the same client ID
+   * @return Whether the client has connected (false if its protocol version is not supported)
+   * @throws IOException Failed to serve the CONNECT packet
+   */
+  private boolean serveConnect() throws IOException
+   {
+    // Protocol name ("MQTT" for 3.1.1, "MQIsdp" for 3.1) and level
+    String protocolName = readString();
+    int protocolLevel = in.readUnsignedByte();
+    int connectFlags = in.readUnsignedByte();
+    int keepAlive = in.readUnsignedShort();
+
+    if(!(protocolName.equals("MQTT") && protocolLevel == 4) && !(protocolName.equals("MQIsdp") && protocolLevel == 3))
+     {
+      send(CONNACK << 4,new byte[]{0,CONNACK_BAD_PROTOCOL_VERSION});
+      return false;
+     }
+
+    // Payload (client ID, will, username and password)
+    clientID = readString();
+    if(clientID.isEmpty())
+     clientID = "EmbeddedMQTTBroker-anon-" + clientSocket.getPort();
+    if((connectFlags & 0x04) != 0)
+     {
+      willTopic = readString();
+      willPayload = readBinary();
+      willQoS = Math.min((connectFlags >>> 3) & 0x03,1);
+      willRetain = (connectFlags & 0x20) != 0;
+     }
+    if((connectFlags & 0x80) != 0)
+     readBinary();
+    if((connectFlags & 0x40) != 0)
+     readBinary();
+
+    // Close the client's connection if it is idle for 1.5 times its keep-alive interval
+    if(keepAlive > 0)
+     clientSocket.setSoTimeout(keepAlive * 1500);
+
+    // Take over any session with the same client ID (whose "last will" is published)
+    BrokerSession prevSession = broker.sessions.put(clientID,this);
+    if(prevSession != null)
+     prevSession.close(true);
+
+    // Clean sessions only
+    send(CONNACK << 4,new byte[]{0,0});
+    Log.dbg("Embedded MQTT broker: client \"" + clientID + "\" connected");
+    return true;
+   }
+
+
+  /**
+   * Serves a client's PUBLISH packet
+   * @param flags           The packet's fixed header flags
+   * @param remainingLength The packet's remaining length
+   * @throws IOException Failed to serve the PUBLISH packet
+   */
+  private void servePublish(int flags, int remainingLength) throws IOException
+   {
+    int QoS = (flags >>> 1) & 0x03;
+    boolean retain = (flags & 0x01) != 0;
+    if(QoS == 3)
+     throw new ProtocolViolationException("invalid PUBLISH QoS");
+
+    byte[] topicBytes = readBinary();
+    remainingLength = consume(topicBytes.length + 2,remainingLength);
+    int packetID = 0;
+    if(QoS > 0)
+     {
+      packetID = in.readUnsignedShort();
+      remainingLength = consume(2,remainingLength);
+     }
+    byte[] payload = new byte[remainingLength];
+    in.readFully(payload);
+
+    // Route the message, downgrading QoS 2 to QoS 1 (and so acknowledging it with a PUBACK)
+    broker.route(new String(topicBytes,StandardCharsets.UTF_8),payload,Math.min(QoS,1),retain);
+    if(QoS > 0)
+     send(PUBACK << 4,encodePacketID(packetID));
+   }
+
+
+  /**
+   * Serves a client's SUBSCRIBE packet, delivering it the matching retained messages
+   * @param remainingLength The packet's remaining length
+   * @throws IOException Failed to serve the SUBSCRIBE packet
+   */
+  private void serveSubscribe(int remainingLength) throws IOException
+   {
+    int packetID = in.readUnsignedShort();
+    remainingLength = consume(2,remainingLength);
+
+    // Read the subscriptions, granting each at most QoS 1 (where each
+    // subscription takes at least 3 bytes of the remaining length)
+    byte[] grantedQoS = new byte[remainingLength / 3];
+    String[] topicFilters = new String[grantedQoS.length];
+    int subscriptionsNum = 0;
+    while(remainingLength > 0)
+     {
+      byte[] filterBytes = readBinary();
+      int requestedQoS = in.readUnsignedByte();
+      remainingLength = consume(filterBytes.length + 3,remainingLength);
+
+      topicFilters[subscriptionsNum] = new String(filterBytes,StandardCharsets.UTF_8);
+      grantedQoS[subscriptionsNum] = (byte)Math.min(requestedQoS & 0x03,1);
+      subscriptions.put(topicFilters[subscriptionsNum],(int)grantedQoS[subscriptionsNum]);
+      subscriptionsNum++;
+     }
+    if(subscriptionsNum == 0)
+     throw new ProtocolViolationException("SUBSCRIBE with no topic filters");
+
+    if(!broker.subscribers.contains(this))
+     broker.subscribers.add(this);
+
+    byte[] subackPayload = new byte[subscriptionsNum];
+    System.arraycopy(grantedQoS,0,subackPayload,0,subscriptionsNum);
+    send(SUBACK << 4,encodePacketID(packetID),subackPayload);
+
+    // Deliver the retained messages matching the new subscriptions
+    for(Map.Entry<String,byte[]> retainedMsg : broker.retainedMsgs.entrySet())
+     for(int i = 0; i < subscriptionsNum; i++)
+      if(EmbeddedMQTTBroker.topicMatches(topicFilters[i],retainedMsg.getKey()))
+       {
+        deliver(retainedMsg.getKey(),retainedMsg.getValue(),grantedQoS[i],true);
+        break;
+       }
+   }
+
+
+  /**
+   * Serves a client's UNSUBSCRIBE packet
+   * @param remainingLength The packet's remaining length
+   * @throws IOException Failed to serve the UNSUBSCRIBE packet
+   */
+  private void serveUnsubscribe(int remainingLength) throws IOException
+   {
+    int packetID = in.readUnsignedShort();
+    remainingLength = consume(2,remainingLength);
+    while(remainingLength > 0)
+     {
+      byte[] filterBytes = readBinary();
+      remainingLength = consume(filterBytes.length + 2,remainingLength);
+      subscriptions.remove(new String(filterBytes,StandardCharsets.UTF_8));
+     }
+    if(subscriptions.isEmpty())
+     broker.subscribers.remove(this);
+
+    send(UNSUBACK << 4,encodePacketID(packetID));
+   }
+
+
+  /**
+   * Closes the session and its client's connection
+   * @param publishWill Whether the client's "last will" message should be published
+   */
+  private void close(boolean publishWill)
+   {
+    if(!closed.compareAndSet(false,true))
+     return;
+
+    broker.subscribers.remove(this);
+    if(clientID != null)
+     broker.sessions.remove(clientID,this);
+    try
+     { clientSocket.close(); }
+    catch(IOException ioExcp)
+     { /* The connection is being closed anyway */ }
+
+    // Publish the client's "last will" message, if any
+    String closeWillTopic = willTopic;
+    if(publishWill && closeWillTopic != null)
+     {
+      willTopic = null;
+      broker.route(closeWillTopic,willPayload,willQoS,willRetain);
+     }
+
+    if(clientID != null)
+     Log.dbg("Embedded MQTT broker: client \"" + clientID + "\" "
+             + (publishWill ? "connection lost" : "disconnected"));
+   }
+
+
+  /* ============================ PACKAGE METHODS ============================ */
+
+  /**
+   * BrokerSession constructor
+   * @param broker       The broker the session belongs to
+   * @param clientSocket The client's connection
+   * @throws IOException Failed to open the connection's streams
+   */
+  BrokerSession(EmbeddedMQTTBroker broker, Socket clientSocket) throws IOException
+   {
+    this.broker = broker;
+    this.clientSocket = clientSocket;
+    in = new DataInputStream(new BufferedInputStream(clientSocket.getInputStream()));
+    out = new BufferedOutputStream(clientSocket.getOutputStream());
+   }
+
+
+  /**
+   * Delivers a message to the client if it matches any of its subscriptions,
+   * with the minimum between the message's and the subscription's QoS
+   * @param topic    The message's topic
+   * @param payload  The message's payload
+   * @param QoS      The message's QoS
+   * @param retained Whether the message is delivered as a retained message
+   */
+  void deliver(String topic, byte[] payload, int QoS, boolean retained)
+   {
+    // The maximum QoS of the client's subscriptions matching the topic (-1 if none)
+    int subscriptionQoS = -1;
+    for(Map.Entry<String,Integer> subscription : subscriptions.entrySet())
+     if(subscription.getValue() > subscriptionQoS && EmbeddedMQTTBroker.topicMatches(subscription.getKey(),topic))
+      subscriptionQoS = subscription.getValue();
+    if(subscriptionQoS == -1)
+     return;
+
+    int deliveryQoS = Math.min(QoS,subscriptionQoS);
+    try
+     {
+      synchronized(this)
+       {
+        int header = PUBLISH << 4 | deliveryQoS << 1 | (retained ? 1 : 0);
+        if(deliveryQoS == 0)
+         send(header,encodeString(topic),payload);
+        else
+         {
+          lastPacketID = lastPacketID % 0xffff + 1;
+          send(header,encodeString(topic),encodePacketID(lastPacketID),payload);
+         }
+       }
+     }
+    catch(IOException ioExcp)
+     { close(true); }
+   }
+
+
+  /**
+   * Closes the session without publishing its client's "last will" message
+   */
+  void discard()
+   { close(false); }
+
+
+  /**
+   * Serves the client's MQTT packets until its connection is closed
+   */
+  @Override
+  public void run()
+   {
+    // Whether the client has disconnected gracefully
+    boolean disconnected = false;
+
+    try
+     {
+      // The first packet must be a CONNECT
+      int header = in.readUnsignedByte();
+      if(header >>> 4 != CONNECT)
+       throw new ProtocolViolationException("first packet is not a CONNECT");
+      readRemainingLength();
+      if(!serveConnect())
+       {
+        discard();
+        return;
+       }
+
+      while(!closed.get() && !disconnected)
+       {
+        header = in.readUnsignedByte();
+        int remainingLength = readRemainingLength();
+
+        switch(header >>> 4)
+         {
+          case PUBLISH:
+           servePublish(header & 0x0f,remainingLength);
+           break;
+
+          // In-flight QoS 1 messages are not retained, and so need no acknowledgement
+          case PUBACK:
+           in.readFully(new byte[remainingLength]);
+           break;
+
+          case SUBSCRIBE:
+           serveSubscribe(remainingLength);
+           break;
+
+          case UNSUBSCRIBE:
+           serveUnsubscribe(remainingLength);
+           break;
+
+          case PINGREQ:
+           send(PINGRESP << 4);
+           break;
+
+          case DISCONNECT:
+           disconnected = true;
+           break;
+
+          default:
+           throw new ProtocolViolationException("unsupported packet type " + (header >>> 4));
+         }
+       }
+     }
+    catch(ProtocolViolationException protocolExcp)
+     {
+      Log.code(ERR_EMBEDDED_BROKER_PROTOCOL_VIOLATION,"(client = \"" + clientID + "\", reason = "
+               + protocolExcp.getMessage() + ")");
+     }
+    catch(SocketTimeoutException timeoutExcp)
+     { Log.dbg("Embedded MQTT broker: client \"" + clientID + "\" keep-alive expired"); }
+    catch(EOFException | java.net.SocketException closedExcp)
+     { /* The client's connection was closed */ }
+    catch(IOException ioExcp)
+     { Log.dbg("Embedded MQTT broker: client \"" + clientID + "\" I/O error (" + ioExcp.getMessage() + ")"); }
+
+    // Close the session whatever the reason the client's packets are no longer served
+    // (including unexpected errors), publishing the client's "last will" message
+    // unless it has gracefully disconnected
+    finally
+     { close(!disconnected); }
+   }
+ }
@@ -0,0 +1,226 @@
+/*
+ * SafeTunnels Embedded MQTT Broker, a lightweight in-JVM stand-in for the
+ * Mosquitto broker the Cloud and Control Modules and the sensors connect to,
+ * used to run the sensors' MQTT ingest path without an external broker (in
+ * benchmarks, load tests and the modules' "-embeddedBroker" development mode),
+ * where:
+ *   - It listens on the loopback interface only, serving each client connection
+ *     on its own (daemon) thread (see BrokerSession)
+ *   - It supports the subset of MQTT 3.1/3.1.1 used by SafeTunnels, i.e. clean
+ *     sessions, QoS 0 and 1 publications and subscriptions (QoS 2 being downgraded
+ *     to QoS 1), retained messages, "+" and "#" topic filters and "last will"
+ *     messages, published when a client's connection is closed (or its keep-alive
+ *     expires) without its DISCONNECT
+ *   - In-flight QoS 1 messages are not retransmitted, as a loopback connection
+ *     is only lost when either of its ends closes it
+ */
+
+package modules.EmbeddedMQTTBroker;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import static modules.EmbeddedMQTTBroker.EmbeddedMQTTBrokerErrCode.ERR_EMBEDDED_BROKER_START_FAILED;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class EmbeddedMQTTBroker
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The broker's listening socket
+  private final ServerSocket serverSocket;
+
+  // The thread accepting the clients' connections
+  private final Thread acceptorThread;
+
+  // Whether the broker is running (false once closed)
+  private volatile boolean running;
+
+  /* ============================ PACKAGE ATTRIBUTES ============================ */
+
+  // The connected clients' sessions, indexed by their client ID
+  final ConcurrentHashMap<String,BrokerSession> sessions = new ConcurrentHashMap<>();
+
+  // The sessions having at least one subscription
+  final CopyOnWriteArrayList<BrokerSession> subscribers = new CopyOnWriteArrayList<>();
+
+  // The retained messages' payloads, indexed by their topic
+  final ConcurrentHashMap<String,byte[]> retainedMsgs = new ConcurrentHashMap<>();
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Accepts the clients' connections, serving each on its own session thread
+   */
+  private void acceptConnections()
+   {
+    while(running)
+     {
+      try
+       {
+        Socket clientSocket = serverSocket.accept();
+        clientSocket.setTcpNoDelay(true);
+        Thread sessionThread = new Thread(new BrokerSession(this,clientSocket),
+                                          "EmbeddedMQTTBroker-" + clientSocket.getPort());
+        sessionThread.setDaemon(true);
+        sessionThread.start();
+       }
+      catch(IOException ioExcp)
+       {
+        if(running)
+         Log.warn("Embedded MQTT broker failed to accept a connection (reason = " + ioExcp.getMessage() + ")");
+       }
+     }
+   }
+
+
+  /**
+   * Checks whether a topic matches a subscription topic filter
+   * (supporting the "+" single-level and "#" multi-level wildcards)
+   * @param topicFilter The subscription topic filter
+   * @param topic       The topic
+   * @return Whether the topic matches the topic filter
+   */
+  static boolean topicMatches(String topicFilter, String topic)
+   {
+    int f = 0, t = 0;
+    while(f < topicFilter.length())
+     {
+      char filterChar = topicFilter.charAt(f);
+
+      // Multi-level wildcard, matching the rest of the topic (including its parent level)
+      if(filterChar == '#')
+       return true;
+
+      // Single-level wildcard, matching the topic's current level
+      if(filterChar == '+')
+       {
+        while(t < topic.length() && topic.charAt(t) != '/')
+         t++;
+        f++;
+        continue;
+       }
+
+      // Literal character
+      if(t == topic.length() || topic.charAt(t) != filterChar)
+       {
+        // "a/#" also matches "a"
+        return t == topic.length() && topicFilter.startsWith("/#",f);
+       }
+      f++;
+      t++;
+     }
+    return t == topic.length();
+   }
+
+
+  /* ============================ PACKAGE METHODS ============================ */
+
+  /**
+   * Routes a published message to the subscribed sessions,
+   * storing it as the topic's retained message if required
+   * @param topic   The message's topic
+   * @param payload The message's payload
+   * @param QoS     The message's QoS
+   * @param retain  Whether the message should be retained
+   */
+  void route(String topic, byte[] payload, int QoS, boolean retain)
+   {
+    // A retained message with an empty payload clears the topic's retained message
+    if(retain)
+     {
+      if(payload.length == 0)
+       retainedMsgs.remove(topic);
+      else
+       retainedMsgs.put(topic,payload);
+     }
+
+    for(BrokerSession subscriber : subscribers)
+     subscriber.deliver(topic,payload,QoS,false);
+   }
+
+
+  /* ============================== PUBLIC METHODS ============================== */
+
+  /**
+   * EmbeddedMQTTBroker constructor, starting the broker on the loopback interface
+   * @param port The broker's TCP port (0 -> an ephemeral port, see getPort())
+   * @throws IOException Failed to listen on the broker's port
+   */
+  public EmbeddedMQTTBroker(int port) throws IOException
+   {
+    serverSocket = new ServerSocket(port,128,InetAddress.getLoopbackAddress());
+    running = true;
+
+    acceptorThread = new Thread(this::acceptConnections,"EmbeddedMQTTBroker-acceptor");
+    acceptorThread.setDaemon(true);
+    acceptorThread.start();
+
+    Log.info("Embedded MQTT broker listening @" + getEndpoint());
+   }
+
+
+  /**
+   * Starts the embedded MQTT broker, where failing to start it is a FATAL error
+   * @param port The broker's TCP port (0 -> an ephemeral port)
+   * @return The started embedded MQTT broker
+   */
+  public static EmbeddedMQTTBroker start(int port)
+   {
+    try
+     { return new EmbeddedMQTTBroker(port); }
+    catch(IOException ioExcp)
+     {
+      Log.code(ERR_EMBEDDED_BROKER_START_FAILED,"(port = " + port + ", reason = " + ioExcp.getMessage() + ")");
+      return null;
+     }
+   }
+
+
+  /**
+   * @return The broker's TCP port
+   */
+  public int getPort()
+   { return serverSocket.getLocalPort(); }
+
+
+  /**
+   * @return The broker's endpoint, as passed to the PAHO MQTT clients
+   */
+  public String getEndpoint()
+   { return "tcp://127.0.0.1:" + getPort(); }
+
+
+  /**
+   * @return The number of clients connected with the broker
+   */
+  public int getConnectedClients()
+   { return sessions.size(); }
+
+
+  /**
+   * Closes the broker, closing all its clients' connections
+   * (without publishing their "last will" messages)
+   */
+  public void close()
+   {
+    running = false;
+    try
+     { serverSocket.close(); }
+    catch(IOException ioExcp)
+     { /* The broker is being closed anyway */ }
+    sessions.values().forEach(BrokerSession::discard);
+    Log.info("Embedded MQTT broker closed");
+   }
+ }
@@ -0,0 +1,52 @@
+/* SafeTunnels Embedded MQTT Broker Errors Definitions */
+
+package modules.EmbeddedMQTTBroker;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.EnumMap;
+import java.util.Map;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import errors.ErrCodeInfo;
+import errors.ModuleErrCode;
+import static errors.ErrCodeSeverity.FATAL;
+import static errors.ErrCodeSeverity.WARNING;
+
+
+/* ============================== ENUM DEFINITION ============================== */
+public enum EmbeddedMQTTBrokerErrCode implements ModuleErrCode
+ {
+  /* ====================== Enumeration Values Definition ====================== */
+
+  // Failed to start the embedded MQTT broker (e.g. its port is already in use)
+  ERR_EMBEDDED_BROKER_START_FAILED,
+
+  // A MQTT client violated the (supported subset of the) MQTT protocol
+  ERR_EMBEDDED_BROKER_PROTOCOL_VIOLATION;
+
+
+  /* ================= EmbeddedMQTTBroker ErrCodeInfo Map ================= */
+
+  private static final EnumMap<EmbeddedMQTTBrokerErrCode,ErrCodeInfo> EmbeddedMQTTBrokerErrCodeInfoMap = new EnumMap<>(Map.ofEntries
+   (
+    Map.entry(ERR_EMBEDDED_BROKER_START_FAILED,new ErrCodeInfo(FATAL,"Failed to start the embedded MQTT broker")),
+    Map.entry(ERR_EMBEDDED_BROKER_PROTOCOL_VIOLATION,new ErrCodeInfo(WARNING,"A MQTT client violated the embedded MQTT broker's protocol, closing its connection"))
+   ));
+
+
+  /* ========================== Enumeration Methods  ========================== */
+
+  /**
+   * @return The errCodeInfo object associated with an enum
+   */
+  public ErrCodeInfo getErrCodeInfo()
+   { return EmbeddedMQTTBrokerErrCodeInfoMap.get(this); }
+
+  /**
+   * @return The ModuleErrCode's name
+   */
+  public String getModuleName()
+   { return "EmbeddedMQTTBroker"; }
+ }
@@ -6,16 +6,152 @@ package modules.InputArgsParser;
 
 /* --------------------------- SafeTunnels Resources --------------------------- */
 import logging.Log;
+import logging.LogOverflowPolicy;
 import errors.ErrCodeSeverity;
+import modules.MySQLConnector.DBConnPool;
 import modules.MySQLConnector.MySQLConnector;
+import modules.MySQLConnector.SeriesBatchWriter;
+import devices.actuator.BaseActuator;
+import devices.sensor.BaseSensor;
+import modules.SensorsMQTTHandler.IngestOverflowPolicy;
+import modules.SensorsMQTTHandler.SensorsIngestPipeline;
+import modules.SensorsMQTTHandler.SensorsMQTTHandler;
 
 
 /* ============================== CLASS DEFINITION ============================== */
 public abstract class InputArgsParser
  {
+  /* ============================ PUBLIC ATTRIBUTES ============================ */
+
+  // Whether the Control Module should run headless, i.e. its Control
+  // Engine only without its GUI ("-headless" option, ControlModule only)
+  public static boolean HEADLESS_MODE = false;
+
+  // The port of the embedded MQTT broker the application should start and
+  // connect to in place of the local MQTT broker once the arguments are parsed
+  // (see SensorsMQTTHandler.useEmbeddedBroker()), "-embeddedBroker" development
+  // option, -1 -> no embedded broker, 0 -> an ephemeral port)
+  public static int EMBEDDED_BROKER_PORT = -1;
+
 
   /* ============================== PUBLIC METHODS ============================== */
 
+  /**
+   * Attempts to interpret a command-line option value as an integer, logging
+   * the error if it is not valid (also used by the SafeTunnels tools' parsers)
+   * @param option   The command-line option name
+   * @param value    The command-line option value
+   * @param minValue The option's minimum value (>= 0)
+   * @param maxValue The option's maximum value
+   * @return The option value as an integer, or -1 if it is not valid
+   */
+  public static int parseIntArg(String option, String value, int minValue, int maxValue)
+   {
+    try
+     {
+      int intValue = Integer.parseInt(value);
+      if(intValue >= minValue && intValue <= maxValue)
+       return intValue;
+     }
+    catch(NumberFormatException nfExcp)
+     { /* Log the error below */ }
+
+    Log.err("\"" + value + "\" is not a valid \"" + option + "\" value (an integer "
+            + (maxValue == Integer.MAX_VALUE ? ">= " + minValue : "in [" + minValue + "," + maxValue + "]") + ")");
+    return -1;
+   }
+
+
+  /**
+   * Attempts to interpret a command-line option value as an integer
+   * (see parseIntArg(String,String,int,int), with no maximum value)
+   */
+  public static int parseIntArg(String option, String value, int minValue)
+   { return parseIntArg(option,value,minValue,Integer.MAX_VALUE); }
+
+
+  /**
+   * Overrides the target SafeTunnels database ("-db" option value,
+   * also used by the SafeTunnels tools' parsers)
+   * @param DBName The target database name
+   */
+  public static void setTargetDB(String DBName)
+   {
+    MySQLConnector.ST_DB_NAME = DBName;
+    MySQLConnector.ST_DB_ENDPOINT = MySQLConnector.ST_DB_HOST + MySQLConnector.ST_DB_NAME;
+    Log.info("Target database set to \"" + MySQLConnector.ST_DB_NAME + "\"");
+   }
+
+
+  /**
+   * Attempts to interpret a command-line "-log" option value as a log level and
+   * override the log level with it, logging the error if it is not valid (also
+   * used by the SafeTunnels tools' parsers)
+   * @param value The "-log" option value ("dbg"/"DEBUG", "info", "warn"/"WARNING",
+   *              "err"/"ERROR" or "fatal", case insensitive)
+   * @return Whether the log level was overridden
+   */
+  public static boolean parseLogLevelArg(String value)
+   {
+    // The log level override to be used
+    ErrCodeSeverity logLevelOverride;
+
+    // Attempt to interpret the option value as a ErrCode Severity
+    if(value.equalsIgnoreCase("dbg") || value.equalsIgnoreCase("DEBUG"))
+     logLevelOverride = ErrCodeSeverity.DEBUG;
+    else
+     if(value.equalsIgnoreCase("info"))
+      logLevelOverride = ErrCodeSeverity.INFO;
+     else
+      if(value.equalsIgnoreCase("warn") || value.equalsIgnoreCase("WARNING"))
+       logLevelOverride = ErrCodeSeverity.WARNING;
+      else
+       if(value.equalsIgnoreCase("err") || value.equalsIgnoreCase("ERROR"))
+        logLevelOverride = ErrCodeSeverity.ERROR;
+       else
+        if(value.equalsIgnoreCase("fatal"))
+         logLevelOverride = ErrCodeSeverity.FATAL;
+
+        // If the option value could not be interpreted as a ErrCode Severity
+        else
+         {
+          Log.err("\"" + value + "\" could not be interpreted as a valid log level");
+          return false;
+         }
+
+    // Override the default with the provided valid log level
+    Log.LOG_LEVEL = logLevelOverride;
+    Log.info("Log level set to '" + logLevelOverride + "'");
+    return true;
+   }
+
+
+  /**
+   * Attempts to interpret a command-line option value as the comma-separated
+   * non-negative integers associated with the WARNING, ALERT and EMERGENCY
+   * operating states (e.g. "100,250,500"), logging the error if it is not valid
+   * @param option The command-line option name
+   * @param value  The command-line option value
+   * @return The option values, or null if the option value is not valid
+   */
+  private static int[] parseOpStatesArg(String option, String value)
+   {
+    String[] values = value.split(",");
+    if(values.length != 3)
+     {
+      Log.err("\"" + value + "\" is not a valid \"" + option + "\" value (the comma-separated "
+              + "WARNING, ALERT and EMERGENCY values, e.g. \"100,250,500\")");
+      return null;
+     }
+
+    int[] opStatesValues = new int[3];
+    for(int i = 0; i < 3; i++)
+     if((opStatesValues[i] = parseIntArg(option,values[i].trim(),0)) == -1)
+      return null;
+    return opStatesValues;
+   }
+
+
   /**
    * Parses a SafeTunnels application command-line input arguments
    * @param appName The SafeTunnels application
@@ -40,9 +176,7 @@ public abstract class InputArgsParser
         if(args.length > i + 1)
          {
           // Override the MySQLConnector database name with the provided value
-          MySQLConnector.ST_DB_NAME = args[i + 1];
-          MySQLConnector.ST_DB_ENDPOINT = MySQLConnector.ST_DB_HOST + MySQLConnector.ST_DB_NAME;
-          Log.info("Target database set to \"" + MySQLConnector.ST_DB_NAME + "\"");
+          setTargetDB(args[i + 1]);
 
           // Move one (and so two) values ahead the input argument index
           i++;
@@ -62,52 +196,323 @@ public abstract class InputArgsParser
        }
       else
 
+      /* ------- "-dbBatchSize" option (max samples per database batch) ------- */
+      if(args[i].equalsIgnoreCase("-dbBatchSize") || args[i].equalsIgnoreCase("-dbBatchLinger")
+         || args[i].equalsIgnoreCase("-dbPoolSize"))
+       {
+        // If a value was provided for the option
+        if(args.length > i + 1)
+         {
+          // Attempt to interpret the option value as a positive integer
+          int optionValue = parseIntArg(args[i],args[i + 1],1);
+          if(optionValue == -1)
+           {
+            validArgs = false;
+            break;
+           }
+
+          // Override the batch writer's batch size or linger time
+          // or the connections pool size with the provided value
+          if(args[i].equalsIgnoreCase("-dbBatchSize"))
+           {
+            SeriesBatchWriter.DB_BATCH_SIZE = optionValue;
+            Log.info("Database batch size set to " + optionValue + " samples");
+           }
+          else
+
+           /* ---- "-dbBatchLinger" option (max database batch linger time) ---- */
+           if(args[i].equalsIgnoreCase("-dbBatchLinger"))
+            {
+             SeriesBatchWriter.DB_BATCH_LINGER = optionValue;
+             Log.info("Database batch linger time set to " + optionValue + "ms");
+            }
+
+           /* ----- "-dbPoolSize" option (max database connections pool size) ----- */
+           else
+            {
+             DBConnPool.DB_POOL_MAX_SIZE = optionValue;
+             Log.info("Database connections pool size set to " + optionValue);
+            }
+
+          // Move one (and so two) values ahead the input argument index
+          i++;
+         }
+
+        // Otherwise, if a value was NOT provided for the option
+        else
+         {
+          // Log that a value must be provided for the option
+          Log.err("Missing \"" + args[i] + "\" value");
+
+          // Set that the provided input arguments
+          // are not valid and break from the cycle
+          validArgs = false;
+          break;
+         }
+       }
+      else
+
+      /* ------ "-ingestLanes" option (number of MQTT ingest worker lanes) ------ */
+      if(args[i].equalsIgnoreCase("-ingestLanes"))
+       {
+        // If a value was provided for the option
+        if(args.length > i + 1)
+         {
+          // Attempt to interpret the option value as a non-negative integer
+          int ingestLanes = parseIntArg(args[i],args[i + 1],0);
+          if(ingestLanes == -1)
+           {
+            validArgs = false;
+            break;
+           }
+
+          // Override the number of ingest lanes with the provided value
+          SensorsIngestPipeline.INGEST_LANES = ingestLanes;
+          Log.info("MQTT ingest lanes set to " + ingestLanes + (ingestLanes == 0 ? " (inline processing)" : ""));
+
+          // Move one (and so two) values ahead the input argument index
+          i++;
+         }
+
+        // Otherwise, if a value was NOT provided for the option
+        else
+         {
+          Log.err("Missing \"-ingestLanes\" value (the number of MQTT ingest lanes)");
+          validArgs = false;
+          break;
+         }
+       }
+      else
+
+      /* ---- "-ingestOverflow" option (MQTT ingest lanes overflow policy) ---- */
+      if(args[i].equalsIgnoreCase("-ingestOverflow"))
+       {
+        // If a value was provided for the option
+        if(args.length > i + 1)
+         {
+          // Attempt to interpret the option value as an IngestOverflowPolicy
+          try
+           { SensorsIngestPipeline.INGEST_OVERFLOW_POLICY = IngestOverflowPolicy.valueOf(args[i + 1].toUpperCase()); }
+          catch(IllegalArgumentException invalidPolicyExcp)
+           {
+            Log.err("\"" + args[i + 1] + "\" could not be interpreted as a valid ingest overflow policy");
+            validArgs = false;
+            break;
+           }
+          Log.info("MQTT ingest overflow policy set to '" + SensorsIngestPipeline.INGEST_OVERFLOW_POLICY + "'");
+
+          // Move one (and so two) values ahead the input argument index
+          i++;
+         }
+
+        // Otherwise, if a value was NOT provided for the option
+        else
+         {
+          Log.err("Missing \"-ingestOverflow\" value (the MQTT ingest overflow policy)");
+          validArgs = false;
+          break;
+         }
+       }
+      else
+
+      /* ------------ "-mqttBroker" option (override MQTT broker endpoint) ------------ */
+      if(args[i].equalsIgnoreCase("-mqttBroker"))
+       {
+        // If a value was provided for the option
+        if(args.length > i + 1)
+         {
+          // Override the MQTT broker endpoint with the provided value
+          SensorsMQTTHandler.MQTT_BROKER_ENDPOINT = args[i + 1];
+          Log.info("MQTT broker endpoint set to \"" + SensorsMQTTHandler.MQTT_BROKER_ENDPOINT + "\"");
+
+          // Move one (and so two) values ahead the input argument index
+          i++;
+         }
+
+        // Otherwise, if a value was NOT provided for the option
+        else
+         {
+          Log.err("Missing \"-mqttBroker\" value (the MQTT broker endpoint, e.g. \"tcp://127.0.0.1:1883\")");
+          validArgs = false;
+          break;
+         }
+       }
+      else
+
+      /* ------- "-embeddedBroker" option (start an embedded MQTT broker, dev only) ------- */
+      if(args[i].equalsIgnoreCase("-embeddedBroker"))
+       {
+        // If a value was provided for the option
+        if(args.length > i + 1)
+         {
+          // Attempt to interpret the option value as a port (0 -> ephemeral)
+          EMBEDDED_BROKER_PORT = parseIntArg(args[i],args[i + 1],0,65535);
+          if(EMBEDDED_BROKER_PORT == -1)
+           {
+            validArgs = false;
+            break;
+           }
+
+          // Move one (and so two) values ahead the input argument index
+          i++;
+         }
+
+        // Otherwise, if a value was NOT provided for the option
+        else
+         {
+          Log.err("Missing \"-embeddedBroker\" value (the embedded MQTT broker port, 0 -> ephemeral)");
+          validArgs = false;
+          break;
+         }
+       }
+      else
+
+      /* ---- "-actuatorEndpoint" option (actuators' CoAP endpoint template) ---- */
+      if(args[i].equalsIgnoreCase("-actuatorEndpoint"))
+       {
+        // The option is supported by the Control Module only
+        if(!appName.equals("ControlModule"))
+         {
+          Log.err("The \"-actuatorEndpoint\" option is supported by the ControlModule only");
+          validArgs = false;
+          break;
+         }
+
+        // If a value containing the "{MAC}" placeholder was provided for the option
+        if(args.length > i + 1 && args[i + 1].contains("{MAC}"))
+         {
+          BaseActuator.ACTUATOR_COAP_ENDPOINT_TEMPLATE = args[i + 1];
+          Log.info("Actuators' CoAP endpoint template set to \"" + BaseActuator.ACTUATOR_COAP_ENDPOINT_TEMPLATE + "\"");
+
+          // Move one (and so two) values ahead the input argument index
+          i++;
+         }
+
+        // Otherwise, if a valid value was NOT provided for the option
+        else
+         {
+          Log.err("Missing or invalid \"-actuatorEndpoint\" value (the actuators' CoAP endpoint "
+                  + "template containing \"{MAC}\", e.g. \"coap://127.0.0.1:5683/{MAC}/\")");
+          validArgs = false;
+          break;
+         }
+       }
+      else
+
+      /* ---- "-C02Band", "-tempBand" and "-dwell" options (operating states hysteresis) ---- */
+      if(args[i].equalsIgnoreCase("-C02Band") || args[i].equalsIgnoreCase("-tempBand")
+         || args[i].equalsIgnoreCase("-dwell"))
+       {
+        // The options are supported by the Control Module only
+        if(!appName.equals("ControlModule"))
+         {
+          Log.err("The \"" + args[i] + "\" option is supported by the ControlModule only");
+          validArgs = false;
+          break;
+         }
+
+        // If a value was provided for the option
+        if(args.length > i + 1)
+         {
+          // Attempt to interpret the option value as the WARNING, ALERT and EMERGENCY values
+          int[] opStatesValues = parseOpStatesArg(args[i],args[i + 1]);
+          if(opStatesValues == null)
+           {
+            validArgs = false;
+            break;
+           }
+
+          // Override the C02 or temperature hysteresis bands
+          // or the dwell times with the provided values
+          if(args[i].equalsIgnoreCase("-C02Band"))
+           {
+            BaseSensor.C02_HYSTERESIS_BANDS = opStatesValues;
+            Log.info("C02 hysteresis bands set to " + args[i + 1] + " ppm");
+           }
+          else
+           if(args[i].equalsIgnoreCase("-tempBand"))
+            {
+             BaseSensor.TEMP_HYSTERESIS_BANDS = opStatesValues;
+             Log.info("Temperature hysteresis bands set to " + args[i + 1] + " °C");
+            }
+           else
+            {
+             BaseSensor.OPSTATES_DWELL_TIMES = new long[]{opStatesValues[0],opStatesValues[1],opStatesValues[2]};
+             Log.info("Operating states dwell times set to " + args[i + 1] + " ms");
+            }
+
+          // Move one (and so two) values ahead the input argument index
+          i++;
+         }
+
+        // Otherwise, if a value was NOT provided for the option
+        else
+         {
+          Log.err("Missing \"" + args[i] + "\" value (the comma-separated WARNING, ALERT and EMERGENCY values)");
+          validArgs = false;
+          break;
+         }
+       }
+      else
+
+      /* ---------- "-headless" option (run the Control Module without GUI) ---------- */
+      if(args[i].equalsIgnoreCase("-headless"))
+       {
+        // The option is supported by the Control Module only
+        if(!appName.equals("ControlModule"))
+         {
+          Log.err("The \"-headless\" option is supported by the ControlModule only");
+          validArgs = false;
+          break;
+         }
+
+        HEADLESS_MODE = true;
+       }
+      else
+
+      /* ------- "-logOverflow" option (asynchronous log buffer overflow policy) ------- */
+      if(args[i].equalsIgnoreCase("-logOverflow"))
+       {
+        // If a value was provided for the option
+        if(args.length > i + 1)
+         {
+          // Attempt to interpret the option value as a LogOverflowPolicy
+          try
+           { Log.LOG_OVERFLOW_POLICY = LogOverflowPolicy.valueOf(args[i + 1].toUpperCase()); }
+          catch(IllegalArgumentException invalidPolicyExcp)
+           {
+            Log.err("\"" + args[i + 1] + "\" could not be interpreted as a valid log overflow policy");
+            validArgs = false;
+            break;
+           }
+          Log.info("Log overflow policy set to '" + Log.LOG_OVERFLOW_POLICY + "'");
+
+          // Move one (and so two) values ahead the input argument index
+          i++;
+         }
+
+        // Otherwise, if a value was NOT provided for the option
+        else
+         {
+          Log.err("Missing \"-logOverflow\" value (the log buffer overflow policy)");
+          validArgs = false;
+          break;
+         }
+       }
+      else
+
        /* -------------- "-log" option (override log level) -------------- */
        if(args[i].equalsIgnoreCase("-log"))
         {
          // If a value was provided for the option
          if(args.length > i + 1)
           {
-           // The log level override to be used
-           ErrCodeSeverity logLevelOverride;
-
-           // Attempt to interpret the following input argument as a ErrCode Severity
-           if(args[i + 1].equalsIgnoreCase("dbg") ||
-             args[i + 1].equalsIgnoreCase("DEBUG"))
-            logLevelOverride = ErrCodeSeverity.DEBUG;
-           else
-            if(args[i + 1].equalsIgnoreCase("info"))
-             logLevelOverride = ErrCodeSeverity.INFO;
-            else
-             if(args[i + 1].equalsIgnoreCase("warn") ||
-               args[i + 1].equalsIgnoreCase("WARNING"))
-              logLevelOverride = ErrCodeSeverity.WARNING;
-             else
-              if(args[i + 1].equalsIgnoreCase("err") ||
-                args[i + 1].equalsIgnoreCase("ERROR"))
-               logLevelOverride = ErrCodeSeverity.ERROR;
-              else
-               if(args[i + 1].equalsIgnoreCase("fatal"))
-                logLevelOverride = ErrCodeSeverity.FATAL;
-
-               // If the following input argument could not
-               // be interpreted as a ErrCode Severity
-               else
-                {
-                 // Log that the following input argument could
-                 // not be interpreted as a ErrCode Severity
-                 Log.err("\"" + args[i + 1] + "\" could not "
-                          + "be interpreted as a valid log level");
-
-                 // Set that the provided input arguments
-                 // are not valid and break from the cycle
-                 validArgs = false;
-                 break;
-                }
-
-           // Override the default with the provided valid log level
-           Log.LOG_LEVEL = logLevelOverride;
-           Log.info("Log level set to '" + logLevelOverride + "'");
+           // Attempt to override the log level with the provided value
+           if(!parseLogLevelArg(args[i + 1]))
+            {
+             validArgs = false;
+             break;
+            }
 
            // Move one (and so two) values ahead the input argument index
            i++;
@@ -144,11 +549,21 @@ public abstract class InputArgsParser
     // If invalid command-line inputs arguments were provided
     if(!validArgs)
      {
+      // Ensure the errors logged so far to be written before the helper message
+      Log.flush();
+
       // Display a helper message outlining the
       // program's allowed options and values
       System.out.println("Usage: java " + appName + " [-db \"targetDatabase\"] "
-                         + "[-log \"logLevelOverride\"]  " +
-                         "logLevelOverride: {DEBUG, WARNING, INFO, ERROR, FATAL}");
+                         + "[-dbBatchSize samples] [-dbBatchLinger ms] [-dbPoolSize conns] "
+                         + "[-mqttBroker \"brokerEndpoint\"] [-embeddedBroker port] "
+                         + "[-ingestLanes lanes] [-ingestOverflow \"overflowPolicy\"] "
+                         + "[-log \"logLevelOverride\"] [-logOverflow \"logOverflowPolicy\"] "
+                         + (appName.equals("ControlModule") ? "[-actuatorEndpoint \"endpointTemplate\"] [-C02Band w,a,e] "
+                                                            + "[-tempBand w,a,e] [-dwell w,a,e] [-headless]  " : " ") +
+                         "logLevelOverride: {DEBUG, WARNING, INFO, ERROR, FATAL}  "
+                         + "overflowPolicy: {BLOCK, DROP_NEWEST, DROP_OLDEST}  "
+                         + "logOverflowPolicy: {BLOCK, DROP}");
 
       // Terminate the program
       System.exit(1);
@@ -0,0 +1,409 @@
+/* SafeTunnels MySQL Database Connections Pool */
+
+package modules.MySQLConnector;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class DBConnPool
+ {
+  /* ========================= CONNECTIONS POOL CONFIGURATION ========================= */
+
+  // The maximum number of connections in the pool
+  public static int DB_POOL_MAX_SIZE = 4;
+
+  // The time in milliseconds after which idle connections are closed
+  public static int DB_POOL_IDLE_TIMEOUT = 60 * 1000;
+
+  // The maximum time in milliseconds waited for borrowing a connection
+  public static int DB_POOL_BORROW_TIMEOUT = 10 * 1000;
+
+  // The period in milliseconds the pool metrics are reported with (0 = never),
+  // as to size the pool (e.g. a maximum borrow wait comparable with the
+  // queries' duration suggests that DB_POOL_MAX_SIZE should be increased)
+  public static int DB_POOL_REPORT_PERIOD = 60 * 1000;
+
+  // The idle time in milliseconds after which a connection
+  // is validated with the database before being borrowed
+  private static final int DB_POOL_VALIDATION_IDLE = 1000;
+
+  // The timeout in seconds of a connection validation
+  private static final int DB_POOL_VALIDATION_TIMEOUT = 2;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The database endpoint and connection properties
+  private final String DBEndpoint;
+  private final Properties DBConnProperties;
+
+  // The pool's maximum size
+  private final int maxSize;
+
+  // The idle connections, the most recently used first (so that
+  // connections with a warm statements cache are preferred)
+  private final LinkedBlockingDeque<PooledConn> idleConns;
+
+  // The permits for borrowing connections (one per connection in the pool)
+  private final Semaphore borrowPermits;
+
+  // The idle connections eviction and metrics report timer
+  private final Timer evictionTimer;
+
+  /* ------------------------------ Pool Metrics ------------------------------ */
+
+  // The number of connections currently borrowed
+  private final AtomicInteger activeConns;
+
+  // The number of borrows and their total and maximum waiting time in nanoseconds
+  private final AtomicLong borrowsCount;
+  private final AtomicLong borrowsWaitTotal;
+  private final AtomicLong borrowsWaitMax;
+
+  // The number of borrows at the last metrics report
+  private long lastReportBorrows;
+
+
+  /* ============================ PACKAGE CLASSES ============================ */
+
+  /**
+   * A connection borrowed from the pool, which is returned
+   * to the pool when closed (see try-with-resources)
+   */
+  final class PooledConn implements AutoCloseable
+   {
+    // The database connection
+    final Connection conn;
+
+    // The caches of the server-side prepared statements used for pushing
+    // single and batched devices' states into each time series table
+    final HashMap<SeriesTable,PreparedStatement> pushDevStateStmts;
+    final HashMap<SeriesTable,PreparedStatement> pushDevStatesBatchStmts;
+
+    // The time the connection was last returned to the pool
+    long lastReleased;
+
+    // Whether the connection is broken and should
+    // be discarded instead of returned to the pool
+    boolean broken;
+
+    // Whether the connection's current lease has been returned to the pool
+    // (so that closing it more than once releases its borrow permit only once)
+    final AtomicBoolean released;
+
+    /**
+     * PooledConn constructor, wrapping a new database connection
+     * @param conn The database connection
+     */
+    PooledConn(Connection conn)
+     {
+      this.conn = conn;
+      pushDevStateStmts = new HashMap<>();
+      pushDevStatesBatchStmts = new HashMap<>();
+      lastReleased = System.currentTimeMillis();
+      released = new AtomicBoolean(true);
+     }
+
+    /**
+     * Retrieves from a cache the prepared statement associated with a time
+     * series table, preparing it on the connection if not cached yet
+     * @param stmtsCache The prepared statements cache
+     * @param series     The time series table the statement is associated with
+     * @param query      The SQL query to be prepared if the statement is not cached
+     * @return The cached prepared statement
+     * @throws SQLException Failed to prepare the statement
+     */
+    PreparedStatement getCachedStmt(HashMap<SeriesTable,PreparedStatement> stmtsCache,
+                                    SeriesTable series, String query) throws SQLException
+     {
+      PreparedStatement cachedStmt = stmtsCache.get(series);
+      if(cachedStmt == null)
+       {
+        cachedStmt = conn.prepareStatement(query);
+        stmtsCache.put(series,cachedStmt);
+       }
+      return cachedStmt;
+     }
+
+    /**
+     * Marks the connection as broken if an exception
+     * signals that the connection with the database failed
+     * @param sqlExcp The exception raised while using the connection
+     */
+    void checkBroken(SQLException sqlExcp)
+     {
+      String SQLState = sqlExcp.getSQLState();
+      if(SQLState != null && SQLState.startsWith("08"))
+       broken = true;
+     }
+
+    /**
+     * Returns the connection to the pool, if not already returned
+     */
+    @Override
+    public void close()
+     {
+      if(released.compareAndSet(false,true))
+       release(this);
+     }
+   }
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Closes a database connection, ignoring errors
+   * @param pooledConn The connection to be closed
+   */
+  private static void closeConn(PooledConn pooledConn)
+   {
+    try
+     { pooledConn.conn.close(); }
+    catch(SQLException sqlExcp)
+     { /* The connection is being discarded anyway */ }
+   }
+
+
+  /**
+   * @param pooledConn An idle connection
+   * @return Whether the connection is still valid, validating it with
+   *         the database if it has been idle for more than a threshold
+   */
+  private boolean isValid(PooledConn pooledConn)
+   {
+    try
+     {
+      if(pooledConn.conn.isClosed())
+       return false;
+      return System.currentTimeMillis() - pooledConn.lastReleased < DB_POOL_VALIDATION_IDLE
+             || pooledConn.conn.isValid(DB_POOL_VALIDATION_TIMEOUT);
+     }
+    catch(SQLException sqlExcp)
+     { return false; }
+   }
+
+
+  /**
+   * Returns a borrowed connection to the pool
+   * @param pooledConn The borrowed connection
+   */
+  private void release(PooledConn pooledConn)
+   {
+    if(pooledConn.broken)
+     closeConn(pooledConn);
+    else
+     {
+      pooledConn.lastReleased = System.currentTimeMillis();
+      idleConns.offerFirst(pooledConn);
+     }
+    activeConns.decrementAndGet();
+    borrowPermits.release();
+   }
+
+
+  /**
+   * Closes the connections that have been idle for more than DB_POOL_IDLE_TIMEOUT,
+   * keeping the most recently used idle connection open
+   */
+  private void evictIdleConns()
+   {
+    long evictionThreshold = System.currentTimeMillis() - DB_POOL_IDLE_TIMEOUT;
+    Iterator<PooledConn> idleConnsIt = idleConns.descendingIterator();
+
+    while(idleConns.size() > 1 && idleConnsIt.hasNext())
+     {
+      PooledConn pooledConn = idleConnsIt.next();
+      if(pooledConn.lastReleased < evictionThreshold && idleConns.removeLastOccurrence(pooledConn))
+       {
+        closeConn(pooledConn);
+        Log.dbg("Evicted an idle database connection (" + this + ")");
+       }
+     }
+   }
+
+
+  /**
+   * Reports the pool metrics, unless no connection
+   * has been borrowed since the last report
+   */
+  private void reportMetrics()
+   {
+    long borrows = getBorrowsCount();
+    if(borrows == lastReportBorrows)
+     return;
+
+    Log.info("Database connections pool: " + getActiveCount() + "/" + getMaxSize() + " active, "
+             + getIdleCount() + " idle, " + (borrows - lastReportBorrows) + " borrows since the last report "
+             + String.format("(avgWait = %.3fms, maxWait = %.3fms)",getAvgWaitMillis(),getMaxWaitMillis()));
+    lastReportBorrows = borrows;
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * DBConnPool constructor, initializing an empty pool and starting
+   * its idle connections eviction and metrics report timer
+   * @param DBEndpoint       The database endpoint
+   * @param DBConnProperties The database connection properties
+   */
+  public DBConnPool(String DBEndpoint, Properties DBConnProperties)
+   {
+    this.DBEndpoint = DBEndpoint;
+    this.DBConnProperties = DBConnProperties;
+    maxSize = DB_POOL_MAX_SIZE;
+    idleConns = new LinkedBlockingDeque<>();
+    borrowPermits = new Semaphore(maxSize,true);
+    activeConns = new AtomicInteger();
+    borrowsCount = new AtomicLong();
+    borrowsWaitTotal = new AtomicLong();
+    borrowsWaitMax = new AtomicLong();
+
+    // Periodically close the connections that have been idle for too long
+    evictionTimer = new Timer("DBConnPoolEvictor",true);
+    evictionTimer.schedule(new TimerTask()
+     {
+      public void run()
+       { evictIdleConns(); }
+     },DB_POOL_IDLE_TIMEOUT,DB_POOL_IDLE_TIMEOUT / 2);
+
+    // Periodically report the pool metrics, if enabled
+    if(DB_POOL_REPORT_PERIOD > 0)
+     evictionTimer.schedule(new TimerTask()
+      {
+       public void run()
+        { reportMetrics(); }
+      },DB_POOL_REPORT_PERIOD,DB_POOL_REPORT_PERIOD);
+   }
+
+
+  /**
+   * Borrows a connection from the pool, validating an idle connection
+   * if available or opening a new connection otherwise, where the
+   * connection must be returned to the pool by closing it
+   * @return The borrowed connection
+   * @throws SQLException No connection became available within DB_POOL_BORROW_TIMEOUT
+   *                      or a new connection with the database could not be opened
+   */
+  PooledConn borrow() throws SQLException
+   {
+    long borrowStart = System.nanoTime();
+
+    // Wait for a connection to become available
+    try
+     {
+      if(!borrowPermits.tryAcquire(DB_POOL_BORROW_TIMEOUT,TimeUnit.MILLISECONDS))
+       throw new SQLException("Timed out waiting for a database connection (" + this + ")");
+     }
+    catch(InterruptedException interruptedExcp)
+     {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a database connection");
+     }
+
+    // Update the borrows waiting time metrics
+    long borrowWait = System.nanoTime() - borrowStart;
+    borrowsCount.incrementAndGet();
+    borrowsWaitTotal.addAndGet(borrowWait);
+    borrowsWaitMax.accumulateAndGet(borrowWait,Math::max);
+    activeConns.incrementAndGet();
+
+    try
+     {
+      // Return the most recently used valid idle connection, if any
+      PooledConn pooledConn;
+      while((pooledConn = idleConns.pollFirst()) != null)
+       {
+        if(isValid(pooledConn))
+         break;
+        closeConn(pooledConn);
+       }
+
+      // Otherwise, open a new connection with the database
+      if(pooledConn == null)
+       pooledConn = new PooledConn(DriverManager.getConnection(DBEndpoint,DBConnProperties));
+
+      // Start the connection's new lease
+      pooledConn.released.set(false);
+      return pooledConn;
+     }
+    catch(SQLException | RuntimeException excp)
+     {
+      activeConns.decrementAndGet();
+      borrowPermits.release();
+      throw excp;
+     }
+   }
+
+
+  /* ---------------------------- Pool Metrics Getters ---------------------------- */
+
+  /**
+   * @return The number of connections currently borrowed
+   */
+  public int getActiveCount()
+   { return activeConns.get(); }
+
+  /**
+   * @return The number of idle connections in the pool
+   */
+  public int getIdleCount()
+   { return idleConns.size(); }
+
+  /**
+   * @return The pool's maximum size
+   */
+  public int getMaxSize()
+   { return maxSize; }
+
+  /**
+   * @return The number of connections borrowed from the pool so far
+   */
+  public long getBorrowsCount()
+   { return borrowsCount.get(); }
+
+  /**
+   * @return The average time in milliseconds waited for borrowing a connection
+   */
+  public double getAvgWaitMillis()
+   {
+    long borrows = borrowsCount.get();
+    return borrows == 0 ? 0 : borrowsWaitTotal.get() / (borrows * 1e6);
+   }
+
+  /**
+   * @return The maximum time in milliseconds waited for borrowing a connection
+   */
+  public double getMaxWaitMillis()
+   { return borrowsWaitMax.get() / 1e6; }
+
+  /**
+   * @return The pool metrics as a String
+   */
+  @Override
+  public String toString()
+   {
+    return String.format("active = %d, idle = %d, max = %d, borrows = %d, avgWait = %.3fms, maxWait = %.3fms",
+                         getActiveCount(),getIdleCount(),maxSize,getBorrowsCount(),getAvgWaitMillis(),getMaxWaitMillis());
+   }
+ }
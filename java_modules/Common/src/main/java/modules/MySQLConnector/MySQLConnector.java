@@ -7,7 +7,10 @@ package modules.MySQLConnector;
 /* --------------------- Java Standard Libraries Resources --------------------- */
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Properties;
+import java.util.TreeMap;
 
 /* --------------------------- SafeTunnels Resources --------------------------- */
 import logging.Log;
@@ -44,6 +47,7 @@ public abstract class MySQLConnector
   // Columns Names
   public final static String ST_DB_COMMON_COLUMN_MAC = "mac";
   public final static String ST_DB_COMMON_COLUMN_CONNSTATE = "connState";
+  public final static String ST_DB_COMMON_COLUMN_TIMESTAMP = "timestamp";
 
   // ----------------------------------- Sensors -----------------------------------
 
@@ -77,8 +81,8 @@ public abstract class MySQLConnector
   // A set of properties used for establishing the database connection
   Properties STDBConnProperties;
 
-  // The Database Connection object used to perform queries
-  protected Connection STDBConn;
+  // The pool of database connections used to perform queries
+  protected final DBConnPool STDBConnPool;
 
 
   /* ================================== PRIVATE METHODS ================================== */
@@ -113,45 +117,50 @@ public abstract class MySQLConnector
    }
 
 
-  /**
-   * Attempts to establish a connection with the SafeTunnels Database
-   */
-  private void connectToDB()
-   {
-    // Attempt to establish a connection with the SafeTunnels database
-    try
-     { STDBConn = DriverManager.getConnection(ST_DB_ENDPOINT,STDBConnProperties);}
-
-    // Failing to establish a connection with the SafeTunnels database is a FATAL error
-    catch(java.sql.SQLException sqlExcp)
-     { Log.code(ERR_DB_CONN_FAILED,"(reason = " + sqlExcp.getMessage() + ")"); }
-   }
-
+  /* ================================= PROTECTED METHODS ================================= */
 
   /**
-   * Checks whether the database connection is still
-   * alive, attempting to re-establish it otherwise
+   * Attempts to push an updated device's state into a time series table
+   * via a cached server-side prepared statement, so that the insert
+   * query is parsed by the database only once per table
+   * @param series The time series table where to insert the new state into
+   * @param devID  The associated device ID
+   * @param value  The state value to be inserted into the database
+   * @throws java.sql.SQLException Failed to push the updated
+   *                               device's state into the database
    */
-  private void checkDBConn()
+  protected void pushDevState(SeriesTable series, int devID, int value) throws java.sql.SQLException
    {
-    try
+    // Borrow a connection from the pool
+    try(DBConnPool.PooledConn pooledConn = STDBConnPool.borrow())
      {
-      // If the database connection has been
-      // closed, attempt to re-establish it
-      if(STDBConn.isClosed())
-       connectToDB();
+      try
+       {
+        // Retrieve the connection's cached statement for pushing device states into the table
+        PreparedStatement mySQLStmt = pooledConn.getCachedStmt(pooledConn.pushDevStateStmts,series,"INSERT INTO "
+                                       + series.table + "(" + series.devIDColumn + "," + series.valueColumn + ") VALUES(?,?)");
+
+        // Bind the device state and push it into the database
+        mySQLStmt.setInt(1,devID);
+        mySQLStmt.setInt(2,value);
+
+        // Ensure that at least one row was affected by the update
+        if(mySQLStmt.executeUpdate() == 0)
+         throw new java.sql.SQLException("Pushing an updated device state to "
+                                          + "the database affected no rows");
+       }
+      catch(SQLException sqlExcp)
+       {
+        pooledConn.checkBroken(sqlExcp);
+        throw sqlExcp;
+       }
      }
-
-    // Failing to establish a connection with the SafeTunnels database is a FATAL error
-    catch(java.sql.SQLException sqlExcp)
-     { Log.code(ERR_DB_CONN_FAILED,"(reason = " + sqlExcp.getMessage() + ")"); }
    }
 
 
-  /* ================================= PROTECTED METHODS ================================= */
-
   /**
    * Attempts to push an updated device's state into the database
+   * (see pushDevState(SeriesTable,int,int))
    * @param seriesTable The table name where to insert the new state into
    * @param devIDColumn The ID column name
    * @param valueColumn The value column name
@@ -161,25 +170,167 @@ public abstract class MySQLConnector
    *                               device's state into the database
    */
   protected void pushDevState(String seriesTable, String devIDColumn,
-                              String valueColumn, int devID, String value) throws java.sql.SQLException
+                              String valueColumn, int devID, int value) throws java.sql.SQLException
+   { pushDevState(new SeriesTable(seriesTable,devIDColumn,valueColumn),devID,value); }
+
+
+  /**
+   * Attempts to register a set of devices of a given devType into the database,
+   * where the devices whose MAC is already stored in the database are kept as-is
+   * @param devType The type of devices to be registered (sensor || actuator)
+   * @param MACs    The MACs of the devices to be registered
+   * @return The DevMACIDPair (<MAC,devID> pairs) list of
+   *         the registered devices, in the order of their MACs
+   * @throws java.sql.SQLException Failed to register the devices into the database
+   */
+  protected ArrayList<DevMACIDPair> registerDevices(DevType devType, List<String> MACs) throws java.sql.SQLException
+   {
+    // Retrieve the names of the database table and column ID
+    // associated with the devType of devices to be registered
+    String devTableName = getDevTableName(devType);
+    String devColumnIDName = getDevColumnIDName(devType);
+
+    // Borrow a connection from the pool
+    try(DBConnPool.PooledConn pooledConn = STDBConnPool.borrow())
+     {
+      try
+       {
+        // Insert the devices not already stored in the database as a single
+        // batch (which is rewritten into a multi-row insert by the driver)
+        try(PreparedStatement mySQLStmt = pooledConn.conn.prepareStatement("INSERT IGNORE INTO "
+             + devTableName + "(" + ST_DB_COMMON_COLUMN_MAC + ") VALUES(?)"))
+         {
+          for(String MAC : MACs)
+           {
+            mySQLStmt.setString(1,MAC);
+            mySQLStmt.addBatch();
+           }
+          mySQLStmt.executeBatch();
+         }
+
+        // Retrieve the IDs of all devType devices, indexed by their MAC
+        HashMap<String,Short> devIDs = new HashMap<>();
+        try(Statement mySQLStmt = pooledConn.conn.createStatement();
+            ResultSet devSet = mySQLStmt.executeQuery("SELECT * FROM " + devTableName))
+         {
+          while(devSet.next())
+           devIDs.put(devSet.getString(ST_DB_COMMON_COLUMN_MAC),devSet.getShort(devColumnIDName));
+         }
+
+        // Return the <MAC,devID> pairs of the registered devices
+        ArrayList<DevMACIDPair> devicesList = new ArrayList<>(MACs.size());
+        for(String MAC : MACs)
+         {
+          Short devID = devIDs.get(MAC);
+          if(devID == null)
+           throw new java.sql.SQLException("Device \"" + MAC + "\" was not registered into the database");
+          devicesList.add(new DevMACIDPair(MAC,devID));
+         }
+        return devicesList;
+       }
+      catch(SQLException sqlExcp)
+       {
+        pooledConn.checkBroken(sqlExcp);
+        throw sqlExcp;
+       }
+     }
+   }
+
+
+  /**
+   * Attempts to retrieve the states of a device pushed into
+   * a time series table from a given time onwards
+   * @param series The time series table to retrieve the states from
+   * @param devID  The device ID
+   * @param since  The time from which the states are retrieved (inclusive,
+   *               in milliseconds since the epoch), where note that the
+   *               time series tables' timestamps have a one-second resolution
+   * @return The device's states, indexed by their timestamp
+   *         (in milliseconds since the epoch) in increasing order
+   * @throws java.sql.SQLException Failed to retrieve the device's states
+   */
+  protected TreeMap<Long,Integer> getDevStatesSince(SeriesTable series, int devID, long since) throws java.sql.SQLException
    {
-    // Ensure the database connection to be alive
-    checkDBConn();
+    // Borrow a connection from the pool
+    try(DBConnPool.PooledConn pooledConn = STDBConnPool.borrow())
+     {
+      try(PreparedStatement mySQLStmt = pooledConn.conn.prepareStatement("SELECT " + ST_DB_COMMON_COLUMN_TIMESTAMP
+           + "," + series.valueColumn + " FROM " + series.table + " WHERE " + series.devIDColumn + " = ? AND "
+           + ST_DB_COMMON_COLUMN_TIMESTAMP + " >= ?"))
+       {
+        mySQLStmt.setInt(1,devID);
+        mySQLStmt.setTimestamp(2,new Timestamp(since));
+
+        // Index the device's states by their timestamp
+        TreeMap<Long,Integer> devStates = new TreeMap<>();
+        try(ResultSet devStatesSet = mySQLStmt.executeQuery())
+         {
+          while(devStatesSet.next())
+           devStates.put(devStatesSet.getTimestamp(1).getTime(),devStatesSet.getInt(2));
+         }
+        return devStates;
+       }
+      catch(SQLException sqlExcp)
+       {
+        pooledConn.checkBroken(sqlExcp);
+        throw sqlExcp;
+       }
+     }
+   }
 
-    // Build the SQL query to push the updated device state into the database
-    String pushDevConnStatusQuery = "INSERT INTO " + seriesTable + "( " + devIDColumn + ","
-                                     + valueColumn + ") VALUES(" + devID + "," + value +")";
 
-    // Attempt to initialize an SQL statement
-    try(Statement mySQLStmt = STDBConn.createStatement())
+  /* ================================== PACKAGE METHODS ================================== */
+
+  /**
+   * Attempts to push a batch of devices' state samples into a time series table
+   * as a single multi-row insert, where the samples are inserted with their
+   * reception timestamps and samples whose {devID,timestamp} primary key
+   * already exists in the table overwrite its value, so that the newest
+   * sample received in each second is kept (e.g. the final state of a
+   * device's connection state flapping within the same second)
+   * @param series  The time series table where to insert the samples into
+   * @param samples The samples to be inserted
+   * @throws java.sql.SQLException Failed to push the samples into the database
+   */
+  void pushDevStatesBatch(SeriesTable series, List<SeriesSample> samples) throws java.sql.SQLException
+   {
+    // Borrow a connection from the pool
+    try(DBConnPool.PooledConn pooledConn = STDBConnPool.borrow())
      {
-      // Attempt to push the updated device state into the database
-      int numRowsChanged = mySQLStmt.executeUpdate(pushDevConnStatusQuery);
+      try
+       {
+        // Retrieve the connection's cached statement for pushing samples into the table,
+        // whose query is rewritten into a multi-row insert by the driver when executed in a batch
+        PreparedStatement mySQLStmt = pooledConn.getCachedStmt(pooledConn.pushDevStatesBatchStmts,series,"INSERT INTO "
+                                       + series.table + "(" + series.devIDColumn + "," + series.valueColumn
+                                       + "," + ST_DB_COMMON_COLUMN_TIMESTAMP + ") VALUES(?,?,?) ON DUPLICATE KEY UPDATE "
+                                       + series.valueColumn + " = VALUES(" + series.valueColumn + ")");
+
+        // Attempt to push the samples into the database, discarding
+        // the batch's parameters should the push fail
+        try
+         {
+          // Add the samples to the statement's batch in their reception order,
+          // as rows are inserted in order and the last one per second wins
+          for(SeriesSample sample : samples)
+           {
+            mySQLStmt.setInt(1,sample.devID);
+            mySQLStmt.setInt(2,sample.value);
+            mySQLStmt.setTimestamp(3,new Timestamp(sample.timestamp));
+            mySQLStmt.addBatch();
+           }
+          mySQLStmt.executeBatch();
+         }
+        finally
+         { mySQLStmt.clearBatch(); }
+       }
 
-      // Ensure that at least one row was affected by the update
-      if(numRowsChanged == 0)
-       throw new java.sql.SQLException("Pushing an updated device state to "
-                                        + "the database affected no rows");
+      // Any failure, including preparing the statement, may signal a broken connection
+      catch(SQLException sqlExcp)
+       {
+        pooledConn.checkBroken(sqlExcp);
+        throw sqlExcp;
+       }
      }
    }
 
@@ -187,8 +338,8 @@ public abstract class MySQLConnector
   /* ================================== PUBLIC METHODS ================================== */
 
   /**
-   * MySQLConnector constructor, initializing and
-   * establishing a connection with the SafeTunnels Database
+   * MySQLConnector constructor, initializing the pool of connections
+   * and establishing a first connection with the SafeTunnels Database
    */
   public MySQLConnector()
    {
@@ -199,8 +350,29 @@ public abstract class MySQLConnector
     STDBConnProperties.put("autoReconnect","true");
     STDBConnProperties.put("maxReconnects","4");
 
-    // Attempt to connect with the SafeTunnels database
-    connectToDB();
+    // Rewrite batched inserts into multi-row inserts (see pushDevStatesBatch())
+    STDBConnProperties.put("rewriteBatchedStatements","true");
+
+    // Use server-side prepared statements, caching them on the
+    // driver side as well (see pushDevState() and pushDevStatesBatch())
+    STDBConnProperties.put("useServerPrepStmts","true");
+    STDBConnProperties.put("cachePrepStmts","true");
+
+    // Initialize the pool of connections with the SafeTunnels database
+    STDBConnPool = new DBConnPool(ST_DB_ENDPOINT,STDBConnProperties);
+
+    // Attempt to connect with the SafeTunnels database, returning
+    // the connection to the pool for being used by the first query
+    try
+     {
+      STDBConnPool.borrow().close();
+      Log.dbg("Connected with the SafeTunnels database (connections pool max size = "
+              + STDBConnPool.getMaxSize() + ")");
+     }
+
+    // Failing to establish a connection with the SafeTunnels database is a FATAL error
+    catch(SQLException sqlExcp)
+     { Log.code(ERR_DB_CONN_FAILED,"(reason = " + sqlExcp.getMessage() + ")"); }
    }
 
 
@@ -222,16 +394,14 @@ public abstract class MySQLConnector
     String devTableName = getDevTableName(devType);
     String devColumnIDName = getDevColumnIDName(devType);
 
-    // Ensure the database connection to be active
-    checkDBConn();
-
     // Build the query to retrieve the list
     // of devType devices from the database
     String getDevicesQuery = "SELECT * FROM " + devTableName;
 
-    // Attempt to initialize the statement for retrieving
-    // the list of devType devices from the database
-    try(Statement mySQLStmt = STDBConn.createStatement())
+    // Attempt to borrow a connection from the pool and to initialize the
+    // statement for retrieving the list of devType devices from the database
+    try(DBConnPool.PooledConn pooledConn = STDBConnPool.borrow();
+        Statement mySQLStmt = pooledConn.conn.createStatement())
      {
       // Attempt to execute the statement
       try(ResultSet devSet = mySQLStmt.executeQuery(getDevicesQuery))
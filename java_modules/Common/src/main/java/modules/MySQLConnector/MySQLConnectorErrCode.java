@@ -12,6 +12,8 @@ import java.util.Map;
 import errors.ErrCodeInfo;
 import errors.ModuleErrCode;
 import static errors.ErrCodeSeverity.FATAL;
+import static errors.ErrCodeSeverity.ERROR;
+import static errors.ErrCodeSeverity.WARNING;
 
 
 /* ============================== ENUM DEFINITION ============================== */
@@ -38,7 +40,18 @@ public enum MySQLConnectorErrCode implements ModuleErrCode
   ERR_DB_GET_ACTUATORS,
 
   // No actuators were retrieved from the database
-  ERR_DB_NO_ACTUATORS;
+  ERR_DB_NO_ACTUATORS,
+
+  /* -------------------------- Series Batch Writer Errors -------------------------- */
+
+  // Failed to push a batch of device state samples into the database
+  ERR_DB_BATCH_PUSH_FAILED,
+
+  // The series batch writer queue is full and samples were dropped
+  ERR_DB_WRITE_QUEUE_FULL,
+
+  // Not all samples could be flushed into the database on shutdown
+  ERR_DB_WRITE_FLUSH_TIMEOUT;
 
 
   /* ===================== MySQLConnector ErrCodeInfo Map ===================== */
@@ -54,7 +67,12 @@ public enum MySQLConnectorErrCode implements ModuleErrCode
 
     /* ------------------ Database Actuators Retrieval Errors ------------------ */
     Map.entry(ERR_DB_GET_ACTUATORS,new ErrCodeInfo(FATAL,"The set of actuators in the database could not be retrieved")),
-    Map.entry(ERR_DB_NO_ACTUATORS,new ErrCodeInfo(FATAL,"No actuators were retrieved from the database"))
+    Map.entry(ERR_DB_NO_ACTUATORS,new ErrCodeInfo(FATAL,"No actuators were retrieved from the database")),
+
+    /* --------------------- Series Batch Writer Errors --------------------- */
+    Map.entry(ERR_DB_BATCH_PUSH_FAILED,new ErrCodeInfo(ERROR,"Failed to push a batch of device state samples into the database")),
+    Map.entry(ERR_DB_WRITE_QUEUE_FULL,new ErrCodeInfo(WARNING,"The series batch writer queue is full, samples were dropped")),
+    Map.entry(ERR_DB_WRITE_FLUSH_TIMEOUT,new ErrCodeInfo(WARNING,"Not all samples could be flushed into the database on shutdown"))
    ));
 
 
@@ -0,0 +1,225 @@
+/* SafeTunnels Database Time Series Asynchronous Batch Writer */
+
+package modules.MySQLConnector;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import static modules.MySQLConnector.MySQLConnectorErrCode.*;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class SeriesBatchWriter
+ {
+  /* ======================= BATCH WRITER CONFIGURATION ======================= */
+
+  // The maximum number of samples written into the database per batch
+  public static int DB_BATCH_SIZE = 256;
+
+  // The maximum time in milliseconds a sample waits for its batch to fill up
+  public static int DB_BATCH_LINGER = 200;
+
+  // The capacity of the samples queue, beyond which new samples are dropped
+  public static int DB_WRITE_QUEUE_CAPACITY = 16384;
+
+  // The maximum time in milliseconds waited for flushing the queued samples on shutdown
+  private static final int DB_SHUTDOWN_FLUSH_TIMEOUT = 5000;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The MySQL connector used for writing the samples into the database
+  private final MySQLConnector mySQLConnector;
+
+  // The bounded queue of samples to be written into the database
+  private final ArrayBlockingQueue<SeriesSample> samplesQueue;
+
+  // The batch size and linger time (in nanoseconds) used by the writer
+  private final int batchSize;
+  private final long batchLingerNanos;
+
+  // The writer thread, draining the samples queue into the database
+  private final Thread writerThread;
+
+  // Whether the writer is running (false once shut down)
+  private volatile boolean running;
+
+  // The number of samples dropped since the last batch was written
+  private final AtomicLong droppedSamples;
+
+  /* ---------------------- Writer Thread-Only Attributes ---------------------- */
+
+  // The samples in the current batch
+  private final ArrayList<SeriesSample> batch;
+
+  // The samples in the current batch grouped by their time series table
+  private final LinkedHashMap<SeriesTable,ArrayList<SeriesSample>> seriesBatches;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Writes the samples in the current batch into the database,
+   * issuing a multi-row insert for each time series table
+   */
+  private void flushBatch()
+   {
+    // Group the batch samples by their time series table
+    for(SeriesSample sample : batch)
+     seriesBatches.computeIfAbsent(sample.series,series -> new ArrayList<>(batchSize)).add(sample);
+    batch.clear();
+
+    // Write the samples of each time series table
+    seriesBatches.forEach((series,seriesSamples) ->
+     {
+      if(seriesSamples.isEmpty())
+       return;
+
+      try
+       {
+        mySQLConnector.pushDevStatesBatch(series,seriesSamples);
+        Log.dbg("Pushed {} samples into the \"{}\" table",seriesSamples.size(),series);
+       }
+      catch(SQLException sqlExcp)
+       { Log.code(ERR_DB_BATCH_PUSH_FAILED,"(table = " + series + ", samples = "
+                  + seriesSamples.size() + ", reason = " + sqlExcp.getMessage() + ")"); }
+
+      seriesSamples.clear();
+     });
+
+    // Report the samples that were dropped because the queue was full, if any
+    long dropped = droppedSamples.getAndSet(0);
+    if(dropped > 0)
+     Log.code(ERR_DB_WRITE_QUEUE_FULL,"(" + dropped + " samples dropped)");
+   }
+
+
+  /**
+   * Writer thread main loop, draining the samples queue into batches that
+   * are written into the database once they reach the maximum batch size
+   * or their first sample has waited for the maximum linger time
+   */
+  private void writerLoop()
+   {
+    // Keep running until the writer is shut down and the queue is drained
+    while(running || !samplesQueue.isEmpty())
+     {
+      try
+       {
+        // Wait for the first sample of the next batch (without
+        // blocking if the writer is shutting down)
+        SeriesSample sample = running ? samplesQueue.take() : samplesQueue.poll();
+        if(sample == null)
+         continue;
+        batch.add(sample);
+
+        // Fill the batch until it reaches its maximum size or its linger time expires
+        long lingerDeadline = System.nanoTime() + batchLingerNanos;
+        while(batch.size() < batchSize)
+         {
+          // Drain the samples already in the queue
+          samplesQueue.drainTo(batch,batchSize - batch.size());
+          if(batch.size() >= batchSize)
+           break;
+
+          // Wait for further samples up to the linger deadline
+          long lingerLeft = lingerDeadline - System.nanoTime();
+          if(lingerLeft <= 0 || !running)
+           break;
+          sample = samplesQueue.poll(lingerLeft,TimeUnit.NANOSECONDS);
+          if(sample == null)
+           break;
+          batch.add(sample);
+         }
+       }
+
+      // Being interrupted means that the writer is shutting down,
+      // and so that the current batch should be written immediately
+      catch(InterruptedException interruptedExcp)
+       { /* Write the current batch */ }
+
+      if(!batch.isEmpty())
+       flushBatch();
+     }
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * SeriesBatchWriter constructor, starting its writer thread and
+   * registering a shutdown hook flushing the queued samples on exit
+   * @param mySQLConnector The MySQL connector to be used for
+   *                       writing the samples into the database
+   * @param writerName     The name of the writer (used for naming its thread)
+   */
+  public SeriesBatchWriter(MySQLConnector mySQLConnector, String writerName)
+   {
+    this.mySQLConnector = mySQLConnector;
+    this.batchSize = DB_BATCH_SIZE;
+    this.batchLingerNanos = TimeUnit.MILLISECONDS.toNanos(DB_BATCH_LINGER);
+    samplesQueue = new ArrayBlockingQueue<>(DB_WRITE_QUEUE_CAPACITY);
+    droppedSamples = new AtomicLong();
+    batch = new ArrayList<>(batchSize);
+    seriesBatches = new LinkedHashMap<>();
+
+    // Start the writer thread
+    running = true;
+    writerThread = new Thread(this::writerLoop,writerName);
+    writerThread.setDaemon(true);
+    writerThread.start();
+
+    // Flush the queued samples when the application terminates
+    Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown,writerName + "-shutdown"));
+
+    Log.dbg(writerName + " started (batch size = " + batchSize
+            + ", batch linger = " + DB_BATCH_LINGER + "ms)");
+   }
+
+
+  /**
+   * Queues a device state sample for being written into a time series table,
+   * without ever blocking the caller (samples are dropped if the queue is full)
+   * @param series The time series table the sample is to be written into
+   * @param devID  The sample's device ID
+   * @param value  The sample's value
+   * @return Whether the sample was queued
+   */
+  public boolean push(SeriesTable series, int devID, int value)
+   {
+    if(samplesQueue.offer(new SeriesSample(series,devID,value)))
+     return true;
+    droppedSamples.incrementAndGet();
+    return false;
+   }
+
+
+  /**
+   * Shuts down the writer, waiting for the queued samples
+   * to be written into the database up to a maximum timeout
+   */
+  public void shutdown()
+   {
+    if(!running)
+     return;
+
+    running = false;
+    writerThread.interrupt();
+
+    try
+     { writerThread.join(DB_SHUTDOWN_FLUSH_TIMEOUT); }
+    catch(InterruptedException interruptedExcp)
+     { Thread.currentThread().interrupt(); }
+
+    if(writerThread.isAlive())
+     Log.code(ERR_DB_WRITE_FLUSH_TIMEOUT,"(" + samplesQueue.size() + " samples pending)");
+   }
+ }
@@ -0,0 +1,39 @@
+/* A device state sample queued for being written into a database time series table */
+
+package modules.MySQLConnector;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class SeriesSample
+ {
+  /* ============================ PACKAGE ATTRIBUTES ============================ */
+
+  // The time series table the sample is to be written into
+  final SeriesTable series;
+
+  // The sample's device ID and value
+  final int devID;
+  final int value;
+
+  // The sample's reception time in milliseconds (truncated to seconds as
+  // for the tables' timestamps, the newest sample per second being kept)
+  final long timestamp;
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * SeriesSample constructor, initializing its attributes
+   * and setting its timestamp to the current time
+   * @param series The time series table the sample is to be written into
+   * @param devID  The sample's device ID
+   * @param value  The sample's value
+   */
+  SeriesSample(SeriesTable series, int devID, int value)
+   {
+    this.series = series;
+    this.devID = devID;
+    this.value = value;
+    this.timestamp = System.currentTimeMillis() / 1000 * 1000;
+   }
+ }
@@ -0,0 +1,68 @@
+/* SafeTunnels Database Time Series Table Descriptor */
+
+package modules.MySQLConnector;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class SeriesTable
+ {
+  /* ============================ PUBLIC ATTRIBUTES ============================ */
+
+  // The time series table name
+  public final String table;
+
+  // The table's device ID column name
+  public final String devIDColumn;
+
+  // The table's value column name
+  public final String valueColumn;
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * SeriesTable constructor, initializing its attributes
+   * @param table       The time series table name
+   * @param devIDColumn The table's device ID column name
+   * @param valueColumn The table's value column name
+   */
+  public SeriesTable(String table, String devIDColumn, String valueColumn)
+   {
+    this.table = table;
+    this.devIDColumn = devIDColumn;
+    this.valueColumn = valueColumn;
+   }
+
+
+  /**
+   * @return The time series table name
+   */
+  @Override
+  public String toString()
+   { return table; }
+
+
+  /**
+   * @param obj The object to compare with
+   * @return Whether the object describes the same time series table
+   */
+  @Override
+  public boolean equals(Object obj)
+   {
+    if(this == obj)
+     return true;
+    if(!(obj instanceof SeriesTable))
+     return false;
+    SeriesTable other = (SeriesTable)obj;
+    return table.equals(other.table) && devIDColumn.equals(other.devIDColumn)
+           && valueColumn.equals(other.valueColumn);
+   }
+
+
+  /**
+   * @return The hash code of the time series table descriptor
+   */
+  @Override
+  public int hashCode()
+   { return (table.hashCode() * 31 + devIDColumn.hashCode()) * 31 + valueColumn.hashCode(); }
+ }
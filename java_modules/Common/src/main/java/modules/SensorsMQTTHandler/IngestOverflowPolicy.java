@@ -0,0 +1,18 @@
+/* SafeTunnels Sensors MQTT Ingest Pipeline Lanes Overflow Policies */
+
+package modules.SensorsMQTTHandler;
+
+
+/* ============================== ENUM DEFINITION ============================== */
+public enum IngestOverflowPolicy
+ {
+  // The PAHO MQTT client callback thread waits for space in the lane queue
+  // (backpressure, propagated to the MQTT broker session)
+  BLOCK,
+
+  // The received MQTT message is dropped
+  DROP_NEWEST,
+
+  // The oldest MQTT message in the lane queue is dropped
+  DROP_OLDEST
+ }
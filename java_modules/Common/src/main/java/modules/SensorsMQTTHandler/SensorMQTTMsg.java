@@ -0,0 +1,224 @@
+/*
+ * A reusable, mutable record of the attributes of a sensor MQTT message,
+ * filled by the SensorMQTTMsgDecoder without allocating on its happy path
+ */
+
+package modules.SensorsMQTTHandler;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.nio.charset.StandardCharsets;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import errors.ErrCodeExcp;
+import devices.DevicesRegistry;
+import devices.sensor.BaseSensor;
+import devices.sensor.BaseSensorErrCode;
+import devices.sensor.BaseSensor.SensorMQTTCliState;
+import static devices.sensor.BaseSensor.SensorMQTTCliState.MQTT_CLI_STATE_UNKNOWN;
+import static modules.SensorsMQTTHandler.SensorsMQTTHandlerErrCode.*;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class SensorMQTTMsg
+ {
+  /* ============================ PACKAGE ATTRIBUTES ============================ */
+
+  // The possible states of an attribute in the MQTT message
+  static final byte ATTR_MISSING = 0;  // The attribute is missing
+  static final byte ATTR_VALID = 1;    // The attribute is of the expected type
+  static final byte ATTR_INVALID = 2;  // The attribute is not of the expected type
+
+  // SensorMQTTCliState Values Lookup Array
+  private static final SensorMQTTCliState[] MQTTCliStateValues = SensorMQTTCliState.values();
+
+  // The raw MQTT message payload and its length
+  byte[] payload;
+  int payloadLength;
+
+  // "MAC" attribute state and its packed key (see DevicesRegistry.MACToKey()),
+  // which is valid only if the MAC string could be normalized
+  byte MACState;
+  boolean MACKeyValid;
+  long MACKey;
+
+  // "C02" attribute state and value
+  byte C02State;
+  int C02;
+
+  // "temp" attribute state and value
+  byte tempState;
+  int temp;
+
+  // "errCode" attribute state and value
+  byte errCodeState;
+  int errCode;
+
+  // "MQTTCliState" attribute state and value
+  byte MQTTCliStateState;
+  int MQTTCliState;
+
+  // "errDscr" attribute state, bounds in the payload
+  // and whether it contains escape sequences
+  byte errDscrState;
+  int errDscrFrom;
+  int errDscrTo;
+  boolean errDscrHasEscapes;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * @return The additional description of the errors raised
+   *         while parsing the message (its stringified payload)
+   */
+  private String errDscr()
+   { return "(\"" + payloadToString() + "\")"; }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * Resets the record to parse a new MQTT message payload
+   * @param payload       The MQTT message payload
+   * @param payloadLength The MQTT message payload length
+   */
+  void reset(byte[] payload, int payloadLength)
+   {
+    this.payload = payload;
+    this.payloadLength = payloadLength;
+    MACState = ATTR_MISSING;
+    MACKeyValid = false;
+    C02State = ATTR_MISSING;
+    tempState = ATTR_MISSING;
+    errCodeState = ATTR_MISSING;
+    MQTTCliStateState = ATTR_MISSING;
+    errDscrState = ATTR_MISSING;
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * @return The MQTT message payload interpreted as a String
+   *         (used for logging purposes on errors only)
+   */
+  public String payloadToString()
+   { return new String(payload,0,payloadLength,StandardCharsets.UTF_8); }
+
+
+  /**
+   * Retrieves the publisher sensor from the sensors registry
+   * via the "MAC" attribute of the MQTT message
+   * @param sensorsRegistry The registry of sensors managed by the application
+   * @return The publisher sensor
+   * @throws ErrCodeExcp The "MAC" attribute in the MQTT message is missing, is not
+   *                     a non-null String or is associated with no sensor
+   */
+  public <T extends BaseSensor> T getSensor(DevicesRegistry<T> sensorsRegistry) throws ErrCodeExcp
+   {
+    // Ascertain the received MQTT message to contain the
+    // required "MAC" attribute, throwing an exception otherwise
+    if(MACState == ATTR_MISSING)
+     throw new ErrCodeExcp(ERR_MQTT_MSG_MAC_MISSING,errDscr());
+
+    // Ascertain the "MAC" attribute to be a non-null String
+    if(MACState == ATTR_INVALID)
+     throw new ErrCodeExcp(ERR_MQTT_MSG_MAC_NOT_NONNULL_STRING,errDscr());
+
+    // Retrieve the sensor associated with such
+    // MAC, throwing an exception if none exists
+    T sensor = MACKeyValid ? sensorsRegistry.get(MACKey) : null;
+    if(sensor == null)
+     throw new ErrCodeExcp(ERR_MQTT_MSG_NO_SENSOR_SUCH_MAC,errDscr());
+
+    return sensor;
+   }
+
+
+  /**
+   * @return The "C02" attribute value in the MQTT message
+   * @throws ErrCodeExcp The "C02" attribute is missing or its value
+   *                     could not be interpreted as an integer
+   */
+  public int getC02Reading() throws ErrCodeExcp
+   {
+    if(C02State == ATTR_MISSING)
+     throw new ErrCodeExcp(ERR_MQTT_MSG_C02_MISSING,errDscr());
+    if(C02State == ATTR_INVALID)
+     throw new ErrCodeExcp(ERR_MQTT_MSG_C02_NOT_INT,errDscr());
+    return C02;
+   }
+
+
+  /**
+   * @return The "temp" attribute value in the MQTT message
+   * @throws ErrCodeExcp The "temp" attribute is missing or its value
+   *                     could not be interpreted as an integer
+   */
+  public int getTempReading() throws ErrCodeExcp
+   {
+    if(tempState == ATTR_MISSING)
+     throw new ErrCodeExcp(ERR_MQTT_MSG_TEMP_MISSING,errDscr());
+    if(tempState == ATTR_INVALID)
+     throw new ErrCodeExcp(ERR_MQTT_MSG_TEMP_NOT_INT,errDscr());
+    return temp;
+   }
+
+
+  /**
+   * @return The "errCode" attribute in the MQTT error message
+   * @throws ErrCodeExcp The "errCode" attribute is missing or its value
+   *                     could not be interpreted as a valid BaseSensorErrCode
+   */
+  public BaseSensorErrCode getErrCode() throws ErrCodeExcp
+   {
+    if(errCodeState == ATTR_MISSING)
+     throw new ErrCodeExcp(ERR_MQTT_ERR_MSG_ERRCODE_MISSING,errDscr());
+    if(errCodeState == ATTR_INVALID)
+     throw new ErrCodeExcp(ERR_MQTT_ERR_MSG_ERRCODE_NOT_INT,errDscr());
+    if(errCode < 0 || errCode >= BaseSensorErrCode.values.length)
+     throw new ErrCodeExcp(ERR_MQTT_ERR_MSG_ERRCODE_UNKNOWN,errDscr());
+    return BaseSensorErrCode.values[errCode];
+   }
+
+
+  /**
+   * @return The optional "MQTTCliState" attribute in the MQTT error
+   *         message, or MQTT_CLI_STATE_UNKNOWN if it is missing
+   *         (which should occur for MQTT broker "last will" messages only)
+   * @throws ErrCodeExcp The "MQTTCliState" value could not be
+   *                     interpreted as a valid SensorMQTTCliState
+   */
+  public SensorMQTTCliState getMQTTCliState() throws ErrCodeExcp
+   {
+    if(MQTTCliStateState == ATTR_MISSING)
+     return MQTT_CLI_STATE_UNKNOWN;
+    if(MQTTCliStateState == ATTR_INVALID)
+     throw new ErrCodeExcp(ERR_MQTT_ERR_MSG_MQTTCLISTATE_NOT_INT,errDscr());
+    if(MQTTCliState < 0 || MQTTCliState >= MQTTCliStateValues.length)
+     throw new ErrCodeExcp(ERR_MQTT_ERR_MSG_MQTTCLISTATE_UNKNOWN,errDscr());
+    return MQTTCliStateValues[MQTTCliState];
+   }
+
+
+  /**
+   * @return The optional "errDscr" attribute value
+   *         in the MQTT error message, or null if missing
+   * @throws ErrCodeExcp The "errDscr" attribute value could
+   *                     not be interpreted as a non-null String
+   */
+  public String getErrDscr() throws ErrCodeExcp
+   {
+    if(errDscrState == ATTR_MISSING)
+     return null;
+    if(errDscrState == ATTR_INVALID)
+     throw new ErrCodeExcp(ERR_MQTT_ERR_MSG_ERRDSCR_NOT_NONNULL_STRING,errDscr());
+
+    // Strings without escape sequences are directly decoded from the payload
+    if(!errDscrHasEscapes)
+     return new String(payload,errDscrFrom,errDscrTo - errDscrFrom,StandardCharsets.UTF_8);
+    return SensorMQTTMsgDecoder.unescapeString(payload,errDscrFrom,errDscrTo);
+   }
+ }
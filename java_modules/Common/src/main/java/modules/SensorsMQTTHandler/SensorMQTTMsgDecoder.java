@@ -0,0 +1,608 @@
+/*
+ * Single-pass JSON tokenizer for the sensors' MQTT messages, which decodes the fixed
+ * SafeTunnels sensors' schema ("MAC", "C02", "temp", "errCode", "MQTTCliState"
+ * and "errDscr") directly from the raw payload bytes into a SensorMQTTMsg
+ */
+
+package modules.SensorsMQTTHandler;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import errors.ErrCodeExcp;
+import devices.DevicesRegistry;
+import static modules.SensorsMQTTHandler.SensorMQTTMsg.*;
+import static modules.SensorsMQTTHandler.SensorsMQTTHandlerErrCode.ERR_MQTT_MSG_NOT_JSON;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class SensorMQTTMsgDecoder
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The sensors' MQTT messages attributes names
+  private static final byte[] ATTR_MAC = "MAC".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] ATTR_C02 = "C02".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] ATTR_TEMP = "temp".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] ATTR_ERRCODE = "errCode".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] ATTR_MQTTCLISTATE = "MQTTCliState".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] ATTR_ERRDSCR = "errDscr".getBytes(StandardCharsets.US_ASCII);
+
+  // The identifiers of the sensors' MQTT messages attributes
+  private static final int ID_UNKNOWN = 0;
+  private static final int ID_MAC = 1;
+  private static final int ID_C02 = 2;
+  private static final int ID_TEMP = 3;
+  private static final int ID_ERRCODE = 4;
+  private static final int ID_MQTTCLISTATE = 5;
+  private static final int ID_ERRDSCR = 6;
+
+  // The maximum nesting depth of skipped (unknown) attributes values
+  private static final int MAX_NESTING_DEPTH = 32;
+
+  // The payload being decoded, its length and the record being filled
+  private byte[] buf;
+  private int len;
+  private SensorMQTTMsg msg;
+
+  // Whether the last scanned string contains escape sequences
+  private boolean lastStringHasEscapes;
+
+  // The integer value and validity of the last parsed integer token
+  private int lastIntValue;
+  private boolean lastIntValid;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * @return The exception raised on a message that is not valid JSON
+   */
+  private ErrCodeExcp notJSON()
+   { return new ErrCodeExcp(ERR_MQTT_MSG_NOT_JSON,"(\"" + msg.payloadToString() + "\")"); }
+
+
+  /**
+   * @param pos A payload index
+   * @return The index of the first non-whitespace character from 'pos'
+   */
+  private int skipWhitespace(int pos)
+   {
+    while(pos < len && (buf[pos] == ' ' || buf[pos] == '\t' || buf[pos] == '\n' || buf[pos] == '\r'))
+     pos++;
+    return pos;
+   }
+
+
+  /**
+   * Scans a JSON string whose opening quote precedes 'pos'
+   * @param pos The index of the string's first character
+   * @return The index of the string's closing quote
+   * @throws ErrCodeExcp The string is not terminated
+   */
+  private int scanString(int pos) throws ErrCodeExcp
+   {
+    lastStringHasEscapes = false;
+    while(pos < len)
+     {
+      byte c = buf[pos];
+      if(c == '"')
+       return pos;
+      if(c == '\\')
+       {
+        lastStringHasEscapes = true;
+        pos += 2;
+       }
+      else
+       if(c == '\n' || c == '\r')
+        throw notJSON();
+       else
+        pos++;
+     }
+    throw notJSON();
+   }
+
+
+  /**
+   * Scans an unquoted value token (number or literal)
+   * @param pos The index of the token's first character
+   * @return The index following the token's last character
+   */
+  private int scanToken(int pos)
+   {
+    while(pos < len)
+     {
+      byte c = buf[pos];
+      if(c == ',' || c == '}' || c == ']' || c == ' ' || c == '\t' || c == '\n' || c == '\r')
+       break;
+      pos++;
+     }
+    return pos;
+   }
+
+
+  /**
+   * Skips a nested object or array value
+   * @param pos The index of the value's opening bracket
+   * @return The index following the value's closing bracket
+   * @throws ErrCodeExcp The value is not terminated or is too deeply nested
+   */
+  private int skipNested(int pos) throws ErrCodeExcp
+   {
+    int depth = 0;
+    while(pos < len)
+     {
+      byte c = buf[pos];
+      if(c == '"')
+       pos = scanString(pos + 1) + 1;
+      else
+       {
+        if(c == '{' || c == '[')
+         {
+          if(++depth > MAX_NESTING_DEPTH)
+           throw notJSON();
+         }
+        else
+         if(c == '}' || c == ']')
+          if(--depth == 0)
+           return pos + 1;
+        pos++;
+       }
+     }
+    throw notJSON();
+   }
+
+
+  /**
+   * @param from The index following the integer part of a number token
+   * @param to   The index following the token's last character
+   * @return Whether the rest of the token is a valid JSON number's
+   *         fraction and/or exponent ("[.digits][(e|E)[+|-]digits]")
+   */
+  private boolean isJSONNumberTail(int from, int to)
+   {
+    int pos = from;
+
+    // Fraction
+    if(pos < to && buf[pos] == '.')
+     {
+      int digitsFrom = ++pos;
+      while(pos < to && buf[pos] >= '0' && buf[pos] <= '9')
+       pos++;
+      if(pos == digitsFrom)
+       return false;
+     }
+
+    // Exponent
+    if(pos < to && (buf[pos] == 'e' || buf[pos] == 'E'))
+     {
+      if(++pos < to && (buf[pos] == '+' || buf[pos] == '-'))
+       pos++;
+      int digitsFrom = pos;
+      while(pos < to && buf[pos] >= '0' && buf[pos] <= '9')
+       pos++;
+      if(pos == digitsFrom)
+       return false;
+     }
+
+    return pos == to;
+   }
+
+
+  /**
+   * Parses an integer from a token of the payload, setting 'lastIntValue'
+   * and 'lastIntValid' (non-integer numbers are truncated as for the
+   * org.json getInt() semantics previously used in decoding messages)
+   * @param from The index of the token's first character
+   * @param to   The index following the token's last character
+   */
+  private void parseInt(int from, int to)
+   {
+    lastIntValid = false;
+    if(from >= to)
+     return;
+
+    // Fast path: [-]digits
+    int pos = from;
+    boolean negative = buf[pos] == '-';
+    if(negative && ++pos == to)
+     return;
+
+    int intDigitsFrom = pos;
+    long value = 0;
+    while(pos < to && buf[pos] >= '0' && buf[pos] <= '9')
+     {
+      value = value * 10 + (buf[pos] - '0');
+      if(value > (long)Integer.MAX_VALUE + 1)
+       return;
+      pos++;
+     }
+
+    if(pos == to)
+     {
+      value = negative ? -value : value;
+      if(value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE)
+       {
+        lastIntValue = (int)value;
+        lastIntValid = true;
+       }
+      return;
+     }
+
+    // Slow path: decimal numbers or numbers with an exponent, which must
+    // be valid JSON numbers (as Double.parseDouble() would also accept
+    // "NaN", "Infinity", hexadecimal literals and type suffixes)
+    if(pos == intDigitsFrom || !isJSONNumberTail(pos,to))
+     return;
+    try
+     {
+      double doubleValue = Double.parseDouble(new String(buf,from,to - from,StandardCharsets.US_ASCII));
+      if(Double.isFinite(doubleValue) && doubleValue >= Integer.MIN_VALUE && doubleValue <= Integer.MAX_VALUE)
+       {
+        lastIntValue = (int)doubleValue;
+        lastIntValid = true;
+       }
+     }
+    catch(NumberFormatException notNumberExcp)
+     { /* lastIntValid = false */ }
+   }
+
+
+  /**
+   * @param from The index of the attribute name's first character
+   * @param to   The index of the attribute name's closing quote
+   * @return Whether the attribute name equals 'name'
+   */
+  private boolean attrNameEquals(int from, int to, byte[] name)
+   {
+    if(to - from != name.length)
+     return false;
+    for(int i = 0; i < name.length; i++)
+     if(buf[from + i] != name[i])
+      return false;
+    return true;
+   }
+
+
+  /**
+   * @param from The index of the attribute name's first character
+   * @param to   The index of the attribute name's closing quote
+   * @return The identifier of the attribute (ID_UNKNOWN for names
+   *         not in the sensors' schema or containing escape sequences)
+   */
+  private int attrID(int from, int to)
+   {
+    if(lastStringHasEscapes)
+     return ID_UNKNOWN;
+    if(attrNameEquals(from,to,ATTR_MAC))
+     return ID_MAC;
+    if(attrNameEquals(from,to,ATTR_C02))
+     return ID_C02;
+    if(attrNameEquals(from,to,ATTR_TEMP))
+     return ID_TEMP;
+    if(attrNameEquals(from,to,ATTR_ERRCODE))
+     return ID_ERRCODE;
+    if(attrNameEquals(from,to,ATTR_MQTTCLISTATE))
+     return ID_MQTTCLISTATE;
+    if(attrNameEquals(from,to,ATTR_ERRDSCR))
+     return ID_ERRDSCR;
+    return ID_UNKNOWN;
+   }
+
+
+  /**
+   * @param attrID An attribute identifier
+   * @return The current state of such attribute in the record
+   */
+  private byte attrState(int attrID)
+   {
+    switch(attrID)
+     {
+      case ID_MAC:          return msg.MACState;
+      case ID_C02:          return msg.C02State;
+      case ID_TEMP:         return msg.tempState;
+      case ID_ERRCODE:      return msg.errCodeState;
+      case ID_MQTTCLISTATE: return msg.MQTTCliStateState;
+      case ID_ERRDSCR:      return msg.errDscrState;
+      default:              return ATTR_MISSING;
+     }
+   }
+
+
+  /**
+   * Stores an integer attribute value in the record
+   * @param attrID The attribute identifier
+   * @param valid  Whether the attribute was an integer
+   * @param value  The attribute integer value
+   */
+  private void setIntAttr(int attrID, boolean valid, int value)
+   {
+    byte state = valid ? ATTR_VALID : ATTR_INVALID;
+    switch(attrID)
+     {
+      case ID_C02:
+       msg.C02State = state;
+       msg.C02 = value;
+       break;
+      case ID_TEMP:
+       msg.tempState = state;
+       msg.temp = value;
+       break;
+      case ID_ERRCODE:
+       msg.errCodeState = state;
+       msg.errCode = value;
+       break;
+      case ID_MQTTCLISTATE:
+       msg.MQTTCliStateState = state;
+       msg.MQTTCliState = value;
+       break;
+     }
+   }
+
+
+  /**
+   * Stores an attribute whose value is not a string nor a
+   * number (literal, object or array) as invalid in the record
+   * @param attrID The attribute identifier
+   */
+  private void setInvalidAttr(int attrID)
+   {
+    if(attrID == ID_MAC)
+     msg.MACState = ATTR_INVALID;
+    else
+     if(attrID == ID_ERRDSCR)
+      msg.errDscrState = ATTR_INVALID;
+     else
+      setIntAttr(attrID,false,0);
+   }
+
+
+  /**
+   * Parses an attribute value, storing it in the record if the attribute is known
+   * @param attrID The identifier of the attribute the value is associated with
+   * @param pos    The index of the value's first character
+   * @return The index following the value's last character
+   * @throws ErrCodeExcp The value is not valid JSON
+   */
+  private int parseValue(int attrID, int pos) throws ErrCodeExcp
+   {
+    if(pos >= len)
+     throw notJSON();
+
+    byte c = buf[pos];
+
+    // String value
+    if(c == '"')
+     {
+      int from = pos + 1;
+      int to = scanString(from);
+
+      switch(attrID)
+       {
+        case ID_MAC:
+         msg.MACState = ATTR_VALID;
+         if(!lastStringHasEscapes)
+          try
+           {
+            msg.MACKey = DevicesRegistry.MACToKey(buf,from,to);
+            msg.MACKeyValid = true;
+           }
+          catch(IllegalArgumentException invalidMACExcp)
+           { /* MACKeyValid = false, no sensor is associated with the MAC */ }
+         break;
+
+        case ID_ERRDSCR:
+         msg.errDscrState = ATTR_VALID;
+         msg.errDscrFrom = from;
+         msg.errDscrTo = to;
+         msg.errDscrHasEscapes = lastStringHasEscapes;
+         break;
+
+        // Integer attributes given as strings are interpreted as for org.json
+        case ID_UNKNOWN:
+         break;
+        default:
+         if(lastStringHasEscapes)
+          setIntAttr(attrID,false,0);
+         else
+          {
+           parseInt(from,to);
+           setIntAttr(attrID,lastIntValid,lastIntValue);
+          }
+       }
+      return to + 1;
+     }
+
+    // Object or array value
+    if(c == '{' || c == '[')
+     {
+      setInvalidAttr(attrID);
+      return skipNested(pos);
+     }
+
+    // Number or literal value
+    int to = scanToken(pos);
+    if(to == pos)
+     throw notJSON();
+
+    if(attrID == ID_MAC || attrID == ID_ERRDSCR)
+     setInvalidAttr(attrID);
+    else
+     if(attrID != ID_UNKNOWN)
+      {
+       parseInt(pos,to);
+       setIntAttr(attrID,lastIntValid,lastIntValue);
+      }
+    return to;
+   }
+
+
+  /**
+   * Parses the 4 hexadecimal digits of a JSON "\\u" escape sequence
+   * @param buffer The buffer containing the escape sequence
+   * @param from   The index of the first hexadecimal digit
+   * @param to     The index of the string's closing quote
+   * @return The escaped UTF-16 code unit, or -1 if the digits are missing or invalid
+   */
+  private static int parseHex4(byte[] buffer, int from, int to)
+   {
+    if(from + 4 > to)
+     return -1;
+
+    int codeUnit = 0;
+    for(int i = from; i < from + 4; i++)
+     {
+      int digit = Character.digit(buffer[i],16);
+      if(digit == -1)
+       return -1;
+      codeUnit = codeUnit << 4 | digit;
+     }
+    return codeUnit;
+   }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * Decodes a JSON string value containing escape sequences
+   * @param buffer The buffer containing the string
+   * @param from   The index of the string's first character
+   * @param to     The index of the string's closing quote
+   * @return The decoded string
+   */
+  static String unescapeString(byte[] buffer, int from, int to)
+   {
+    ByteArrayOutputStream unescaped = new ByteArrayOutputStream(to - from);
+
+    for(int i = from; i < to; i++)
+     {
+      byte c = buffer[i];
+      if(c != '\\' || i + 1 >= to)
+       {
+        unescaped.write(c);
+        continue;
+       }
+
+      c = buffer[++i];
+      switch(c)
+       {
+        case 'b': unescaped.write('\b'); break;
+        case 'f': unescaped.write('\f'); break;
+        case 'n': unescaped.write('\n'); break;
+        case 'r': unescaped.write('\r'); break;
+        case 't': unescaped.write('\t'); break;
+        case 'u':
+         {
+          int escapedChar = parseHex4(buffer,i + 1,to);
+          if(escapedChar == -1)
+           {
+            // Append the escape sequence as is
+            unescaped.write(c);
+            break;
+           }
+          i += 4;
+
+          // A UTF-16 high surrogate escape must be combined with the following low
+          // surrogate escape (e.g. "\\uD83D\\uDE00" in the JSON string into U+1F600),
+          // as each surrogate encoded on its own is replaced by the UTF-8 encoder
+          String decoded = String.valueOf((char)escapedChar);
+          if(Character.isHighSurrogate((char)escapedChar) && i + 2 < to
+             && buffer[i + 1] == '\\' && buffer[i + 2] == 'u')
+           {
+            int lowSurrogate = parseHex4(buffer,i + 3,to);
+            if(lowSurrogate != -1 && Character.isLowSurrogate((char)lowSurrogate))
+             {
+              decoded = new String(new char[]{(char)escapedChar,(char)lowSurrogate});
+              i += 6;
+             }
+           }
+
+          byte[] utf8 = decoded.getBytes(StandardCharsets.UTF_8);
+          unescaped.write(utf8,0,utf8.length);
+          break;
+         }
+        default: unescaped.write(c);
+       }
+     }
+    return new String(unescaped.toByteArray(),StandardCharsets.UTF_8);
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * Decodes a sensor MQTT message payload into a reusable SensorMQTTMsg record,
+   * storing for each attribute of the sensors' schema whether it is missing,
+   * valid or invalid, with the errors associated with missing or invalid
+   * attributes being raised by the SensorMQTTMsg getters
+   *
+   * NOTE: The decoder is NOT thread-safe, and every thread decoding
+   *       messages should use its own decoder and SensorMQTTMsg objects
+   *
+   * @param payload       The MQTT message payload
+   * @param payloadLength The MQTT message payload length
+   * @param msg           The record to be filled with the message attributes
+   * @throws ErrCodeExcp The MQTT message is not a valid JSON object
+   */
+  public void decode(byte[] payload, int payloadLength, SensorMQTTMsg msg) throws ErrCodeExcp
+   {
+    this.buf = payload;
+    this.len = payloadLength;
+    this.msg = msg;
+    msg.reset(payload,payloadLength);
+
+    // The message must be a JSON object
+    int pos = skipWhitespace(0);
+    if(pos >= len || buf[pos] != '{')
+     throw notJSON();
+    pos = skipWhitespace(pos + 1);
+
+    // Empty object
+    if(pos < len && buf[pos] == '}')
+     pos++;
+
+    // Parse the object's attributes
+    else
+     while(true)
+      {
+       // Attribute name
+       if(pos >= len || buf[pos] != '"')
+        throw notJSON();
+       int nameFrom = pos + 1;
+       int nameTo = scanString(nameFrom);
+       int attrID = attrID(nameFrom,nameTo);
+
+       // Duplicate attributes are rejected as for org.json
+       if(attrID != ID_UNKNOWN && attrState(attrID) != ATTR_MISSING)
+        throw notJSON();
+
+       // Name-value separator
+       pos = skipWhitespace(nameTo + 1);
+       if(pos >= len || buf[pos] != ':')
+        throw notJSON();
+
+       // Attribute value
+       pos = skipWhitespace(parseValue(attrID,skipWhitespace(pos + 1)));
+
+       // Attributes separator or object end
+       if(pos >= len)
+        throw notJSON();
+       if(buf[pos] == '}')
+        {
+         pos++;
+         break;
+        }
+       if(buf[pos] != ',')
+        throw notJSON();
+       pos = skipWhitespace(pos + 1);
+      }
+
+    // Only whitespace may follow the object
+    if(skipWhitespace(pos) != len)
+     throw notJSON();
+   }
+ }
@@ -0,0 +1,294 @@
+/*
+ * SafeTunnels Sensors MQTT Ingest Pipeline, processing the received sensors' MQTT messages
+ * on a set of worker lanes, where all messages of a sensor are processed in order on the
+ * same lane (selected by hashing the sensor's MAC) while different sensors are processed
+ * in parallel, so that the PAHO MQTT client callback thread is never stalled by the
+ * messages' processing (database writes in the Cloud Module, GUI updates in the Control Module)
+ */
+
+package modules.SensorsMQTTHandler;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import devices.DevicesRegistry;
+import static modules.SensorsMQTTHandler.SensorsMQTTHandlerErrCode.ERR_MQTT_INGEST_QUEUE_FULL;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class SensorsIngestPipeline
+ {
+  /* ======================= INGEST PIPELINE CONFIGURATION ======================= */
+
+  // The number of worker lanes (0 -> messages are processed
+  // inline on the PAHO MQTT client callback thread)
+  public static int INGEST_LANES = Math.min(4,Runtime.getRuntime().availableProcessors());
+
+  // The capacity of each lane's messages queue
+  public static int INGEST_QUEUE_CAPACITY = 1024;
+
+  // The policy applied when a lane's messages queue is full
+  public static IngestOverflowPolicy INGEST_OVERFLOW_POLICY = IngestOverflowPolicy.BLOCK;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The "MAC" attribute name as it appears in the MQTT messages
+  private static final byte[] MAC_ATTR = {'"','M','A','C','"'};
+
+  // The sensors MQTT handler the messages are processed by
+  private final SensorsMQTTHandler MQTTHandler;
+
+  // The pipeline's worker lanes and their threads
+  private final IngestLane[] lanes;
+  private final Thread[] laneThreads;
+
+  // The number of messages processed by the lanes so far
+  private final LongAdder processedMsgs;
+
+  // The policy applied when a lane's messages queue is full
+  private final IngestOverflowPolicy overflowPolicy;
+
+
+  /* ============================== PRIVATE CLASSES ============================== */
+
+  /**
+   * A received MQTT message queued for being processed
+   */
+  private static final class IngestMsg
+   {
+    // The MQTT message topic and (copied) payload
+    final String topic;
+    final byte[] payload;
+
+    IngestMsg(String topic, byte[] payload)
+     {
+      this.topic = topic;
+      this.payload = payload;
+     }
+   }
+
+
+  /**
+   * A worker lane, processing in order the MQTT messages of the sensors
+   * mapped to it, each lane having its own decoder and message record
+   */
+  private final class IngestLane implements Runnable
+   {
+    // The lane's bounded messages queue
+    final ArrayBlockingQueue<IngestMsg> msgQueue;
+
+    // The lane's MQTT messages decoder and reusable message record
+    final SensorMQTTMsgDecoder decoder;
+    final SensorMQTTMsg recvMsg;
+
+    // The number of messages dropped since the lane last reported them
+    final AtomicLong droppedMsgs;
+
+    IngestLane(int queueCapacity)
+     {
+      msgQueue = new ArrayBlockingQueue<>(queueCapacity);
+      decoder = new SensorMQTTMsgDecoder();
+      recvMsg = new SensorMQTTMsg();
+      droppedMsgs = new AtomicLong();
+     }
+
+    /**
+     * Lane worker thread main loop
+     */
+    public void run()
+     {
+      while(true)
+       {
+        IngestMsg ingestMsg;
+
+        // Wait for the next message
+        try
+         { ingestMsg = msgQueue.take(); }
+        catch(InterruptedException interruptedExcp)
+         { return; }
+
+        // Process the message, preventing unexpected
+        // errors from terminating the lane
+        try
+         { MQTTHandler.processMessage(ingestMsg.topic,ingestMsg.payload,ingestMsg.payload.length,decoder,recvMsg); }
+        catch(RuntimeException runtimeExcp)
+         { Log.err("Unexpected error in processing a sensor MQTT message on "
+                   + Thread.currentThread().getName() + " (" + runtimeExcp + ")"); }
+        processedMsgs.increment();
+
+        // Report the messages that were dropped because the queue was full, if any
+        long dropped = droppedMsgs.getAndSet(0);
+        if(dropped > 0)
+         Log.code(ERR_MQTT_INGEST_QUEUE_FULL,"(" + Thread.currentThread().getName()
+                  + ", " + dropped + " messages dropped)");
+       }
+     }
+   }
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Selects the lane a MQTT message is to be processed on by hashing the
+   * sensor's MAC, which is located in the payload without fully decoding it
+   * (messages whose MAC could not be located or normalized, which are
+   * going to be rejected anyway, are all processed on the first lane)
+   * @param payload The MQTT message payload
+   * @return The index of the lane the message is to be processed on
+   */
+  private int selectLane(byte[] payload)
+   {
+    if(lanes.length == 1)
+     return 0;
+
+    // Locate the "MAC" attribute name
+    int pos = indexOfMACAttr(payload);
+    if(pos == -1)
+     return 0;
+
+    // Skip the name-value separator up to the value's opening quote
+    pos += MAC_ATTR.length;
+    while(pos < payload.length && (payload[pos] == ' ' || payload[pos] == ':'
+                                   || payload[pos] == '\t' || payload[pos] == '\n' || payload[pos] == '\r'))
+     pos++;
+    if(pos >= payload.length || payload[pos] != '"')
+     return 0;
+
+    // Locate the value's closing quote
+    int from = ++pos;
+    while(pos < payload.length && payload[pos] != '"')
+     pos++;
+    if(pos >= payload.length)
+     return 0;
+
+    // Hash the normalized MAC, so that all representations
+    // of a sensor's MAC are mapped to the same lane
+    long MACKey;
+    try
+     { MACKey = DevicesRegistry.MACToKey(payload,from,pos); }
+    catch(IllegalArgumentException invalidMACExcp)
+     { return 0; }
+
+    MACKey *= 0x9e3779b97f4a7c15L;
+    return (int)((MACKey >>> 32) % lanes.length);
+   }
+
+
+  /**
+   * @param payload The MQTT message payload
+   * @return The index of the "MAC" attribute name in the payload, or -1 if not found
+   */
+  private static int indexOfMACAttr(byte[] payload)
+   {
+    outer:
+    for(int i = 0; i <= payload.length - MAC_ATTR.length; i++)
+     {
+      for(int j = 0; j < MAC_ATTR.length; j++)
+       if(payload[i + j] != MAC_ATTR[j])
+        continue outer;
+      return i;
+     }
+    return -1;
+   }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * SensorsIngestPipeline constructor, starting its worker lanes
+   * @param MQTTHandler The sensors MQTT handler the messages are processed by
+   * @param numLanes    The number of worker lanes (> 0)
+   */
+  SensorsIngestPipeline(SensorsMQTTHandler MQTTHandler, int numLanes)
+   {
+    this.MQTTHandler = MQTTHandler;
+    this.overflowPolicy = INGEST_OVERFLOW_POLICY;
+    lanes = new IngestLane[numLanes];
+    laneThreads = new Thread[numLanes];
+    processedMsgs = new LongAdder();
+
+    for(int i = 0; i < numLanes; i++)
+     {
+      lanes[i] = new IngestLane(INGEST_QUEUE_CAPACITY);
+      laneThreads[i] = new Thread(lanes[i],"SensorsIngestLane" + i);
+      laneThreads[i].setDaemon(true);
+      laneThreads[i].start();
+     }
+
+    Log.dbg("Sensors MQTT ingest pipeline started (lanes = " + numLanes + ", queue capacity = "
+            + INGEST_QUEUE_CAPACITY + ", overflow policy = " + overflowPolicy + ")");
+   }
+
+
+  /**
+   * Queues a received MQTT message for being processed on the lane
+   * of its sensor, applying the overflow policy if the lane is full
+   * @param topic   The MQTT message topic
+   * @param payload The MQTT message payload (which is copied)
+   */
+  void submit(String topic, byte[] payload)
+   {
+    IngestLane lane = lanes[selectLane(payload)];
+    IngestMsg ingestMsg = new IngestMsg(topic,payload.clone());
+
+    switch(overflowPolicy)
+     {
+      case BLOCK:
+       try
+        { lane.msgQueue.put(ingestMsg); }
+       catch(InterruptedException interruptedExcp)
+        {
+         lane.droppedMsgs.incrementAndGet();
+         Thread.currentThread().interrupt();
+        }
+       break;
+
+      case DROP_NEWEST:
+       if(!lane.msgQueue.offer(ingestMsg))
+        lane.droppedMsgs.incrementAndGet();
+       break;
+
+      case DROP_OLDEST:
+       while(!lane.msgQueue.offer(ingestMsg))
+        if(lane.msgQueue.poll() != null)
+         lane.droppedMsgs.incrementAndGet();
+       break;
+     }
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * @return The number of messages processed by the lanes so far
+   */
+  public long getProcessedMsgs()
+   { return processedMsgs.sum(); }
+
+
+  /**
+   * Stops the pipeline's worker lanes, discarding their queued messages
+   * and waiting for the messages being processed to complete
+   */
+  public void shutdown()
+   {
+    for(Thread laneThread : laneThreads)
+     laneThread.interrupt();
+    for(Thread laneThread : laneThreads)
+     {
+      try
+       { laneThread.join(); }
+      catch(InterruptedException interruptedExcp)
+       {
+        Thread.currentThread().interrupt();
+        return;
+       }
+     }
+   }
+ }
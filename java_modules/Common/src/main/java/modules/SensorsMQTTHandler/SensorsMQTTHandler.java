@@ -7,7 +7,6 @@ package modules.SensorsMQTTHandler;
 /* --------------------------- SafeTunnels Resources --------------------------- */
 
 /* --------------------- Java Standard Libraries Resources --------------------- */
-import java.util.ArrayList;
 import java.util.Timer;
 import java.util.TimerTask;
 
@@ -17,17 +16,14 @@ import java.util.TimerTask;
 import org.eclipse.paho.client.mqttv3.*;
 import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
 
-// JSON parser
-import org.json.JSONException;
-import org.json.JSONObject;
-
 /* --------------------------- SafeTunnels Resources --------------------------- */
 import logging.Log;
 import errors.ErrCodeExcp;
+import devices.DevicesRegistry;
 import devices.sensor.BaseSensor;
 import devices.sensor.BaseSensorErrCode;
+import modules.EmbeddedMQTTBroker.EmbeddedMQTTBroker;
 import static devices.sensor.BaseSensor.*;
-import static devices.sensor.BaseSensor.SensorMQTTCliState.MQTT_CLI_STATE_UNKNOWN;
 import static modules.SensorsMQTTHandler.SensorsMQTTHandlerErrCode.*;
 
 
@@ -36,14 +32,16 @@ public class SensorsMQTTHandler implements MqttCallback
  {
   /* ================================ ATTRIBUTES ================================ */
 
-  // MQTT Broker endpoint
-  private final static String MQTT_BROKER_ENDPOINT = "tcp://127.0.0.1:1883";
+  // MQTT Broker endpoint (overridable via the "-mqttBroker" option, or set
+  // to the embedded MQTT broker's via the "-embeddedBroker" option)
+  public static String MQTT_BROKER_ENDPOINT = "tcp://127.0.0.1:1883";
 
   // MQTT PAHO Client Handler
   protected MqttClient MQTTClient;
 
-  // The list of sensors in the application
-  ArrayList<? extends BaseSensor> sensorsList;
+  // The registry of sensors in the application, indexed by their MAC
+  // (null until passed to the subscribeSensors() method)
+  volatile DevicesRegistry<? extends BaseSensor> sensorsRegistry;
 
   // The estimated maximum sensor MQTT inactivity in milliseconds
   // for tuning the sensors' boostrap inactivity timer
@@ -52,14 +50,24 @@ public class SensorsMQTTHandler implements MqttCallback
   private final static int MQTT_CLI_MAX_INACTIVITY = 50 * 1000;
 
   // Whether the sensor offline bootstrap timer has run
-  public boolean sensorsOfflineBootstrapTimerHasRun;
+  public volatile boolean sensorsOfflineBootstrapTimerHasRun;
+
+  // The pipeline the received MQTT messages are processed on
+  // (null if they are processed inline on the PAHO callback thread)
+  private final SensorsIngestPipeline ingestPipeline;
+
+  // The decoder and the reusable record the received MQTT messages are parsed
+  // into when processed inline (only accessed by the PAHO callback thread)
+  private final SensorMQTTMsgDecoder recvMsgDecoder = new SensorMQTTMsgDecoder();
+  private final SensorMQTTMsg recvMsg = new SensorMQTTMsg();
 
 
   /* ============================== PRIVATE METHODS ============================== */
 
   /**
-   * Attempts to connect the PAHO MQTT client module with the local
-   * MQTT broker and to subscribe on the sensor's MQTT topics
+   * Attempts to connect the PAHO MQTT client module with the local MQTT broker
+   * and, if the registry of sensors to be managed is known, to subscribe on
+   * the sensor's MQTT topics
    * @throws MqttException Failed to connect the PAHO MQTT client
    *                       module with the local MQTT broker
    */
@@ -70,9 +78,21 @@ public class SensorsMQTTHandler implements MqttCallback
     MQTTClient.connect();
 
     // Log the successful connection
-    Log.dbg("MQTT Client connected with the MQTT broker @"
-            + MQTT_BROKER_ENDPOINT + ", subscribing on topics");
+    Log.dbg("MQTT Client connected with the MQTT broker @" + MQTT_BROKER_ENDPOINT);
 
+    // If the registry of sensors is known, attempt
+    // to subscribe on the sensor's MQTT topics
+    if(sensorsRegistry != null)
+     subscribeSensorsTopics();
+   }
+
+
+  /**
+   * Attempts to subscribe the PAHO MQTT client module on the sensor's MQTT topics
+   * @throws MqttException Failed to subscribe the PAHO MQTT client module
+   */
+  private void subscribeSensorsTopics() throws MqttException
+   {
     // Attempt to subscribe the PAHO MQTT client
     // module on the sensor's MQTT topics
     MQTTClient.subscribe(TOPIC_SENSORS_C02);
@@ -84,250 +104,137 @@ public class SensorsMQTTHandler implements MqttCallback
    }
 
 
-  /* ------------------ Received MQTT Message Parsing Methods ------------------ */
+  /* ============================= PUBLIC METHODS ============================= */
 
   /**
-   * Retrieves the "MAC" attribute from a MQTT message
-   * received by a sensor interpreted as a JSON object
-   * @param mqttMsgJSON The received MQTT message interpreted as a JSON object
-   * @param mqttMsgStr  The received MQTT message interpreted as a String
-   * @return The "MAC" attribute in the MQTT message
-   * @throws ErrCodeExcp The "MAC" attribute in the MQTT message
-   *                     is missing or is not a non-null String
+   * Starts the embedded MQTT broker and sets it as the broker the MQTT client
+   * handlers connect to (development only, "-embeddedBroker" option), where
+   * the broker outlives the caller as its threads hold its socket
+   * @param port The embedded MQTT broker's TCP port (0 -> an ephemeral port)
    */
-  private String getSensorMAC(JSONObject mqttMsgJSON,String mqttMsgStr) throws  ErrCodeExcp
+  public static void useEmbeddedBroker(int port)
    {
-    // Ascertain the received MQTT message to contain the
-    // required "MAC" attribute, throwing an exception otherwise
-    if(!mqttMsgJSON.has("MAC"))
-     throw new ErrCodeExcp(ERR_MQTT_MSG_MAC_MISSING,"(\"" + mqttMsgStr + "\")");
-
-    // Attempt to extract the "MAC" attribute as a String and
-    // ensure it to be non-null, throwing an exception otherwise
-    try
-     { return mqttMsgJSON.getString("MAC"); }
-    catch(JSONException jsonExcp)
-     { throw new ErrCodeExcp(ERR_MQTT_MSG_MAC_NOT_NONNULL_STRING,
-                     "(\"" + mqttMsgStr + "\")"); }
+    EmbeddedMQTTBroker embeddedBroker = EmbeddedMQTTBroker.start(port);
+    MQTT_BROKER_ENDPOINT = embeddedBroker.getEndpoint();
+    Log.warn("Using the embedded MQTT broker @" + MQTT_BROKER_ENDPOINT
+             + " (development only, the sensors must connect to it)");
    }
 
 
   /**
-   * Retrieves the "BaseSensorErrCode" attribute from a MQTT error
-   * message received by a sensor interpreted as a JSON object
-   * @param mqttMsgJSON The received MQTT error message interpreted as a JSON object
-   * @param mqttMsgStr  The received MQTT error message interpreted as a String
-   * @return The "BaseSensorErrCode" attribute in the MQTT error message
-   * @throws ErrCodeExcp The "BaseSensorErrCode" attribute is missing or its value
-   *                     could not be interpreted as a valid BaseSensorErrCode
+   * SensorsMQTTHandler constructor, initializing the PAHO MQTT Client module and
+   * attempting to connect with the local MQTT broker, without subscribing on the
+   * sensors' topics until the registry of sensors to be managed is passed to the
+   * subscribeSensors() method (so that the broker connection can be established
+   * while the sensors are still being retrieved from the database)
+   * @param mqttCliID The MQTT Client ID to be used for
+   *                  registering on the local MQTT broker
    */
-  private BaseSensorErrCode getSensorErrCode(JSONObject mqttMsgJSON,String mqttMsgStr) throws  ErrCodeExcp
+  public SensorsMQTTHandler(String mqttCliID)
    {
-    // Ascertain the received MQTT message to contain the required
-    // "errCode" attribute, throwing an exception otherwise
-    if(!mqttMsgJSON.has("errCode"))
-     throw new ErrCodeExcp(ERR_MQTT_ERR_MSG_ERRCODE_MISSING,
-                    "(\"" + mqttMsgStr + "\")");
+    // The registry of sensors to be managed is not known yet
+    sensorsRegistry = null;
 
+    // Start the MQTT messages ingest pipeline, if enabled
+    if(SensorsIngestPipeline.INGEST_LANES > 0)
+     ingestPipeline = new SensorsIngestPipeline(this,SensorsIngestPipeline.INGEST_LANES);
+    else
+     ingestPipeline = null;
+
+    /*
+     * Attempt to initialize the PAHO MQTT client module,
+     *
+     * NOTE: Explicitly passing a MemoryPersistence object to the MqttClient()
+     *       function suppresses the PAHO illegal reflective access warning
+     */
     try
      {
-      // The MQTT error message "errCode" mapped into a BaseSensorErrCode
-      BaseSensorErrCode sensorErrCode;
-
-      // Attempt to interpret the MQTT error message's "errCode" attribute
-      // as an integer and map it into a BaseSensorErrCode, throwing
-      // an exception if no BaseSensorErrCode of such index exists
-      try
-       { sensorErrCode = BaseSensorErrCode.values[mqttMsgJSON.getInt("errCode")]; }
-      catch(ArrayIndexOutOfBoundsException outOfBoundsException)
-       { throw new ErrCodeExcp(ERR_MQTT_ERR_MSG_ERRCODE_UNKNOWN,
-                       "(\"" + mqttMsgStr + "\")"); }
-
-      // Return the valid SensorErrCode
-      return sensorErrCode;
+      MQTTClient = new MqttClient(MQTT_BROKER_ENDPOINT,
+                                   mqttCliID,new MemoryPersistence());
      }
 
-    // If the MQTT error message's "errCode" attribute could
-    // not be interpreted as an integer, throw an exception
-    catch(JSONException jsonExcp)
-     { throw new ErrCodeExcp(ERR_MQTT_ERR_MSG_ERRCODE_NOT_INT,
-                     "(\"" + mqttMsgStr + "\")"); }
-   }
+    // Failing to initialize the PAHO MQTT client module is a FATAL error
+    catch(MqttException mqttExcp)
+     { Log.code(ERR_MQTT_PAHO_INIT_FAILED,
+        "(reason = " + mqttExcp.getMessage() + ")"); }
 
+    // Set the PAHO callback as this object
+    MQTTClient.setCallback(this);
 
-  /**
-   * Retrieves the "MQTTCliState" attribute from a MQTT error
-   * message received by a sensor interpreted as a JSON object
-   * @param mqttMsgJSON The received MQTT error message interpreted as a JSON object
-   * @param mqttMsgStr  The received MQTT error message interpreted as a String
-   * @return The "MQTTCliState" attribute in the MQTT error message
-   * @throws ErrCodeExcp The "MQTTCliState" value could not be
-   *                     interpreted as a valid SensorMQTTCliState
-   */
-  private SensorMQTTCliState getSensorMQTTCliState(JSONObject mqttMsgJSON,String mqttMsgStr) throws  ErrCodeExcp
-   {
-    // Check whether the received MQTT error message contains
-    // the optional "MQTTCliState" attribute and, if it does
-    if(mqttMsgJSON.has("MQTTCliState"))
-     {
-      try
-       {
-        // The MQTT error message "MQTTCliState"
-        // mapped into a SensorMQTTCliState
-        SensorMQTTCliState sensorMQTTCliState;
-
-        // Attempt to interpret the MQTT error message's "MQTTCliState"
-        // attribute as an integer and map it into a SensorMQTTCliState,
-        // throwing an exception if no SensorMQTTCliState of such index exists
-        try
-         { sensorMQTTCliState = SensorMQTTCliState.values()[mqttMsgJSON.getInt("MQTTCliState")]; }
-        catch(ArrayIndexOutOfBoundsException outOfBoundsException)
-         { throw new ErrCodeExcp(ERR_MQTT_ERR_MSG_MQTTCLISTATE_UNKNOWN,
-                         "(\"" + mqttMsgStr + "\")"); }
-
-        // Return the valid sensor's MQTT client state
-        return sensorMQTTCliState;
-       }
+    // Log that the Sensor MQTT client handler has been initialized
+    Log.dbg("Sensors MQTT client handler initialized");
 
-      // If the MQTT error message's "MQTTCliState" attribute could
-      // not be interpreted as an integer, throw an exception
-      catch(JSONException jsonExcp)
-       { throw new ErrCodeExcp(ERR_MQTT_ERR_MSG_MQTTCLISTATE_NOT_INT,
-                       "(\"" + mqttMsgStr + "\")"); }
-     }
+    // Attempt to connect with the local MQTT broker
+    try
+     { connectSubscribeMQTTBroker(); }
 
-    // Otherwise, if the "MQTTCliState" attribute is missing (which should occur for
-    // MQTT broker "last will" messages only), return a default unknown MQTTCliState
-    else
-     return MQTT_CLI_STATE_UNKNOWN;
+    // Failing to connect with the local MQTT broker is a FATAL error
+    catch(MqttException mqttExcp)
+     { Log.code(ERR_MQTT_BROKER_CONN_FAILED,
+         "(reason = " + mqttExcp.getMessage() + ")"); }
    }
 
 
   /**
-   * Retrieves the "errDscr" attribute from a MQTT error
-   * message received by a sensor interpreted as a JSON object
-   * @param mqttMsgJSON The received MQTT error message interpreted as a JSON object
-   * @param mqttMsgStr  The received MQTT error message interpreted as a String
-   * @return If present, the "errDscr" attribute value, or null otherwise
-   * @throws ErrCodeExcp The "errDscr" attribute value could not be interpreted as a non-null String
+   * SensorsMQTTHandler constructor, initializing the PAHO MQTT Client module,
+   * attempting to connect with the local MQTT broker and subscribing on the
+   * sensors' topics on behalf of a registry of sensors
+   * @param mqttCliID       The MQTT Client ID to be used for
+   *                        registering on the local MQTT broker
+   * @param sensorsRegistry The registry of sensors to be managed by the handler
    */
-  private String getSensorErrDscr(JSONObject mqttMsgJSON,String mqttMsgStr) throws  ErrCodeExcp
+  public SensorsMQTTHandler(String mqttCliID,DevicesRegistry<? extends BaseSensor> sensorsRegistry)
    {
-    // Check whether the received MQTT error message contains
-    // the optional "errDscr" attribute and, if it does
-    if(mqttMsgJSON.has("errDscr"))
-     {
-      // Attempt to extract the "errDscr" attribute as a String and
-      // ensure it to be non-null, throwing an exception otherwise
-      try
-       { return mqttMsgJSON.getString("errDscr"); }
-      catch(JSONException jsonExcp)
-       { throw new ErrCodeExcp(ERR_MQTT_ERR_MSG_ERRDSCR_NOT_NONNULL_STRING,
-                        "(\"" + mqttMsgStr + "\")"); }
-     }
-
-    // Otherwise, if the "errDscr" attribute is missing, return null
-    else
-     return null;
+    this(mqttCliID);
+    subscribeSensors(sensorsRegistry);
    }
 
 
   /**
-   * Retrieves the "C02" attribute from a MQTT message
-   * received by a sensor interpreted as a JSON object
-   * @param mqttMsgJSON The received MQTT message interpreted as a JSON object
-   * @param mqttMsgStr  The received MQTT message interpreted as a String
-   * @return The "C02" attribute value in the MQTT message
-   * @throws ErrCodeExcp The "C02" attribute is missing or its value
-   *                     could not be interpreted as an integer
+   * SensorsMQTTHandler constructor, initializing a handler that is not connected with
+   * any MQTT broker, whose received MQTT messages are directly passed to its
+   * messageArrived() callback (used to benchmark and test the sensors' MQTT
+   * messages ingest path in-process), where:
+   *   - As the handler has no MQTT client, publishing via the handler is a no-op
+   *   - As no retained sensors' last will messages of past executions may be
+   *     received, the sensors' bootstrap inactivity timer is considered as run
+   * @param sensorsRegistry The registry of sensors to be managed by the handler
    */
-  private int getSensorC02Reading(JSONObject mqttMsgJSON,String mqttMsgStr) throws  ErrCodeExcp
+  public SensorsMQTTHandler(DevicesRegistry<? extends BaseSensor> sensorsRegistry)
    {
-    // Ascertain the received MQTT message to contain the
-    // required "C02" attribute, throwing an exception otherwise
-    if(!mqttMsgJSON.has("C02"))
-     throw new ErrCodeExcp(ERR_MQTT_MSG_C02_MISSING,
-                   "(\"" + mqttMsgStr + "\")");
-
-    // Attempt to extract the "C02" attribute as
-    // an integer, throwing an exception otherwise
-    try
-     { return mqttMsgJSON.getInt("C02"); }
-    catch(JSONException jsonExcp)
-     { throw new ErrCodeExcp(ERR_MQTT_MSG_C02_NOT_INT,
-                     "(\"" + mqttMsgStr + "\")"); }
-   }
+    // Initialize the registry of sensors to be managed by the handler
+    this.sensorsRegistry = sensorsRegistry;
 
+    // Start the MQTT messages ingest pipeline, if enabled
+    if(SensorsIngestPipeline.INGEST_LANES > 0)
+     ingestPipeline = new SensorsIngestPipeline(this,SensorsIngestPipeline.INGEST_LANES);
+    else
+     ingestPipeline = null;
 
-  /**
-   * Retrieves the "temp" attribute from a MQTT message
-   * received by a sensor interpreted as a JSON object
-   * @param mqttMsgJSON The received MQTT message interpreted as a JSON object
-   * @param mqttMsgStr  The received MQTT message interpreted as a String
-   * @return The "temp" attribute value in the MQTT message
-   * @throws ErrCodeExcp The "temp" attribute is missing or its value
-   *                     could not be interpreted as an integer
-   */
-  private int getSensorTempReading(JSONObject mqttMsgJSON,String mqttMsgStr) throws  ErrCodeExcp
-   {
-    // Ascertain the received MQTT message to contain the
-    // required "temp" attribute, throwing an exception otherwise
-    if(!mqttMsgJSON.has("temp"))
-     throw new ErrCodeExcp(ERR_MQTT_MSG_TEMP_MISSING,
-                   "(\"" + mqttMsgStr + "\")");
-
-    // Attempt to extract the "temp" attribute as
-    // an integer, throwing an exception otherwise
-    try
-     { return mqttMsgJSON.getInt("temp"); }
-    catch(JSONException jsonExcp)
-     { throw new ErrCodeExcp(ERR_MQTT_MSG_TEMP_NOT_INT,
-                     "(\"" + mqttMsgStr + "\")"); }
-   }
+    // The handler has no MQTT client
+    MQTTClient = null;
+    sensorsOfflineBootstrapTimerHasRun = true;
 
+    // Log that the detached Sensor MQTT client handler has been initialized
+    Log.dbg("Detached sensors MQTT client handler initialized");
+   }
 
-  /* ============================= PUBLIC METHODS ============================= */
 
   /**
-   * SensorsMQTTHandler constructor, initializing the PAHO MQTT Client
-   * module and attempting to connect with the local MQTT broker
-   * @param mqttCliID   The MQTT Client ID to be used for
-   *                    registering on the local MQTT broker
-   * @param sensorsList The list of sensors to be managed by the handler
+   * Sets the registry of sensors to be managed by the handler and subscribes on
+   * the sensors' MQTT topics, starting the sensors' bootstrap inactivity timer
+   * @param sensorsRegistry The registry of sensors to be managed by the handler
    */
-  public SensorsMQTTHandler(String mqttCliID,ArrayList<? extends BaseSensor> sensorsList)
+  public void subscribeSensors(DevicesRegistry<? extends BaseSensor> sensorsRegistry)
    {
-    // Initialize the list of sensors to be managed by the handler
-    this.sensorsList = sensorsList;
-
-    /*
-     * Attempt to initialize the PAHO MQTT client module,
-     *
-     * NOTE: Explicitly passing a MemoryPersistence object to the MqttClient()
-     *       function suppresses the PAHO illegal reflective access warning
-     */
-    try
-     {
-      MQTTClient = new MqttClient(MQTT_BROKER_ENDPOINT,
-                                   mqttCliID,new MemoryPersistence());
-     }
-
-    // Failing to initialize the PAHO MQTT client module is a FATAL error
-    catch(MqttException mqttExcp)
-     { Log.code(ERR_MQTT_PAHO_INIT_FAILED,
-        "(reason = " + mqttExcp.getMessage() + ")"); }
+    // Initialize the registry of sensors to be managed by the handler
+    this.sensorsRegistry = sensorsRegistry;
 
-    // Set the PAHO callback as this object
-    MQTTClient.setCallback(this);
-
-    // Log that the Sensor MQTT client handler has been initialized
-    Log.dbg("Sensors MQTT client handler initialized");
-
-    // Attempt to connect with the local MQTT broker
+    // Attempt to subscribe on the sensors' MQTT topics
     try
-     { connectSubscribeMQTTBroker(); }
+     { subscribeSensorsTopics(); }
 
-    // Failing to connect with the local MQTT broker is a FATAL error
+    // Failing to subscribe on the sensors' topics is a FATAL error
     catch(MqttException mqttExcp)
      { Log.code(ERR_MQTT_BROKER_CONN_FAILED,
          "(reason = " + mqttExcp.getMessage() + ")"); }
@@ -342,7 +249,7 @@ public class SensorsMQTTHandler implements MqttCallback
        {
         // For every managed sensor, if it's still
         // offline, call its setConnStateOffline() method
-        sensorsList.forEach((sensor) ->
+        sensorsRegistry.forEach((sensor) ->
          {
           if(!sensor.getConnState())
            sensor.setConnStateOffline();
@@ -370,6 +277,10 @@ public class SensorsMQTTHandler implements MqttCallback
       return;
      }
 
+    // If the handler is detached from any MQTT broker, there is nothing to publish to
+    if(MQTTClient == null)
+     return;
+
     // Build the MQTT message to be published
     MqttMessage newAvgFanRelSpeedMQTTMsg = new MqttMessage(String.valueOf(newAvgFanRelSpeed).getBytes());
 
@@ -418,19 +329,48 @@ public class SensorsMQTTHandler implements MqttCallback
   /**
    * Callback method invoked by the PAHO MQTT client whenever a
    * MQTT message on a topic it is subscribed to is received,
-   * i.e. a MQTT message from a sensor has been received
+   * i.e. a MQTT message from a sensor has been received, which
+   * is handed to the ingest pipeline or processed inline
    * @param topic   The received MQTT message topic
    * @param mqttMsg The received MQTT message contents
    */
   public void messageArrived(String topic, MqttMessage mqttMsg)
    {
-    // The MQTT message interpreted as a
-    // JSON object and as a String
-    JSONObject mqttMsgJSON;
-    String mqttMsgStr;
+    byte[] payload = mqttMsg.getPayload();
 
+    if(ingestPipeline != null)
+     ingestPipeline.submit(topic,payload);
+    else
+     processMessage(topic,payload,payload.length,recvMsgDecoder,recvMsg);
+   }
+
+
+  /**
+   * @return The handler's MQTT messages ingest pipeline
+   *         (null if the messages are processed inline)
+   */
+  public SensorsIngestPipeline getIngestPipeline()
+   { return ingestPipeline; }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * Processes a MQTT message received from a sensor
+   *
+   * NOTE: The messages of a sensor must be processed in order by a single
+   *       thread, which must use its own decoder and message record
+   *
+   * @param topic         The received MQTT message topic
+   * @param payload       The received MQTT message payload
+   * @param payloadLength The received MQTT message payload length
+   * @param decoder       The MQTT messages decoder to be used
+   * @param recvMsg       The reusable message record to be used
+   */
+  void processMessage(String topic, byte[] payload, int payloadLength,
+                      SensorMQTTMsgDecoder decoder, SensorMQTTMsg recvMsg)
+   {
     // The publisher sensor's attributes
-    String sensorMAC;
     BaseSensor sensor;
     short sensorID;
 
@@ -444,30 +384,13 @@ public class SensorsMQTTHandler implements MqttCallback
 
     try
      {
-      // Stringify the received MQTT message
-      mqttMsgStr = new String(mqttMsg.getPayload());
-
-      // Attempt to interpret the stringifyed MQTT message
-      // as a JSON object, throwing an exception otherwise
-      try
-       { mqttMsgJSON = new JSONObject(mqttMsgStr); }
-      catch(JSONException jsonExcp)
-       { throw new ErrCodeExcp(ERR_MQTT_MSG_NOT_JSON,"(\"" + mqttMsgStr + "\")"); }
-
-      // Attempt to extract the required sensor MAC from the MQTT message
-      sensorMAC = getSensorMAC(mqttMsgJSON,mqttMsgStr);
-
-      // Retrieve the BaseSensor object associated with the such MAC
-      sensor = sensorsList.stream()
-               .filter(sensorMac -> sensorMAC.equals(sensorMac.MAC))
-               .findFirst()
-               .orElse(null);
-
-      // Ensure that a BaseSensor object was
-      // found, throwing an exception otherwise
-      if(sensor == null)
-       throw new ErrCodeExcp(ERR_MQTT_MSG_NO_SENSOR_SUCH_MAC,
-                     "(\"" + mqttMsgStr + "\")");
+      // Attempt to decode the MQTT message payload as a JSON
+      // object into the reusable received message record
+      decoder.decode(payload,payloadLength,recvMsg);
+
+      // Attempt to retrieve the BaseSensor object associated
+      // with the required sensor MAC in the MQTT message
+      sensor = recvMsg.getSensor(sensorsRegistry);
 
       // Retrieve the sensor's ID and connection status
       sensorID = sensor.ID;
@@ -480,15 +403,15 @@ public class SensorsMQTTHandler implements MqttCallback
 
          // Attempt to extract the required "errCode"
          // attribute from the MQTT error message
-         sensorErrCode = getSensorErrCode(mqttMsgJSON,mqttMsgStr);
+         sensorErrCode = recvMsg.getErrCode();
 
          // Attempt to extract the optional "MQTTCliState"
          // attribute from the MQTT error message
-         sensorMQTTCliState = getSensorMQTTCliState(mqttMsgJSON,mqttMsgStr);
+         sensorMQTTCliState = recvMsg.getMQTTCliState();
 
          // Attempt to extract the optional "errDscr"
          // attribute from the MQTT error message
-         sensorErrDscr = getSensorErrDscr(mqttMsgJSON,mqttMsgStr);
+         sensorErrDscr = recvMsg.getErrDscr();
 
          // If the sensor has disconnected
          if(sensorErrCode == BaseSensorErrCode.ERR_SENSOR_MQTT_DISCONNECTED)
@@ -521,7 +444,7 @@ public class SensorsMQTTHandler implements MqttCallback
         case TOPIC_SENSORS_C02:
 
          // Attempt to extract the required "C02" attribute from the MQTT message
-         recvQuantity = getSensorC02Reading(mqttMsgJSON,mqttMsgStr);
+         recvQuantity = recvMsg.getC02Reading();
 
          // Call the sensor's abstract handler for updating its C02 value
          sensor.setC02(recvQuantity);
@@ -531,7 +454,7 @@ public class SensorsMQTTHandler implements MqttCallback
         case TOPIC_SENSORS_TEMP:
 
          // Attempt to extract the required "temp" attribute from the MQTT message
-         recvQuantity = getSensorTempReading(mqttMsgJSON,mqttMsgStr);
+         recvQuantity = recvMsg.getTempReading();
 
          // Call the sensor's abstract handler for updating its temperature value
          sensor.setTemp(recvQuantity);
@@ -542,7 +465,7 @@ public class SensorsMQTTHandler implements MqttCallback
         // Throw an exception logging the received MQTT message and its unknown topic
         default:
          throw new ErrCodeExcp(ERR_MQTT_MSG_UNKNOWN_TOPIC,"(topic = \""
-                               + topic + "\", message = \"" + mqttMsgStr + "\"");
+                               + topic + "\", message = \"" + recvMsg.payloadToString() + "\"");
        }
      }
 
@@ -12,6 +12,7 @@ import java.util.Map;
 import errors.ErrCodeInfo;
 import errors.ModuleErrCode;
 import static errors.ErrCodeSeverity.ERROR;
+import static errors.ErrCodeSeverity.WARNING;
 import static errors.ErrCodeSeverity.FATAL;
 
 
@@ -56,6 +57,9 @@ public enum SensorsMQTTHandlerErrCode implements ModuleErrCode
   // A MQTT message of unknown topic was received
   ERR_MQTT_MSG_UNKNOWN_TOPIC,
 
+  // A sensors MQTT ingest lane queue is full and messages were dropped
+  ERR_MQTT_INGEST_QUEUE_FULL,
+
   /* ---------------- Received Error MQTT Message Parsing Errors -------------- */
 
   // A received MQTT error message lacks the sensor "errCode" attribute
@@ -113,6 +117,7 @@ public enum SensorsMQTTHandlerErrCode implements ModuleErrCode
     Map.entry(ERR_MQTT_MSG_MAC_NOT_NONNULL_STRING,new ErrCodeInfo(ERROR,"The \"MAC\" attribute in a received MQTT message could not be interpreted as a non-null string")),
     Map.entry(ERR_MQTT_MSG_NO_SENSOR_SUCH_MAC,new ErrCodeInfo(ERROR,"The \"MAC\" attribute in a received MQTT message is associated with no sensor stored in the database")),
     Map.entry(ERR_MQTT_MSG_UNKNOWN_TOPIC,new ErrCodeInfo(ERROR,"A MQTT message of unknown topic was received")),
+    Map.entry(ERR_MQTT_INGEST_QUEUE_FULL,new ErrCodeInfo(WARNING,"A sensors MQTT ingest lane queue is full, messages were dropped")),
 
     /* --------------- Received Error MQTT Message Parsing Errors ------------- */
     Map.entry(ERR_MQTT_ERR_MSG_ERRCODE_MISSING,new ErrCodeInfo(ERROR,"A received MQTT error message lacks the sensor \"errCode\" attribute")),
@@ -0,0 +1,260 @@
+/*
+ * Embedded MQTT broker unit tests, covering its subscriptions' topic filters
+ * matching and its parsing of well-formed and malformed client packets, where
+ * the malformed packets are sent by raw socket clients whose session must be
+ * closed with their "last will" message published to a PAHO MQTT subscriber
+ */
+
+package modules.EmbeddedMQTTBroker;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/* ----------------------- Maven Dependencies Resources ----------------------- */
+
+// JUnit 5
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Paho MQTT Client
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+class EmbeddedMQTTBrokerTest
+ {
+  /* ============================== TEST PARAMETERS ============================== */
+
+  // The topic the raw clients' "last will" messages are published on
+  private static final String WILL_TOPIC = "test/will";
+
+  // The maximum time in milliseconds waited for a broker's packet or message
+  private static final int RECV_TIMEOUT = 5 * 1000;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The broker under test
+  private EmbeddedMQTTBroker broker;
+
+  // The PAHO MQTT subscriber and the payloads of the messages it received
+  private MqttClient subscriber;
+  private final BlockingQueue<String> receivedMsgs = new LinkedBlockingQueue<>();
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Encodes a MQTT packet
+   * @param header The packet's fixed header first byte
+   * @param body   The packet's variable header and payload
+   * @return The encoded packet, with the body's length as its remaining length
+   */
+  private static byte[] packet(int header, byte[] body)
+   { return packet(header,body.length,body); }
+
+
+  /**
+   * Encodes a MQTT packet with an arbitrary remaining length
+   * @param header          The packet's fixed header first byte
+   * @param remainingLength The packet's (possibly wrong) remaining length (< 128)
+   * @param body            The packet's variable header and payload
+   * @return The encoded packet
+   */
+  private static byte[] packet(int header, int remainingLength, byte[] body)
+   {
+    ByteArrayOutputStream packet = new ByteArrayOutputStream();
+    packet.write(header);
+    packet.write(remainingLength);
+    packet.writeBytes(body);
+    return packet.toByteArray();
+   }
+
+
+  /**
+   * Encodes a MQTT UTF-8 (length-prefixed) string
+   */
+  private static byte[] string(String str)
+   {
+    byte[] strBytes = str.getBytes(StandardCharsets.UTF_8);
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    encoded.write(strBytes.length >>> 8);
+    encoded.write(strBytes.length);
+    encoded.writeBytes(strBytes);
+    return encoded.toByteArray();
+   }
+
+
+  /**
+   * Concatenates byte arrays
+   */
+  private static byte[] concat(byte[]... parts)
+   {
+    ByteArrayOutputStream concat = new ByteArrayOutputStream();
+    for(byte[] part : parts)
+     concat.writeBytes(part);
+    return concat.toByteArray();
+   }
+
+
+  /**
+   * Connects a raw socket client with the broker, with a "last will"
+   * message equal to its client ID on the WILL_TOPIC topic
+   * @param clientID The client's ID
+   * @return The client's connected socket
+   * @throws IOException Failed to connect the client
+   */
+  private Socket connectRawClient(String clientID) throws IOException
+   {
+    Socket clientSocket = new Socket(InetAddress.getLoopbackAddress(),broker.getPort());
+    clientSocket.setSoTimeout(RECV_TIMEOUT);
+
+    // CONNECT (MQTT 3.1.1, clean session + QoS 0 will, 60s keep-alive)
+    byte[] connectBody = concat(string("MQTT"),new byte[]{4,0x06,0,60},string(clientID),
+                                string(WILL_TOPIC),string(clientID));
+    clientSocket.getOutputStream().write(packet(0x10,connectBody));
+
+    // CONNACK (accepted)
+    DataInputStream in = new DataInputStream(clientSocket.getInputStream());
+    assertEquals(0x20,in.readUnsignedByte());
+    assertEquals(2,in.readUnsignedByte());
+    assertEquals(0,in.readUnsignedShort());
+    return clientSocket;
+   }
+
+
+  /**
+   * Asserts that the broker closes a raw client's connection
+   * after it has sent a malformed packet, publishing its "last will"
+   * @param clientID        The raw client's ID
+   * @param malformedPacket The malformed packet
+   */
+  private void assertClosedWithWill(String clientID, byte[] malformedPacket) throws Exception
+   {
+    try(Socket clientSocket = connectRawClient(clientID))
+     {
+      clientSocket.getOutputStream().write(malformedPacket);
+      assertEquals(-1,clientSocket.getInputStream().read(),"connection not closed by the broker");
+     }
+    assertEquals(clientID,receivedMsgs.poll(RECV_TIMEOUT,TimeUnit.MILLISECONDS),"\"last will\" not published");
+   }
+
+
+  /* ================================ TEST SETUP ================================ */
+
+  @BeforeEach
+  void startBroker() throws IOException, MqttException
+   {
+    broker = new EmbeddedMQTTBroker(0);
+
+    subscriber = new MqttClient(broker.getEndpoint(),"subscriber",new MemoryPersistence());
+    MqttConnectOptions connOpts = new MqttConnectOptions();
+    connOpts.setCleanSession(true);
+    subscriber.connect(connOpts);
+    subscriber.subscribe("test/#",1,(topic,msg) -> receivedMsgs.add(new String(msg.getPayload(),StandardCharsets.UTF_8)));
+   }
+
+  @AfterEach
+  void stopBroker() throws MqttException
+   {
+    subscriber.disconnectForcibly(0,0,false);
+    subscriber.close();
+    broker.close();
+   }
+
+
+  /* =================================== TESTS =================================== */
+
+  @Test
+  void topicFiltersMatching()
+   {
+    // Literal topic filters
+    assertTrue(EmbeddedMQTTBroker.topicMatches("SafeTunnels/C02","SafeTunnels/C02"));
+    assertFalse(EmbeddedMQTTBroker.topicMatches("SafeTunnels/C02","SafeTunnels/temp"));
+    assertFalse(EmbeddedMQTTBroker.topicMatches("SafeTunnels/C02","SafeTunnels/C02/x"));
+    assertFalse(EmbeddedMQTTBroker.topicMatches("SafeTunnels/C02/x","SafeTunnels/C02"));
+
+    // Single-level wildcard
+    assertTrue(EmbeddedMQTTBroker.topicMatches("SafeTunnels/+","SafeTunnels/C02"));
+    assertTrue(EmbeddedMQTTBroker.topicMatches("+/C02","SafeTunnels/C02"));
+    assertTrue(EmbeddedMQTTBroker.topicMatches("SafeTunnels/+/x","SafeTunnels/C02/x"));
+    assertTrue(EmbeddedMQTTBroker.topicMatches("SafeTunnels/+","SafeTunnels/"));
+    assertFalse(EmbeddedMQTTBroker.topicMatches("SafeTunnels/+","SafeTunnels/C02/x"));
+    assertFalse(EmbeddedMQTTBroker.topicMatches("SafeTunnels/+","SafeTunnels"));
+
+    // Multi-level wildcard (also matching its parent level)
+    assertTrue(EmbeddedMQTTBroker.topicMatches("#","SafeTunnels/C02"));
+    assertTrue(EmbeddedMQTTBroker.topicMatches("SafeTunnels/#","SafeTunnels/C02/x"));
+    assertTrue(EmbeddedMQTTBroker.topicMatches("SafeTunnels/#","SafeTunnels"));
+    assertFalse(EmbeddedMQTTBroker.topicMatches("SafeTunnels/#","SafeTunnelsX/C02"));
+   }
+
+  @Test
+  void wellFormedPublishIsRouted() throws Exception
+   {
+    try(Socket clientSocket = connectRawClient("publisher"))
+     {
+      OutputStream out = clientSocket.getOutputStream();
+      DataInputStream in = new DataInputStream(clientSocket.getInputStream());
+
+      // QoS 0 PUBLISH
+      out.write(packet(0x30,concat(string("test/qos0"),"first".getBytes(StandardCharsets.UTF_8))));
+      assertEquals("first",receivedMsgs.poll(RECV_TIMEOUT,TimeUnit.MILLISECONDS));
+
+      // QoS 1 PUBLISH, acknowledged with a PUBACK
+      out.write(packet(0x32,concat(string("test/qos1"),new byte[]{0x12,0x34},"second".getBytes(StandardCharsets.UTF_8))));
+      assertEquals(0x40,in.readUnsignedByte());
+      assertEquals(2,in.readUnsignedByte());
+      assertEquals(0x1234,in.readUnsignedShort());
+      assertEquals("second",receivedMsgs.poll(RECV_TIMEOUT,TimeUnit.MILLISECONDS));
+
+      // DISCONNECT (not publishing the "last will")
+      out.write(new byte[]{(byte)0xe0,0});
+      assertEquals(-1,in.read());
+     }
+    assertNull(receivedMsgs.poll(500,TimeUnit.MILLISECONDS));
+   }
+
+  @Test
+  void publishTopicExceedingRemainingLengthClosesSession() throws Exception
+   {
+    // 5 bytes topic ("a/b") declared in a 2 bytes PUBLISH
+    assertClosedWithWill("badPublishTopic",packet(0x30,2,string("a/b")));
+   }
+
+  @Test
+  void publishPacketIDExceedingRemainingLengthClosesSession() throws Exception
+   {
+    // QoS 1 PUBLISH whose remaining length only covers its topic
+    assertClosedWithWill("badPublishPacketID",packet(0x32,5,concat(string("a/b"),new byte[]{0,1})));
+   }
+
+  @Test
+  void subscribeFilterExceedingRemainingLengthClosesSession() throws Exception
+   {
+    // SUBSCRIBE of a 6 bytes subscription declared in 4 bytes
+    assertClosedWithWill("badSubscribe",packet(0x82,4,concat(new byte[]{0,1},string("a/b"),new byte[]{0})));
+   }
+
+  @Test
+  void unsubscribeFilterExceedingRemainingLengthClosesSession() throws Exception
+   {
+    // UNSUBSCRIBE of a 5 bytes topic filter declared in 3 bytes
+    assertClosedWithWill("badUnsubscribe",packet(0xa2,3,concat(new byte[]{0,1},string("a/b"))));
+   }
+ }
@@ -0,0 +1,106 @@
+/*
+ * Sensors MQTT messages decoder unit tests, covering the decoding of the
+ * "errDscr" attribute's escape sequences (including UTF-16 surrogate pairs),
+ * the payload's UTF-8 stringification and the integer attributes' JSON numbers
+ */
+
+package modules.SensorsMQTTHandler;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.nio.charset.StandardCharsets;
+
+/* ----------------------- Maven Dependencies Resources ----------------------- */
+
+// JUnit 5
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import errors.ErrCodeExcp;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+class SensorMQTTMsgDecoderTest
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The decoder under test
+  private final SensorMQTTMsgDecoder decoder = new SensorMQTTMsgDecoder();
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Decodes a sensor MQTT message payload
+   * @param payload The MQTT message payload
+   * @return The decoded MQTT message
+   */
+  private SensorMQTTMsg decode(String payload) throws ErrCodeExcp
+   {
+    byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+    SensorMQTTMsg msg = new SensorMQTTMsg();
+    decoder.decode(payloadBytes,payloadBytes.length,msg);
+    return msg;
+   }
+
+
+  /**
+   * @return The "errDscr" attribute of an error message with such (JSON-encoded) value
+   */
+  private String decodeErrDscr(String JSONErrDscr) throws ErrCodeExcp
+   { return decode("{\"MAC\": \"00:11\", \"errCode\": 0, \"errDscr\": \"" + JSONErrDscr + "\"}").getErrDscr(); }
+
+
+  /* =================================== TESTS =================================== */
+
+  @Test
+  void escapedCharacters() throws ErrCodeExcp
+   {
+    assertEquals("a\"b\\c/d\ne\tf",decodeErrDscr("a\\\"b\\\\c\\/d\\ne\\tf"));
+    assertEquals("é€",decodeErrDscr("\\u00e9\\u20AC"));
+   }
+
+  @Test
+  void surrogatePairEscapeIsOneCodePoint() throws ErrCodeExcp
+   {
+    String errDscr = decodeErrDscr("smile \\uD83D\\uDE00!");
+    assertEquals("smile 😀!",errDscr);
+    assertEquals(0x1F600,errDscr.codePointAt(6));
+    assertEquals(8,errDscr.codePointCount(0,errDscr.length()));
+   }
+
+  @Test
+  void unpairedSurrogateEscapeIsReplaced() throws ErrCodeExcp
+   {
+    assertEquals("a?b",decodeErrDscr("a\\uD83Db"));
+    assertEquals("a?b",decodeErrDscr("a\\uDE00b"));
+   }
+
+  @Test
+  void invalidUnicodeEscapeIsKeptAsIs() throws ErrCodeExcp
+   {
+    assertEquals("au12x",decodeErrDscr("a\\u12x"));
+    assertEquals("auzzzz",decodeErrDscr("a\\uzzzz"));
+   }
+
+  @Test
+  void payloadIsStringifiedAsUTF8() throws ErrCodeExcp
+   {
+    String payload = "{\"MAC\": \"00:11\", \"errDscr\": \"température 😀\"}";
+    assertEquals(payload,decode(payload).payloadToString());
+   }
+
+  @Test
+  void integerAttributesAcceptJSONNumbersOnly() throws ErrCodeExcp
+   {
+    assertEquals(12,decode("{\"C02\": 12}").getC02Reading());
+    assertEquals(12,decode("{\"C02\": 12.7}").getC02Reading());
+    assertEquals(100,decode("{\"C02\": 1e2}").getC02Reading());
+    assertEquals(-35,decode("{\"C02\": -3.5E+1}").getC02Reading());
+
+    for(String notJSONNumber : new String[]{"NaN","Infinity","1f","1d","0x1p3","1.","1e",".5","-","1e999"})
+     assertThrows(ErrCodeExcp.class,() -> decode("{\"C02\": " + notJSONNumber + "}").getC02Reading(),notJSONNumber);
+   }
+ }
@@ -0,0 +1,164 @@
+/*
+ * System Average Fan Relative Speed Publisher, publishing the system's average fan
+ * relative speed to the sensors via MQTT at a bounded rate, where:
+ *   - Changes of at least AVG_FAN_PUBLISH_THRESHOLD are published immediately,
+ *     provided that AVG_FAN_PUBLISH_MIN_INTERVAL has elapsed since the last publication
+ *   - Any other change is published (in its latest value) by a trailing publication
+ *     once AVG_FAN_PUBLISH_MIN_INTERVAL has elapsed, so that sensors always
+ *     eventually receive the system's current average fan relative speed
+ */
+
+package ControlModule;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.TimeUnit;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import modules.SensorsMQTTHandler.SensorsMQTTHandler;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class AvgFanRelSpeedPublisher
+ {
+  /* ======================== PUBLISHER CONFIGURATION ======================== */
+
+  // The minimum change of the average fan relative speed
+  // since its last publication that is published immediately
+  public static int AVG_FAN_PUBLISH_THRESHOLD = 2;
+
+  // The minimum interval in milliseconds between two publications
+  public static int AVG_FAN_PUBLISH_MIN_INTERVAL = 500;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The MQTT handler the average fan relative speed is published by
+  private final SensorsMQTTHandler MQTTHandler;
+
+  // The latest and last published average fan relative speed (-1 = none)
+  private int latestAvgFanRelSpeed;
+  private int publishedAvgFanRelSpeed;
+
+  // The time in nanoseconds of the last publication
+  private long lastPublishTime;
+
+  // Whether a trailing publication is scheduled
+  private boolean trailingPublishScheduled;
+
+  // The lock serializing the MQTT publications, which are performed on the
+  // ControlScheduler without holding the publisher's lock (as they may block
+  // on a slow or reconnecting MQTT broker), and the last value sent via MQTT
+  private final Object MQTTPublishLock = new Object();
+  private int sentAvgFanRelSpeed;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Records the latest average fan relative speed as published and hands its
+   * MQTT publication off to the ControlScheduler, so that callers never block
+   * on the MQTT broker (to be called while holding the publisher's lock)
+   */
+  private void publishLatest()
+   {
+    publishedAvgFanRelSpeed = latestAvgFanRelSpeed;
+    lastPublishTime = System.nanoTime();
+    ControlScheduler.execute(this::sendPublished);
+   }
+
+
+  /**
+   * Sends via MQTT the last average fan relative speed recorded as published,
+   * where publications handed off out of order are coalesced into the most
+   * recent value (and so the sensors never receive a stale value last)
+   */
+  private void sendPublished()
+   {
+    synchronized(MQTTPublishLock)
+     {
+      int avgFanRelSpeed;
+      synchronized(this)
+       { avgFanRelSpeed = publishedAvgFanRelSpeed; }
+      if(avgFanRelSpeed == sentAvgFanRelSpeed)
+       return;
+
+      // Attempt to publish the average fan relative speed on
+      // the sensors' MQTT 'TOPIC_AVG_FAN_REL_SPEED' topic
+      MQTTHandler.publishAvgFanRelSpeed(avgFanRelSpeed);
+      sentAvgFanRelSpeed = avgFanRelSpeed;
+
+      // Log that the new system average fan relative speed has been published
+      Log.info("Published new system average fan relative speed: " + avgFanRelSpeed);
+     }
+   }
+
+
+  /**
+   * Trailing publication, publishing the latest average fan
+   * relative speed if it differs from the last published one
+   */
+  private synchronized void trailingPublish()
+   {
+    trailingPublishScheduled = false;
+    if(latestAvgFanRelSpeed != publishedAvgFanRelSpeed)
+     publishLatest();
+   }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * AvgFanRelSpeedPublisher constructor, initializing its attributes
+   * @param MQTTHandler The MQTT handler the average fan relative speed is published by
+   */
+  AvgFanRelSpeedPublisher(SensorsMQTTHandler MQTTHandler)
+   {
+    this.MQTTHandler = MQTTHandler;
+    latestAvgFanRelSpeed = -1;
+    publishedAvgFanRelSpeed = -1;
+    sentAvgFanRelSpeed = -1;
+    lastPublishTime = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(AVG_FAN_PUBLISH_MIN_INTERVAL);
+    trailingPublishScheduled = false;
+   }
+
+
+  /**
+   * Submits a new system average fan relative speed to be published to the sensors,
+   * publishing it immediately if it changed by at least AVG_FAN_PUBLISH_THRESHOLD
+   * and AVG_FAN_PUBLISH_MIN_INTERVAL has elapsed since the last publication, or
+   * scheduling a trailing publication of the latest value otherwise
+   * @param newAvgFanRelSpeed The new system average fan relative speed
+   */
+  synchronized void submit(int newAvgFanRelSpeed)
+   {
+    latestAvgFanRelSpeed = newAvgFanRelSpeed;
+    if(latestAvgFanRelSpeed == publishedAvgFanRelSpeed)
+     return;
+
+    long minInterval = TimeUnit.MILLISECONDS.toNanos(AVG_FAN_PUBLISH_MIN_INTERVAL);
+    long untilNextPublish = minInterval - (System.nanoTime() - lastPublishTime);
+    boolean significantChange = publishedAvgFanRelSpeed == -1 ||
+      Math.abs(latestAvgFanRelSpeed - publishedAvgFanRelSpeed) >= AVG_FAN_PUBLISH_THRESHOLD;
+
+    // If the change is significant and the minimum interval
+    // has elapsed since the last publication, publish it now
+    if(significantChange && untilNextPublish <= 0)
+     {
+      publishLatest();
+      return;
+     }
+
+    // Otherwise schedule, if not already, a trailing publication of the latest value
+    // once the minimum interval has elapsed since the last publication (for significant
+    // changes) or a whole minimum interval from now (for minor changes, so that they
+    // are coalesced with the following ones)
+    if(!trailingPublishScheduled)
+     {
+      trailingPublishScheduled = true;
+      ControlScheduler.schedule(this::trailingPublish,TimeUnit.NANOSECONDS.toMillis(
+        significantChange ? Math.max(untilNextPublish,0) : Math.max(untilNextPublish,minInterval)) + 1);
+     }
+   }
+ }
@@ -0,0 +1,495 @@
+/*
+ * Control Module Engine, managing the system's sensors and actuators and deriving
+ * from the former the system's operating state to automatically drive the latter,
+ * independently of whether the Control Module is run with its GUI or headless,
+ * where the engine's startup phases are overlapped by a StartupOrchestrator:
+ *
+ *   Database connection ---+--> Sensors retrieval ----+--> MQTT sensors subscription
+ *                          |                          |
+ *   MQTT broker connection +--------------------------+
+ *                          |
+ *                          +--> Actuators retrieval (and CoAP discovery start)
+ */
+
+package ControlModule;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import errors.ErrCodeSeverity;
+import devices.DevicesRegistry;
+import modules.MySQLConnector.DevMACIDPair;
+import devices.actuator.BaseActuator.LightState;
+import modules.SensorsMQTTHandler.SensorsMQTTHandler;
+import ControlModule.ControlMySQLConnector.ControlMySQLConnector;
+import ControlModule.DevicesManagers.ActuatorManager.ControlActuatorManager;
+import ControlModule.DevicesManagers.SensorManager.ControlSensorManager;
+import ControlModule.GUIWidgets.SystemWidgetViewModel;
+import static devices.BaseDevice.DevType.actuator;
+import static devices.BaseDevice.DevType.sensor;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class ControlEngine
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The orchestrator of the engine's startup phases
+  private final StartupOrchestrator startup;
+
+  // A reference to the Control Module MySQL Connector (set on start())
+  private ControlMySQLConnector controlMySQLConnector;
+
+  // A reference to the Control Module MQTT Handler (set on start())
+  private SensorsMQTTHandler controlMQTTHandler;
+
+  // The lists of sensors and actuators managed by the application, each published
+  // once fully initialized, as they are initialized in parallel and the actuators'
+  // one may be accessed (being empty) before its initialization has completed
+  private volatile List<ControlSensorManager> ctrlSensorManagersList;
+  private volatile List<ControlActuatorManager> ctrlActuatorManagersList;
+
+  // The number of sensors in each operating state, from
+  // which the system's operating state is derived (set on start())
+  private OpStateAggregator sensorsOpStates;
+
+  // The system's average fan relative speed, which is also published to sensors
+  private int avgFanRelSpeed;
+
+  // The sum and number of the fan relative speeds of the online actuators (that
+  // have reported one), which are incrementally updated by the actuators' managers
+  private int totFanRelSpeed;
+  private int numFansCounted;
+
+  // The system's average fan relative speed rate-limited MQTT publisher (set on start())
+  private volatile AvgFanRelSpeedPublisher avgFanRelSpeedPublisher;
+
+  // The view model of the GUI system widget the engine is bound to, if any
+  private SystemWidgetViewModel GUIWidget;
+
+
+  /* ============================ PUBLIC ATTRIBUTES ============================ */
+
+  // The current's system operating state
+  public OpState systemOpState;
+
+  // Whether the system's automatic mode, or automatic actuator
+  // adjustment depending on its current operating state, is enabled
+  public volatile boolean autoMode;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /* ----------------------- System Initialization Methods ----------------------- */
+
+  /**
+   * Initializes the Control Module's sensors and
+   * associated ControlSensorManagers objects
+   */
+  private void initSensors()
+   {
+    // Attempt to retrieve the <MAC,sensorID> list of sensors stored in the database
+    ArrayList<DevMACIDPair> sensorsList = controlMySQLConnector.getDBDevicesList(sensor);
+
+    // Log the number of sensors that were retrieved from the database
+    // (which is ascertained to be >0 by the getDBDevicesList() method)
+    Log.dbg("{} sensors were retrieved from the database:",sensorsList.size());
+
+    // If LOG_LEVEL = DEBUG, log the list of sensors retrieved from the database
+    if(Log.LOG_LEVEL==ErrCodeSeverity.DEBUG)
+     sensorsList.forEach((sensor) -> Log.dbg("|- <" + sensor.ID +
+                                             "," + sensor.MAC + ">"));
+
+    // Initialize and populate the ArrayList of ControlSensorManagers
+    ArrayList<ControlSensorManager> ctrlSensorManagers = new ArrayList<>();
+    sensorsList.forEach(sensor -> ctrlSensorManagers.add(
+      new ControlSensorManager(sensor.MAC,sensor.ID,this)));
+
+    // Sort the ControlSensorManagers list by increasing sensorID
+    Collections.sort(ctrlSensorManagers);
+
+    // Initialize the sensors' operating states aggregator (all sensors start NOMINAL)
+    sensorsOpStates = new OpStateAggregator(ctrlSensorManagers.size());
+
+    // Publish the ControlSensorManagers list
+    ctrlSensorManagersList = Collections.unmodifiableList(ctrlSensorManagers);
+   }
+
+
+  /**
+   * Initializes the Control Module's actuators
+   * and associated ControlActuatorManagers objects
+   */
+  private void initActuators()
+   {
+    // Attempt to retrieve the <MAC,actuatorID> list of actuators stored in the database
+    ArrayList<DevMACIDPair> actuatorsList = controlMySQLConnector.getDBDevicesList(actuator);
+
+    // Log the number of actuators that were retrieved from the database
+    // (which is ascertained to be >0 by the getDBDevicesList() method)
+    Log.dbg("{} actuators were retrieved from the database:",actuatorsList.size());
+
+    // If LOG_LEVEL = DEBUG, log the list of actuators retrieved from the database
+    if(Log.LOG_LEVEL==ErrCodeSeverity.DEBUG)
+     actuatorsList.forEach((actuator) -> Log.dbg("|- <" + actuator.ID +
+                                                 "," + actuator.MAC + ">"));
+
+    // Initialize and populate the ArrayList of ControlActuatorManagers
+    ArrayList<ControlActuatorManager> ctrlActuatorManagers = new ArrayList<>();
+    actuatorsList.forEach(actuator -> ctrlActuatorManagers.add
+      (new ControlActuatorManager(actuator.MAC,actuator.ID,
+                      this,controlMySQLConnector)));
+
+    // Sort the ControlActuatorManagers list by increasing actuatorID
+    Collections.sort(ctrlActuatorManagers);
+
+    // Publish the ControlActuatorManagers list
+    ctrlActuatorManagersList = Collections.unmodifiableList(ctrlActuatorManagers);
+   }
+
+
+  /**
+   * Starts the publication of the system's average fan relative speed via
+   * the MQTT handler, submitting its current value if the actuators already
+   * contributed to it (as they are initialized in parallel with the handler)
+   * @param MQTTHandler The Control Module MQTT Handler
+   */
+  private synchronized void startAvgFanRelSpeedPublisher(SensorsMQTTHandler MQTTHandler)
+   {
+    avgFanRelSpeedPublisher = new AvgFanRelSpeedPublisher(MQTTHandler);
+    if(avgFanRelSpeed != -1)
+     avgFanRelSpeedPublisher.submit(avgFanRelSpeed);
+   }
+
+
+  /* ------------------------- System Operation Methods ------------------------- */
+
+  /**
+   *  System automatic mode fan quantities adjustment method, sending
+   *  to every actuator the fan relative speed and light state
+   *  value associated with the current system's operating state
+   */
+  private void autoModeFanAdjustment()
+   {
+    // Retrieve the fan relative speed and light state values
+    // associated with the current system operating state
+    int autoModeFanRelSpeed = systemOpState.getAutoFanRelSpeed();
+    LightState autoModeLightState = systemOpState.getAutoLightState();
+
+    // Attempt to send such values to all online actuators
+    for(ControlActuatorManager ctrlActuatorMgr : ctrlActuatorManagersList)
+     {
+      if(ctrlActuatorMgr.getConnState())
+       {
+        ctrlActuatorMgr.sendFanRelSpeed(autoModeFanRelSpeed);
+        ctrlActuatorMgr.sendLightState(autoModeLightState);
+       }
+     }
+   }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * Control Engine Constructor, initializing its base attributes
+   * (where its components are initialized via the start() method)
+   * @param startup The orchestrator of the engine's startup phases
+   */
+  ControlEngine(StartupOrchestrator startup)
+   {
+    // Initialize the system's base attributes
+    this.startup = startup;
+    autoMode = true;
+    systemOpState = OpState.NOMINAL;
+    avgFanRelSpeed = -1;
+    totFanRelSpeed = 0;
+    numFansCounted = 0;
+    controlMySQLConnector = null;
+    controlMQTTHandler = null;
+    avgFanRelSpeedPublisher = null;
+    sensorsOpStates = null;
+    GUIWidget = null;
+    ctrlSensorManagersList = List.of();
+    ctrlActuatorManagersList = List.of();
+   }
+
+
+  /**
+   * Starts the Control Engine, overlapping its startup phases, which:
+   *   1) Connects with the SafeTunnels MySQL database and, in parallel, with the MQTT broker
+   *   2) Once connected with the database, initializes in parallel the system's
+   *      sensors and actuators (whose watchdogs start their CoAP discovery)
+   *   3) Once the sensors are initialized and the MQTT broker is connected,
+   *      subscribes on the sensors' MQTT topics and starts the system's
+   *      average fan relative speed publication
+   * @param sensorsBinder   A function binding the initialized sensors to their
+   *                        GUI widgets before the sensors' MQTT ingest is
+   *                        started (invoked on a startup thread), if any
+   * @param actuatorsBinder A function binding the initialized actuators
+   *                        to their GUI widgets (invoked on a startup thread),
+   *                        if any
+   */
+  void start(Consumer<List<ControlSensorManager>> sensorsBinder,
+             Consumer<List<ControlActuatorManager>> actuatorsBinder)
+   {
+    // Attempt to connect with the SafeTunnels MySQL database and,
+    // in parallel, with the MQTT broker (without subscribing yet)
+    CompletableFuture<Void> DBConnected = startup.startPhase("Database connection",
+      () -> { controlMySQLConnector = new ControlMySQLConnector(); });
+    CompletableFuture<SensorsMQTTHandler> MQTTConnected = startup.startPhase("MQTT broker connection",
+      () -> new SensorsMQTTHandler("ControlModule"));
+
+    // Once connected with the database, initialize the system's sensors, binding them to the GUI
+    CompletableFuture<Void> sensorsInit = startup.startPhaseAfter(DBConnected,"Sensors initialization",unused ->
+     {
+      initSensors();
+      if(sensorsBinder != null)
+       sensorsBinder.accept(getSensorManagers());
+     });
+
+    // Once connected with the database and in parallel with the sensors' initialization,
+    // initialize the system's actuators (starting their CoAP discovery), binding them to the GUI
+    CompletableFuture<Void> actuatorsInit = startup.startPhaseAfter(DBConnected,"Actuators initialization",unused ->
+     {
+      initActuators();
+      if(actuatorsBinder != null)
+       actuatorsBinder.accept(getActuatorManagers());
+     });
+
+    // Once the sensors are initialized and the MQTT broker is connected, subscribe the
+    // Control Module MQTT Client Handler on the sensors' topics on behalf of the
+    // ControlSensorManagers indexed by their MAC in a DevicesRegistry, and initialize
+    // the system's average fan relative speed publisher
+    CompletableFuture<Void> MQTTSubscribed = startup.startPhaseAfter(sensorsInit.thenCombine(MQTTConnected,
+      (unused,MQTTHandler) -> MQTTHandler),"MQTT sensors subscription",MQTTHandler ->
+     {
+      controlMQTTHandler = MQTTHandler;
+      startAvgFanRelSpeedPublisher(controlMQTTHandler);
+      controlMQTTHandler.subscribeSensors(new DevicesRegistry<>(ctrlSensorManagersList));
+     });
+
+    // Wait for all startup phases to complete
+    startup.awaitPhases(MQTTSubscribed,actuatorsInit);
+
+    // Log that the Control Module has been successfully initialized
+    Log.info("Control Module successfully initialized");
+   }
+
+
+  /**
+   * Starts the Control Engine without GUI (see start(Consumer,Consumer))
+   */
+  void start()
+   { start(null,null); }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * Binds the engine to the system widget in the Control Module's GUI
+   * @param GUIWidget The view model of the system widget
+   */
+  public void bindToGUI(SystemWidgetViewModel GUIWidget)
+   {
+    // Ensure the passed system widget to be
+    // non-null, logging an error and returning otherwise
+    if(GUIWidget == null)
+     {
+      Log.err("Attempting to bind the Control Engine to a null system widget in the GUI");
+      return;
+     }
+
+    // Bind the engine to the GUI system widget
+    this.GUIWidget = GUIWidget;
+   }
+
+
+  /**
+   * Notifies the engine that a sensor reading has been evaluated,
+   * reporting the time of the first control decision (thread-safe)
+   */
+  public void sensorReadingEvaluated()
+   { startup.reportFirstControlDecision(); }
+
+
+  /**
+   * @return The system's sensors' managers, sorted by increasing sensorID
+   */
+  public List<ControlSensorManager> getSensorManagers()
+   { return ctrlSensorManagersList; }
+
+
+  /**
+   * @return The system's actuators' managers, sorted by increasing actuatorID
+   */
+  public List<ControlActuatorManager> getActuatorManagers()
+   { return ctrlActuatorManagersList; }
+
+
+  /**
+   * Enables or disables the system's automatic mode, where
+   * enabling it directly triggers the actuators' adjustment
+   * @param autoMode Whether the automatic mode should be enabled
+   */
+  public synchronized void setAutoMode(boolean autoMode)
+   {
+    // If the automatic mode state is unchanged, return
+    if(this.autoMode == autoMode)
+     return;
+
+    this.autoMode = autoMode;
+
+    // If automatic mode has been engaged
+    if(autoMode)
+     {
+      // Log that automatic mode has been engaged
+      Log.info("Automatic Mode engaged");
+
+      // Directly trigger the actuator's
+      // quantities automatic adjustments
+      autoModeFanAdjustment();
+     }
+
+    // Otherwise, log that automatic mode has been disengaged
+    else
+     Log.info("Automatic Mode disengaged");
+   }
+
+
+  /**
+   * Attempts to send a fan relative speed value to an actuator
+   * @param actuatorIndex  The index in the ControlActuatorManagers list of the
+   *                       actuator to send the "newFanRelSpeed" value to
+   * @param newFanRelSpeed The new fan relative speed value to be sent to the actuator
+   */
+  public void sendFanRelSpeed(int actuatorIndex,int newFanRelSpeed)
+   {
+    // Attempt to retrieve the ControlActuatorManager of specified
+    // index and send the new fan relative speed value to the actuator,
+    // logging an error if an actuator of such index does not exist
+    try
+     { ctrlActuatorManagersList.get(actuatorIndex).sendFanRelSpeed(newFanRelSpeed); }
+    catch(IndexOutOfBoundsException indexOutOfBoundsException)
+     { Log.err("Attempting to update the fan relative speed of "
+               + "non-existing actuator of index " + actuatorIndex); }
+   }
+
+
+  /**
+   * Attempts to send a light state value to an actuator
+   * @param actuatorIndex The index in the ControlActuatorManagers list of
+   *                      the actuator to send the "newLightState" value to
+   * @param newLightState The new light state value to be sent to the actuator
+   */
+  public void sendLightState(int actuatorIndex,LightState newLightState)
+   {
+    // Attempt to retrieve the ControlActuatorManager of specified
+    // index and send the new light state value to the actuator,
+    // logging an error if an actuator of such index does not exist
+    try
+     { ctrlActuatorManagersList.get(actuatorIndex).sendLightState(newLightState); }
+    catch(IndexOutOfBoundsException indexOutOfBoundsException)
+     {
+      Log.err("Attempting to update the light state to '" + newLightState.toString()
+              + "' of non-existing actuator of index " + actuatorIndex);
+     }
+   }
+
+
+  /**
+   * Possibly updates the system's operating state following a sensor operating
+   * state change, also driving the actuators with the values associated
+   * with such state if their automatic quantities' adjustment is enabled
+   *
+   * NOTE: Synchronized as sensors may be updated by different MQTT ingest lanes
+   *
+   * @param oldSensorOpState The SensorManager caller's previous operating state
+   * @param newSensorOpState The SensorManager caller's new operating state
+   */
+  public synchronized void updateSystemOpState(OpState oldSensorOpState, OpState newSensorOpState)
+   {
+    // Account for the sensor's operating state transition in the
+    // sensors' operating states aggregator, and derive from it the
+    // system's new operating state (= max among all its sensors)
+    sensorsOpStates.transition(oldSensorOpState,newSensorOpState);
+    OpState newSystemOpState = sensorsOpStates.getMaxOpState();
+
+    /* --------------- System Operating State Change Adjustments --------------- */
+
+    // If the system's operating state has changed
+    if(newSystemOpState != systemOpState)
+     {
+      // Update the system's operating state
+      systemOpState = newSystemOpState;
+
+      // If the engine is bound to a GUI system
+      // widget, update its system operating state
+      if(GUIWidget != null)
+       GUIWidget.setSystemOpState(systemOpState);
+
+      // Log the system operating state change
+      Log.info("System now in the " + systemOpState.toString() + " state");
+
+      // If the fan quantities' automatic adjustment is enabled, drive them
+      // with the values associated with the new system operating state
+      if(autoMode)
+       autoModeFanAdjustment();
+     }
+   }
+
+
+  /**
+   * Possibly updates the system's average fan relative speed following a change
+   * in an actuator's contribution to it (its fan relative speed if it is online
+   * and has reported one, or none otherwise), also submitting the updated
+   * quantity to be published on the sensors' MQTT 'TOPIC_AVG_FAN_REL_SPEED' topic
+   *
+   * NOTE: Synchronized as actuators may be updated by different threads
+   *
+   * @param oldFanRelSpeed The actuator's previous contribution (-1 = none)
+   * @param newFanRelSpeed The actuator's new contribution (-1 = none)
+   */
+  public synchronized void updateAvgFanRelSpeed(int oldFanRelSpeed, int newFanRelSpeed)
+   {
+    // Remove the actuator's previous and add its new contribution, if any
+    if(oldFanRelSpeed != -1)
+     {
+      totFanRelSpeed -= oldFanRelSpeed;
+      numFansCounted--;
+     }
+    if(newFanRelSpeed != -1)
+     {
+      totFanRelSpeed += newFanRelSpeed;
+      numFansCounted++;
+     }
+
+    // Compute the new system average fan relative speed
+    // (where no online fans means no ventilation)
+    int newAvgFanRelSpeed = numFansCounted == 0 ? 0 : totFanRelSpeed / numFansCounted;
+
+    // If the system new average fan relative
+    // speed differs from its current value
+    if(avgFanRelSpeed != newAvgFanRelSpeed)
+     {
+      // Update the system's average fan relative speed
+      avgFanRelSpeed = newAvgFanRelSpeed;
+
+      // If the engine is bound to a GUI system widget,
+      // update its system average fan relative speed
+      if(GUIWidget != null)
+       GUIWidget.setAvgFanRelSpeed(avgFanRelSpeed);
+
+      // Submit the new system average fan relative speed to its rate-limited publisher
+      if(avgFanRelSpeedPublisher != null)
+       avgFanRelSpeedPublisher.submit(avgFanRelSpeed);
+     }
+   }
+ }
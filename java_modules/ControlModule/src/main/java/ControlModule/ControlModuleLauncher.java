@@ -0,0 +1,51 @@
+/*
+ * Control Module application entry point, starting either its GUI or, in
+ * headless mode, its Control Engine only (where this class is deliberately
+ * kept apart from the GUI's JFrame so that no AWT/Swing class is loaded
+ * or initialized when the Control Module runs without a display)
+ */
+
+package ControlModule;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import modules.InputArgsParser.InputArgsParser;
+import modules.SensorsMQTTHandler.SensorsMQTTHandler;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public abstract class ControlModuleLauncher
+ {
+  /**
+   * Control Module application entry point
+   */
+  public static void main(String[] args)
+   {
+    // Start measuring the Control Module's startup phases
+    StartupOrchestrator startup = new StartupOrchestrator();
+
+    // Parse the possible command-line input arguments
+    InputArgsParser.parseCMDInputArgs("ControlModule",args);
+
+    // If requested, start the embedded MQTT broker and connect to it
+    if(InputArgsParser.EMBEDDED_BROKER_PORT != -1)
+     SensorsMQTTHandler.useEmbeddedBroker(InputArgsParser.EMBEDDED_BROKER_PORT);
+
+    // If the Control Module should run headless, start its Control Engine only
+    if(InputArgsParser.HEADLESS_MODE)
+     {
+      System.setProperty("java.awt.headless","true");
+      Log.info("Starting the Control Module in headless mode");
+      new ControlEngine(startup).start();
+      return;
+     }
+
+    // Attempt to enable hardware acceleration
+    System.setProperty("sun.java2d.opengl", "true");
+
+    // Start the Control Module and its GUI
+    new ControlModule(startup);
+   }
+ }
@@ -10,6 +10,7 @@ import java.sql.SQLException;
 /* --------------------------- SafeTunnels Resources --------------------------- */
 import logging.Log;
 import modules.MySQLConnector.MySQLConnector;
+import modules.MySQLConnector.SeriesTable;
 import static ControlModule.ControlMySQLConnector.ControlMySQLConnectorErrCode.*;
 import devices.actuator.BaseActuator.ActuatorQuantity;
 import static devices.actuator.BaseActuator.ActuatorQuantity.FANRELSPEED;
@@ -18,35 +19,31 @@ import static devices.actuator.BaseActuator.ActuatorQuantity.FANRELSPEED;
 /* ============================== CLASS DEFINITION ============================== */
 final public class ControlMySQLConnector extends MySQLConnector
  {
-  /* ============================= PRIVATE METHODS ============================= */
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
 
-  /**
-   * @param actuatorQuantity The actuator quantity to retrieve the
-   *                         database table name (FANRELSPEED || LIGHTSTATE)
-   * @return The SafeTunnels database table name
-   *         associated with an actuator quantity
-   */
-  private String getActuatorQuantityTableName(ActuatorQuantity actuatorQuantity)
-   {
-    if(actuatorQuantity == FANRELSPEED)
-     return ST_DB_ACTUATORS_TABLE_FANRELSPEED;
-    else
-     return ST_DB_ACTUATORS_TABLE_LIGHTSTATE;
-   }
+  // The actuators' time series tables
+  private static final SeriesTable actuatorsConnStateSeries = new SeriesTable(ST_DB_ACTUATORS_TABLE_CONNSTATE,
+                                                                              ST_DB_ACTUATORS_COLUMN_ID,ST_DB_COMMON_COLUMN_CONNSTATE);
+  private static final SeriesTable actuatorsFanSeries = new SeriesTable(ST_DB_ACTUATORS_TABLE_FANRELSPEED,
+                                                                        ST_DB_ACTUATORS_COLUMN_ID,ST_DB_ACTUATORS_COLUMN_FANRELSPEED);
+  private static final SeriesTable actuatorsLightSeries = new SeriesTable(ST_DB_ACTUATORS_TABLE_LIGHTSTATE,
+                                                                          ST_DB_ACTUATORS_COLUMN_ID,ST_DB_ACTUATORS_COLUMN_LIGHTSTATE);
 
 
+  /* ============================= PRIVATE METHODS ============================= */
+
   /**
    * @param actuatorQuantity The actuator quantity to retrieve the database
-   *                          column name (FANRELSPEED || LIGHTSTATE)
-   * @return The SafeTunnels database column name
-   *         associated with an actuator quantity
+   *                         time series table (FANRELSPEED || LIGHTSTATE)
+   * @return The SafeTunnels database time series
+   *         table associated with an actuator quantity
    */
-  private String getActuatorQuantityColumnName(ActuatorQuantity actuatorQuantity)
+  private SeriesTable getActuatorQuantitySeries(ActuatorQuantity actuatorQuantity)
    {
     if(actuatorQuantity == FANRELSPEED)
-     return ST_DB_ACTUATORS_COLUMN_FANRELSPEED;
+     return actuatorsFanSeries;
     else
-     return ST_DB_ACTUATORS_COLUMN_LIGHTSTATE;
+     return actuatorsLightSeries;
    }
 
 
@@ -68,15 +65,14 @@ final public class ControlMySQLConnector extends MySQLConnector
    */
   public void pushActuatorConnState(int actuatorID, boolean connState)
    {
-    // Convert the boolean "connState" into a (short) bit (0 -> offline, 1 -> online)
-    short connStatusBit = connState?(short)1:(short)0;
+    // Convert the boolean "connState" into a bit (0 -> offline, 1 -> online)
+    int connStatusBit = connState?1:0;
 
     // Attempt to push the updated actuator connection
     // state into the database, logging the error otherwise
     try
      {
-      pushDevState(ST_DB_ACTUATORS_TABLE_CONNSTATE,ST_DB_ACTUATORS_COLUMN_ID,
-        ST_DB_COMMON_COLUMN_CONNSTATE,actuatorID,String.valueOf(connStatusBit));
+      pushDevState(actuatorsConnStateSeries,actuatorID,connStatusBit);
      }
     catch(SQLException sqlExcp)
      { Log.code(ERR_CONTROL_PUSH_CONNSTATE_FAILED,"(actuatorID = " + actuatorID + ", "
@@ -92,17 +88,11 @@ final public class ControlMySQLConnector extends MySQLConnector
    */
   public void pushActuatorQuantityValue(int actuatorID, ActuatorQuantity actuatorQuantity, int quantityValue)
    {
-    // Retrieve the names of the database table and
-    // column associated with the quantity to be updated
-    String actuatorQuantityTableName = getActuatorQuantityTableName(actuatorQuantity);
-    String actuatorQuantityColumnName = getActuatorQuantityColumnName(actuatorQuantity);
-
     // Attempt to push the updated actuator quantity value
     // into the database, logging the error otherwise
     try
      {
-      pushDevState(actuatorQuantityTableName,ST_DB_ACTUATORS_COLUMN_ID,
-                   actuatorQuantityColumnName,actuatorID,String.valueOf(quantityValue));
+      pushDevState(getActuatorQuantitySeries(actuatorQuantity),actuatorID,quantityValue);
      }
     catch(SQLException sqlExcp)
      {
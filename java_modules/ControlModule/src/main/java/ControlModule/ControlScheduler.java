@@ -0,0 +1,123 @@
+/*
+ * Control Module Shared Tasks Scheduler, executing all the Control Module's
+ * delayed and periodic tasks (actuators' watchdogs, automatic adjustments on
+ * connection and GUI animations) on a fixed set of daemon threads
+ */
+
+package ControlModule;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class ControlScheduler
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The number of scheduler threads
+  private static final int SCHEDULER_THREADS = 2;
+
+  // The scheduler threads counter (used for naming them)
+  private static final AtomicInteger schedulerThreadsCount = new AtomicInteger();
+
+  // The shared scheduled executor
+  private static final ScheduledThreadPoolExecutor scheduler = initScheduler();
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * ControlScheduler private constructor (the class is not instantiable)
+   */
+  private ControlScheduler()
+   {}
+
+
+  /**
+   * @return The shared scheduled executor, whose threads are daemon
+   *         and whose cancelled tasks are immediately removed from
+   *         its queue (so that it doesn't grow with cancelled tasks)
+   */
+  private static ScheduledThreadPoolExecutor initScheduler()
+   {
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(SCHEDULER_THREADS,runnable ->
+     {
+      Thread schedulerThread = new Thread(runnable,"ControlScheduler" + schedulerThreadsCount.getAndIncrement());
+      schedulerThread.setDaemon(true);
+      return schedulerThread;
+     });
+    executor.setRemoveOnCancelPolicy(true);
+    executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    return executor;
+   }
+
+
+  /**
+   * Wraps a task so that an unexpected error is logged without suppressing
+   * its subsequent executions (as it would for periodic tasks otherwise)
+   * @param task The task to be wrapped
+   * @return The wrapped task
+   */
+  private static Runnable guarded(Runnable task)
+   {
+    return () ->
+     {
+      try
+       { task.run(); }
+      catch(RuntimeException runtimeExcp)
+       { Log.err("Unexpected error in scheduled task " + task.getClass().getSimpleName()
+                 + " (" + runtimeExcp + ")"); }
+     };
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * Executes a task as soon as possible
+   * @param task The task to be executed
+   */
+  public static void execute(Runnable task)
+   { scheduler.execute(guarded(task)); }
+
+
+  /**
+   * Schedules a task to be executed once after a delay
+   * @param task  The task to be executed
+   * @param delay The delay in milliseconds
+   * @return The task's future, which can be used to cancel it
+   */
+  public static ScheduledFuture<?> schedule(Runnable task, long delay)
+   { return scheduler.schedule(guarded(task),delay,TimeUnit.MILLISECONDS); }
+
+
+  /**
+   * Schedules a task to be executed periodically at a fixed rate
+   * @param task      The task to be executed
+   * @param initDelay The initial delay in milliseconds
+   * @param period    The period in milliseconds
+   * @return The task's future, which can be used to cancel it
+   */
+  public static ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initDelay, long period)
+   { return scheduler.scheduleAtFixedRate(guarded(task),initDelay,period,TimeUnit.MILLISECONDS); }
+
+
+  /**
+   * Cancels a scheduled task, if any
+   * @param taskFuture The future of the task to be cancelled (possibly null)
+   */
+  public static void cancel(ScheduledFuture<?> taskFuture)
+   {
+    if(taskFuture != null)
+     taskFuture.cancel(false);
+   }
+ }
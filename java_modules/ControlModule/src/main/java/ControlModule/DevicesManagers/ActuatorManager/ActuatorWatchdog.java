@@ -0,0 +1,273 @@
+/*
+ * Actuator Watchdog, periodically checking whether the actuator is online
+ * and attempting to establish observing relationships on its resources,
+ * where the watchdogs of all actuators share a single hashed wheel timer
+ * tracking both their (jittered) periodic checks and their pending
+ * asynchronous CoAP pings, so that monitoring any number of actuators
+ * requires no thread blocking on pings
+ */
+
+package ControlModule.DevicesManagers.ActuatorManager;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/* --------------------- Californium CoAP Client Resources --------------------- */
+import org.eclipse.californium.core.CoapClient;
+import org.eclipse.californium.core.coap.ClientObserveRelation;
+import org.eclipse.californium.core.coap.CoAP.Type;
+import org.eclipse.californium.core.coap.MessageObserverAdapter;
+import org.eclipse.californium.core.coap.Request;
+import org.eclipse.californium.core.coap.Token;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import ControlModule.ControlScheduler;
+import ControlModule.HashedWheelTimer;
+import ControlModule.DevicesManagers.ActuatorManager.CoAPClientsHandlers.ObservingHandlers.actuatorErrors.CoAPClientErrorsObsHandler;
+import ControlModule.DevicesManagers.ActuatorManager.CoAPClientsHandlers.ObservingHandlers.fan.CoAPClientFanObsHandler;
+import ControlModule.DevicesManagers.ActuatorManager.CoAPClientsHandlers.ObservingHandlers.light.CoAPClientLightObsHandler;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class ActuatorWatchdog
+ {
+  /* =========================== WATCHDOG PARAMETERS =========================== */
+
+  // The CoAP standard 'accept' JSON value
+  private static final int COAP_ACCEPT_JSON = 50;
+
+  // The CoAP ping timeout in milliseconds
+  private static final int PING_TIMEOUT = 3 * 1000;
+
+  // The maximum jitter applied to the watchdog checks' period (as a fraction
+  // of the period), spreading the checks of actuators started together
+  private static final double PERIOD_JITTER = 0.1;
+
+  // The watchdogs' timer wheel tick duration in milliseconds and size
+  private static final int WHEEL_TICK_DURATION = 100;
+  private static final int WHEEL_SIZE = 512;
+
+  // The timer wheel shared by all actuators' watchdogs, whose
+  // expired checks and pings are handled on the shared scheduler
+  private static final HashedWheelTimer watchdogsWheel =
+    new HashedWheelTimer("ActuatorsWatchdogWheel",WHEEL_TICK_DURATION,WHEEL_SIZE,ControlScheduler::execute);
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // A reference to the associated ControlActuatorManager
+  private final ControlActuatorManager ctrlActuatorManager;
+
+  // The watchdog checks' period in milliseconds
+  private final long checkPeriod;
+
+  // Whether the actuator was ever pinged (used to push
+  // the first 'OFFLINE' connState into the database)
+  private boolean actuatorWasPinged;
+
+  /* --------------------------- Californium Objects --------------------------- */
+
+  // Actuator Resources Californium CoAP Clients References
+  private final CoapClient coapClientFan;
+  private final CoapClient coapClientLight;
+  private final CoapClient coapClientErrors;
+
+  // Californium CoAP Clients Observe Relationships
+  private ClientObserveRelation coapClientFanObserveRel;
+  private ClientObserveRelation coapClientLightObserveRel;
+  private ClientObserveRelation coapClientErrorsObserveRel;
+
+  // Californium CoAP Client Observe Handlers
+  private final CoAPClientFanObsHandler    fanObsHandler;
+  private final CoAPClientLightObsHandler  lightObsHandler;
+  private final CoAPClientErrorsObsHandler errorsObsHandler;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * @param delay A delay in milliseconds
+   * @return The delay with a random jitter of up to ±PERIOD_JITTER applied
+   */
+  private static long jittered(long delay)
+   {
+    long maxJitter = (long)(delay * PERIOD_JITTER);
+    return delay + ThreadLocalRandom.current().nextLong(-maxJitter,maxJitter + 1);
+   }
+
+
+  /**
+   * Schedules the watchdog's next check after a jittered period
+   */
+  private void scheduleNextCheck()
+   { watchdogsWheel.newTimeout(this::check,jittered(checkPeriod)); }
+
+
+  /**
+   * @return Whether all CoAP clients observe relationships are established
+   */
+  private boolean allObserveRelsEstablished()
+   {
+    return (coapClientFanObserveRel    != null && !coapClientFanObserveRel.isCanceled())   &&
+           (coapClientLightObserveRel  != null && !coapClientLightObserveRel.isCanceled()) &&
+           (coapClientErrorsObserveRel != null && !coapClientErrorsObserveRel.isCanceled());
+   }
+
+
+  /**
+   * Watchdog check, which if at least one observe relationship is not
+   * established asynchronously CoAP-pings the actuator to ascertain
+   * whether it is online, whose result is handled by pingResult()
+   */
+  private void check()
+   {
+    // If all CoAP clients observe relationships are established, no operation is necessary
+    if(allObserveRelsEstablished())
+     {
+      scheduleNextCheck();
+      return;
+     }
+
+    // Whether the ping result has been handled (either upon
+    // the actuator's reply or on the ping's timeout)
+    AtomicBoolean pingHandled = new AtomicBoolean();
+
+    /*
+     * Build the CoAP ping, i.e. an empty confirmable message, to which the
+     * actuator replies with a reset message (which Californium reports
+     * as the request being rejected) if it is online
+     */
+    Request pingRequest = new Request(null,Type.CON);
+    pingRequest.setToken(Token.EMPTY);
+    pingRequest.setURI(coapClientFan.getURI());
+
+    // Track the ping's timeout in the wheel
+    HashedWheelTimer.Timeout pingTimeout = watchdogsWheel.newTimeout(() ->
+     {
+      if(pingHandled.compareAndSet(false,true))
+       {
+        pingRequest.cancel();
+        pingResult(false);
+       }
+     },PING_TIMEOUT);
+
+    // Handle the actuator's reply on the shared scheduler
+    pingRequest.addMessageObserver(new MessageObserverAdapter()
+     {
+      @Override
+      public void onReject()
+       {
+        if(pingHandled.compareAndSet(false,true))
+         {
+          pingTimeout.cancel();
+          ControlScheduler.execute(() -> pingResult(true));
+         }
+       }
+     });
+
+    // Asynchronously send the ping
+    pingRequest.send();
+   }
+
+
+  /**
+   * Handles the result of a CoAP ping, updating the actuator's connection state
+   * and, if it is online, attempting to observe its resources, then
+   * scheduling the watchdog's next check
+   * @param actuatorRepliedCoAPPing Whether the actuator has replied to the ping
+   */
+  private void pingResult(boolean actuatorRepliedCoAPPing)
+   {
+    // If the actuator didn't reply to the ping and
+    // was either online or this was the first CoAP ping
+    if(!actuatorRepliedCoAPPing && (ctrlActuatorManager.getConnState() || !actuatorWasPinged))
+     {
+      // Call the actuator's disconnection handler
+      ctrlActuatorManager.setConnStateOffline();
+
+      // Set that the actuator was pinged
+      actuatorWasPinged = true;
+
+      /*
+       * No other operations can be performed
+       * being the actuator supposedly offline
+       */
+     }
+
+    // Otherwise, if the actuator replied to the ping and is so online
+    else
+     if(actuatorRepliedCoAPPing)
+      {
+       // If the actuator was previously
+       // offline, call its connection handler
+       if(!ctrlActuatorManager.getConnState())
+        ctrlActuatorManager.setConnStateOnline();
+
+       /*
+        * Attempt to make all Californium CoAP client observe their associated
+        * resources if not already doing so,  specifying via the CoAP
+        * 'accept' attribute that they expected responses in JSON format
+        */
+
+       // "Fan" CoAP Client observe establishment
+       if(coapClientFanObserveRel == null || coapClientFanObserveRel.isCanceled())
+        coapClientFanObserveRel = coapClientFan.observe(fanObsHandler,COAP_ACCEPT_JSON);
+
+       // "Light" CoAP Client observe establishment
+       if(coapClientLightObserveRel == null || coapClientLightObserveRel.isCanceled())
+        coapClientLightObserveRel = coapClientLight.observe(lightObsHandler,COAP_ACCEPT_JSON);
+
+       // "Errors" CoAP Client observe establishment
+       if(coapClientErrorsObserveRel == null || coapClientErrorsObserveRel.isCanceled())
+        coapClientErrorsObserveRel = coapClientErrors.observe(errorsObsHandler,COAP_ACCEPT_JSON);
+
+       // If all Californium CoAP clients are now observing their associated resources, log it
+       if(allObserveRelsEstablished())
+        Log.dbg("Successfully observing all actuator{} resources",ctrlActuatorManager.ID);
+      }
+
+    // Schedule the watchdog's next check
+    scheduleNextCheck();
+   }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * Actuator Watchdog constructor, initializing its attributes to their default
+   * values and the CoAP resources' observing handlers and scheduling its first check
+   * @param ctrlActuatorManager A reference to the associated ControlActuatorManager
+   * @param coapClientFan       A reference to the Californium's "Fan" CoAP Client
+   * @param coapClientLight     A reference to the Californium's "Light" CoAP Client
+   * @param coapClientErrors    A reference to the Californium's "Errors" CoAP Client
+   * @param initDelay           The delay in milliseconds before the watchdog's first check
+   * @param checkPeriod         The watchdog checks' period in milliseconds
+   */
+  ActuatorWatchdog(ControlActuatorManager ctrlActuatorManager, CoapClient coapClientFan, CoapClient coapClientLight,
+                   CoapClient coapClientErrors, long initDelay, long checkPeriod)
+   {
+    // Initialize the object's attribute to their default value
+    this.ctrlActuatorManager = ctrlActuatorManager;
+    this.checkPeriod = checkPeriod;
+    actuatorWasPinged = false;
+    this.coapClientFan = coapClientFan;
+    this.coapClientLight = coapClientLight;
+    this.coapClientErrors = coapClientErrors;
+    coapClientFanObserveRel = null;
+    coapClientLightObserveRel = null;
+    coapClientErrorsObserveRel = null;
+
+    // Initialize the CoAP resources' observers handlers
+    fanObsHandler = new CoAPClientFanObsHandler(ctrlActuatorManager);
+    lightObsHandler = new CoAPClientLightObsHandler(ctrlActuatorManager);
+    errorsObsHandler = new CoAPClientErrorsObsHandler(ctrlActuatorManager);
+
+    // Schedule the watchdog's first check, spreading the
+    // first checks of actuators started together
+    watchdogsWheel.newTimeout(this::check,initDelay + ThreadLocalRandom.current()
+                                          .nextLong((long)(checkPeriod * PERIOD_JITTER) + 1));
+   }
+ }
@@ -181,7 +181,7 @@ public class CoAPClientFanObsHandler implements CoapHandler
 
     /*
      * Note that in this case the observing handler is automatically cancelled
-     * by Californium, with the Actuator Watchdog TimerTask, if the actuator
+     * by Californium, with the Actuator Watchdog, if the actuator
      * is online, that will attempt to reinitialize it at its next execution
      */
    }
@@ -0,0 +1,183 @@
+/*
+ * Coalescing CoAP Requests Dispatcher, sending the new values of an actuator's
+ * resource (e.g. its fan relative speed) with at most one request in flight,
+ * where the values submitted while a request is in flight are collapsed into
+ * the latest one (last-write-wins) and values equal to the actuator's last
+ * acknowledged state are dropped, so that bursts of commands (e.g. due to the
+ * sensors' readings oscillating around a threshold in automatic mode) result
+ * in as few requests as possible over the constrained network
+ */
+
+package ControlModule.DevicesManagers.ActuatorManager.CoAPClientsHandlers.RequestsHandlers;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class CoAPRequestsDispatcher<T>
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The name of the actuator's resource (used for logging purposes)
+  private final String resName;
+
+  // The actuator's last acknowledged resource value (updated both
+  // by the requests' responses and by the resource's observer)
+  private final Supplier<T> ackedValue;
+
+  // The function sending a value in an asynchronous request, whose handler
+  // must call requestCompleted() on the passed dispatcher once it completes
+  private final BiConsumer<T,CoAPRequestsDispatcher<T>> requestSender;
+
+  // The value of the request in flight, if any
+  private T inFlightValue;
+
+  // The latest value submitted while a request was in flight, if any
+  private T pendingValue;
+
+  // The number of submitted values that were coalesced or dropped
+  private long coalescedValues;
+  private long droppedValues;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Sends a value in an asynchronous request (which must
+   * have already been marked as in flight by the caller)
+   * @param value The value to be sent
+   */
+  private void sendRequest(T value)
+   {
+    try
+     { requestSender.accept(value,this); }
+
+    // If the request could not be issued, release the in-flight slot
+    catch(RuntimeException runtimeExcp)
+     {
+      Log.err("Failed to send the new " + resName + " (" + value + "): " + runtimeExcp);
+      requestCompleted();
+     }
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * CoAPRequestsDispatcher constructor, initializing its attributes
+   * @param resName       The name of the actuator's resource (used for logging purposes)
+   * @param ackedValue    The actuator's last acknowledged resource value
+   * @param requestSender The function sending a value in an asynchronous request, whose handler
+   *                      must call requestCompleted() on the passed dispatcher once it completes
+   */
+  public CoAPRequestsDispatcher(String resName, Supplier<T> ackedValue,
+                                BiConsumer<T,CoAPRequestsDispatcher<T>> requestSender)
+   {
+    this.resName = resName;
+    this.ackedValue = ackedValue;
+    this.requestSender = requestSender;
+    inFlightValue = null;
+    pendingValue = null;
+    coalescedValues = 0;
+    droppedValues = 0;
+   }
+
+
+  /**
+   * Submits a new value to be sent to the actuator, which is:
+   *   - Sent immediately if no request is in flight and it
+   *     differs from the actuator's last acknowledged value
+   *   - Kept pending (replacing any previously pending value) if
+   *     a request is in flight and it differs from its value
+   *   - Dropped otherwise
+   * @param value The new value to be sent to the actuator
+   */
+  public void submit(T value)
+   {
+    synchronized(this)
+     {
+      // If a request is in flight, keep the value pending
+      // unless it is the value that is being sent already
+      if(inFlightValue != null)
+       {
+        if(pendingValue != null)
+         coalescedValues++;
+        pendingValue = value.equals(inFlightValue) ? null : value;
+        return;
+       }
+
+      // Drop the value if it equals the actuator's last acknowledged value
+      if(value.equals(ackedValue.get()))
+       {
+        droppedValues++;
+        Log.dbg("Dropped new {} ({}) equal to the actuator's current one",resName,value);
+        return;
+       }
+
+      // Mark the value as in flight before releasing the lock
+      inFlightValue = value;
+     }
+
+    sendRequest(value);
+   }
+
+
+  /**
+   * Signals that the request in flight has completed (successfully or
+   * not), sending the pending value, if any and if it differs from
+   * the actuator's last acknowledged value
+   */
+  public void requestCompleted()
+   {
+    T nextValue;
+
+    synchronized(this)
+     {
+      inFlightValue = null;
+      nextValue = pendingValue;
+      pendingValue = null;
+
+      if(nextValue == null)
+       return;
+      if(nextValue.equals(ackedValue.get()))
+       {
+        droppedValues++;
+        return;
+       }
+
+      // Mark the value as in flight before releasing the lock
+      inFlightValue = nextValue;
+     }
+
+    sendRequest(nextValue);
+   }
+
+
+  /**
+   * Discards the pending value, if any (e.g. because the actuator went offline)
+   */
+  public synchronized void clearPending()
+   { pendingValue = null; }
+
+
+  /**
+   * @return The number of submitted values that were superseded by a later one
+   */
+  public synchronized long getCoalescedCount()
+   { return coalescedValues; }
+
+
+  /**
+   * @return The number of submitted values that were dropped for
+   *         being equal to the actuator's last acknowledged value
+   */
+  public synchronized long getDroppedCount()
+   { return droppedValues; }
+ }
@@ -11,6 +11,7 @@ import org.eclipse.californium.core.CoapResponse;
 /* --------------------------- SafeTunnels Resources --------------------------- */
 import logging.Log;
 import ControlModule.DevicesManagers.ActuatorManager.ControlActuatorManager;
+import ControlModule.DevicesManagers.ActuatorManager.CoAPClientsHandlers.RequestsHandlers.CoAPRequestsDispatcher;
 
 
 /* ============================== CLASS DEFINITION ============================== */
@@ -24,6 +25,9 @@ public final class CoAPClientFanReqHandler implements CoapHandler
   // The fan relative speed value that was sent to the actuator
   private final int sendFanRelSpeed;
 
+  // The dispatcher the request was sent by
+  private final CoAPRequestsDispatcher<Integer> fanDispatcher;
+
 
   /* ============================= PUBLIC METHODS ============================= */
 
@@ -33,11 +37,14 @@ public final class CoAPClientFanReqHandler implements CoapHandler
    *                            ControlActuatorManager object
    * @param sendFanRelSpeed The fan relative speed value
    *                        that was sent to the actuator
+   * @param fanDispatcher   The dispatcher the request was sent by
    */
-  public CoAPClientFanReqHandler(ControlActuatorManager ctrlActuatorManager, int sendFanRelSpeed)
+  public CoAPClientFanReqHandler(ControlActuatorManager ctrlActuatorManager, int sendFanRelSpeed,
+                                 CoAPRequestsDispatcher<Integer> fanDispatcher)
    {
     this.ctrlActuatorManager = ctrlActuatorManager;
     this.sendFanRelSpeed = sendFanRelSpeed;
+    this.fanDispatcher = fanDispatcher;
    }
 
 
@@ -55,8 +62,8 @@ public final class CoAPClientFanReqHandler implements CoapHandler
     if(coapResponse.isSuccess())
      {
       // Log the new fan relative speed value sent to the actuator
-      Log.dbg("Successfully sent new fan relative speed ("
-              + sendFanRelSpeed + ") to actuator" + ctrlActuatorManager.ID);
+      Log.dbg("Successfully sent new fan relative speed ({}) to actuator{}",
+              sendFanRelSpeed,ctrlActuatorManager.ID);
 
       /*
        * Directly invoke the actuator's new fan relative speed handler without
@@ -75,6 +82,10 @@ public final class CoAPClientFanReqHandler implements CoapHandler
       Log.err("|-- Response Code: " + coapResponse.getCode().toString());
       Log.err("|-- Payload: " + coapResponse.getResponseText());
      }
+
+    // Signal the dispatcher that the request has completed, so
+    // that it can send the pending fan relative speed, if any
+    fanDispatcher.requestCompleted();
    }
 
 
@@ -86,9 +97,12 @@ public final class CoAPClientFanReqHandler implements CoapHandler
    @Override
    public void onError()
    {
-    // Just log the error
+    // Log the error
     Log.err("An error occurred in sending the new fan relative "
                 + "speed (" + sendFanRelSpeed + ") to actuator"
                 + ctrlActuatorManager.ID + " (probably it is offline)");
+
+    // Signal the dispatcher that the request has completed
+    fanDispatcher.requestCompleted();
    }
   }
\ No newline at end of file
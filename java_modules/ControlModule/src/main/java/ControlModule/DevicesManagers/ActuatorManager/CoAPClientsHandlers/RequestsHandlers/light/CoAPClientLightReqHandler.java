@@ -12,6 +12,7 @@ import org.eclipse.californium.core.CoapResponse;
 import logging.Log;
 import devices.actuator.BaseActuator.LightState;
 import ControlModule.DevicesManagers.ActuatorManager.ControlActuatorManager;
+import ControlModule.DevicesManagers.ActuatorManager.CoAPClientsHandlers.RequestsHandlers.CoAPRequestsDispatcher;
 
 /* ============================== CLASS DEFINITION ============================== */
 public final class CoAPClientLightReqHandler implements CoapHandler
@@ -24,6 +25,9 @@ public final class CoAPClientLightReqHandler implements CoapHandler
   // The light state value that was sent to the actuator
   private final LightState sendLightState;
 
+  // The dispatcher the request was sent by
+  private final CoAPRequestsDispatcher<LightState> lightDispatcher;
+
 
   /* ============================= PUBLIC METHODS ============================= */
 
@@ -31,12 +35,15 @@ public final class CoAPClientLightReqHandler implements CoapHandler
    * CoAPClientLightReqHandler constructor, initializing its attributes
    * @param ctrlActuatorManager A reference to the associated
    *                            ControlActuatorManager object
-   * @param sendLightState The light state value that was sent to the actuator
+   * @param sendLightState  The light state value that was sent to the actuator
+   * @param lightDispatcher The dispatcher the request was sent by
    */
-  public CoAPClientLightReqHandler(ControlActuatorManager ctrlActuatorManager, LightState sendLightState)
+  public CoAPClientLightReqHandler(ControlActuatorManager ctrlActuatorManager, LightState sendLightState,
+                                   CoAPRequestsDispatcher<LightState> lightDispatcher)
    {
     this.ctrlActuatorManager = ctrlActuatorManager;
     this.sendLightState = sendLightState;
+    this.lightDispatcher = lightDispatcher;
    }
 
 
@@ -54,8 +61,8 @@ public final class CoAPClientLightReqHandler implements CoapHandler
     if(coapResponse.isSuccess())
      {
       // Log the new light state value sent to the actuator
-      Log.dbg("Successfully sent new light state ("
-               + sendLightState + ") to actuator" + ctrlActuatorManager.ID);
+      Log.dbg("Successfully sent new light state ({}) to actuator{}",
+              sendLightState,ctrlActuatorManager.ID);
 
       /*
        * Directly invoke the actuator's new light state handler without
@@ -74,6 +81,10 @@ public final class CoAPClientLightReqHandler implements CoapHandler
       Log.err("|-- Response Code: " + coapResponse.getCode().toString());
       Log.err("|-- Payload: " + coapResponse.getResponseText());
      }
+
+    // Signal the dispatcher that the request has completed, so
+    // that it can send the pending light state, if any
+    lightDispatcher.requestCompleted();
    }
 
 
@@ -85,9 +96,12 @@ public final class CoAPClientLightReqHandler implements CoapHandler
   @Override
   public void onError()
    {
-    // Just log the error
+    // Log the error
     Log.err("An error occurred in sending the new light "
             + "state (" + sendLightState + ")" + " to actuator"
             + ctrlActuatorManager.ID + " (probably it is offline)");
+
+    // Signal the dispatcher that the request has completed
+    lightDispatcher.requestCompleted();
    }
  }
\ No newline at end of file
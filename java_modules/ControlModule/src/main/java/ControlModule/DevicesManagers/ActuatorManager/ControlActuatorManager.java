@@ -4,24 +4,19 @@ package ControlModule.DevicesManagers.ActuatorManager;
 
 /* ================================== IMPORTS ================================== */
 
-/* --------------------- Java Standard Libraries Resources --------------------- */
-import javax.swing.*;
-import java.util.Timer;
-import java.util.TimerTask;
-
 /* --------------------- Californium CoAP Client Resources --------------------- */
 import org.eclipse.californium.core.CoapClient;
 
 /* --------------------------- SafeTunnels Resources --------------------------- */
 import logging.Log;
-import ControlModule.ControlModule;
+import ControlModule.ControlEngine;
+import ControlModule.ControlScheduler;
 import devices.actuator.BaseActuator;
 import ControlModule.ControlMySQLConnector.ControlMySQLConnector;
+import ControlModule.DevicesManagers.ActuatorManager.CoAPClientsHandlers.RequestsHandlers.CoAPRequestsDispatcher;
 import ControlModule.DevicesManagers.ActuatorManager.CoAPClientsHandlers.RequestsHandlers.fan.CoAPClientFanReqHandler;
 import ControlModule.DevicesManagers.ActuatorManager.CoAPClientsHandlers.RequestsHandlers.light.CoAPClientLightReqHandler;
-import ControlModule.DevicesManagers.ActuatorManager.GUIUpdateTasks.FanIconSpinTask;
-import ControlModule.DevicesManagers.ActuatorManager.GUIUpdateTasks.LightBlinkTask;
-import static ControlModule.OpState.*;
+import ControlModule.GUIWidgets.ActuatorWidgetViewModel;
 import static devices.actuator.BaseActuator.ActuatorQuantity.FANRELSPEED;
 import static devices.actuator.BaseActuator.ActuatorQuantity.LIGHTSTATE;
 import static devices.actuator.BaseActuator.LightState.LIGHT_STATE_INVALID;
@@ -32,8 +27,11 @@ public final class ControlActuatorManager extends BaseActuator
  {
   /* =========================== ACTUATOR PARAMETERS =========================== */
 
-  // The initial delay in milliseconds before starting the actuator's watchdog timer
-  private final static int actuatorWatcherTimerInitDelay = 3 * 1000;
+  // The initial delay in milliseconds before starting the actuator's watchdog timer,
+  // only covering the actuator's binding to its GUI widget (as the actuators are
+  // initialized in parallel with the sensors, delaying their discovery would
+  // delay the first automatic actuation following a sensor reading)
+  private final static int actuatorWatcherTimerInitDelay = 500;
 
   // The actuator watchdog timer period in milliseconds
   private static final int actuatorWatcherTimerPeriod = 10 * 1000;
@@ -43,9 +41,6 @@ public final class ControlActuatorManager extends BaseActuator
   // if the control module's automatic mode is enabled
   private static final int autoAdjustOnConnTimerDelay = 200;
 
-  // The base fan icon spin timer period in milliseconds
-  private static final int fanIconSpinTimerBasePeriod = 130;
-
 
   /* ============================ PRIVATE ATTRIBUTES ============================ */
 
@@ -53,8 +48,12 @@ public final class ControlActuatorManager extends BaseActuator
   private short fanRelSpeed;
   private LightState lightState;
 
-  // Control Module and MySQL Connector references
-  private final ControlModule controlModule;
+  // The actuator's current contribution to the system's average fan relative
+  // speed (its fan relative speed if online and valid, or -1 otherwise)
+  private int avgFanRelSpeedContribution;
+
+  // Control Engine and MySQL Connector references
+  private final ControlEngine controlEngine;
   private final ControlMySQLConnector controlMySQLConnector;
 
   // Actuator Resources Californium CoAP clients
@@ -62,40 +61,48 @@ public final class ControlActuatorManager extends BaseActuator
   private final CoapClient coapClientLight;
   private final CoapClient coapClientErrors;
 
+  // Actuator Resources coalescing CoAP requests dispatchers, keeping at
+  // most one request in flight per resource (last-write-wins)
+  private final CoAPRequestsDispatcher<Integer> fanDispatcher;
+  private final CoAPRequestsDispatcher<LightState> lightDispatcher;
+
 
   /* ---------------------- GUI Actuator Widget Management ---------------------- */
 
-  // Whether the actuator is bound to an actuator widget in the GUI
-  private boolean GUIBound;
+  // The view model of the GUI actuator widget the actuator is bound to, if any
+  private ActuatorWidgetViewModel GUIWidget;
+
 
-  // GUI quantities animation timers
-  private Timer fanIconSpinTimer;
-  private Timer lightBlinkTimer;
+  /* ============================== PRIVATE METHODS ============================== */
 
-  // The GUI's JLabels associated with the actuator, if any
-  private JLabel  connStateLEDIcon;          // Connection state LED
-  private JLabel  fanRelSpeedLabel;          // Fan relative speed value
-  private JLabel  lightStateLabel;           // Light state value
-  private JLabel  fanIcon;                   // Fan icon
-  private JLabel  lightIcon;                 // Light icon
-  private JSlider fanRelSpeedSlider;         // Fan relative speed slider
-  private JButton lightStateButtonOFF;       // Light "OFF" button
-  private JButton lightStateButtonWARNING;   // Light "ON"/"WARN" button
-  private JButton lightStateButtonALERT;     // Light "ALERT" button
-  private JButton lightStateButtonEMERGENCY; // Light "EMERGENCY" button
+  /**
+   * Notifies the Control Engine of a change in the actuator's contribution
+   * to the system's average fan relative speed (its fan relative speed if it
+   * is online and valid, or none otherwise), so that the system's average fan
+   * relative speed is updated incrementally and propagated via MQTT to sensors
+   */
+  private synchronized void updateAvgFanRelSpeedContribution()
+   {
+    int newContribution = (connState && fanRelSpeed != -1) ? fanRelSpeed : -1;
+    if(newContribution != avgFanRelSpeedContribution)
+     {
+      controlEngine.updateAvgFanRelSpeed(avgFanRelSpeedContribution,newContribution);
+      avgFanRelSpeedContribution = newContribution;
+     }
+   }
 
 
   /* ============================= PUBLIC METHODS ============================= */
 
   /**
    * ControlActuatorManager constructor, initializing its associated attributes and
-   * Californium CoAP clients and scheduling at a fixed rate its Watchdog Timer
+   * Californium CoAP clients and starting its Watchdog
    * @param MAC The sensor's (unique) MAC address
    * @param ID  The sensor's unique ID in the SafeTunnels database
-   * @param controlModule A reference to the Control Module object
+   * @param controlEngine A reference to the Control Engine object
    * @param controlMySQLConnector A reference to the Control MySQL Connector object
    */
-  public ControlActuatorManager(String MAC,short ID,ControlModule controlModule,
+  public ControlActuatorManager(String MAC,short ID,ControlEngine controlEngine,
                                 ControlMySQLConnector controlMySQLConnector)
    {
     // Call the parent constructor, initializing
@@ -104,40 +111,51 @@ public final class ControlActuatorManager extends BaseActuator
 
     // Initialize the other ControlActuatorManager base attributes
     this.controlMySQLConnector = controlMySQLConnector;
-    this.controlModule = controlModule;
+    this.controlEngine = controlEngine;
     fanRelSpeed = -1;
     lightState = LIGHT_STATE_INVALID;
-    GUIBound = false;
-    this.connStateLEDIcon = null;
-    this.fanRelSpeedLabel = null;
-    this.lightStateLabel = null;
-    this.fanIcon = null;
-    this.lightIcon = null;
-    this.fanRelSpeedSlider = null;
+    avgFanRelSpeedContribution = -1;
+    GUIWidget = null;
 
     /* ---- Actuator Global IPv6 Address and CoAP Endpoint Initialization ---- */
 
-    // Initialize a StringBuilder pruning all ':'
-    // characters from the actuator's MAC address
-    StringBuilder IID = new StringBuilder(MAC.replace(":",""));
-
-    // Mimic the Contiki-NG uip algorithm for generating 64-bit
-    // interface IDs from the nodes' MAC addresses by XOR-ing
-    // the first MAC address byte with the constant '0x02'
-    byte secByte = (byte)Integer.parseInt(IID.substring(0,2),16);
-    secByte = (byte)(secByte ^ 0x02);
-    IID.replace(0,2,String.format("%02x", secByte));
+    // The actuator's CoAP endpoint
+    String actuatorCoAPEndpoint;
 
-    // Build the actuator's IPv6 interface ID by
-    // adding a colon every 4 hexadecimal characters
-    for(int i = 4; i < IID.length(); i+=5)
-     IID.insert(i, ":");
-
-    // Set the actuator's global IPv6 address (e.g. fd00::0202:0002:0002:0002)
-    String actuatorIPv6Addr = "fd00::" + IID;
+    // If an actuators' CoAP endpoint template was set (e.g. for targeting the
+    // actuators' simulator), derive the actuator's CoAP endpoint from it
+    if(ACTUATOR_COAP_ENDPOINT_TEMPLATE != null)
+     {
+      actuatorCoAPEndpoint = ACTUATOR_COAP_ENDPOINT_TEMPLATE.replace("{MAC}",MAC.replace(":",""));
+      if(!actuatorCoAPEndpoint.endsWith("/"))
+       actuatorCoAPEndpoint += "/";
+     }
 
-    // Set the actuator's CoAP endpoint (e.g. coap://[fd00::0202:0002:0002:0002]/)
-    String actuatorCoAPEndpoint = "coap://[" + actuatorIPv6Addr + "]/";
+    // Otherwise, derive the actuator's CoAP endpoint from its global IPv6 address
+    else
+     {
+      // Initialize a StringBuilder pruning all ':'
+      // characters from the actuator's MAC address
+      StringBuilder IID = new StringBuilder(MAC.replace(":",""));
+
+      // Mimic the Contiki-NG uip algorithm for generating 64-bit
+      // interface IDs from the nodes' MAC addresses by XOR-ing
+      // the first MAC address byte with the constant '0x02'
+      byte secByte = (byte)Integer.parseInt(IID.substring(0,2),16);
+      secByte = (byte)(secByte ^ 0x02);
+      IID.replace(0,2,String.format("%02x", secByte));
+
+      // Build the actuator's IPv6 interface ID by
+      // adding a colon every 4 hexadecimal characters
+      for(int i = 4; i < IID.length(); i+=5)
+       IID.insert(i, ":");
+
+      // Set the actuator's global IPv6 address (e.g. fd00::0202:0002:0002:0002)
+      String actuatorIPv6Addr = "fd00::" + IID;
+
+      // Set the actuator's CoAP endpoint (e.g. coap://[fd00::0202:0002:0002:0002]/)
+      actuatorCoAPEndpoint = "coap://[" + actuatorIPv6Addr + "]/";
+     }
 
     /*/ --- Actuator Global IPv6 Address and CoAP Endpoint Initialization --- /*/
 
@@ -150,11 +168,18 @@ public final class ControlActuatorManager extends BaseActuator
     coapClientLight = new CoapClient(actuatorCoAPEndpoint + actuatorLightStateResRelPath);
     coapClientErrors = new CoapClient(actuatorCoAPEndpoint + actuatorErrorsResRelPath);
 
-    // Schedule at a fixed rate the actuator's Watchdog Timer
-    Timer actuatorWatchdogTimer = new Timer();
-    actuatorWatchdogTimer.scheduleAtFixedRate(new ActuatorWatchdogTimerTask
-     (this,coapClientFan,coapClientLight,coapClientErrors),
-      actuatorWatcherTimerInitDelay,actuatorWatcherTimerPeriod);
+    // Initialize the "fan" and "light" resources' CoAP requests dispatchers, where new values
+    // are sent to the actuator via asynchronous, confirmable PUT requests (0 = text/plain)
+    fanDispatcher = new CoAPRequestsDispatcher<>("actuator" + ID + " fan relative speed",() -> (int)fanRelSpeed,
+      (newFanRelSpeed,dispatcher) -> coapClientFan.put(new CoAPClientFanReqHandler(this,newFanRelSpeed,dispatcher),
+                                                       "fanRelSpeed=" + newFanRelSpeed,0));
+    lightDispatcher = new CoAPRequestsDispatcher<>("actuator" + ID + " light state",() -> lightState,
+      (newLightState,dispatcher) -> coapClientLight.put(new CoAPClientLightReqHandler(this,newLightState,dispatcher),
+                                                        "lightState=" + newLightState,0));
+
+    // Start the actuator's Watchdog on the actuators' watchdogs timer wheel
+    new ActuatorWatchdog(this,coapClientFan,coapClientLight,coapClientErrors,
+                         actuatorWatcherTimerInitDelay,actuatorWatcherTimerPeriod);
    }
 
 
@@ -167,47 +192,20 @@ public final class ControlActuatorManager extends BaseActuator
 
   /**
    * Binds the actuator to an actuator widget in the Control Module's GUI
-   * @param connStateLEDIcon          The actuator widget's connection state LED
-   * @param fanRelSpeedLabel          The actuator widget's fan relative speed value
-   * @param lightStateLabel           The actuator widget's light state value
-   * @param fanIcon                   The actuator widget's fan icon
-   * @param lightIcon                 The actuator widget's light icon
-   * @param fanRelSpeedSlider         The actuator widget's fan relative speed slider
-   * @param lightStateButtonOFF       The actuator widget's light "OFF" button
-   * @param lightStateButtonWARNING   The actuator widget's light "ON"/"WARN" button
-   * @param lightStateButtonALERT     The actuator widget's light "ALERT" button
-   * @param lightStateButtonEMERGENCY The actuator widget's light "EMERGENCY" button
+   * @param GUIWidget The view model of the actuator widget
    */
-  public void bindToGUI(JLabel connStateLEDIcon, JLabel fanRelSpeedLabel, JLabel lightStateLabel,
-                        JLabel fanIcon, JLabel lightIcon, JSlider fanRelSpeedSlider,
-                        JButton lightStateButtonOFF, JButton lightStateButtonWARNING,
-                        JButton lightStateButtonALERT, JButton lightStateButtonEMERGENCY)
+  public void bindToGUI(ActuatorWidgetViewModel GUIWidget)
    {
-    // Ensure all the passed actuator widget GUI components to
-    // be non-null, logging an error and returning otherwise
-    if(connStateLEDIcon == null || fanRelSpeedLabel == null || lightStateLabel == null || fanIcon == null ||
-       lightIcon == null || fanRelSpeedSlider == null || lightStateButtonOFF == null ||
-       lightStateButtonWARNING == null || lightStateButtonALERT == null || lightStateButtonEMERGENCY == null)
+    // Ensure the passed actuator widget to be
+    // non-null, logging an error and returning otherwise
+    if(GUIWidget == null)
      {
-      Log.err("Attempting to bind actuator" + ID + "to null elements in the GUI");
+      Log.err("Attempting to bind actuator" + ID + " to a null widget in the GUI");
       return;
      }
 
-    // Initialize the actuator widget's
-    // components to the provided values
-    this.connStateLEDIcon = connStateLEDIcon;
-    this.fanRelSpeedLabel = fanRelSpeedLabel;
-    this.lightStateLabel = lightStateLabel;
-    this.fanIcon = fanIcon;
-    this.lightIcon = lightIcon;
-    this.fanRelSpeedSlider = fanRelSpeedSlider;
-    this.lightStateButtonOFF = lightStateButtonOFF;
-    this.lightStateButtonWARNING = lightStateButtonWARNING;
-    this.lightStateButtonALERT = lightStateButtonALERT;
-    this.lightStateButtonEMERGENCY = lightStateButtonEMERGENCY;
-
-    // Set that the actuator is now bound to a GUI actuator widget
-    GUIBound = true;
+    // Bind the actuator to the GUI actuator widget
+    this.GUIWidget = GUIWidget;
    }
 
 
@@ -224,36 +222,23 @@ public final class ControlActuatorManager extends BaseActuator
     // Set the actuator as offline
     connState = false;
 
+    // Discard the values pending to be sent to the actuator, if any
+    fanDispatcher.clearPending();
+    lightDispatcher.clearPending();
+
     // Attempt to push the 'OFFLINE' actuator connState into the database
     controlMySQLConnector.pushActuatorConnState(ID, false);
 
+    // Remove the actuator's fan from the system's average fan relative speed
+    updateAvgFanRelSpeedContribution();
+
     // Log that the actuator appears to be offline
     Log.warn("actuator" + ID + " appears to be offline");
 
-    // If the actuator is bound to a GUI actuator widget
-    if(GUIBound)
-     {
-      // Update the connection state LED icon
-      connStateLEDIcon.setIcon(ControlModule.connStateLEDOFFImg);
-
-      // Stop the fan spinning ant the
-      // LED blinking animations, if any
-      if(fanIconSpinTimer != null)
-       fanIconSpinTimer.cancel();
-      if(lightBlinkTimer != null)
-       lightBlinkTimer.cancel();
-
-      // Disable all the actuator widget's components
-      fanRelSpeedLabel.setEnabled(false);
-      lightStateLabel.setEnabled(false);
-      fanIcon.setEnabled(false);
-      lightIcon.setEnabled(false);
-      fanRelSpeedSlider.setEnabled(false);
-      lightStateButtonOFF.setEnabled(false);
-      lightStateButtonWARNING.setEnabled(false);
-      lightStateButtonALERT.setEnabled(false);
-      lightStateButtonEMERGENCY.setEnabled(false);
-     }
+    // If the actuator is bound to a GUI actuator widget, mark it as offline
+    // (which disables it and stops its animations when next rendered)
+    if(GUIWidget != null)
+     GUIWidget.setConnState(false);
    }
 
 
@@ -274,42 +259,27 @@ public final class ControlActuatorManager extends BaseActuator
     // Attempt to push the 'ONLINE' actuator connState into the database
     controlMySQLConnector.pushActuatorConnState(ID, true);
 
+    // Add the actuator's fan to the system's average fan relative speed, if valid
+    updateAvgFanRelSpeedContribution();
+
     // Log that the actuator is now online
     Log.info("actuator" + ID + " is now online");
 
-    // If the actuator is bound to a GUI actuator widget
-    if(GUIBound)
-     {
-      // Update the connection state LED icon
-      connStateLEDIcon.setIcon(ControlModule.connStateLEDONImg);
-
-      // Activate the other actuator widget's components
-      fanRelSpeedLabel.setEnabled(true);
-      lightStateLabel.setEnabled(true);
-      fanIcon.setEnabled(true);
-      lightIcon.setEnabled(true);
-      fanRelSpeedSlider.setEnabled(true);
-      lightStateButtonOFF.setEnabled(true);
-      lightStateButtonWARNING.setEnabled(true);
-      lightStateButtonALERT.setEnabled(true);
-      lightStateButtonEMERGENCY.setEnabled(true);
-     }
+    // If the actuator is bound to a GUI actuator widget, mark it as online
+    if(GUIWidget != null)
+     GUIWidget.setConnState(true);
 
     /*
-     * Start the autoAdjustOnConnTimer which, after a short
+     * Schedule the autoAdjustOnConnTimer which, after a short
      * delay, automatically adjusts the actuator's quantities
      * if the Control Module automatic mode is enabled
      */
-    Timer autoAdjustOnConnTimer = new Timer();
-    autoAdjustOnConnTimer.schedule(new TimerTask()
+    ControlScheduler.schedule(() ->
      {
-      public void run()
+      if(controlEngine.autoMode && connState)
        {
-        if(controlModule.autoMode && connState)
-         {
-          sendFanRelSpeed(controlModule.systemOpState.getAutoFanRelSpeed());
-          sendLightState(controlModule.systemOpState.getAutoLightState());
-         }
+        sendFanRelSpeed(controlEngine.systemOpState.getAutoFanRelSpeed());
+        sendLightState(controlEngine.systemOpState.getAutoLightState());
        }
      },autoAdjustOnConnTimerDelay);
    }
@@ -320,12 +290,10 @@ public final class ControlActuatorManager extends BaseActuator
    * new fan relative speed value differs from its current one:
    *   1) Updates the actuator's fan relative speed value
    *   2) Pushes such new fan relative speed into the database
-   *   3) If the actuator is bound to a GUI actuator widget:
-   *      3.1) Updates the widget's fan relative speed value
-   *      3.2) Sets the widget's fan relative speed slider to match the value
-   *      3.3) Adjusts the fan icon spinning animation
-   *           depending on the new fan relative speed value
-   *   4) Notify the Control Module that the fan relative speed
+   *   3) If the actuator is bound to a GUI actuator widget, updates its
+   *      fan relative speed (where its value, slider and fan icon spinning
+   *      animation are adjusted when the widget is next rendered)
+   *   4) Notify the Control Engine that the fan relative speed
    *      has changed so as for it to compute the new system's
    *      average fan speed and propagate it via MQTT to sensors
    */
@@ -344,41 +312,17 @@ public final class ControlActuatorManager extends BaseActuator
       controlMySQLConnector.pushActuatorQuantityValue(ID,FANRELSPEED,fanRelSpeed);
 
       // Log the new actuator fan relative speed
-      Log.dbg("New actuator" + ID + " fan relative speed: " + fanRelSpeed);
+      Log.dbg("New actuator{} fan relative speed: {}",ID,fanRelSpeed);
 
-      // If the actuator is bound to an actuator widget in the GUI
-      if(GUIBound)
-       {
-        // Update its fan relative speed value, also setting
-        // its color as of its current "operating state"
-        fanRelSpeedLabel.setText(newFanRelSpeed + " %");
-        fanRelSpeedLabel.setForeground(fanRelSpeedToOpStateColor(newFanRelSpeed));
-
-        // Sets the fan relative speed slider to match the new value
-        fanRelSpeedSlider.setValue(newFanRelSpeed);
-
-        // Stop the fanIconSpinTimer controlling the fan spinning animation
-        if(fanIconSpinTimer != null)
-         fanIconSpinTimer.cancel();
-
-        // If the fan has stopped, restore its base, static icon
-        if(newFanRelSpeed == 0)
-         fanIcon.setIcon(ControlModule.actuatorFanIcons[0]);
-
-        // Otherwise (re)-schedule the fanIconSpinTimer at a fixed
-        // rate directly proportional to the fan relative speed
-        else
-         {
-          fanIconSpinTimer = new Timer();
-          fanIconSpinTimer.scheduleAtFixedRate(new FanIconSpinTask(fanIcon),
-                                          0,fanIconSpinTimerBasePeriod-newFanRelSpeed);
-         }
-       }
+      // If the actuator is bound to an actuator widget
+      // in the GUI, update its fan relative speed
+      if(GUIWidget != null)
+       GUIWidget.setFanRelSpeed(fanRelSpeed);
 
-      // Notify the Control Module that the fan relative speed
-      // has changed so as for it to compute the new system's
+      // Notify the Control Engine that the fan relative speed
+      // has changed so as for it to update the new system's
       // average fan speed and propagate it via MQTT to sensors
-      controlModule.updateAvgFanRelSpeed();
+      updateAvgFanRelSpeedContribution();
      }
    }
 
@@ -390,7 +334,7 @@ public final class ControlActuatorManager extends BaseActuator
    *   2) Pushes such new light state value into the database
    *   3) If the actuator is bound to a GUI actuator widget, updates
    *      its light state value and animates the light icon accordingly
-   *   4) Notify the Control Module that the fan relative speed
+   *   4) Notify the Control Engine that the fan relative speed
    *      has changed so as for it to compute the new system's
    *      average fan speed and propagate it via MQTT to sensors
    */
@@ -408,52 +352,13 @@ public final class ControlActuatorManager extends BaseActuator
       controlMySQLConnector.pushActuatorQuantityValue(ID,LIGHTSTATE,lightState.ordinal());
 
       // Log the new actuator light state
-      Log.dbg("New actuator" + ID + " light state: " + lightState);
+      Log.dbg("New actuator{} light state: {}",ID,lightState);
 
-      // If the actuator is bound to an actuator widget in the GUI
-      if(GUIBound)
-       {
-        // Stop the LightBlinkTimer controlling
-        // the light blinking animation, if any
-        if(lightBlinkTimer!= null)
-         lightBlinkTimer.cancel();
-
-        // Update the GUI widget light state value, also setting its
-        // color to match its "operating state" and, if applicable,
-        // start the LightBlinkTimer light blinking timer
-        switch(newLightState)
-         {
-          case LIGHT_OFF:
-           lightStateLabel.setText("OFF");
-           lightStateLabel.setForeground(NOMINAL.getColor());
-           lightIcon.setIcon(ControlModule.actuatorLightOFFImg);
-           break;
-
-          case LIGHT_ON:
-           lightStateLabel.setText("WARN");
-           lightStateLabel.setForeground(WARNING.getColor());
-           lightIcon.setIcon(ControlModule.actuatorLightWARNINGImg);
-           break;
-
-          case LIGHT_BLINK_ALERT:
-           lightStateLabel.setText("ALERT");
-           lightStateLabel.setForeground(ALERT.getColor());
-
-           lightBlinkTimer = new Timer();
-           lightBlinkTimer.scheduleAtFixedRate(new LightBlinkTask
-             (lightIcon,ControlModule.actuatorLightALERTImg),0,1000);
-           break;
-
-          case LIGHT_BLINK_EMERGENCY:
-           lightStateLabel.setText("EMER.");
-           lightStateLabel.setForeground(EMERGENCY.getColor());
-
-           lightBlinkTimer = new Timer();
-           lightBlinkTimer.scheduleAtFixedRate(new LightBlinkTask
-             (lightIcon,ControlModule.actuatorLightEMERGENCYImg),0,300);
-           break;
-         }
-       }
+      // If the actuator is bound to an actuator widget in the GUI, update
+      // its light state (where its value and light icon animation are
+      // adjusted when the widget is next rendered)
+      if(GUIWidget != null)
+       GUIWidget.setLightState(lightState);
      }
    }
 
@@ -461,8 +366,10 @@ public final class ControlActuatorManager extends BaseActuator
   /* ----------------------- CoAP Client Requests Methods ----------------------- */
 
   /**
-   * Sends in an asynchronous confirmable CoAP request
-   * a new fan relative speed value to the actuator
+   * Submits to the "fan" resource's requests dispatcher a new fan relative
+   * speed value to be sent to the actuator in an asynchronous confirmable
+   * CoAP request (where values equal to the actuator's current one are
+   * dropped and values superseded while a request is in flight are coalesced)
    * @param sendFanRelSpeed The new fan relative speed value
    *                        to be sent to the actuator
    */
@@ -486,26 +393,16 @@ public final class ControlActuatorManager extends BaseActuator
       return;
      }
 
-    // Ascertain the fan relative speed to be sent to differ from
-    // its current value, logging the error and returning otherwise
-    if(sendFanRelSpeed == fanRelSpeed)
-     {
-      Log.warn("Attempting to send to actuator" + ID + " the same "
-                + "fan relative speed (" + sendFanRelSpeed + ")");
-      return;
-     }
-
-    // Send the fan relative speed to the actuator
-    // via an asynchronous, confirmable PUT request
-    coapClientFan.put(new CoAPClientFanReqHandler
-      (this,sendFanRelSpeed),
-      "fanRelSpeed=" + sendFanRelSpeed,0);   // 0 = text/plain
+    // Submit the fan relative speed to the "fan" resource's requests dispatcher
+    fanDispatcher.submit(sendFanRelSpeed);
    }
 
 
   /**
-   * Sends in an asynchronous confirmable CoAP
-   * request a new light state value to the actuator
+   * Submits to the "light" resource's requests dispatcher a new light state
+   * value to be sent to the actuator in an asynchronous confirmable CoAP
+   * request (where values equal to the actuator's current one are dropped
+   * and values superseded while a request is in flight are coalesced)
    * @param sendLightState The new light state value
    *                       to be sent to the actuator
    */
@@ -520,19 +417,7 @@ public final class ControlActuatorManager extends BaseActuator
       return;
      }
 
-    // Ascertain the light state to be sent to differ from its
-    // current value, logging the error and returning otherwise
-    if(sendLightState == lightState)
-     {
-      Log.warn("Attempting to send to actuator" + ID + " the "
-                + "same light state (" + sendLightState + ")");
-      return;
-     }
-
-    // Send the light state to the actuator via
-    // an asynchronous, confirmable PUT request
-    coapClientLight.put(new CoAPClientLightReqHandler
-      (this,sendLightState),
-      "lightState=" + sendLightState.toString(),0);  // 0 = text/plain
+    // Submit the light state to the "light" resource's requests dispatcher
+    lightDispatcher.submit(sendLightState);
    }
  }
\ No newline at end of file
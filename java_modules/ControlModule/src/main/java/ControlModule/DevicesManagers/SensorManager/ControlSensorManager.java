@@ -4,14 +4,11 @@ package ControlModule.DevicesManagers.SensorManager;
 
 /* ================================== IMPORTS ================================== */
 
-/* --------------------- Java Standard Libraries Resources --------------------- */
-import javax.swing.*;
-import static java.lang.Math.max;
-
 /* --------------------------- SafeTunnels Resources --------------------------- */
 import logging.Log;
-import ControlModule.ControlModule;
+import ControlModule.ControlEngine;
 import ControlModule.OpState;
+import ControlModule.GUIWidgets.SensorWidgetViewModel;
 import devices.sensor.BaseSensor;
 
 
@@ -42,23 +39,20 @@ public final class ControlSensorManager extends BaseSensor
   private OpState C02OpState;
   private OpState tempOpState;
 
+  // Sensor quantities operating states evaluators
+  private final OpStateEvaluator C02OpStateEvaluator;
+  private final OpStateEvaluator tempOpStateEvaluator;
+
   // Sensor overall operating state
   private OpState sensorOpState;
 
-  // Control Module reference
-  private final ControlModule controlModule;
+  // Control Engine reference
+  private final ControlEngine controlEngine;
 
   /* ----------------------- GUI Sensor Widget Management ----------------------- */
 
-  // Whether the sensor is bound to a sensor widget in the GUI
-  private boolean GUIBound;
-
-  // The GUI's JLabels associated with the sensor, if any
-  private JLabel connStateLED;   // Connection state LED
-  private JLabel C02Label;       // C02 value
-  private JLabel tempLabel;      // Temperature value
-  private JLabel C02Icon;        // C02 icon
-  private JLabel tempIcon;       // Temperature icon
+  // The view model of the GUI sensor widget the sensor is bound to, if any
+  private SensorWidgetViewModel GUIWidget;
 
 
   /* ============================== PRIVATE METHODS ============================== */
@@ -66,7 +60,7 @@ public final class ControlSensorManager extends BaseSensor
   /**
    *  Updates the sensor's operating state based on its C02 and
    *  temperature values and, if it has changed, notifies the
-   *  Control Module to possibly update the overall system's state
+   *  Control Engine to possibly update the overall system's state
    */
   private void updateSensorOperatingState()
    {
@@ -75,57 +69,55 @@ public final class ControlSensorManager extends BaseSensor
 
     // Set the sensor operating state as its maximum
     // between its C02 and temperature operating states
-    sensorOpState = OpState.values()[max(C02OpState.ordinal(),tempOpState.ordinal())];
+    sensorOpState = C02OpState.ordinal() >= tempOpState.ordinal() ? C02OpState : tempOpState;
 
     // If the sensor operating state has changed, notify the control
     // module to possibly update the overall system's operating state
     if(sensorOpState != oldOpState)
-     controlModule.updateSystemOpState(sensorOpState);
+     controlEngine.updateSystemOpState(oldOpState,sensorOpState);
    }
 
 
   /**
-   * Depending on its current value, updates the sensor's C02 and possibly
-   * in cascade the sensor and the overall system's operating state
+   * Depending on its current value, updates the sensor's C02 (with hysteresis
+   * and dwell time) and, if it has changed, in cascade possibly the sensor
+   * and the overall system's operating state
+   * @return Whether the C02 operating state has changed
    */
-  private void updateC02OperatingState()
+  private boolean updateC02OperatingState()
    {
-    if(C02 < C02ThresholdWARNING)
-     C02OpState = OpState.NOMINAL;
-    else
-     if(C02 < C02ThresholdALERT)
-      C02OpState = OpState.WARNING;
-     else
-      if(C02 < C02ThresholdEMERGENCY)
-       C02OpState = OpState.ALERT;
-      else
-       C02OpState = OpState.EMERGENCY;
-
-    // Possibly update in cascade the sensor
-    // and the system's overall operating state
-    updateSensorOperatingState();
+    OpState newC02OpState = C02OpStateEvaluator.evaluate(C02);
+
+    // If the C02 operating state has changed, possibly update in
+    // cascade the sensor and the system's overall operating state
+    if(newC02OpState != C02OpState)
+     {
+      C02OpState = newC02OpState;
+      updateSensorOperatingState();
+      return true;
+     }
+    return false;
    }
 
   /**
-   * Depending on its current value, updates the sensor's temperature and
-   * possibly in cascade the sensor and the overall system's operating state
+   * Depending on its current value, updates the sensor's temperature (with
+   * hysteresis and dwell time) and, if it has changed, in cascade possibly
+   * the sensor and the overall system's operating state
+   * @return Whether the temperature operating state has changed
    */
-  private void updateTempOperatingState()
+  private boolean updateTempOperatingState()
    {
-    if(temp < tempThresholdWARNING)
-     tempOpState = OpState.NOMINAL;
-    else
-     if(temp < tempThresholdALERT)
-      tempOpState = OpState.WARNING;
-     else
-      if(temp < tempThresholdEMERGENCY)
-       tempOpState = OpState.ALERT;
-      else
-       tempOpState = OpState.EMERGENCY;
-
-    // Possibly update in cascade the sensor
-    // and the system's overall operating state
-    updateSensorOperatingState();
+    OpState newTempOpState = tempOpStateEvaluator.evaluate(temp);
+
+    // If the temperature operating state has changed, possibly update
+    // in cascade the sensor and the system's overall operating state
+    if(newTempOpState != tempOpState)
+     {
+      tempOpState = newTempOpState;
+      updateSensorOperatingState();
+      return true;
+     }
+    return false;
    }
 
 
@@ -135,9 +127,9 @@ public final class ControlSensorManager extends BaseSensor
    * ControlSensorManager constructor, initializing its attributes
    * @param MAC The sensor's (unique) MAC address
    * @param ID  The sensor's unique ID in the SafeTunnels database
-   * @param controlModule A reference to the Control Module object
+   * @param controlEngine A reference to the Control Engine object
    */
-  public ControlSensorManager(String MAC, short ID, ControlModule controlModule)
+  public ControlSensorManager(String MAC, short ID, ControlEngine controlEngine)
    {
     // Call the parent constructor, initializing
     // the sensor's MAC, ID and connState to false
@@ -145,16 +137,17 @@ public final class ControlSensorManager extends BaseSensor
 
     // Initialize the other ControlSensorManager
     // attributes to their default values
-    this.controlModule = controlModule;
+    this.controlEngine = controlEngine;
     temp = -1;
     C02 = -1;
-    GUIBound = false;
-    connStateLED = null;
-    C02Label = null;
-    tempLabel = null;
+    GUIWidget = null;
     C02OpState = OpState.NOMINAL;
     tempOpState = OpState.NOMINAL;
     sensorOpState = OpState.NOMINAL;
+    C02OpStateEvaluator = new OpStateEvaluator(new int[]{C02ThresholdWARNING,C02ThresholdALERT,C02ThresholdEMERGENCY},
+                                               C02_HYSTERESIS_BANDS,OPSTATES_DWELL_TIMES);
+    tempOpStateEvaluator = new OpStateEvaluator(new int[]{tempThresholdWARNING,tempThresholdALERT,tempThresholdEMERGENCY},
+                                                TEMP_HYSTERESIS_BANDS,OPSTATES_DWELL_TIMES);
    }
 
 
@@ -167,37 +160,20 @@ public final class ControlSensorManager extends BaseSensor
 
   /**
    * Binds the sensor to a sensor widget in the Control Module's GUI
-   * @param connStateLED The sensor widget's connection state LEd
-   * @param C02Label     The sensor widget's C02 value
-   * @param tempLabel    The sensor widget's temperature value
-   * @param C02Icon      The sensor widget's C02 icon
-   * @param tempIcon     The sensor widget's temperature icon
+   * @param GUIWidget The view model of the sensor widget
    */
-  public void bindToGUI(JLabel connStateLED, JLabel C02Label,
-                        JLabel tempLabel, JLabel C02Icon, JLabel tempIcon)
+  public void bindToGUI(SensorWidgetViewModel GUIWidget)
    {
-
-    // Ensure all the passed sensor widget GUI components to
-    // be non-null, logging an error and returning otherwise
-    if(connStateLED == null || C02Label == null ||
-      tempLabel == null || C02Icon == null || tempIcon == null)
+    // Ensure the passed sensor widget to be
+    // non-null, logging an error and returning otherwise
+    if(GUIWidget == null)
      {
-      Log.err("Attempting to bind sensor" + ID
-              + "to null elements in the GUI");
+      Log.err("Attempting to bind sensor" + ID + " to a null widget in the GUI");
       return;
      }
 
-    // Initialize the sensor widget's
-    // components to the provided values
-    this.connStateLED = connStateLED;
-    this.C02Label = C02Label;
-    this.tempLabel = tempLabel;
-    this.C02Icon = C02Icon;
-    this.tempIcon = tempIcon;
-
-    // Set that the sensor is now
-    // bound to a GUI sensor widget
-    GUIBound = true;
+    // Bind the sensor to the GUI sensor widget
+    this.GUIWidget = GUIWidget;
    }
 
 
@@ -216,18 +192,9 @@ public final class ControlSensorManager extends BaseSensor
     // Log that the sensor appears to be offline
     Log.warn("sensor" + ID + " appears to be offline");
 
-    // If the sensor is bound to a GUI sensor widget
-    if(GUIBound)
-     {
-      // Update the connection state LED icon
-      connStateLED.setIcon(ControlModule.connStateLEDOFFImg);
-
-      // Disable the sensor widget labels and icons
-      C02Label.setEnabled(false);
-      tempLabel.setEnabled(false);
-      C02Icon.setEnabled(false);
-      tempIcon.setEnabled(false);
-     }
+    // If the sensor is bound to a GUI sensor widget, mark it as offline
+    if(GUIWidget != null)
+     GUIWidget.setConnState(false);
    }
 
 
@@ -244,18 +211,9 @@ public final class ControlSensorManager extends BaseSensor
     // Log that the sensor is now online
     Log.info("sensor" + ID + " is now online");
 
-    // If the sensor is bound to a GUI sensor widget
-    if(GUIBound)
-     {
-      // Update the connection state LED icon
-      connStateLED.setIcon(ControlModule.connStateLEDONImg);
-
-      // Activate the sensor widget labels and icons
-      C02Label.setEnabled(true);
-      tempLabel.setEnabled(true);
-      C02Icon.setEnabled(true);
-      tempIcon.setEnabled(true);
-     }
+    // If the sensor is bound to a GUI sensor widget, mark it as online
+    if(GUIWidget != null)
+     GUIWidget.setConnState(true);
    }
 
 
@@ -272,26 +230,20 @@ public final class ControlSensorManager extends BaseSensor
      setConnStateOnline();
 
     // Log the sensor's updated C02 value
-    Log.dbg("Received sensor" + ID + " updated C02 value (" + newC02 + ")");
-
-    // If its updated differs from its current C02 value
-    if(newC02 != this.C02)
-     {
-      // Update the sensor's C02 value
-      this.C02 = newC02;
-
-      // Possibly update the C02 and in cascade the
-      // sensor and the system's overall operating states
-      updateC02OperatingState();
-
-      // If the sensor is bound to a GUI widget, update its C02
-      // value, setting its color as of its current operating state
-      if(GUIBound)
-       {
-        C02Label.setText(this.C02 + " ppm");
-        C02Label.setForeground(C02OpState.getColor());
-       }
-     }
+    Log.dbg("Received sensor{} updated C02 value ({})",ID,newC02);
+
+    // Update the sensor's C02 value, possibly updating the C02 and in cascade the
+    // sensor and the system's overall operating states (which is performed on
+    // every reading, as a pending de-escalation may be due its dwell time elapsing)
+    boolean C02Changed = newC02 != this.C02;
+    this.C02 = newC02;
+    boolean C02OpStateChanged = updateC02OperatingState();
+    controlEngine.sensorReadingEvaluated();
+
+    // If its updated differs from its previous C02 value or its operating state has changed
+    // and the sensor is bound to a GUI widget, update its C02 value and operating state
+    if((C02Changed || C02OpStateChanged) && GUIWidget != null)
+     GUIWidget.setC02(this.C02,C02OpState);
    }
 
 
@@ -308,25 +260,19 @@ public final class ControlSensorManager extends BaseSensor
      setConnStateOnline();
 
     // Log the sensor's updated temperature value
-    Log.dbg("Received sensor" + ID + " updated temperature value (" + newTemp + ")");
-
-    // If its updated differs from its current temperature value
-    if(newTemp != this.temp)
-     {
-      // Update the sensor's temperature value
-      temp = newTemp;
-
-      // Possibly update the temperature and in cascade the
-      // sensor and the system's overall operating states
-      updateTempOperatingState();
-
-      // If the sensor is bound to a GUI widget, update its temperature
-      // value, setting its color as of its current operating state
-      if(GUIBound)
-       {
-        tempLabel.setText(temp + " °C");
-        tempLabel.setForeground(tempOpState.getColor());
-       }
-     }
+    Log.dbg("Received sensor{} updated temperature value ({})",ID,newTemp);
+
+    // Update the sensor's temperature value, possibly updating the temperature and in
+    // cascade the sensor and the system's overall operating states (which is performed on
+    // every reading, as a pending de-escalation may be due its dwell time elapsing)
+    boolean tempChanged = newTemp != this.temp;
+    temp = newTemp;
+    boolean tempOpStateChanged = updateTempOperatingState();
+    controlEngine.sensorReadingEvaluated();
+
+    // If its updated differs from its previous temperature value or its operating state has
+    // changed and the sensor is bound to a GUI widget, update its temperature and operating state
+    if((tempChanged || tempOpStateChanged) && GUIWidget != null)
+     GUIWidget.setTemp(temp,tempOpState);
    }
  }
\ No newline at end of file
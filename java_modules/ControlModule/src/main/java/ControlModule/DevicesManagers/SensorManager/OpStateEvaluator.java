@@ -0,0 +1,129 @@
+/*
+ * Sensor Quantity Operating State Evaluator, incrementally deriving the operating
+ * state of a sensor's quantity (C02 density or temperature) from its readings with:
+ *   - Immediate escalation as soon as a reading reaches a higher state's threshold
+ *   - A hysteresis band below each threshold, so that a reading must fall below
+ *     (threshold - band) for the quantity to leave the state above the threshold
+ *   - A minimum dwell time per threshold, so that a quantity leaves a state
+ *     only after its readings have been consistently below the band for it
+ * so that noisy readings oscillating around a threshold do not cause the
+ * system's operating state (and so the actuators' commands) to flap
+ *
+ * NOTE: The operating state is evaluated upon the quantity's readings only, and so
+ *       an expired dwell time takes effect at the first reading received after it
+ *       (i.e. up to a sensor's sampling period later, or never should the sensor
+ *       stop reporting, in which case the sensor's last operating state is kept)
+ */
+
+package ControlModule.DevicesManagers.SensorManager;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.TimeUnit;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import ControlModule.OpState;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class OpStateEvaluator
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The OpState values, indexed by their ordinal
+  private static final OpState[] opStates = OpState.values();
+
+  // The quantity's WARNING, ALERT and EMERGENCY thresholds
+  private final int[] thresholds;
+
+  // The hysteresis bands below the WARNING, ALERT and EMERGENCY thresholds
+  private final int[] hysteresisBands;
+
+  // The minimum dwell times in milliseconds before leaving
+  // the WARNING, ALERT and EMERGENCY states downwards
+  private final long[] dwellTimes;
+
+  // The quantity's current operating state
+  private OpState opState;
+
+  // The time in nanoseconds since which the readings have been continuously
+  // below the current state's hysteresis band (or -1 if they are not)
+  private long deEscalationSince;
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * OpStateEvaluator constructor, initializing the quantity in the NOMINAL state
+   * @param thresholds      The quantity's WARNING, ALERT and EMERGENCY thresholds
+   * @param hysteresisBands The hysteresis bands below the WARNING, ALERT and EMERGENCY thresholds
+   * @param dwellTimes      The minimum dwell times in milliseconds before leaving
+   *                        the WARNING, ALERT and EMERGENCY states downwards
+   */
+  OpStateEvaluator(int[] thresholds, int[] hysteresisBands, long[] dwellTimes)
+   {
+    this.thresholds = thresholds;
+    this.hysteresisBands = hysteresisBands;
+    this.dwellTimes = dwellTimes;
+    opState = OpState.NOMINAL;
+    deEscalationSince = -1;
+   }
+
+
+  /**
+   * @return The quantity's current operating state
+   */
+  OpState getOpState()
+   { return opState; }
+
+
+  /**
+   * Updates the quantity's operating state based on a new reading, where a
+   * de-escalation whose dwell time has expired is applied by this call only
+   * (i.e. not as soon as the dwell time expires, see the class's NOTE)
+   * @param reading The quantity's new reading
+   * @return The quantity's (possibly updated) operating state
+   */
+  OpState evaluate(int reading)
+   {
+    int state = opState.ordinal();
+
+    // The highest state whose threshold the reading reaches
+    int rawState = 0;
+    while(rawState < thresholds.length && reading >= thresholds[rawState])
+     rawState++;
+
+    // If the reading reaches a higher state's threshold, escalate immediately
+    if(rawState > state)
+     {
+      opState = opStates[rawState];
+      deEscalationSince = -1;
+      return opState;
+     }
+
+    // The lowest state whose hysteresis band the reading is not below
+    int targetState = state;
+    while(targetState > 0 && reading < thresholds[targetState - 1] - hysteresisBands[targetState - 1])
+     targetState--;
+
+    // If the reading is not below the current state's hysteresis band, keep the current state
+    if(targetState == state)
+     {
+      deEscalationSince = -1;
+      return opState;
+     }
+
+    // Otherwise leave the current state only if the readings have
+    // been below its hysteresis band for at least its dwell time
+    long now = System.nanoTime();
+    if(deEscalationSince == -1)
+     deEscalationSince = now;
+    if(now - deEscalationSince >= TimeUnit.MILLISECONDS.toNanos(dwellTimes[state - 1]))
+     {
+      opState = opStates[targetState];
+      deEscalationSince = -1;
+     }
+    return opState;
+   }
+ }
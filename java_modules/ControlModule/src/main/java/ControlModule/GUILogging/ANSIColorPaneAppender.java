@@ -0,0 +1,187 @@
+/*
+ * A coalescing appender for the GUI Log window, which queues the ANSI-formatted
+ * strings written by any thread and appends them to the window's document in
+ * a single batch per frame (at most GUI_LOG_FLUSH_RATE times per second) on the
+ * Event Dispatch Thread, trimming the document's head so that it never exceeds
+ * GUI_LOG_MAX_LINES lines (bounding the GUI memory during log storms)
+ */
+
+package ControlModule.GUILogging;
+
+/* ================================== IMPORTS ================================== */
+
+/* -------------------------- Java Standard Libraries -------------------------- */
+import javax.swing.*;
+import javax.swing.text.*;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class ANSIColorPaneAppender
+ {
+  /* ======================== APPENDER CONFIGURATION ======================== */
+
+  // The maximum number of lines kept in the GUI Log window
+  public static int GUI_LOG_MAX_LINES = 2000;
+
+  // The maximum number of batches appended to the GUI Log window per second
+  public static int GUI_LOG_FLUSH_RATE = 30;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The ANSI escape sequences prefix and color reset sequence
+  private static final String ANSI_COLOR_PREFIX = "\033[38;5;";
+  private static final String ANSI_COLOR_RESET = "\u001B[0m";
+
+  // A reference to the GUI Log window and its document
+  private final ANSIColorPane logWindow;
+  private final StyledDocument logDocument;
+
+  // The maximum number of lines kept in the GUI Log window
+  private final int maxLines;
+
+  // The strings queued for being appended to the GUI Log window and their number
+  // (where, as the document is trimmed anyway, queued strings exceeding twice the
+  // maximum number of lines are dropped, a log line being written in up to two strings)
+  private final ConcurrentLinkedQueue<String> pendingStrs;
+  private final AtomicInteger pendingStrsCount;
+
+  // The text attributes associated with each log color (EDT only)
+  private final HashMap<Color,AttributeSet> colorsAttribs;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * @param color A log color
+   * @return The (cached) text attributes associated with the color
+   */
+  private AttributeSet colorAttribs(Color color)
+   {
+    return colorsAttribs.computeIfAbsent(color,newColor -> StyleContext.getDefaultStyleContext()
+                                         .addAttribute(SimpleAttributeSet.EMPTY,StyleConstants.Foreground,newColor));
+   }
+
+
+  /**
+   * Appends an ANSI-formatted colored string to the end of the GUI Log window's document
+   * @param ANSIString The ANSI-formatted colored string to be appended
+   * @throws BadLocationException Failed to insert the string in the document
+   */
+  private void appendANSIStr(String ANSIString) throws BadLocationException
+   {
+    // Only append non-null strings
+    if(ANSIString.isEmpty())
+     return;
+
+    // If there is no ANSI escape sequence in
+    // the passed string, just append it in black
+    if(!ANSIString.startsWith(ANSI_COLOR_PREFIX))
+     {
+      logDocument.insertString(logDocument.getLength(),ANSIString,colorAttribs(Color.BLACK));
+      return;
+     }
+
+    // Retrieve the ANSI color identifier, terminated by the 'm' character
+    int mIndex = ANSIString.indexOf('m',ANSI_COLOR_PREFIX.length());
+    if(mIndex == -1)
+     return;
+    Color ANSIColor = logWindow.ANSIColorToColor(ANSIString.substring(ANSI_COLOR_PREFIX.length(),mIndex));
+
+    // Append the string up to the final color reset sequence, if any
+    int endIndex = ANSIString.indexOf(ANSI_COLOR_RESET,mIndex + 1);
+    if(endIndex == -1)
+     endIndex = ANSIString.length();
+    logDocument.insertString(logDocument.getLength(),ANSIString.substring(mIndex + 1,endIndex),colorAttribs(ANSIColor));
+
+    // Append what follows the color reset sequence, if
+    // anything (e.g. the line separator written by println())
+    endIndex += ANSI_COLOR_RESET.length();
+    if(endIndex < ANSIString.length())
+     logDocument.insertString(logDocument.getLength(),ANSIString.substring(endIndex),colorAttribs(Color.BLACK));
+   }
+
+
+  /**
+   * Removes the document's head lines exceeding the maximum number of lines
+   * @throws BadLocationException Failed to remove the lines from the document
+   */
+  private void trimHead() throws BadLocationException
+   {
+    Element rootElem = logDocument.getDefaultRootElement();
+    int exceedingLines = rootElem.getElementCount() - maxLines;
+    if(exceedingLines > 0)
+     logDocument.remove(0,rootElem.getElement(exceedingLines - 1).getEndOffset());
+   }
+
+
+  /**
+   * Appends all queued strings to the GUI Log window in a single batch,
+   * trimming its head and scrolling it to its end (EDT only)
+   */
+  private void flush()
+   {
+    if(pendingStrsCount.get() == 0)
+     return;
+
+    // Drain the queued strings
+    ArrayList<String> batch = new ArrayList<>(pendingStrsCount.get());
+    String pendingStr;
+    while((pendingStr = pendingStrs.poll()) != null)
+     batch.add(pendingStr);
+    pendingStrsCount.addAndGet(-batch.size());
+
+    try
+     {
+      for(String ANSIString : batch)
+       appendANSIStr(ANSIString);
+      trimHead();
+     }
+    catch(BadLocationException badLocExcp)
+     { /* Cannot occur, as strings are only inserted at the document's end */ }
+
+    // Scroll the GUI Log window to its end
+    logWindow.setCaretPosition(logDocument.getLength());
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * ANSIColorPaneAppender constructor, starting the
+   * timer appending the queued strings to the GUI Log window
+   * @param logWindow A reference to the GUI Log window
+   */
+  public ANSIColorPaneAppender(ANSIColorPane logWindow)
+   {
+    this.logWindow = logWindow;
+    logDocument = logWindow.getStyledDocument();
+    maxLines = Math.max(GUI_LOG_MAX_LINES,1);
+    pendingStrs = new ConcurrentLinkedQueue<>();
+    pendingStrsCount = new AtomicInteger();
+    colorsAttribs = new HashMap<>();
+
+    // Append the queued strings once per frame on the EDT
+    Timer flushTimer = new Timer(1000 / Math.max(GUI_LOG_FLUSH_RATE,1),actionEvent -> flush());
+    flushTimer.setCoalesce(true);
+    flushTimer.start();
+   }
+
+
+  /**
+   * Queues an ANSI-formatted colored string for being appended to the GUI Log window
+   * @param ANSIString The ANSI-formatted colored string to be appended
+   */
+  public void append(String ANSIString)
+   {
+    pendingStrs.add(ANSIString);
+
+    // Drop the oldest queued strings exceeding the limit
+    if(pendingStrsCount.incrementAndGet() > 2 * maxLines && pendingStrs.poll() != null)
+     pendingStrsCount.decrementAndGet();
+   }
+ }
@@ -5,7 +5,6 @@ package ControlModule.GUILogging;
 /* ================================== IMPORTS ================================== */
 
 /* --------------------- Java Standard Libraries Resources --------------------- */
-import javax.swing.*;
 import java.io.OutputStream;
 
 
@@ -14,17 +13,17 @@ public class ANSIColorPaneOutputStream extends OutputStream
  {
   /* ============================ PRIVATE ATTRIBUTES ============================ */
 
-  // A reference to the GUI Log window
-  private final ANSIColorPane logWindow;
+  // The coalescing appender of the GUI Log window
+  private final ANSIColorPaneAppender logAppender;
 
 
   /* ============================= PUBLIC METHODS ============================= */
 
   /**
-   * Constructor, initializing the output stream and the 'logWindow' attribute
+   * Constructor, initializing the output stream and the GUI Log window's appender
    */
   public ANSIColorPaneOutputStream(ANSIColorPane logWindow)
-   { this.logWindow = logWindow; }
+   { logAppender = new ANSIColorPaneAppender(logWindow); }
 
 
   /**
@@ -37,21 +36,9 @@ public class ANSIColorPaneOutputStream extends OutputStream
   @Override
   public void write(byte[] buffer,int offset,int length)
    {
-    // Convert the array of bytes to be written in the GUI window to a string
-    final String strToWrite = new String(buffer,offset,length);
-
-    // Set the operations to be performed by the GUI as soon as it is ready
-    SwingUtilities.invokeLater(() ->
-       {
-        // Enable the GUI Log window editing
-        logWindow.setEditable(true);
-
-        // Write the String to the GUI Log window
-        logWindow.logANSIStr(strToWrite);
-
-        // Disable the GUI Log window editing
-        logWindow.setEditable(false);
-       });
+    // Convert the array of bytes to be written in the GUI window to a
+    // string and queue it for being appended in the appender's next batch
+    logAppender.append(new String(buffer,offset,length));
    }
 
 
@@ -0,0 +1,414 @@
+/* An actuator widget in the Control Module's GUI, rendering an ActuatorWidgetViewModel */
+
+package ControlModule.GUIWidgets;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import devices.actuator.BaseActuator.LightState;
+import static ControlModule.OpState.*;
+import static ControlModule.GUIWidgets.OpStateColors.*;
+import static devices.actuator.BaseActuator.LightState.*;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class ActuatorWidgetView extends WidgetView<ActuatorWidgetViewModel>
+ {
+  /* =========================== WIDGET PARAMETERS =========================== */
+
+  // The base fan icon frame period in milliseconds, from which the
+  // fan relative speed is subtracted to obtain the actual frame period
+  private static final int fanIconSpinBasePeriod = 130;
+
+  // The light icon blinking half-periods in milliseconds
+  private static final int lightBlinkALERTPeriod = 1000;
+  private static final int lightBlinkEMERGENCYPeriod = 300;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  /* ----------------------- Rendered State (EDT only) ----------------------- */
+
+  // Whether the view model's state has been rendered since the view was bound
+  private boolean rendered;
+
+  private boolean renderedConnState;
+  private int renderedFanRelSpeed;
+  private LightState renderedLightState;
+
+  /* ---------------------- Animations State (EDT only) ---------------------- */
+
+  // The time of the last animation frame
+  private long lastAnimateTime;
+
+  // The fan icon frame period (0 = not spinning), the current fan icon index
+  // in the Control Module's "actuatorFanIcons" array and the fraction of
+  // the fan icon frame period elapsed since the icon was last advanced
+  private int fanSpinPeriod;
+  private int fanIconIndex;
+  private double fanSpinPhase;
+
+  // The light icon blinking half-period (0 = not blinking), the time
+  // blinking started, the light "ON" image to be blinked depending on
+  // the light state ('ALERT' | 'EMERGENCY') and whether it is displayed
+  private int lightBlinkPeriod;
+  private long lightBlinkStartTime;
+  private ImageIcon lightBlinkImgON;
+  private boolean lightBlinkOn;
+
+  /* ----------------------- Actuator Widget Components ----------------------- */
+
+  private final JLabel  titleLabel;                // Actuator name
+  private final JLabel  connStateLEDIcon;          // Connection state LED
+  private final JLabel  fanRelSpeedLabel;          // Fan relative speed value
+  private final JLabel  lightStateLabel;           // Light state value
+  private final JLabel  fanIcon;                   // Fan icon
+  private final JLabel  lightIcon;                 // Light icon
+  private final JSlider fanRelSpeedSlider;         // Fan relative speed slider
+  private final JButton lightStateButtonOFF;       // Light "OFF" button
+  private final JButton lightStateButtonWARNING;   // Light "ON"/"WARN" button
+  private final JButton lightStateButtonALERT;     // Light "ALERT" button
+  private final JButton lightStateButtonEMERGENCY; // Light "EMERGENCY" button
+
+  // The default color of the quantities values
+  private final Color defaultValueColor;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Creates a light state button, sending its light state to the
+   * actuator bound to the widget via the light state sender when released
+   */
+  private JButton newLightStateButton(String text, Color color, LightState lightState,
+                                      BiConsumer<Integer,LightState> lightStateSender)
+   {
+    JButton lightStateButton = new JButton(text);
+    lightStateButton.setForeground(color);
+    lightStateButton.addMouseListener(new MouseAdapter()
+     {
+      @Override
+      public void mouseReleased(MouseEvent e)
+       {
+        if(viewModel != null)
+         lightStateSender.accept(index,lightState);
+       }
+     });
+    return lightStateButton;
+   }
+
+
+  /**
+   * Renders the actuator's connection state, enabling or disabling
+   * all the actuator widget's components accordingly
+   */
+  private void renderConnState(boolean connState)
+   {
+    connStateLEDIcon.setIcon(connState ? GUIIcons.connStateLEDONImg : GUIIcons.connStateLEDOFFImg);
+    fanRelSpeedLabel.setEnabled(connState);
+    lightStateLabel.setEnabled(connState);
+    fanIcon.setEnabled(connState);
+    lightIcon.setEnabled(connState);
+    fanRelSpeedSlider.setEnabled(connState);
+    lightStateButtonOFF.setEnabled(connState);
+    lightStateButtonWARNING.setEnabled(connState);
+    lightStateButtonALERT.setEnabled(connState);
+    lightStateButtonEMERGENCY.setEnabled(connState);
+   }
+
+
+  /**
+   * Renders the actuator's fan relative speed value, also setting the fan
+   * relative speed slider to match it (or resetting it if unknown, so that
+   * a recycled view does not show the previous actuator's fan speed)
+   */
+  private void renderFanRelSpeed(int fanRelSpeed)
+   {
+    if(fanRelSpeed == -1)
+     {
+      fanRelSpeedLabel.setText("--- %");
+      fanRelSpeedLabel.setForeground(defaultValueColor);
+      fanRelSpeedSlider.setValue(0);
+      return;
+     }
+    fanRelSpeedLabel.setText(fanRelSpeed + " %");
+    fanRelSpeedLabel.setForeground(fanRelSpeedToOpStateColor(fanRelSpeed));
+    fanRelSpeedSlider.setValue(fanRelSpeed);
+   }
+
+
+  /**
+   * Renders the actuator's light state value, setting
+   * its color to match its "operating state"
+   */
+  private void renderLightState(LightState lightState)
+   {
+    switch(lightState)
+     {
+      case LIGHT_OFF:
+       lightStateLabel.setText("OFF");
+       lightStateLabel.setForeground(opStateColor(NOMINAL));
+       break;
+
+      case LIGHT_ON:
+       lightStateLabel.setText("WARN");
+       lightStateLabel.setForeground(opStateColor(WARNING));
+       break;
+
+      case LIGHT_BLINK_ALERT:
+       lightStateLabel.setText("ALERT");
+       lightStateLabel.setForeground(opStateColor(ALERT));
+       break;
+
+      case LIGHT_BLINK_EMERGENCY:
+       lightStateLabel.setText("EMER.");
+       lightStateLabel.setForeground(opStateColor(EMERGENCY));
+       break;
+
+      default:
+       lightStateLabel.setText("-------");
+       lightStateLabel.setForeground(defaultValueColor);
+     }
+   }
+
+
+  /**
+   * Adjusts the fan spinning animation to a frame rate directly proportional
+   * to the fan relative speed, which is stopped if the actuator is offline
+   */
+  private void animateFanIcon(boolean connState, int fanRelSpeed)
+   {
+    // If the fan has stopped (or its speed is unknown), restore its base, static icon
+    if(fanRelSpeed <= 0)
+     {
+      fanSpinPeriod = 0;
+      fanIconIndex = 0;
+      fanIcon.setIcon(GUIIcons.actuatorFanIcons[0]);
+     }
+
+    // Otherwise spin the fan from its current icon if the
+    // actuator is online, or freeze it if it is offline
+    else
+     {
+      fanSpinPeriod = connState ? fanIconSpinBasePeriod - fanRelSpeed : 0;
+      fanIcon.setIcon(GUIIcons.actuatorFanIcons[fanIconIndex]);
+     }
+   }
+
+
+  /**
+   * Adjusts the light icon animation depending on the light
+   * state, where blinking is stopped if the actuator is offline
+   */
+  private void animateLightIcon(boolean connState, LightState lightState)
+   {
+    lightBlinkPeriod = 0;
+
+    switch(lightState)
+     {
+      case LIGHT_ON:
+       lightIcon.setIcon(GUIIcons.actuatorLightWARNINGImg);
+       break;
+
+      case LIGHT_BLINK_ALERT:
+      case LIGHT_BLINK_EMERGENCY:
+       // Display the light "ON" image and, if the actuator
+       // is online, start blinking from its first half-period
+       boolean alert = lightState == LIGHT_BLINK_ALERT;
+       lightBlinkImgON = alert ? GUIIcons.actuatorLightALERTImg : GUIIcons.actuatorLightEMERGENCYImg;
+       lightIcon.setIcon(lightBlinkImgON);
+       lightBlinkOn = true;
+       if(connState)
+        {
+         lightBlinkPeriod = alert ? lightBlinkALERTPeriod : lightBlinkEMERGENCYPeriod;
+         lightBlinkStartTime = lastAnimateTime;
+        }
+       break;
+
+      default:
+       lightIcon.setIcon(GUIIcons.actuatorLightOFFImg);
+     }
+   }
+
+
+  /* ============================ PROTECTED METHODS ============================ */
+
+  @Override
+  protected void reset()
+   {
+    rendered = false;
+    fanSpinPhase = 0;
+   }
+
+
+  /**
+   * Renders the actuator's state changed since it was last rendered (EDT only)
+   */
+  @Override
+  protected void render()
+   {
+    boolean connState = viewModel.getConnState();
+    int fanRelSpeed = viewModel.getFanRelSpeed();
+    LightState lightState = viewModel.getLightState();
+
+    boolean connStateChanged = !rendered || connState != renderedConnState;
+    boolean fanRelSpeedChanged = !rendered || fanRelSpeed != renderedFanRelSpeed;
+    boolean lightStateChanged = !rendered || lightState != renderedLightState;
+
+    // Actuator name
+    if(!rendered)
+     titleLabel.setText("Actuator" + viewModel.getID());
+
+    if(connStateChanged)
+     renderConnState(connState);
+    if(fanRelSpeedChanged)
+     renderFanRelSpeed(fanRelSpeed);
+    if(lightStateChanged)
+     renderLightState(lightState);
+
+    // Animations are adjusted on value changes and stopped or resumed on connection state
+    // changes, while their frames are advanced by the renderer's animation clock
+    if(fanRelSpeedChanged || connStateChanged)
+     animateFanIcon(connState,fanRelSpeed);
+    if(lightStateChanged || connStateChanged)
+     animateLightIcon(connState,lightState);
+
+    renderedConnState = connState;
+    renderedFanRelSpeed = fanRelSpeed;
+    renderedLightState = lightState;
+    rendered = true;
+   }
+
+
+  /**
+   * Advances the fan icon by the number of frames elapsed since the last
+   * animation frame given the current fan relative speed, and toggles the
+   * light icon depending on the current blinking half-period (EDT only)
+   * @param now The current frame's time in milliseconds (monotonic)
+   */
+  @Override
+  protected void animate(long now)
+   {
+    long elapsed = now - lastAnimateTime;
+    lastAnimateTime = now;
+
+    // Fan spinning animation
+    if(fanSpinPeriod > 0)
+     {
+      fanSpinPhase += (double)elapsed / fanSpinPeriod;
+      int frames = (int)fanSpinPhase;
+      if(frames > 0)
+       {
+        fanSpinPhase -= frames;
+        fanIconIndex = (fanIconIndex + frames) % GUIIcons.actuatorFanIcons.length;
+        fanIcon.setIcon(GUIIcons.actuatorFanIcons[fanIconIndex]);
+       }
+     }
+
+    // Light blinking animation, where the light "ON" image is
+    // displayed in the even half-periods since blinking started
+    if(lightBlinkPeriod > 0)
+     {
+      boolean lightOn = ((now - lightBlinkStartTime) / lightBlinkPeriod) % 2 == 0;
+      if(lightOn != lightBlinkOn)
+       {
+        lightIcon.setIcon(lightOn ? lightBlinkImgON : GUIIcons.actuatorLightOFFImg);
+        lightBlinkOn = lightOn;
+       }
+     }
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * ActuatorWidgetView constructor, building the actuator widget's components
+   * @param fanRelSpeedSender The callback sending a fan relative speed set via the
+   *                          widget's slider to the actuator of the bound grid index
+   * @param lightStateSender  The callback sending a light state set via the widget's
+   *                          buttons to the actuator of the bound grid index
+   */
+  public ActuatorWidgetView(BiConsumer<Integer,Integer> fanRelSpeedSender,
+                            BiConsumer<Integer,LightState> lightStateSender)
+   {
+    setLayout(new BorderLayout());
+    setBorder(BorderFactory.createRaisedBevelBorder());
+
+    // Header, with the actuator's name and connection state LED
+    titleLabel = new JLabel();
+    titleLabel.setFont(titleLabel.getFont().deriveFont(16f));
+    connStateLEDIcon = new JLabel(GUIIcons.connStateLEDOFFImg);
+    JPanel header = new JPanel(new FlowLayout(FlowLayout.LEFT,5,2));
+    header.setBackground(new Color(200,200,200));
+    header.setBorder(BorderFactory.createRaisedBevelBorder());
+    header.add(titleLabel);
+    header.add(connStateLEDIcon);
+    add(header,BorderLayout.NORTH);
+
+    // Fan icon, relative speed value and slider
+    fanIcon = new JLabel(GUIIcons.actuatorFanIcons[0]);
+    fanRelSpeedLabel = new JLabel();
+    fanRelSpeedLabel.setFont(fanRelSpeedLabel.getFont().deriveFont(16f));
+    defaultValueColor = fanRelSpeedLabel.getForeground();
+    fanRelSpeedSlider = new JSlider(0,100,0);
+    fanRelSpeedSlider.addMouseListener(new MouseAdapter()
+     {
+      @Override
+      public void mouseReleased(MouseEvent e)
+       {
+        if(viewModel != null)
+         fanRelSpeedSender.accept(index,fanRelSpeedSlider.getValue());
+       }
+     });
+
+    JPanel fanRow = new JPanel(new BorderLayout(8,0));
+    fanRow.setBorder(BorderFactory.createEmptyBorder(8,5,2,5));
+    JPanel fanValue = new JPanel(new FlowLayout(FlowLayout.LEFT,8,0));
+    fanValue.add(fanIcon);
+    fanValue.add(fanRelSpeedLabel);
+    fanRow.add(fanValue,BorderLayout.WEST);
+    fanRow.add(fanRelSpeedSlider,BorderLayout.CENTER);
+
+    // Light icon, state value and buttons
+    lightIcon = new JLabel(GUIIcons.actuatorLightOFFImg);
+    lightStateLabel = new JLabel();
+    lightStateLabel.setFont(lightStateLabel.getFont().deriveFont(16f));
+    lightStateButtonOFF = newLightStateButton(" OFF ",opStateColor(NOMINAL),LIGHT_OFF,lightStateSender);
+    lightStateButtonWARNING = newLightStateButton(" ON ",opStateColor(WARNING),LIGHT_ON,lightStateSender);
+    lightStateButtonALERT = newLightStateButton("ALERT",opStateColor(ALERT),LIGHT_BLINK_ALERT,lightStateSender);
+    lightStateButtonEMERGENCY = newLightStateButton("EMER.",opStateColor(EMERGENCY),LIGHT_BLINK_EMERGENCY,lightStateSender);
+
+    JPanel lightRow = new JPanel(new BorderLayout(8,0));
+    lightRow.setBorder(BorderFactory.createEmptyBorder(2,5,7,5));
+    JPanel lightValue = new JPanel(new FlowLayout(FlowLayout.LEFT,8,0));
+    lightValue.add(lightIcon);
+    lightValue.add(lightStateLabel);
+    JPanel lightButtons = new JPanel(new GridLayout(2,2));
+    lightButtons.add(lightStateButtonOFF);
+    lightButtons.add(lightStateButtonALERT);
+    lightButtons.add(lightStateButtonWARNING);
+    lightButtons.add(lightStateButtonEMERGENCY);
+    lightRow.add(lightValue,BorderLayout.WEST);
+    lightRow.add(lightButtons,BorderLayout.EAST);
+
+    JPanel body = new JPanel(new GridLayout(2,1));
+    body.add(fanRow);
+    body.add(lightRow);
+    add(body,BorderLayout.CENTER);
+
+    rendered = false;
+    lastAnimateTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    fanSpinPeriod = 0;
+    fanIconIndex = 0;
+    fanSpinPhase = 0;
+    lightBlinkPeriod = 0;
+    lightBlinkOn = false;
+   }
+ }
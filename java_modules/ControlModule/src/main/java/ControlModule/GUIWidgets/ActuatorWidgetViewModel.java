@@ -0,0 +1,86 @@
+/* The view model of an actuator widget in the Control Module's GUI */
+
+package ControlModule.GUIWidgets;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import devices.actuator.BaseActuator.LightState;
+import static devices.actuator.BaseActuator.LightState.LIGHT_STATE_INVALID;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class ActuatorWidgetViewModel extends WidgetViewModel
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The actuator's unique ID in the SafeTunnels database
+  private final short ID;
+
+  // The actuator's connection state
+  private volatile boolean connState;
+
+  // The actuator's fan relative speed (-1 = none) and light state
+  private volatile int fanRelSpeed;
+  private volatile LightState lightState;
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  short getID()
+   { return ID; }
+
+  boolean getConnState()
+   { return connState; }
+
+  int getFanRelSpeed()
+   { return fanRelSpeed; }
+
+  LightState getLightState()
+   { return lightState; }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * ActuatorWidgetViewModel constructor, initializing its state to an offline actuator
+   * @param ID The actuator's unique ID in the SafeTunnels database
+   */
+  public ActuatorWidgetViewModel(short ID)
+   {
+    this.ID = ID;
+    connState = false;
+    fanRelSpeed = -1;
+    lightState = LIGHT_STATE_INVALID;
+   }
+
+
+  /**
+   * @param connState The actuator's new connection state
+   */
+  public void setConnState(boolean connState)
+   {
+    this.connState = connState;
+    markDirty();
+   }
+
+
+  /**
+   * @param fanRelSpeed The actuator's new fan relative speed
+   */
+  public void setFanRelSpeed(int fanRelSpeed)
+   {
+    this.fanRelSpeed = fanRelSpeed;
+    markDirty();
+   }
+
+
+  /**
+   * @param lightState The actuator's new light state
+   */
+  public void setLightState(LightState lightState)
+   {
+    this.lightState = lightState;
+    markDirty();
+   }
+ }
@@ -0,0 +1,15 @@
+/* A GUI element rendered on each frame of the GUIFrameRenderer */
+
+package ControlModule.GUIWidgets;
+
+
+/* ============================ INTERFACE DEFINITION ============================ */
+public interface FrameRenderable
+ {
+  /**
+   * Renders the element's state changed since the last frame
+   * and advances its animations, if any (EDT only)
+   * @param now The current frame's time in milliseconds (monotonic)
+   */
+  void renderFrame(long now);
+ }
@@ -0,0 +1,75 @@
+/*
+ * GUI Frame Renderer, a single Event Dispatch Thread timer rendering at a fixed
+ * frame rate the GUI elements whose view models have changed since the last frame,
+ * so that Swing components are only accessed from the EDT and any number of device
+ * updates received between two frames is coalesced into a single repaint per widget,
+ * which also serves as the shared animation clock advancing all widgets' animations
+ * (so that animating any number of widgets requires no additional threads)
+ */
+
+package ControlModule.GUIWidgets;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import javax.swing.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class GUIFrameRenderer
+ {
+  /* ======================== RENDERER CONFIGURATION ======================== */
+
+  // The number of frames rendered per second
+  public static int GUI_FRAME_RATE = 30;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The GUI elements rendered by the renderer
+  private final CopyOnWriteArrayList<FrameRenderable> renderables;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Renders the GUI elements' state changed since the last
+   * frame and advances their animations, if any (EDT only)
+   */
+  private void renderFrame()
+   {
+    long now = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    for(FrameRenderable renderable : renderables)
+     renderable.renderFrame(now);
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * GUIFrameRenderer constructor, starting its frame timer on the Event Dispatch Thread
+   */
+  public GUIFrameRenderer()
+   {
+    renderables = new CopyOnWriteArrayList<>();
+
+    // Render a frame at a fixed rate on the EDT, where frames that cannot be
+    // rendered in time are coalesced rather than queued up behind each other
+    Timer frameTimer = new Timer(1000 / Math.max(GUI_FRAME_RATE,1),actionEvent -> renderFrame());
+    frameTimer.setCoalesce(true);
+    frameTimer.start();
+   }
+
+
+  /**
+   * Registers a GUI element to be rendered by the renderer
+   * @param renderable The GUI element to be registered
+   * @return The registered GUI element
+   */
+  public <T extends FrameRenderable> T register(T renderable)
+   {
+    renderables.add(renderable);
+    return renderable;
+   }
+ }
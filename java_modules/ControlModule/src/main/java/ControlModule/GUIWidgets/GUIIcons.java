@@ -0,0 +1,149 @@
+/*
+ * The icons of the Control Module's GUI widgets, held apart from the GUI's
+ * main class so that they are loaded only when the GUI is actually started
+ * (and never in the Control Module's headless mode), where:
+ *   - The icons are read from the classpath (and so from the Control Module's
+ *     JAR), independently of the application's working directory
+ *   - The icons' images are decoded in parallel, and their loading can be
+ *     started ahead of their use via the preload() method, so that it
+ *     overlaps with the Control Module's other startup phases
+ */
+
+package ControlModule.GUIWidgets;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public abstract class GUIIcons
+ {
+  /* ============================ ICONS PARAMETERS ============================ */
+
+  // The icons' classpath directory
+  private static final String ICONS_PATH = "/icons/";
+
+  // The number of fan icons, each with an 18° degree offset
+  private static final int FAN_ICONS_NUM = 40;
+
+  /* ============================= PRELOADED ICONS ============================= */
+
+  // Connection LEDs icons
+  public static final ImageIcon connStateLEDONImg;
+  public static final ImageIcon connStateLEDOFFImg;
+
+  // Sensor Quantities Icons
+  public static final ImageIcon sensorC02Img;
+  public static final ImageIcon sensorTempImg;
+
+  // Actuator Light Icons
+  public static final ImageIcon actuatorLightOFFImg;
+  public static final ImageIcon actuatorLightWARNINGImg;
+  public static final ImageIcon actuatorLightALERTImg;
+  public static final ImageIcon actuatorLightEMERGENCYImg;
+
+  // Array of fan icons with an 18° degree offset
+  public static final ImageIcon[] actuatorFanIcons;
+
+
+  /* ============================== ICONS LOADER ============================== */
+
+  /**
+   * Loads an icon from the classpath
+   *
+   * NOTE: Implemented as a nested class rather than as a lambda, as the latter would
+   *       be a static method of the GUIIcons class whose invocation from the loading
+   *       threads would block until the class's static initializer (and so waiting
+   *       for the loading threads) has completed, deadlocking the initialization
+   */
+  private static final class IconLoader implements Supplier<ImageIcon>
+   {
+    // The icon's file name in the icons' classpath directory
+    private final String iconName;
+
+    private IconLoader(String iconName)
+     { this.iconName = iconName; }
+
+    /**
+     * @return The loaded icon, which is an empty icon
+     *         should the icon's file fail to be read
+     */
+    @Override
+    public ImageIcon get()
+     {
+      URL iconURL = GUIIcons.class.getResource(ICONS_PATH + iconName);
+      try
+       {
+        if(iconURL != null)
+         return new ImageIcon(ImageIO.read(iconURL));
+       }
+      catch(IOException ioExcp)
+       { /* Log the error below */ }
+
+      Log.err("Failed to load the \"" + iconName + "\" GUI icon");
+      return new ImageIcon();
+     }
+   }
+
+
+  /**
+   * Asynchronously loads an icon from the classpath
+   * @param iconName The icon's file name in the icons' classpath directory
+   * @return The future of the loaded icon
+   */
+  private static CompletableFuture<ImageIcon> loadIcon(String iconName)
+   { return CompletableFuture.supplyAsync(new IconLoader(iconName)); }
+
+
+  /* ============================= STATIC INITIALIZER ============================= */
+
+  // Load all icons in parallel, waiting for their loading to complete
+  static
+   {
+    CompletableFuture<ImageIcon> connStateLEDON = loadIcon("ConnState_ONLINE_10.png");
+    CompletableFuture<ImageIcon> connStateLEDOFF = loadIcon("ConnState_OFFLINE_10.png");
+    CompletableFuture<ImageIcon> sensorC02 = loadIcon("C02_Icon_30.png");
+    CompletableFuture<ImageIcon> sensorTemp = loadIcon("Temp_Icon_30.png");
+    CompletableFuture<ImageIcon> actuatorLightOFF = loadIcon("LightBulb_OFF_Icon_30.png");
+    CompletableFuture<ImageIcon> actuatorLightWARNING = loadIcon("LightBulb_WARNING_Icon_30.png");
+    CompletableFuture<ImageIcon> actuatorLightALERT = loadIcon("LightBulb_ALERT_Icon_30.png");
+    CompletableFuture<ImageIcon> actuatorLightEMERGENCY = loadIcon("LightBulb_EMERGENCY_Icon_30.png");
+
+    @SuppressWarnings("unchecked")
+    CompletableFuture<ImageIcon>[] actuatorFans = IntStream.range(0,FAN_ICONS_NUM)
+      .mapToObj(i -> loadIcon("fanIcons/Fan_Icon_30_" + i + ".png")).toArray(CompletableFuture[]::new);
+
+    connStateLEDONImg = connStateLEDON.join();
+    connStateLEDOFFImg = connStateLEDOFF.join();
+    sensorC02Img = sensorC02.join();
+    sensorTempImg = sensorTemp.join();
+    actuatorLightOFFImg = actuatorLightOFF.join();
+    actuatorLightWARNINGImg = actuatorLightWARNING.join();
+    actuatorLightALERTImg = actuatorLightALERT.join();
+    actuatorLightEMERGENCYImg = actuatorLightEMERGENCY.join();
+    actuatorFanIcons = new ImageIcon[FAN_ICONS_NUM];
+    for(int i = 0; i < FAN_ICONS_NUM; i++)
+     actuatorFanIcons[i] = actuatorFans[i].join();
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * Loads the GUI icons, if not already loaded (this method is a no-op
+   * whose invocation triggers the icons' loading on the calling thread)
+   */
+  public static void preload()
+   { }
+ }
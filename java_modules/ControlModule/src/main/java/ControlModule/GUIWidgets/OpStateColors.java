@@ -0,0 +1,66 @@
+/*
+ * The colors of the operating states in the Control Module's GUI widgets, held
+ * apart from the OpState enum so that AWT is loaded only when the GUI is actually
+ * started (and never in the Control Module's headless mode, whose Control Engine
+ * uses the operating states)
+ */
+
+package ControlModule.GUIWidgets;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.awt.*;
+import java.util.EnumMap;
+import java.util.Map;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import ControlModule.OpState;
+import static ControlModule.OpState.*;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public abstract class OpStateColors
+ {
+  /* =================== Operating State <--> Colors Mappings =================== */
+
+  private static final EnumMap<OpState,Color> opStatesColorMap = new EnumMap<>(Map.ofEntries
+    (
+      Map.entry(NOMINAL,new Color(47,132,11)),
+      Map.entry(WARNING,new Color(214,171,0)),
+      Map.entry(ALERT,new Color(242,108,3)),
+      Map.entry(EMERGENCY,new Color(203,46,0))
+    ));
+
+  /* ============== Fan Relative Speed Operating States Thresholds ============== */
+
+  private static final int FANRELSPEED_THRESHOLD_WARNING = 30;
+  private static final int FANRELSPEED_THRESHOLD_ALERT = 55;
+  private static final int FANRELSPEED_THRESHOLD_EMERGENCY = 80;
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * @param opState An operating state
+   * @return The Color object associated with the operating state
+   */
+  public static Color opStateColor(OpState opState)
+   { return opStatesColorMap.get(opState); }
+
+  /**
+   * @param fanRelSpeed A fan relative speed value
+   * @return The operating state color associated with such fan relative speed
+   */
+  public static Color fanRelSpeedToOpStateColor(int fanRelSpeed)
+   {
+    if(fanRelSpeed < FANRELSPEED_THRESHOLD_WARNING)
+     return opStatesColorMap.get(NOMINAL);
+    if(fanRelSpeed < FANRELSPEED_THRESHOLD_ALERT)
+     return opStatesColorMap.get(WARNING);
+    if(fanRelSpeed < FANRELSPEED_THRESHOLD_EMERGENCY)
+     return opStatesColorMap.get(ALERT);
+    else
+     return opStatesColorMap.get(EMERGENCY);
+   }
+ }
@@ -0,0 +1,144 @@
+/* A sensor widget in the Control Module's GUI, rendering a SensorWidgetViewModel */
+
+package ControlModule.GUIWidgets;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import javax.swing.*;
+import java.awt.*;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import ControlModule.OpState;
+import static ControlModule.GUIWidgets.OpStateColors.opStateColor;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class SensorWidgetView extends WidgetView<SensorWidgetViewModel>
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  /* ----------------------- Rendered State (EDT only) ----------------------- */
+
+  // Whether the view model's state has been rendered since the view was bound
+  private boolean rendered;
+
+  private boolean renderedConnState;
+  private int renderedC02;
+  private OpState renderedC02OpState;
+  private int renderedTemp;
+  private OpState renderedTempOpState;
+
+  /* ------------------------ Sensor Widget Components ------------------------ */
+
+  private final JLabel titleLabel;     // Sensor name
+  private final JLabel connStateLED;   // Connection state LED
+  private final JLabel C02Label;       // C02 value
+  private final JLabel tempLabel;      // Temperature value
+  private final JLabel C02Icon;        // C02 icon
+  private final JLabel tempIcon;       // Temperature icon
+
+  // The default color of the quantities values
+  private final Color defaultValueColor;
+
+
+  /* ============================ PROTECTED METHODS ============================ */
+
+  @Override
+  protected void reset()
+   { rendered = false; }
+
+
+  /**
+   * Renders the sensor's state changed since it was last rendered (EDT only)
+   */
+  @Override
+  protected void render()
+   {
+    // Sensor name
+    if(!rendered)
+     titleLabel.setText("Sensor" + viewModel.getID());
+
+    // Connection state LED and widget components enabling
+    boolean connState = viewModel.getConnState();
+    if(!rendered || connState != renderedConnState)
+     {
+      connStateLED.setIcon(connState ? GUIIcons.connStateLEDONImg : GUIIcons.connStateLEDOFFImg);
+      C02Label.setEnabled(connState);
+      tempLabel.setEnabled(connState);
+      C02Icon.setEnabled(connState);
+      tempIcon.setEnabled(connState);
+      renderedConnState = connState;
+     }
+
+    // C02 value, colored as of its current operating state
+    int C02 = viewModel.getC02();
+    OpState C02OpState = viewModel.getC02OpState();
+    if(!rendered || C02 != renderedC02 || C02OpState != renderedC02OpState)
+     {
+      C02Label.setText(C02 == -1 ? "------- ppm" : C02 + " ppm");
+      C02Label.setForeground(C02 == -1 ? defaultValueColor : opStateColor(C02OpState));
+      renderedC02 = C02;
+      renderedC02OpState = C02OpState;
+     }
+
+    // Temperature value, colored as of its current operating state
+    int temp = viewModel.getTemp();
+    OpState tempOpState = viewModel.getTempOpState();
+    if(!rendered || temp != renderedTemp || tempOpState != renderedTempOpState)
+     {
+      tempLabel.setText(temp == -1 ? "---- °C" : temp + " °C");
+      tempLabel.setForeground(temp == -1 ? defaultValueColor : opStateColor(tempOpState));
+      renderedTemp = temp;
+      renderedTempOpState = tempOpState;
+     }
+
+    rendered = true;
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * SensorWidgetView constructor, building the sensor widget's components
+   */
+  public SensorWidgetView()
+   {
+    setLayout(new BorderLayout());
+    setBorder(BorderFactory.createRaisedBevelBorder());
+
+    // Header, with the sensor's name and connection state LED
+    titleLabel = new JLabel();
+    titleLabel.setFont(titleLabel.getFont().deriveFont(16f));
+    connStateLED = new JLabel(GUIIcons.connStateLEDOFFImg);
+    JPanel header = new JPanel(new FlowLayout(FlowLayout.LEFT,5,2));
+    header.setBackground(new Color(200,200,200));
+    header.setBorder(BorderFactory.createRaisedBevelBorder());
+    header.add(titleLabel);
+    header.add(connStateLED);
+    add(header,BorderLayout.NORTH);
+
+    // C02 and temperature icons and values
+    C02Icon = new JLabel(GUIIcons.sensorC02Img);
+    C02Label = new JLabel();
+    C02Label.setFont(C02Label.getFont().deriveFont(16f));
+    tempIcon = new JLabel(GUIIcons.sensorTempImg);
+    tempLabel = new JLabel();
+    tempLabel.setFont(tempLabel.getFont().deriveFont(16f));
+    defaultValueColor = C02Label.getForeground();
+
+    JPanel C02Row = new JPanel(new FlowLayout(FlowLayout.LEFT,8,2));
+    C02Row.add(C02Icon);
+    C02Row.add(C02Label);
+    JPanel tempRow = new JPanel(new FlowLayout(FlowLayout.LEFT,8,2));
+    tempRow.add(tempIcon);
+    tempRow.add(tempLabel);
+
+    JPanel body = new JPanel(new GridLayout(2,1));
+    body.add(C02Row);
+    body.add(tempRow);
+    add(body,BorderLayout.CENTER);
+
+    rendered = false;
+   }
+ }
@@ -0,0 +1,100 @@
+/* The view model of a sensor widget in the Control Module's GUI */
+
+package ControlModule.GUIWidgets;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import ControlModule.OpState;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class SensorWidgetViewModel extends WidgetViewModel
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The sensor's unique ID in the SafeTunnels database
+  private final short ID;
+
+  // The sensor's connection state
+  private volatile boolean connState;
+
+  // The sensor's C02 value (-1 = none) and its operating state
+  private volatile int C02;
+  private volatile OpState C02OpState;
+
+  // The sensor's temperature value (-1 = none) and its operating state
+  private volatile int temp;
+  private volatile OpState tempOpState;
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  short getID()
+   { return ID; }
+
+  boolean getConnState()
+   { return connState; }
+
+  int getC02()
+   { return C02; }
+
+  OpState getC02OpState()
+   { return C02OpState; }
+
+  int getTemp()
+   { return temp; }
+
+  OpState getTempOpState()
+   { return tempOpState; }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * SensorWidgetViewModel constructor, initializing its state to an offline sensor
+   * @param ID The sensor's unique ID in the SafeTunnels database
+   */
+  public SensorWidgetViewModel(short ID)
+   {
+    this.ID = ID;
+    connState = false;
+    C02 = -1;
+    temp = -1;
+    C02OpState = tempOpState = OpState.NOMINAL;
+   }
+
+
+  /**
+   * @param connState The sensor's new connection state
+   */
+  public void setConnState(boolean connState)
+   {
+    this.connState = connState;
+    markDirty();
+   }
+
+
+  /**
+   * @param C02        The sensor's new C02 value
+   * @param C02OpState The sensor's new C02 operating state
+   */
+  public void setC02(int C02, OpState C02OpState)
+   {
+    this.C02 = C02;
+    this.C02OpState = C02OpState;
+    markDirty();
+   }
+
+
+  /**
+   * @param temp        The sensor's new temperature value
+   * @param tempOpState The sensor's new temperature operating state
+   */
+  public void setTemp(int temp, OpState tempOpState)
+   {
+    this.temp = temp;
+    this.tempOpState = tempOpState;
+    markDirty();
+   }
+ }
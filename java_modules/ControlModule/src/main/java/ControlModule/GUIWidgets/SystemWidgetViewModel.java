@@ -0,0 +1,107 @@
+/* The view model of the system's operating state and average fan relative speed in the Control Module's GUI */
+
+package ControlModule.GUIWidgets;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import javax.swing.*;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import ControlModule.OpState;
+import static ControlModule.GUIWidgets.OpStateColors.fanRelSpeedToOpStateColor;
+import static ControlModule.GUIWidgets.OpStateColors.opStateColor;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class SystemWidgetViewModel extends WidgetViewModel implements FrameRenderable
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The system's operating state and average fan relative speed (-1 = none)
+  private volatile OpState systemOpState;
+  private volatile int avgFanRelSpeed;
+
+  // The rendered system's operating state and average fan relative speed (EDT only)
+  private OpState renderedSystemOpState;
+  private int renderedAvgFanRelSpeed;
+
+  // The system's operating state and average fan relative speed labels
+  private final JLabel systemOpStateLabel;
+  private final JLabel avgFanRelSpeedLabel;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Renders the system's state changed since it was last rendered (EDT only)
+   */
+  private void render()
+   {
+    // System operating state, colored as of itself
+    OpState systemOpState = this.systemOpState;
+    if(systemOpState != renderedSystemOpState)
+     {
+      systemOpStateLabel.setText(systemOpState.toString());
+      systemOpStateLabel.setForeground(opStateColor(systemOpState));
+      renderedSystemOpState = systemOpState;
+     }
+
+    // Average fan relative speed, colored as of its associated "operating state"
+    int avgFanRelSpeed = this.avgFanRelSpeed;
+    if(avgFanRelSpeed != renderedAvgFanRelSpeed)
+     {
+      avgFanRelSpeedLabel.setText(avgFanRelSpeed + " %");
+      avgFanRelSpeedLabel.setForeground(fanRelSpeedToOpStateColor(avgFanRelSpeed));
+      renderedAvgFanRelSpeed = avgFanRelSpeed;
+     }
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * SystemWidgetViewModel constructor, initializing its state to a NOMINAL system
+   * @param systemOpStateLabel  The system's operating state label
+   * @param avgFanRelSpeedLabel The system's average fan relative speed label
+   */
+  public SystemWidgetViewModel(JLabel systemOpStateLabel, JLabel avgFanRelSpeedLabel)
+   {
+    this.systemOpStateLabel = systemOpStateLabel;
+    this.avgFanRelSpeedLabel = avgFanRelSpeedLabel;
+    systemOpState = renderedSystemOpState = OpState.NOMINAL;
+    avgFanRelSpeed = renderedAvgFanRelSpeed = -1;
+   }
+
+
+  /**
+   * Renders the system's state if it has changed since the last frame (EDT only)
+   * @param now The current frame's time in milliseconds (monotonic)
+   */
+  @Override
+  public void renderFrame(long now)
+   {
+    if(clearDirty())
+     render();
+   }
+
+
+  /**
+   * @param systemOpState The system's new operating state
+   */
+  public void setSystemOpState(OpState systemOpState)
+   {
+    this.systemOpState = systemOpState;
+    markDirty();
+   }
+
+
+  /**
+   * @param avgFanRelSpeed The system's new average fan relative speed
+   */
+  public void setAvgFanRelSpeed(int avgFanRelSpeed)
+   {
+    this.avgFanRelSpeed = avgFanRelSpeed;
+    markDirty();
+   }
+ }
@@ -0,0 +1,264 @@
+/*
+ * Virtualized GUI Widget Grid, displaying within a scroll pane a widget for each of
+ * a list of view models (e.g. one per sensor or actuator in the device registry) in
+ * as many columns as fit its width, where only the widget views intersecting the
+ * visible viewport are created, bound to their view models, painted and rendered,
+ * while the views scrolled out of sight are recycled for the newly visible ones
+ * (so that the GUI's memory and paint time do not grow with the number of devices)
+ */
+
+package ControlModule.GUIWidgets;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import javax.swing.*;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class VirtualWidgetGrid extends JPanel implements Scrollable, FrameRenderable
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The view models displayed in the grid and the factory of their widget views
+  private List<? extends WidgetViewModel> viewModels;
+  private Supplier<? extends WidgetView<?>> viewFactory;
+
+  // The size of a grid cell, as of a widget view's preferred size
+  private int cellWidth;
+  private int cellHeight;
+
+  // The current number of grid columns
+  private int columns;
+
+  // The widget views bound to the visible view models, indexed by the
+  // latter's index in the grid, and the unbound (hidden) widget views
+  private final HashMap<Integer,WidgetView<?>> boundViews;
+  private final ArrayDeque<WidgetView<?>> freeViews;
+
+  // The listener updating the visible widgets as the enclosing viewport scrolls
+  private final ChangeListener viewportListener;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Binds a widget view to a view model of the grid
+   */
+  @SuppressWarnings("unchecked")
+  private static <VM extends WidgetViewModel> void bindView(WidgetView<VM> view, int index, WidgetViewModel viewModel)
+   { view.bind(index,(VM)viewModel); }
+
+
+  /**
+   * @return The number of grid columns fitting the grid's current width
+   */
+  private int fittingColumns()
+   { return Math.max(getWidth() / Math.max(cellWidth,1),1); }
+
+
+  /**
+   * Binds a widget view to each view model intersecting the visible viewport, recycling
+   * the views of the view models that are no longer visible, and lays them out
+   */
+  private void updateVisibleWidgets()
+   {
+    int numWidgets = viewModels.size();
+    Rectangle visibleRect = getVisibleRect();
+
+    // Determine the range of the view models intersecting the visible viewport
+    int first = 0;
+    int last = -1;
+    if(numWidgets > 0 && cellHeight > 0 && !visibleRect.isEmpty())
+     {
+      first = Math.min(visibleRect.y / cellHeight * columns,numWidgets);
+      last = Math.min(((visibleRect.y + visibleRect.height - 1) / cellHeight + 1) * columns,numWidgets) - 1;
+     }
+
+    // Recycle the views of the view models that are no longer visible
+    Iterator<Map.Entry<Integer,WidgetView<?>>> boundViewsIter = boundViews.entrySet().iterator();
+    while(boundViewsIter.hasNext())
+     {
+      Map.Entry<Integer,WidgetView<?>> boundView = boundViewsIter.next();
+      if(boundView.getKey() < first || boundView.getKey() > last)
+       {
+        boundView.getValue().setVisible(false);
+        freeViews.push(boundView.getValue());
+        boundViewsIter.remove();
+       }
+     }
+
+    // Bind a view to each newly visible view model and lay out all visible views
+    int viewWidth = getWidth() / columns;
+    for(int i = first; i <= last; i++)
+     {
+      WidgetView<?> view = boundViews.get(i);
+      if(view == null)
+       {
+        view = freeViews.poll();
+        if(view == null)
+         {
+          view = viewFactory.get();
+          add(view);
+         }
+        bindView(view,i,viewModels.get(i));
+        view.setVisible(true);
+        boundViews.put(i,view);
+       }
+      view.setBounds((i % columns) * viewWidth,(i / columns) * cellHeight,viewWidth,cellHeight);
+      view.validate();
+     }
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * VirtualWidgetGrid constructor, initializing an empty grid
+   */
+  public VirtualWidgetGrid()
+   {
+    super(null);
+    viewModels = List.of();
+    viewFactory = null;
+    cellWidth = cellHeight = 0;
+    columns = 1;
+    boundViews = new HashMap<>();
+    freeViews = new ArrayDeque<>();
+    viewportListener = changeEvent -> updateVisibleWidgets();
+   }
+
+
+  /**
+   * Sets the view models displayed in the grid (EDT only)
+   * @param viewModels  The view models to be displayed, in their display order
+   * @param viewFactory The factory of the view models' widget views
+   */
+  public <VM extends WidgetViewModel> void setWidgets(List<VM> viewModels, Supplier<? extends WidgetView<VM>> viewFactory)
+   {
+    // Discard the current widget views
+    removeAll();
+    boundViews.clear();
+    freeViews.clear();
+
+    this.viewModels = List.copyOf(viewModels);
+    this.viewFactory = viewFactory;
+
+    // Size the grid cells as of the preferred size of a widget view bound to
+    // the first view model (keeping the view for being bound to the first visible one)
+    WidgetView<VM> sampleView = viewFactory.get();
+    if(!viewModels.isEmpty())
+     sampleView.bind(0,viewModels.get(0));
+    Dimension cellSize = sampleView.getPreferredSize();
+    cellWidth = cellSize.width;
+    cellHeight = cellSize.height;
+    sampleView.setVisible(false);
+    add(sampleView);
+    freeViews.push(sampleView);
+
+    revalidate();
+    repaint();
+   }
+
+
+  /**
+   * Renders the visible widget views' view models changed since
+   * the last frame and advances their animations (EDT only)
+   * @param now The current frame's time in milliseconds (monotonic)
+   */
+  @Override
+  public void renderFrame(long now)
+   {
+    for(WidgetView<?> view : boundViews.values())
+     view.renderFrame(now);
+   }
+
+
+  /**
+   * Lays out the grid, re-computing its number of columns
+   * and the widget views bound to the visible view models
+   */
+  @Override
+  public void doLayout()
+   {
+    // If the number of columns fitting the grid's width has changed,
+    // re-validate the enclosing scroll pane for the grid's new height
+    int fittingColumns = fittingColumns();
+    if(fittingColumns != columns)
+     {
+      columns = fittingColumns;
+      for(WidgetView<?> view : boundViews.values())
+       {
+        view.setVisible(false);
+        freeViews.push(view);
+       }
+      boundViews.clear();
+      revalidate();
+     }
+    updateVisibleWidgets();
+   }
+
+
+  /**
+   * Registers the grid to update its visible widgets as its enclosing viewport scrolls
+   */
+  @Override
+  public void addNotify()
+   {
+    super.addNotify();
+    if(getParent() instanceof JViewport)
+     ((JViewport)getParent()).addChangeListener(viewportListener);
+   }
+
+
+  /**
+   * Unregisters the grid from its enclosing viewport's scroll events
+   */
+  @Override
+  public void removeNotify()
+   {
+    if(getParent() instanceof JViewport)
+     ((JViewport)getParent()).removeChangeListener(viewportListener);
+    super.removeNotify();
+   }
+
+
+  @Override
+  public Dimension getPreferredSize()
+   {
+    int rows = (viewModels.size() + columns - 1) / columns;
+    return new Dimension(cellWidth * columns,cellHeight * rows);
+   }
+
+
+  /* --------------------------- Scrollable Methods --------------------------- */
+
+  @Override
+  public Dimension getPreferredScrollableViewportSize()
+   { return getPreferredSize(); }
+
+  @Override
+  public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction)
+   { return Math.max(cellHeight / 4,1); }
+
+  @Override
+  public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction)
+   { return Math.max(visibleRect.height - cellHeight / 4,1); }
+
+  // The grid's width tracks its viewport's, with its number of columns adapting to it
+  @Override
+  public boolean getScrollableTracksViewportWidth()
+   { return true; }
+
+  @Override
+  public boolean getScrollableTracksViewportHeight()
+   { return false; }
+ }
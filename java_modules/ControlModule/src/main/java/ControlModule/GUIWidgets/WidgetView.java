@@ -0,0 +1,76 @@
+/*
+ * Base GUI Widget View, a recyclable Swing panel rendering the state of the
+ * view model it is currently bound to, where a VirtualWidgetGrid only creates
+ * as many views as fit its visible viewport and rebinds them while scrolling
+ */
+
+package ControlModule.GUIWidgets;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import javax.swing.*;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public abstract class WidgetView<VM extends WidgetViewModel> extends JPanel
+ {
+  /* =========================== PROTECTED ATTRIBUTES =========================== */
+
+  // The index in its grid and the view model the view is bound to, if any
+  protected int index;
+  protected VM viewModel;
+
+
+  /* ============================ PROTECTED METHODS ============================ */
+
+  /**
+   * Forgets the rendered state, so that the
+   * next render() renders the whole view model
+   */
+  protected abstract void reset();
+
+
+  /**
+   * Renders the view model's state changed since it was last rendered
+   */
+  protected abstract void render();
+
+
+  /**
+   * Advances the view's animations, if any
+   * @param now The current frame's time in milliseconds (monotonic)
+   */
+  protected void animate(long now)
+   { }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * Binds the view to a view model, rendering its whole state (EDT only)
+   * @param index     The view model's index in the grid
+   * @param viewModel The view model to be bound
+   */
+  final void bind(int index, VM viewModel)
+   {
+    this.index = index;
+    this.viewModel = viewModel;
+    viewModel.clearDirty();
+    reset();
+    render();
+   }
+
+
+  /**
+   * Renders the bound view model if it has changed since
+   * the last frame and advances its animations (EDT only)
+   * @param now The current frame's time in milliseconds (monotonic)
+   */
+  final void renderFrame(long now)
+   {
+    if(viewModel.clearDirty())
+     render();
+    animate(now);
+   }
+ }
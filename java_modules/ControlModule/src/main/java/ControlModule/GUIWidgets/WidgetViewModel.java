@@ -0,0 +1,45 @@
+/*
+ * Base GUI Widget View Model, holding the primitive state a GUI widget displays,
+ * which is updated by the devices' managers from any thread (e.g. the MQTT and
+ * CoAP callback threads) by only marking the view model as dirty, and rendered
+ * into Swing components by the GUIFrameRenderer on the Event Dispatch Thread
+ */
+
+package ControlModule.GUIWidgets;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public abstract class WidgetViewModel
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // Whether the view model's state has changed since it was last rendered
+  private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+
+  /* ============================ PROTECTED METHODS ============================ */
+
+  /**
+   * Marks the view model as to be rendered in the next frame, to be
+   * called after having updated its state (which is so published
+   * to the Event Dispatch Thread by the dirty flag's volatile write)
+   */
+  protected final void markDirty()
+   { dirty.set(true); }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * Clears the view model's dirty flag, to be called before reading
+   * its state for rendering so that no concurrent update is ever missed
+   * @return Whether the view model's state has changed since it was last rendered
+   */
+  final boolean clearDirty()
+   { return dirty.getAndSet(false); }
+ }
@@ -0,0 +1,193 @@
+/*
+ * Hashed Wheel Timer, tracking large numbers of approximate timeouts (e.g.
+ * the actuators' watchdog checks and pending CoAP pings) on a single thread
+ * with O(1) insertion and cancellation, where each timeout is hashed into
+ * the wheel's bucket of its expiration tick and expired timeouts' tasks are
+ * executed on an external executor so that the wheel's ticks are never delayed
+ */
+
+package ControlModule;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+public final class HashedWheelTimer
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The duration of a wheel tick in nanoseconds
+  private final long tickDuration;
+
+  // The wheel's buckets (whose number is a power of 2) and their index mask
+  private final ArrayList<ArrayList<Timeout>> wheel;
+  private final int wheelMask;
+
+  // The timeouts added since the last tick, which are hashed
+  // into the wheel's buckets by the worker thread only
+  private final ConcurrentLinkedQueue<Timeout> newTimeouts;
+
+  // The executor the expired timeouts' tasks are executed on
+  private final Executor taskExecutor;
+
+  // The wheel's start time in nanoseconds
+  private final long startTime;
+
+  // The number of ticks elapsed since the wheel's start (worker thread only)
+  private long tick;
+
+
+  /* ============================== PUBLIC CLASSES ============================== */
+
+  /**
+   * A timeout scheduled in the wheel, which can be cancelled
+   */
+  public static final class Timeout
+   {
+    // The task to be executed on the timeout's expiration
+    private final Runnable task;
+
+    // The timeout's expiration time relative to the wheel's start in nanoseconds
+    private final long deadline;
+
+    // The number of wheel rounds left before the timeout expires (worker thread only)
+    private long remainingRounds;
+
+    // Whether the timeout has been cancelled
+    private volatile boolean cancelled;
+
+    private Timeout(Runnable task, long deadline)
+     {
+      this.task = task;
+      this.deadline = deadline;
+     }
+
+    /**
+     * Cancels the timeout, so that its task is not executed
+     * (cancelled timeouts are discarded on their bucket's next tick)
+     */
+    public void cancel()
+     { cancelled = true; }
+   }
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Hashes the timeouts added since the last tick into their buckets
+   */
+  private void transferNewTimeouts()
+   {
+    Timeout timeout;
+    while((timeout = newTimeouts.poll()) != null)
+     {
+      if(timeout.cancelled)
+       continue;
+
+      // The tick on which the timeout expires (timeouts whose expiration
+      // tick has already passed are expired on the current tick)
+      long expirationTick = Math.max(timeout.deadline / tickDuration,tick);
+      timeout.remainingRounds = (expirationTick - tick) / wheel.size();
+      wheel.get((int)(expirationTick & wheelMask)).add(timeout);
+     }
+   }
+
+
+  /**
+   * Expires the timeouts of the current tick's bucket whose remaining
+   * rounds are over, discarding the cancelled timeouts
+   */
+  private void expireTimeouts()
+   {
+    ArrayList<Timeout> bucket = wheel.get((int)(tick & wheelMask));
+    int keptTimeouts = 0;
+
+    for(int i = 0; i < bucket.size(); i++)
+     {
+      Timeout timeout = bucket.get(i);
+      if(timeout.cancelled)
+       continue;
+      if(timeout.remainingRounds <= 0)
+       taskExecutor.execute(timeout.task);
+      else
+       {
+        timeout.remainingRounds--;
+        bucket.set(keptTimeouts++,timeout);
+       }
+     }
+
+    // Discard the expired and cancelled timeouts
+    bucket.subList(keptTimeouts,bucket.size()).clear();
+   }
+
+
+  /**
+   * Wheel worker thread main loop, advancing the wheel by one tick per tick duration
+   */
+  private void workerLoop()
+   {
+    while(true)
+     {
+      // Wait for the next tick
+      long sleepTime = startTime + (tick + 1) * tickDuration - System.nanoTime();
+      if(sleepTime > 0)
+       try
+        { TimeUnit.NANOSECONDS.sleep(sleepTime); }
+       catch(InterruptedException interruptedExcp)
+        { return; }
+
+      transferNewTimeouts();
+      expireTimeouts();
+      tick++;
+     }
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * HashedWheelTimer constructor, starting its worker thread
+   * @param name          The name of the wheel's worker thread
+   * @param tickDuration  The duration of a wheel tick in milliseconds (the timeouts' precision)
+   * @param ticksPerWheel The number of buckets in the wheel (rounded up to a power of 2)
+   * @param taskExecutor  The executor the expired timeouts' tasks are executed on
+   */
+  public HashedWheelTimer(String name, long tickDuration, int ticksPerWheel, Executor taskExecutor)
+   {
+    this.tickDuration = TimeUnit.MILLISECONDS.toNanos(tickDuration);
+    this.taskExecutor = taskExecutor;
+
+    int wheelSize = Integer.highestOneBit(Math.max(ticksPerWheel - 1,1)) << 1;
+    wheel = new ArrayList<>(wheelSize);
+    for(int i = 0; i < wheelSize; i++)
+     wheel.add(new ArrayList<>());
+    wheelMask = wheelSize - 1;
+    newTimeouts = new ConcurrentLinkedQueue<>();
+
+    startTime = System.nanoTime();
+    tick = 0;
+    Thread workerThread = new Thread(this::workerLoop,name);
+    workerThread.setDaemon(true);
+    workerThread.start();
+   }
+
+
+  /**
+   * Schedules a task to be executed once after a delay
+   * @param task  The task to be executed
+   * @param delay The delay in milliseconds
+   * @return The scheduled timeout, which can be used to cancel it
+   */
+  public Timeout newTimeout(Runnable task, long delay)
+   {
+    Timeout timeout = new Timeout(task,System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(delay));
+    newTimeouts.add(timeout);
+    return timeout;
+   }
+ }
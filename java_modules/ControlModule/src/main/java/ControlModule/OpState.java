@@ -11,7 +11,6 @@ package ControlModule;
 /* ================================== IMPORTS ================================== */
 
 /* --------------------- Java Standard Libraries Resources --------------------- */
-import java.awt.*;
 import java.util.EnumMap;
 import java.util.Map;
 
@@ -39,23 +38,9 @@ public enum OpState
   // One or more of the component's parameters are beyond their emergency thresholds
   EMERGENCY;
 
-  /* =================== Operating State <--> Colors Mappings =================== */
-
-  private static final EnumMap<OpState,Color> opStatesColorMap = new EnumMap<>(Map.ofEntries
-   (
-    Map.entry(NOMINAL,new Color(47,132,11)),
-    Map.entry(WARNING,new Color(214,171,0)),
-    Map.entry(ALERT,new Color(242,108,3)),
-    Map.entry(EMERGENCY,new Color(203,46,0))
-   ));
-
-
-  /* ============== Fan Relative Speed Operating States Thresholds ============== */
-
-  private static final int FANRELSPEED_THRESHOLD_WARNING = 30;
-  private static final int FANRELSPEED_THRESHOLD_ALERT = 55;
-  private static final int FANRELSPEED_THRESHOLD_EMERGENCY = 80;
-
+  // NOTE: The operating states' colors are held by the GUI-only
+  //       GUIWidgets.OpStateColors class, so that AWT is never
+  //       loaded in the Control Module's headless mode
 
   /* ===== Operating State <--> Automatic Mode Fan Relative Speeds Mappings ===== */
 
@@ -80,28 +65,6 @@ public enum OpState
 
   /* ========================== Enumeration Methods  ========================== */
 
-  /**
-   * @param fanRelSpeed A fan relative speed value
-   * @return The operating state color associated with such fan relative speed
-   */
-  public static Color fanRelSpeedToOpStateColor(int fanRelSpeed)
-   {
-    if(fanRelSpeed < FANRELSPEED_THRESHOLD_WARNING)
-     return opStatesColorMap.get(NOMINAL);
-    if(fanRelSpeed < FANRELSPEED_THRESHOLD_ALERT)
-     return opStatesColorMap.get(WARNING);
-    if(fanRelSpeed < FANRELSPEED_THRESHOLD_EMERGENCY)
-     return opStatesColorMap.get(ALERT);
-    else
-     return opStatesColorMap.get(EMERGENCY);
-   }
-
-  /**
-   * @return The Color object associated with the operating state
-   */
-  public Color getColor()
-   { return opStatesColorMap.get(this); }
-
   /**
    * @return The automatic mode fan relative speed
    *         associated with the operating state
@@ -0,0 +1,59 @@
+/*
+ * System Operating State Aggregator, keeping the number of sensors in each
+ * operating state so that, following any sensor's operating state transition,
+ * the system's operating state (= max among all its sensors) is derived in
+ * constant time as the most severe operating state with at least one sensor
+ */
+
+package ControlModule;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class OpStateAggregator
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The OpState values, indexed by their ordinal
+  private static final OpState[] opStates = OpState.values();
+
+  // The number of sensors in each operating state, indexed by its ordinal
+  private final int[] opStatesCounts;
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * OpStateAggregator constructor, initializing all sensors in the NOMINAL state
+   * @param numSensors The number of sensors whose operating states are aggregated
+   */
+  OpStateAggregator(int numSensors)
+   {
+    opStatesCounts = new int[opStates.length];
+    opStatesCounts[OpState.NOMINAL.ordinal()] = numSensors;
+   }
+
+
+  /**
+   * Accounts for a sensor's operating state transition
+   * @param oldSensorOpState The sensor's previous operating state
+   * @param newSensorOpState The sensor's new operating state
+   */
+  void transition(OpState oldSensorOpState, OpState newSensorOpState)
+   {
+    opStatesCounts[oldSensorOpState.ordinal()]--;
+    opStatesCounts[newSensorOpState.ordinal()]++;
+   }
+
+
+  /**
+   * @return The most severe operating state with at least one
+   *         sensor (or NOMINAL if there are no sensors)
+   */
+  OpState getMaxOpState()
+   {
+    for(int i = opStatesCounts.length - 1; i > 0; i--)
+     if(opStatesCounts[i] > 0)
+      return opStates[i];
+    return OpState.NOMINAL;
+   }
+ }
@@ -0,0 +1,163 @@
+/*
+ * Control Module Startup Orchestrator, running the Control Module's startup
+ * phases on a dedicated pool of threads so that the phases not depending on
+ * one another (e.g. the GUI icons' loading, the retrieval of the sensors and
+ * actuators from the database and the connection with the MQTT broker) overlap,
+ * and reporting the time at which each phase has started and completed, the
+ * overall startup time and the time of the first control decision (i.e. the
+ * first sensor reading evaluated by the Control Engine), all relative to the
+ * orchestrator's creation
+ */
+
+package ControlModule;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class StartupOrchestrator
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The time in nanoseconds the orchestrator was created at
+  private final long startTime;
+
+  // The pool of threads the startup phases are run on
+  private final ExecutorService startupExecutor;
+
+  // Whether the first control decision has been reported
+  private final AtomicBoolean firstControlDecisionReported;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * @return The milliseconds elapsed since the orchestrator's creation
+   */
+  private long elapsedMillis()
+   { return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime); }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * StartupOrchestrator constructor, starting the startup time measurement
+   */
+  StartupOrchestrator()
+   {
+    startTime = System.nanoTime();
+    firstControlDecisionReported = new AtomicBoolean(false);
+
+    // The startup threads are daemon so not to
+    // prevent the application from terminating
+    AtomicInteger startupThreadsNum = new AtomicInteger(0);
+    startupExecutor = Executors.newCachedThreadPool(startupTask ->
+     {
+      Thread startupThread = new Thread(startupTask,"ControlStartup-" + startupThreadsNum.getAndIncrement());
+      startupThread.setDaemon(true);
+      return startupThread;
+     });
+   }
+
+
+  /**
+   * Runs a startup phase on the calling thread, reporting its timing
+   * @param phaseName The startup phase's name
+   * @param phase     The startup phase
+   * @return The startup phase's result
+   */
+  <T> T runPhase(String phaseName, Supplier<T> phase)
+   {
+    long phaseStart = elapsedMillis();
+    T phaseResult = phase.get();
+    long phaseEnd = elapsedMillis();
+    Log.info("Startup phase '{}' completed in {}ms (+{}ms)",phaseName,phaseEnd - phaseStart,phaseEnd);
+    return phaseResult;
+   }
+
+
+  /**
+   * Runs a startup phase on the calling thread, reporting its timing
+   * @param phaseName The startup phase's name
+   * @param phase     The startup phase
+   */
+  void runPhase(String phaseName, Runnable phase)
+   { runPhase(phaseName,() -> { phase.run(); return null; }); }
+
+
+  /**
+   * Starts a startup phase on the startup threads, reporting its timing
+   * @param phaseName The startup phase's name
+   * @param phase     The startup phase
+   * @return The future of the startup phase's result
+   */
+  <T> CompletableFuture<T> startPhase(String phaseName, Supplier<T> phase)
+   { return CompletableFuture.supplyAsync(() -> runPhase(phaseName,phase),startupExecutor); }
+
+
+  /**
+   * Starts a startup phase on the startup threads, reporting its timing
+   * @param phaseName The startup phase's name
+   * @param phase     The startup phase
+   * @return The future of the startup phase's completion
+   */
+  CompletableFuture<Void> startPhase(String phaseName, Runnable phase)
+   { return CompletableFuture.runAsync(() -> runPhase(phaseName,phase),startupExecutor); }
+
+
+  /**
+   * Starts a startup phase on the startup threads once another has completed,
+   * passing it the latter's result and reporting its timing
+   * @param prevPhase The future of the startup phase the phase depends on
+   * @param phaseName The startup phase's name
+   * @param phase     The startup phase
+   * @return The future of the startup phase's completion
+   */
+  <T> CompletableFuture<Void> startPhaseAfter(CompletableFuture<T> prevPhase, String phaseName,
+                                              Consumer<? super T> phase)
+   { return prevPhase.thenAcceptAsync(prevResult -> runPhase(phaseName,() -> phase.accept(prevResult)),startupExecutor); }
+
+
+  /**
+   * Waits for the startup phases to complete, reporting the overall startup time,
+   * where a startup phase failing with an exception is a FATAL error
+   * @param phases The futures of the startup phases to wait for
+   */
+  void awaitPhases(CompletableFuture<?>... phases)
+   {
+    try
+     { CompletableFuture.allOf(phases).join(); }
+    catch(CompletionException startupExcp)
+     { Log.fatal("Control Module startup failed (reason = " + startupExcp.getCause() + ")"); }
+
+    // The startup threads are no longer needed
+    startupExecutor.shutdown();
+
+    Log.info("Control Module startup completed in {}ms",elapsedMillis());
+   }
+
+
+  /**
+   * Reports the first control decision (i.e. the first sensor reading evaluated
+   * by the Control Engine), if not already reported (thread-safe)
+   */
+  void reportFirstControlDecision()
+   {
+    if(!firstControlDecisionReported.get() && firstControlDecisionReported.compareAndSet(false,true))
+     Log.info("First control decision taken {}ms after the Control Module's startup",elapsedMillis());
+   }
+ }
@@ -0,0 +1,189 @@
+/*
+ * The load generator's end-to-end ingest latency probe, measuring the time
+ * from the publication of a sensor's sample on the MQTT broker to its
+ * availability in the SafeTunnels database, where:
+ *   - The probe periodically publishes a C02 sample of a dedicated simulated
+ *     sensor on its own session, with a value identifying the probe
+ *   - The pending probes' sensor C02 samples are polled from the database,
+ *     a probe's latency being measured as soon as its value is retrieved
+ *     (and so with the polling period as its resolution)
+ *   - A probe not retrieved within its timeout is considered lost
+ */
+
+package LoadGenerator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import static devices.sensor.BaseSensor.TOPIC_SENSORS_C02;
+import static LoadGenerator.LoadGenArgsParser.DB_TIMESTAMP_RESOLUTION;
+import static LoadGenerator.LoadGeneratorErrCode.ERR_LOADGEN_PROBE_LOST;
+import static LoadGenerator.LoadGeneratorErrCode.ERR_LOADGEN_PROBE_QUERY_FAILED;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class IngestLatencyProbe
+ {
+  /* ============================ PROBE PARAMETERS ============================ */
+
+  // The MAC of the latency probe's dedicated simulated sensor
+  static final String PROBE_MAC = "4c:47:ff:ff:00:00:00:00";
+
+  // The period in milliseconds the pending probes are polled from the database with
+  static final int PROBE_POLL_PERIOD = 10;
+
+  // The time in milliseconds after which a pending probe is considered lost
+  private static final int PROBE_TIMEOUT = 30 * 1000;
+
+  // The (C02) values identifying the probes, cycled through
+  private static final int PROBE_VALUE_BASE = 400;
+  private static final int PROBE_VALUES_NUM = 1000;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // A probe pending to be retrieved from the database
+  private static final class PendingProbe
+   {
+    final int value;          // The probe's C02 value
+    final long pubMillis;     // The probe's publication time (epoch)
+    final long pubNanos;      // The probe's publication time (monotonic)
+
+    PendingProbe(int value, long pubMillis, long pubNanos)
+     {
+      this.value = value;
+      this.pubMillis = pubMillis;
+      this.pubNanos = pubNanos;
+     }
+   }
+
+  // The probe's session and dedicated simulated sensor
+  private final SensorsSession probeSession;
+  private final SimulatedSensor probeSensor;
+
+  // The probe's sensor ID in the database
+  private final int probeSensorID;
+
+  // The load generator's MySQL connector and statistics
+  private final LoadGenMySQLConnector loadGenMySQLConnector;
+  private final LoadStats loadStats;
+
+  // The pending probes, in their publication order
+  // (guarded by their own monitor), and the next probe's index
+  private final ArrayDeque<PendingProbe> pendingProbes = new ArrayDeque<>();
+  private int nextProbe = 0;
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * IngestLatencyProbe constructor
+   * @param probeSession          The probe's (connected) session, hosting its dedicated sensor only
+   * @param probeSensorID         The probe's sensor ID in the database
+   * @param loadGenMySQLConnector The load generator's MySQL connector
+   * @param loadStats             The load generator's statistics
+   */
+  IngestLatencyProbe(SensorsSession probeSession, int probeSensorID,
+                     LoadGenMySQLConnector loadGenMySQLConnector, LoadStats loadStats)
+   {
+    this.probeSession = probeSession;
+    this.probeSensor = probeSession.sensors.get(0);
+    this.probeSensorID = probeSensorID;
+    this.loadGenMySQLConnector = loadGenMySQLConnector;
+    this.loadStats = loadStats;
+   }
+
+
+  /**
+   * @return The period in milliseconds the probes can be published with, i.e. the
+   *         configured probe period bounded by the database timestamp resolution (as
+   *         multiple probes published within the same second would collide)
+   */
+  static int getProbePeriod()
+   { return Math.max(LoadGenArgsParser.PROBE_PERIOD,DB_TIMESTAMP_RESOLUTION); }
+
+
+  /**
+   * Publishes a new probe, adding it to the pending probes
+   */
+  void probe()
+   {
+    int probeValue = PROBE_VALUE_BASE + nextProbe++ % PROBE_VALUES_NUM;
+    long pubMillis = System.currentTimeMillis();
+    long pubNanos = System.nanoTime();
+
+    if(probeSession.publish(TOPIC_SENSORS_C02,probeSensor.quantityMsg("C02",probeValue)))
+     synchronized(pendingProbes)
+      { pendingProbes.addLast(new PendingProbe(probeValue,pubMillis,pubNanos)); }
+   }
+
+
+  /**
+   * Polls the pending probes' sensor C02 samples from the database, measuring
+   * the latency of the retrieved probes and discarding the lost ones
+   */
+  void poll()
+   {
+    // The publication time of the oldest pending probe
+    long oldestPubMillis;
+
+    synchronized(pendingProbes)
+     {
+      if(pendingProbes.isEmpty())
+       return;
+      oldestPubMillis = pendingProbes.peekFirst().pubMillis;
+     }
+
+    // Retrieve the probe's sensor samples from the oldest pending probe's
+    // publication onwards (accounting for the timestamps' resolution)
+    TreeMap<Long,Integer> probeSamples;
+    try
+     { probeSamples = loadGenMySQLConnector.getSensorC02Since(probeSensorID,oldestPubMillis - DB_TIMESTAMP_RESOLUTION); }
+    catch(SQLException sqlExcp)
+     {
+      Log.code(ERR_LOADGEN_PROBE_QUERY_FAILED,"(reason = " + sqlExcp.getMessage() + ")");
+      return;
+     }
+
+    long nowNanos = System.nanoTime();
+
+    synchronized(pendingProbes)
+     {
+      Iterator<PendingProbe> pendingProbesIt = pendingProbes.iterator();
+      while(pendingProbesIt.hasNext())
+       {
+        PendingProbe pendingProbe = pendingProbesIt.next();
+        long pendingMillis = (nowNanos - pendingProbe.pubNanos) / 1000000;
+
+        // Look for the probe's sample among those timestamped from its publication onwards
+        boolean ingested = false;
+        for(Map.Entry<Long,Integer> probeSample : probeSamples.tailMap(pendingProbe.pubMillis - DB_TIMESTAMP_RESOLUTION).entrySet())
+         if(probeSample.getValue() == pendingProbe.value)
+          {
+           ingested = true;
+           break;
+          }
+
+        if(ingested)
+         {
+          loadStats.recordLatency(pendingMillis);
+          pendingProbesIt.remove();
+         }
+        else
+         if(pendingMillis > PROBE_TIMEOUT)
+          {
+           Log.code(ERR_LOADGEN_PROBE_LOST,"(value = " + pendingProbe.value + ")");
+           loadStats.lostProbes.increment();
+           pendingProbesIt.remove();
+          }
+       }
+     }
+   }
+ }
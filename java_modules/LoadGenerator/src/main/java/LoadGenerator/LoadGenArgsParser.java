@@ -0,0 +1,215 @@
+/* SafeTunnels Sensors MQTT Load Generator Command-Line Input Arguments Parser */
+
+package LoadGenerator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import static modules.InputArgsParser.InputArgsParser.parseIntArg;
+import static modules.InputArgsParser.InputArgsParser.parseLogLevelArg;
+import static modules.InputArgsParser.InputArgsParser.setTargetDB;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+abstract class LoadGenArgsParser
+ {
+  /* ============================ PACKAGE ATTRIBUTES ============================ */
+
+  // The MQTT broker's URI ("-broker" option)
+  static String BROKER_URI = "tcp://127.0.0.1:1883";
+
+  // The number of simulated sensors ("-sensors" option, bounded by
+  // the database's SMALLINT sensor IDs, see DBs/SafeTunnelsPhyDB.sql)
+  static int SENSORS_NUM = 100;
+  static final int SENSORS_NUM_MAX = 30000;
+
+  // The number of MQTT client sessions the simulated sensors are
+  // multiplexed on ("-sessions" option, 0 = one session per sensor)
+  static int SESSIONS_NUM = 0;
+
+  // The period in milliseconds each simulated sensor publishes each of its
+  // quantities with ("-pubPeriod" option, as of the Contiki-NG sensors'
+  // sampling period by default, see sensor.h)
+  static int PUB_PERIOD = 12 * 1000;
+
+  // The period in milliseconds at which the database timestamps the samples (a
+  // sensor quantity's samples published more frequently overwriting one another in its table)
+  static final int DB_TIMESTAMP_RESOLUTION = 1000;
+
+  // The mean period in milliseconds each simulated sensor publishes
+  // an error with ("-errPeriod" option, 0 = no errors)
+  static int ERR_PERIOD = 0;
+
+  // The mean period in milliseconds each session is crashed
+  // with ("-disconnPeriod" option, 0 = no disconnections)
+  static int DISCONN_PERIOD = 0;
+
+  // The period in milliseconds the end-to-end ingest latency is
+  // probed with ("-probePeriod" option, 0 = no latency probing)
+  static int PROBE_PERIOD = 2000;
+
+  // The duration in seconds of the load generator run
+  // ("-duration" option, 0 = until the program is terminated)
+  static int DURATION = 0;
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * Parses the load generator's command-line input arguments
+   * @param args The command line input arguments with
+   *             which the load generator was started
+   */
+  static void parseLoadGenInputArgs(String[] args)
+   {
+    // A boolean used to check whether the
+    // provided input arguments are valid
+    boolean validArgs = true;
+
+    // Cycle all provided arguments
+    for(int i = 0; i < args.length; i++)
+     {
+      // All options require a value
+      if(args.length <= i + 1)
+       {
+        Log.err("Missing \"" + args[i] + "\" value");
+        validArgs = false;
+        break;
+       }
+
+      /* ----------------- "-broker" option (MQTT broker's URI) ----------------- */
+      if(args[i].equalsIgnoreCase("-broker"))
+       {
+        BROKER_URI = args[i + 1];
+        Log.info("MQTT broker set to \"" + BROKER_URI + "\"");
+       }
+      else
+
+      /* ------------ "-db" option (override target database) ------------ */
+      if(args[i].equalsIgnoreCase("-db"))
+       setTargetDB(args[i + 1]);
+      else
+
+      /* -------------- "-log" option (override log level) -------------- */
+      if(args[i].equalsIgnoreCase("-log"))
+       {
+        if(!parseLogLevelArg(args[i + 1]))
+         {
+          validArgs = false;
+          break;
+         }
+       }
+
+      /* ---------------------- Integer-valued options ---------------------- */
+      else
+       {
+        int optionValue;
+
+        /* ------------ "-sensors" option (number of simulated sensors) ------------ */
+        if(args[i].equalsIgnoreCase("-sensors"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],1,SENSORS_NUM_MAX)) != -1)
+           SENSORS_NUM = optionValue;
+         }
+        else
+
+        /* -------- "-sessions" option (number of MQTT client sessions) -------- */
+        if(args[i].equalsIgnoreCase("-sessions"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],0,SENSORS_NUM_MAX)) != -1)
+           SESSIONS_NUM = optionValue;
+         }
+        else
+
+        /* ------- "-pubPeriod" option (sensors' quantities publication period) ------- */
+        if(args[i].equalsIgnoreCase("-pubPeriod"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],1,Integer.MAX_VALUE)) != -1)
+           PUB_PERIOD = optionValue;
+         }
+        else
+
+        /* ------------ "-errPeriod" option (sensors' mean error period) ------------ */
+        if(args[i].equalsIgnoreCase("-errPeriod"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],0,Integer.MAX_VALUE)) != -1)
+           ERR_PERIOD = optionValue;
+         }
+        else
+
+        /* -------- "-disconnPeriod" option (sessions' mean crash period) -------- */
+        if(args[i].equalsIgnoreCase("-disconnPeriod"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],0,Integer.MAX_VALUE)) != -1)
+           DISCONN_PERIOD = optionValue;
+         }
+        else
+
+        /* ------------ "-probePeriod" option (latency probing period) ------------ */
+        if(args[i].equalsIgnoreCase("-probePeriod"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],0,Integer.MAX_VALUE)) != -1)
+           PROBE_PERIOD = optionValue;
+         }
+        else
+
+        /* ------------- "-duration" option (load generator run duration) ------------- */
+        if(args[i].equalsIgnoreCase("-duration"))
+         {
+          if((optionValue = parseIntArg(args[i],args[i + 1],0,Integer.MAX_VALUE)) != -1)
+           DURATION = optionValue;
+         }
+
+        // Unsupported command line option
+        else
+         {
+          Log.err("Unsupported command line option \"" + args[i] +  "\"");
+          optionValue = -1;
+         }
+
+        // If the option's value is not valid
+        if(optionValue == -1)
+         {
+          validArgs = false;
+          break;
+         }
+       }
+
+      // Move one (and so two) values ahead the input argument index
+      i++;
+     }
+
+    /*/ ----------- Outside the input arguments parsing cycle ----------- /*/
+
+    // If invalid command-line inputs arguments were provided
+    if(!validArgs)
+     {
+      // Ensure the errors logged so far to be written before the helper message
+      Log.flush();
+
+      // Display a helper message outlining the
+      // program's allowed options and values
+      System.out.println("Usage: java LoadGenerator [-broker \"brokerURI\"] [-db \"targetDatabase\"] "
+                         + "[-sensors num] [-sessions num] [-pubPeriod ms] [-errPeriod ms] "
+                         + "[-disconnPeriod ms] [-probePeriod ms] [-duration s] "
+                         + "[-log \"logLevelOverride\"]  "
+                         + "logLevelOverride: {DEBUG, WARNING, INFO, ERROR, FATAL}");
+
+      // Terminate the program
+      System.exit(1);
+     }
+
+    // Sessions cannot outnumber the sensors
+    if(SESSIONS_NUM == 0 || SESSIONS_NUM > SENSORS_NUM)
+     SESSIONS_NUM = SENSORS_NUM;
+
+    // A sensor's samples of a quantity published more frequently than the database timestamps
+    // them collide on their table's primary key, so that later samples overwrite earlier ones
+    // within the same second (i.e. only the newest sample per second is kept)
+    if(PUB_PERIOD < DB_TIMESTAMP_RESOLUTION)
+     Log.warn("The publication period (" + PUB_PERIOD + "ms) is shorter than the database "
+              + "timestamp resolution (" + DB_TIMESTAMP_RESOLUTION + "ms), so that only the "
+              + "newest sample per second of each sensor quantity is kept");
+   }
+ }
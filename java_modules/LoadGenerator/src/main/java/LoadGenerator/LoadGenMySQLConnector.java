@@ -0,0 +1,63 @@
+/* SafeTunnels Sensors MQTT Load Generator MySQL Database Connector */
+
+package LoadGenerator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import modules.MySQLConnector.DevMACIDPair;
+import modules.MySQLConnector.MySQLConnector;
+import modules.MySQLConnector.SeriesTable;
+import static devices.BaseDevice.DevType.sensor;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class LoadGenMySQLConnector extends MySQLConnector
+ {
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The sensors' C02 time series table
+  private static final SeriesTable sensorsC02Series = new SeriesTable(ST_DB_SENSORS_TABLE_C02,
+                                                                      ST_DB_SENSORS_COLUMN_ID,ST_DB_SENSORS_COLUMN_C02);
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * LoadGenMySQLConnector constructor, attempting to
+   * establish a connection with the SafeTunnels MySQL database
+   */
+  LoadGenMySQLConnector()
+   { super(); }
+
+
+  /**
+   * Attempts to register the simulated sensors into the database, where the
+   * sensors already registered by previous load generator runs are kept as-is
+   * @param MACs The MACs of the simulated sensors
+   * @return The DevMACIDPair (<MAC,sensorID> pairs) list of
+   *         the simulated sensors, in the order of their MACs
+   * @throws SQLException Failed to register the sensors into the database
+   */
+  ArrayList<DevMACIDPair> registerSensors(List<String> MACs) throws SQLException
+   { return registerDevices(sensor,MACs); }
+
+
+  /**
+   * Attempts to retrieve the C02 samples of a sensor ingested into the database from
+   * a given time onwards (where the samples' timestamps have a one-second resolution)
+   * @param sensorID The sensor ID
+   * @param since    The time from which the samples are retrieved
+   *                 (inclusive, in milliseconds since the epoch)
+   * @return The sensor's C02 samples, indexed by their timestamp
+   * @throws SQLException Failed to retrieve the sensor's C02 samples
+   */
+  TreeMap<Long,Integer> getSensorC02Since(int sensorID, long since) throws SQLException
+   { return getDevStatesSince(sensorsC02Series,sensorID,since); }
+ }
@@ -0,0 +1,365 @@
+/*
+ * SafeTunnels Sensors MQTT Load Generator Main Class, simulating a fleet of
+ * SafeTunnels sensors publishing on a (local) MQTT broker to load the Cloud
+ * and Control Modules' sensors MQTT ingest path, where:
+ *   - The simulated sensors are registered into the SafeTunnels database (so that
+ *     their messages are ingested by a Cloud Module (re)started afterwards)
+ *   - The simulated sensors are multiplexed on a configurable number of MQTT client
+ *     sessions, publishing their C02 density and temperature samples at a
+ *     configurable period and possibly errors and disconnections
+ *   - The end-to-end ingest latency (from the MQTT broker to the database) is
+ *     measured via a dedicated latency probe sensor (see IngestLatencyProbe)
+ *   - The load generator statistics are periodically reported
+ */
+
+package LoadGenerator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/* ----------------------- Maven Dependencies Resources ----------------------- */
+
+// Paho MQTT Client
+import org.eclipse.paho.client.mqttv3.MqttException;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import modules.MySQLConnector.DevMACIDPair;
+import static devices.sensor.BaseSensor.TOPIC_SENSORS_C02;
+import static devices.sensor.BaseSensor.TOPIC_SENSORS_TEMP;
+import static devices.sensor.BaseSensor.TOPIC_SENSORS_ERRORS;
+import static LoadGenerator.LoadGenArgsParser.*;
+import static LoadGenerator.LoadGeneratorErrCode.ERR_LOADGEN_REGISTER_SENSORS_FAILED;
+import static LoadGenerator.LoadGeneratorErrCode.ERR_LOADGEN_SESSION_INIT_FAILED;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class LoadGenerator
+ {
+  /* ========================= LOAD GENERATOR PARAMETERS ========================= */
+
+  // The period in milliseconds the load generator statistics are reported with
+  private static final int REPORT_PERIOD = 10 * 1000;
+
+  // The delay in milliseconds after which a crashed session is reconnected
+  private static final int SESSION_RECONNECT_DELAY = 5 * 1000;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The load generator's MySQL connector
+  private final LoadGenMySQLConnector loadGenMySQLConnector;
+
+  // The load generator's statistics
+  private final LoadStats loadStats = new LoadStats();
+
+  // The simulated sensors' sessions
+  private final ArrayList<SensorsSession> sessions = new ArrayList<>();
+
+  // The latency probe (null if latency probing is disabled)
+  private final IngestLatencyProbe latencyProbe;
+  private final SensorsSession probeSession;
+
+  // The executor running the simulated sensors' publications, the
+  // sessions' crashes and reconnections, the probes and the reports
+  private final ScheduledThreadPoolExecutor loadScheduler;
+
+  // Whether the load generator has been stopped
+  private final AtomicBoolean stopped = new AtomicBoolean(false);
+
+  // The load generator's start time and the statistics at the last report
+  private final long startNanos;
+  private long lastReportNanos;
+  private long lastC02Msgs, lastTempMsgs, lastErrorMsgs;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Initializes a session on the MQTT broker
+   * @param clientID       The session's MQTT client ID
+   * @param sessionSensors The simulated sensors publishing on the session
+   * @return The initialized session
+   */
+  private SensorsSession newSession(String clientID, List<SimulatedSensor> sessionSensors)
+   {
+    try
+     { return new SensorsSession(BROKER_URI,clientID,sessionSensors,loadStats); }
+    catch(MqttException mqttExcp)
+     {
+      Log.code(ERR_LOADGEN_SESSION_INIT_FAILED,"(broker = " + BROKER_URI + ", reason = " + mqttExcp.getMessage() + ")");
+      return null;
+     }
+   }
+
+
+  /**
+   * Schedules the periodic publications of a simulated sensor on its session,
+   * each with a random initial offset so as to spread the load over time
+   * @param session The simulated sensor's session
+   * @param sensor  The simulated sensor
+   */
+  private void scheduleSensor(SensorsSession session, SimulatedSensor sensor)
+   {
+    // The probability a simulated sensor publishes an error on each C02 sample
+    double errProbability = ERR_PERIOD == 0 ? 0 : (double)PUB_PERIOD / ERR_PERIOD;
+
+    loadScheduler.scheduleAtFixedRate(() ->
+     {
+      if(session.publish(TOPIC_SENSORS_C02,sensor.sampleC02Msg()))
+       loadStats.C02Msgs.increment();
+      if(errProbability > 0 && ThreadLocalRandom.current().nextDouble() < errProbability)
+       if(session.publish(TOPIC_SENSORS_ERRORS,sensor.errorMsg()))
+        loadStats.errorMsgs.increment();
+     },ThreadLocalRandom.current().nextInt(PUB_PERIOD),PUB_PERIOD,TimeUnit.MILLISECONDS);
+
+    loadScheduler.scheduleAtFixedRate(() ->
+     {
+      if(session.publish(TOPIC_SENSORS_TEMP,sensor.sampleTempMsg()))
+       loadStats.tempMsgs.increment();
+     },ThreadLocalRandom.current().nextInt(PUB_PERIOD),PUB_PERIOD,TimeUnit.MILLISECONDS);
+   }
+
+
+  /**
+   * Schedules the next crash of a session after an exponentially distributed delay
+   * of DISCONN_PERIOD mean, the session being reconnected SESSION_RECONNECT_DELAY
+   * milliseconds after crashing (and so on until the load generator is stopped)
+   * @param session The session to be crashed
+   */
+  private void scheduleCrash(SensorsSession session)
+   {
+    long crashDelay = (long)(-DISCONN_PERIOD * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+
+    loadScheduler.schedule(() ->
+     {
+      session.crash();
+      scheduleReconnect(session);
+     },crashDelay,TimeUnit.MILLISECONDS);
+   }
+
+
+  /**
+   * Schedules the reconnection of a crashed session, retrying until it succeeds
+   * @param session The crashed session
+   */
+  private void scheduleReconnect(SensorsSession session)
+   {
+    loadScheduler.schedule(() ->
+     {
+      if(stopped.get())
+       return;
+      if(session.connect())
+       scheduleCrash(session);
+      else
+       scheduleReconnect(session);
+     },SESSION_RECONNECT_DELAY,TimeUnit.MILLISECONDS);
+   }
+
+
+  /**
+   * Connects all sessions with the MQTT broker in parallel
+   * @return The number of sessions that have connected with the MQTT broker
+   */
+  private int connectSessions()
+   {
+    ArrayList<Callable<Boolean>> connectTasks = new ArrayList<>();
+    sessions.forEach(session -> connectTasks.add(session::connect));
+
+    int connectedSessions = 0;
+    try
+     {
+      for(var connected : loadScheduler.invokeAll(connectTasks))
+       if(connected.get())
+        connectedSessions++;
+     }
+    catch(Exception connExcp)
+     { Log.err("Interrupted while connecting the sessions with the MQTT broker"); }
+    return connectedSessions;
+   }
+
+
+  /**
+   * Reports the load generator statistics since the last report
+   */
+  private synchronized void report()
+   {
+    long nowNanos = System.nanoTime();
+    double elapsedSecs = (nowNanos - lastReportNanos) / 1e9;
+    long C02Msgs = loadStats.C02Msgs.sum();
+    long tempMsgs = loadStats.tempMsgs.sum();
+    long errorMsgs = loadStats.errorMsgs.sum();
+    long onlineSessions = sessions.stream().filter(SensorsSession::isConnected).count();
+
+    Log.info(String.format("[+%ds] Published %.1f msg/s (C02 %.1f, temp %.1f, errors %.1f), "
+                           + "%d failed, %d/%d sessions online, %d disconnections",
+                           (nowNanos - startNanos) / 1000000000,
+                           (C02Msgs + tempMsgs + errorMsgs - lastC02Msgs - lastTempMsgs - lastErrorMsgs) / elapsedSecs,
+                           (C02Msgs - lastC02Msgs) / elapsedSecs,(tempMsgs - lastTempMsgs) / elapsedSecs,
+                           (errorMsgs - lastErrorMsgs) / elapsedSecs,loadStats.failedMsgs.sum(),
+                           onlineSessions,sessions.size(),loadStats.disconnections.sum()));
+
+    if(latencyProbe != null)
+     {
+      long[] latencies = loadStats.getLatencyPercentiles(50,95,99,100);
+      Log.info(String.format("Ingest latency p50 %dms, p95 %dms, p99 %dms, max %dms (%d probes, %d lost)",
+                             latencies[0],latencies[1],latencies[2],latencies[3],
+                             loadStats.getLatenciesNum(),loadStats.lostProbes.sum()));
+     }
+
+    lastReportNanos = nowNanos;
+    lastC02Msgs = C02Msgs;
+    lastTempMsgs = tempMsgs;
+    lastErrorMsgs = errorMsgs;
+   }
+
+
+  /**
+   * LoadGenerator constructor, registering the simulated sensors into
+   * the database, connecting their sessions with the MQTT broker and
+   * scheduling their publications, crashes, the probes and the reports
+   */
+  private LoadGenerator()
+   {
+    // Attempt to connect with the SafeTunnels MySQL database
+    loadGenMySQLConnector = new LoadGenMySQLConnector();
+
+    // Attempt to register the simulated sensors (and
+    // the latency probe's sensor) into the database
+    ArrayList<String> sensorsMACs = new ArrayList<>();
+    for(int i = 0; i < SENSORS_NUM; i++)
+     sensorsMACs.add(SimulatedSensor.simulatedMAC(i));
+    if(PROBE_PERIOD > 0)
+     sensorsMACs.add(IngestLatencyProbe.PROBE_MAC);
+
+    ArrayList<DevMACIDPair> sensorsList = null;
+    try
+     { sensorsList = loadGenMySQLConnector.registerSensors(sensorsMACs); }
+    catch(SQLException sqlExcp)
+     { Log.code(ERR_LOADGEN_REGISTER_SENSORS_FAILED,"(reason = " + sqlExcp.getMessage() + ")"); }
+    Log.info(sensorsList.size() + " simulated sensors registered into the database");
+
+    // The Cloud Module retrieves the sensors from the database at startup only
+    Log.warn("The Cloud Module must have been (re)started after the simulated "
+             + "sensors' first registration for their messages to be ingested");
+
+    // Initialize the executor, as it is also used to connect the sessions
+    loadScheduler = new ScheduledThreadPoolExecutor(Runtime.getRuntime().availableProcessors());
+    loadScheduler.setRemoveOnCancelPolicy(true);
+
+    // Multiplex the simulated sensors over the sessions in contiguous slices
+    for(int s = 0; s < SESSIONS_NUM; s++)
+     {
+      ArrayList<SimulatedSensor> sessionSensors = new ArrayList<>();
+      for(int i = (int)((long)s * SENSORS_NUM / SESSIONS_NUM); i < (long)(s + 1) * SENSORS_NUM / SESSIONS_NUM; i++)
+       sessionSensors.add(new SimulatedSensor(SimulatedSensor.simulatedMAC(i)));
+      sessions.add(newSession("LoadGen-" + s,sessionSensors));
+     }
+
+    // Initialize the latency probe on its own session
+    if(PROBE_PERIOD > 0)
+     {
+      probeSession = newSession("LoadGen-probe",List.of(new SimulatedSensor(IngestLatencyProbe.PROBE_MAC)));
+      int probeSensorID = sensorsList.stream().filter(sensor -> sensor.MAC.equals(IngestLatencyProbe.PROBE_MAC))
+                                     .findFirst().orElseThrow().ID;
+      latencyProbe = new IngestLatencyProbe(probeSession,probeSensorID,loadGenMySQLConnector,loadStats);
+     }
+    else
+     {
+      probeSession = null;
+      latencyProbe = null;
+     }
+
+    // Connect the sessions with the MQTT broker
+    Log.info("Connecting " + SESSIONS_NUM + " sessions (" + SENSORS_NUM + " sensors) with the MQTT broker...");
+    int connectedSessions = connectSessions();
+    if(probeSession != null && !probeSession.connect())
+     Log.warn("The latency probe's session could not connect, latency will not be measured");
+    Log.info(connectedSessions + "/" + SESSIONS_NUM + " sessions connected with the MQTT broker");
+
+    // Schedule the simulated sensors' publications and the sessions' crashes
+    for(SensorsSession session : sessions)
+     {
+      session.sensors.forEach(sensor -> scheduleSensor(session,sensor));
+      if(DISCONN_PERIOD > 0)
+       {
+        if(session.isConnected())
+         scheduleCrash(session);
+        else
+         scheduleReconnect(session);
+       }
+     }
+
+    // Schedule the latency probes
+    if(latencyProbe != null)
+     {
+      loadScheduler.scheduleAtFixedRate(latencyProbe::probe,0,IngestLatencyProbe.getProbePeriod(),TimeUnit.MILLISECONDS);
+      loadScheduler.scheduleWithFixedDelay(latencyProbe::poll,IngestLatencyProbe.PROBE_POLL_PERIOD,
+                                           IngestLatencyProbe.PROBE_POLL_PERIOD,TimeUnit.MILLISECONDS);
+     }
+
+    // Schedule the reports
+    startNanos = lastReportNanos = System.nanoTime();
+    loadScheduler.scheduleAtFixedRate(this::report,REPORT_PERIOD,REPORT_PERIOD,TimeUnit.MILLISECONDS);
+
+    Log.info("Load generator started (" + SENSORS_NUM + " sensors publishing every "
+             + PUB_PERIOD + "ms, ~" + String.format("%.1f",2000.0 * SENSORS_NUM / PUB_PERIOD) + " msg/s)");
+   }
+
+
+  /**
+   * Stops the load generator, reporting its final
+   * statistics and disconnecting its sessions
+   */
+  private void stop()
+   {
+    if(!stopped.compareAndSet(false,true))
+     return;
+
+    loadScheduler.shutdownNow();
+    try
+     { loadScheduler.awaitTermination(REPORT_PERIOD,TimeUnit.MILLISECONDS); }
+    catch(InterruptedException interruptExcp)
+     { Thread.currentThread().interrupt(); }
+
+    Log.info("Load generator stopped, final statistics:");
+    report();
+    Log.info(loadStats.getPublishedMsgs() + " messages published in total");
+
+    sessions.forEach(SensorsSession::close);
+    if(probeSession != null)
+     probeSession.close();
+    Log.flush();
+   }
+
+
+  /* ============================= PUBLIC METHODS ============================= */
+
+  /**
+   * Load generator application entry point
+   */
+  public static void main(String[] args) throws InterruptedException
+   {
+    // Parse the possible command-line input arguments
+    LoadGenArgsParser.parseLoadGenInputArgs(args);
+
+    // Start the load generator, stopping it when the program is terminated
+    LoadGenerator loadGenerator = new LoadGenerator();
+    Runtime.getRuntime().addShutdownHook(new Thread(loadGenerator::stop));
+
+    // If a duration was provided, stop the load generator when it expires
+    if(DURATION > 0)
+     {
+      Thread.sleep(DURATION * 1000L);
+      loadGenerator.stop();
+     }
+   }
+ }
@@ -0,0 +1,65 @@
+/* SafeTunnels Sensors MQTT Load Generator Errors Definitions */
+
+package LoadGenerator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.EnumMap;
+import java.util.Map;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import errors.ErrCodeInfo;
+import errors.ModuleErrCode;
+import static errors.ErrCodeSeverity.ERROR;
+import static errors.ErrCodeSeverity.FATAL;
+import static errors.ErrCodeSeverity.WARNING;
+
+
+/* ============================== ENUM DEFINITION ============================== */
+public enum LoadGeneratorErrCode implements ModuleErrCode
+ {
+  /* ====================== Enumeration Values Definition ====================== */
+
+  // Failed to register the simulated sensors into the database
+  ERR_LOADGEN_REGISTER_SENSORS_FAILED,
+
+  // Failed to initialize a simulated sensors' session PAHO MQTT client
+  ERR_LOADGEN_SESSION_INIT_FAILED,
+
+  // Failed to connect a simulated sensors' session with the MQTT broker
+  ERR_LOADGEN_SESSION_CONN_FAILED,
+
+  // Failed to retrieve the latency probe's samples from the database
+  ERR_LOADGEN_PROBE_QUERY_FAILED,
+
+  // A latency probe's sample was not ingested into the database within its timeout
+  ERR_LOADGEN_PROBE_LOST;
+
+
+  /* ==================== LoadGenerator ErrCodeInfo Map ==================== */
+
+  private static final EnumMap<LoadGeneratorErrCode,ErrCodeInfo> LoadGeneratorErrCodeInfoMap = new EnumMap<>(Map.ofEntries
+   (
+    Map.entry(ERR_LOADGEN_REGISTER_SENSORS_FAILED,new ErrCodeInfo(FATAL,"Failed to register the simulated sensors into the database")),
+    Map.entry(ERR_LOADGEN_SESSION_INIT_FAILED,new ErrCodeInfo(FATAL,"Failed to initialize a simulated sensors' session PAHO MQTT client")),
+    Map.entry(ERR_LOADGEN_SESSION_CONN_FAILED,new ErrCodeInfo(ERROR,"Failed to connect a simulated sensors' session with the MQTT broker")),
+    Map.entry(ERR_LOADGEN_PROBE_QUERY_FAILED,new ErrCodeInfo(ERROR,"Failed to retrieve the latency probe's samples from the database")),
+    Map.entry(ERR_LOADGEN_PROBE_LOST,new ErrCodeInfo(WARNING,"A latency probe's sample was not ingested into the database in time"))
+   ));
+
+
+  /* ========================== Enumeration Methods  ========================== */
+
+  /**
+   * @return The errCodeInfo object associated with an enum
+   */
+  public ErrCodeInfo getErrCodeInfo()
+   { return LoadGeneratorErrCodeInfoMap.get(this); }
+
+  /**
+   * @return The ModuleErrCode's name
+   */
+  public String getModuleName()
+   { return "LoadGenerator"; }
+ }
@@ -0,0 +1,98 @@
+/*
+ * The statistics of a load generator run, i.e. the number of MQTT messages
+ * published per topic, of the failed publications and of the sessions'
+ * disconnections, and the end-to-end ingest latencies measured by the
+ * latency probe (i.e. from the publication of a sensor's sample on the
+ * MQTT broker to its availability in the SafeTunnels database)
+ */
+
+package LoadGenerator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class LoadStats
+ {
+  /* ============================ PACKAGE ATTRIBUTES ============================ */
+
+  // The number of MQTT messages published per topic
+  final LongAdder C02Msgs = new LongAdder();
+  final LongAdder tempMsgs = new LongAdder();
+  final LongAdder errorMsgs = new LongAdder();
+
+  // The number of MQTT messages that failed to be published
+  // (or were skipped because their session was disconnected)
+  final LongAdder failedMsgs = new LongAdder();
+
+  // The number of simulated sessions' disconnections
+  final LongAdder disconnections = new LongAdder();
+
+  // The number of latency probes lost (i.e. not ingested within their timeout)
+  final LongAdder lostProbes = new LongAdder();
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The measured end-to-end ingest latencies (in milliseconds)
+  private long[] latencies = new long[64];
+  private int latenciesNum = 0;
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * Records a measured end-to-end ingest latency
+   * @param latencyMillis The measured latency in milliseconds
+   */
+  synchronized void recordLatency(long latencyMillis)
+   {
+    if(latenciesNum == latencies.length)
+     latencies = Arrays.copyOf(latencies,latencies.length * 2);
+    latencies[latenciesNum++] = latencyMillis;
+   }
+
+
+  /**
+   * @return The number of measured end-to-end ingest latencies
+   */
+  synchronized int getLatenciesNum()
+   { return latenciesNum; }
+
+
+  /**
+   * Computes the percentiles of the measured end-to-end ingest latencies
+   * @param percentiles The percentiles to be computed (in [0,100])
+   * @return The percentiles of the measured latencies in milliseconds
+   *         (-1 for all percentiles if no latency was measured)
+   */
+  synchronized long[] getLatencyPercentiles(double... percentiles)
+   {
+    long[] latencyPercentiles = new long[percentiles.length];
+    if(latenciesNum == 0)
+     {
+      Arrays.fill(latencyPercentiles,-1);
+      return latencyPercentiles;
+     }
+
+    // Nearest-rank percentiles
+    long[] sortedLatencies = Arrays.copyOf(latencies,latenciesNum);
+    Arrays.sort(sortedLatencies);
+    for(int i = 0; i < percentiles.length; i++)
+     {
+      int rank = (int)Math.ceil(percentiles[i] / 100 * latenciesNum);
+      latencyPercentiles[i] = sortedLatencies[Math.max(rank,1) - 1];
+     }
+    return latencyPercentiles;
+   }
+
+
+  /**
+   * @return The total number of MQTT messages published so far
+   */
+  long getPublishedMsgs()
+   { return C02Msgs.sum() + tempMsgs.sum() + errorMsgs.sum(); }
+ }
@@ -0,0 +1,254 @@
+/*
+ * A MQTT client session of the load generator with the MQTT broker, on which
+ * one or more simulated sensors publish their MQTT messages (multiple sensors
+ * being multiplexed on a session to bound the load generator's connections and
+ * threads), where:
+ *   - As with the Contiki-NG sensors, the session's "last will" message reports
+ *     the disconnection of its (first) sensor on the TOPIC_SENSORS_ERRORS topic
+ *   - A session can be crashed, i.e. abruptly closed without disconnecting from
+ *     the MQTT broker, so that the broker publishes its "last will" message (the
+ *     disconnection of any other sensor multiplexed on the session being
+ *     published by the session itself right before crashing)
+ */
+
+package LoadGenerator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.util.ArrayList;
+import java.util.List;
+
+/* ----------------------- Maven Dependencies Resources ----------------------- */
+
+// Paho MQTT Client
+import org.eclipse.paho.client.mqttv3.*;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import logging.Log;
+import static devices.sensor.BaseSensor.TOPIC_SENSORS_ERRORS;
+import static LoadGenerator.LoadGeneratorErrCode.ERR_LOADGEN_SESSION_CONN_FAILED;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class SensorsSession implements MqttCallbackExtended
+ {
+  /* ========================== SESSION PARAMETERS ========================== */
+
+  // The maximum time in milliseconds waited for the session to connect with the broker
+  private static final int SESSION_CONN_TIMEOUT = 10 * 1000;
+
+  // The MQTT keep-alive interval in seconds (as of the Contiki-NG
+  // sensors' MQTT_BROKER_KEEPALIVE_TIMEOUT, see sensor.h)
+  private static final int SESSION_KEEPALIVE = 60;
+
+  // The maximum number of in-flight MQTT messages per simulated sensor
+  private static final int SESSION_MAX_INFLIGHT_PER_SENSOR = 16;
+
+  // The maximum time in milliseconds waited for the disconnection messages of
+  // the sensors multiplexed on the session to be delivered before it crashes
+  private static final int SESSION_CRASH_FLUSH_TIMEOUT = 5 * 1000;
+
+  /* ============================ PACKAGE ATTRIBUTES ============================ */
+
+  // The simulated sensors publishing on the session
+  final List<SimulatedSensor> sensors;
+
+  /* ============================ PRIVATE ATTRIBUTES ============================ */
+
+  // The session's PAHO MQTT client
+  private final MqttAsyncClient MQTTClient;
+
+  // The session's MQTT connection options
+  private final MqttConnectOptions MQTTConnOpts;
+
+  // The load generator's statistics
+  private final LoadStats loadStats;
+
+  // Whether the session is connected with the MQTT broker
+  private volatile boolean connected;
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * SensorsSession constructor, initializing the session's PAHO MQTT client
+   * @param brokerURI The MQTT broker's URI
+   * @param clientID  The session's MQTT client ID
+   * @param sensors   The simulated sensors publishing on the session
+   * @param loadStats The load generator's statistics
+   * @throws MqttException Failed to initialize the PAHO MQTT client
+   */
+  SensorsSession(String brokerURI, String clientID, List<SimulatedSensor> sensors,
+                 LoadStats loadStats) throws MqttException
+   {
+    this.sensors = sensors;
+    this.loadStats = loadStats;
+    connected = false;
+
+    MQTTClient = new MqttAsyncClient(brokerURI,clientID,new MemoryPersistence());
+    MQTTClient.setCallback(this);
+
+    // Set the session's "last will" message as the disconnection of
+    // its first sensor, reconnecting automatically should the session
+    // unexpectedly lose its connection with the MQTT broker
+    MQTTConnOpts = new MqttConnectOptions();
+    MQTTConnOpts.setCleanSession(true);
+    MQTTConnOpts.setKeepAliveInterval(SESSION_KEEPALIVE);
+    MQTTConnOpts.setConnectionTimeout(SESSION_CONN_TIMEOUT / 1000);
+    MQTTConnOpts.setMaxInflight(Math.max(MqttConnectOptions.MAX_INFLIGHT_DEFAULT,
+                                         sensors.size() * SESSION_MAX_INFLIGHT_PER_SENSOR));
+    MQTTConnOpts.setAutomaticReconnect(true);
+    MQTTConnOpts.setWill(TOPIC_SENSORS_ERRORS,sensors.get(0).lastWillMsg(),0,false);
+   }
+
+
+  /**
+   * Attempts to connect the session with the MQTT broker, waiting for the connection
+   * @return Whether the session has connected with the MQTT broker
+   */
+  boolean connect()
+   {
+    try
+     {
+      MQTTClient.connect(MQTTConnOpts).waitForCompletion(SESSION_CONN_TIMEOUT);
+      connected = true;
+      return true;
+     }
+    catch(MqttException mqttExcp)
+     {
+      Log.code(ERR_LOADGEN_SESSION_CONN_FAILED,"(session = " + MQTTClient.getClientId()
+               + ", reason = " + mqttExcp.getMessage() + ")");
+      return false;
+     }
+   }
+
+
+  /**
+   * Publishes a MQTT message on the session (QoS 0, as the Contiki-NG sensors)
+   * @param topic   The MQTT message's topic
+   * @param payload The MQTT message's payload
+   * @return Whether the MQTT message was published (false if it failed
+   *         to be published or the session is disconnected)
+   */
+  boolean publish(String topic, byte[] payload)
+   {
+    if(!connected)
+     {
+      loadStats.failedMsgs.increment();
+      return false;
+     }
+
+    try
+     {
+      MQTTClient.publish(topic,payload,0,false);
+      return true;
+     }
+    catch(MqttException mqttExcp)
+     {
+      loadStats.failedMsgs.increment();
+      return false;
+     }
+   }
+
+
+  /**
+   * Crashes the session, closing its connection with the MQTT broker without
+   * disconnecting, so that the broker publishes the session's "last will" message
+   */
+  void crash()
+   {
+    if(!connected)
+     return;
+
+    // Report the disconnection of the sensors multiplexed on the session other than the
+    // first, whose disconnection is reported by the MQTT broker via the "last will" message,
+    // at QoS 1 so that they can be waited to be delivered before the session crashes
+    ArrayList<IMqttDeliveryToken> willTokens = new ArrayList<>();
+    for(SimulatedSensor sensor : sensors.subList(1,sensors.size()))
+     try
+      { willTokens.add(MQTTClient.publish(TOPIC_SENSORS_ERRORS,sensor.lastWillMsg(),1,false)); }
+     catch(MqttException mqttExcp)
+      { loadStats.failedMsgs.increment(); }
+
+    // Wait for the disconnection messages to be delivered (up to a timeout), as
+    // the forced disconnection discards the messages not yet sent to the broker
+    long flushDeadline = System.currentTimeMillis() + SESSION_CRASH_FLUSH_TIMEOUT;
+    for(IMqttDeliveryToken willToken : willTokens)
+     try
+      { willToken.waitForCompletion(Math.max(1,flushDeadline - System.currentTimeMillis())); }
+     catch(MqttException mqttExcp)
+      { loadStats.failedMsgs.increment(); }
+
+    connected = false;
+    try
+     { MQTTClient.disconnectForcibly(0,0,false); }
+    catch(MqttException mqttExcp)
+     { Log.dbg("Session " + MQTTClient.getClientId() + " crash error (reason = " + mqttExcp.getMessage() + ")"); }
+
+    loadStats.disconnections.add(sensors.size());
+   }
+
+
+  /**
+   * @return Whether the session is connected with the MQTT broker
+   */
+  boolean isConnected()
+   { return connected; }
+
+
+  /**
+   * Closes the session, disconnecting it from the MQTT broker
+   * (so that its "last will" message is not published)
+   */
+  void close()
+   {
+    connected = false;
+    try
+     {
+      if(MQTTClient.isConnected())
+       MQTTClient.disconnect().waitForCompletion(SESSION_CONN_TIMEOUT);
+      MQTTClient.close();
+     }
+    catch(MqttException mqttExcp)
+     { Log.dbg("Session " + MQTTClient.getClientId() + " close error (reason = " + mqttExcp.getMessage() + ")"); }
+   }
+
+
+  /* ======================== PAHO MQTT CLIENT CALLBACKS ======================== */
+
+  /**
+   * Marks the session as connected upon (automatically) reconnecting with the MQTT broker
+   */
+  @Override
+  public void connectComplete(boolean reconnect, String serverURI)
+   {
+    if(reconnect)
+     {
+      connected = true;
+      Log.dbg("Session " + MQTTClient.getClientId() + " reconnected with the MQTT broker");
+     }
+   }
+
+  /**
+   * Marks the session as disconnected upon losing its connection
+   * with the MQTT broker (which is automatically re-established)
+   */
+  @Override
+  public void connectionLost(Throwable cause)
+   {
+    connected = false;
+    Log.warn("Session " + MQTTClient.getClientId() + " lost its connection with "
+             + "the MQTT broker (reason = " + cause.getMessage() + ")");
+   }
+
+  // The session is not subscribed on any topic
+  @Override
+  public void messageArrived(String topic, MqttMessage mqttMsg)
+   { }
+
+  @Override
+  public void deliveryComplete(IMqttDeliveryToken token)
+   { }
+ }
@@ -0,0 +1,148 @@
+/*
+ * A simulated SafeTunnels sensor, sampling realistic C02 density and temperature
+ * values (as a bounded random walk) and building the MQTT messages the Contiki-NG
+ * sensors publish (see contikiNG_devices/src/sensor/sensor.c) in the same format
+ */
+
+package LoadGenerator;
+
+/* ================================== IMPORTS ================================== */
+
+/* --------------------- Java Standard Libraries Resources --------------------- */
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/* --------------------------- SafeTunnels Resources --------------------------- */
+import devices.DevicesRegistry;
+import devices.sensor.BaseSensorErrCode;
+import static devices.sensor.BaseSensor.SensorMQTTCliState.MQTT_CLI_STATE_BROKER_SUBSCRIBED;
+import static devices.sensor.BaseSensorErrCode.ERR_SENSOR_MQTT_DISCONNECTED;
+
+
+/* ============================== CLASS DEFINITION ============================== */
+final class SimulatedSensor
+ {
+  /* ========================== SAMPLING PARAMETERS ========================== */
+
+  // The C02 density sampling bounds and maximum step (ppm)
+  private static final int C02_MIN = 400;
+  private static final int C02_MAX = 3000;
+  private static final int C02_MAX_STEP = 80;
+
+  // The temperature sampling bounds and maximum step (°C)
+  private static final int TEMP_MIN = 10;
+  private static final int TEMP_MAX = 45;
+  private static final int TEMP_MAX_STEP = 1;
+
+  /* ============================ PACKAGE ATTRIBUTES ============================ */
+
+  // The sensor's (unique) MAC
+  final String MAC;
+
+  // The sensor's last sampled quantities (each only
+  // accessed by its quantity's sampling task)
+  private int C02;
+  private int temp;
+
+
+  /* ============================== PRIVATE METHODS ============================== */
+
+  /**
+   * Performs a step of a bounded random walk
+   * @param value   The current value
+   * @param maxStep The maximum step (in absolute value)
+   * @param min     The minimum value
+   * @param max     The maximum value
+   * @return The next value
+   */
+  private static int randomWalk(int value, int maxStep, int min, int max)
+   {
+    int nextValue = value + ThreadLocalRandom.current().nextInt(-maxStep,maxStep + 1);
+    return Math.max(min,Math.min(max,nextValue));
+   }
+
+
+  /* ============================= PACKAGE METHODS ============================= */
+
+  /**
+   * SimulatedSensor constructor, initializing its
+   * MAC and its quantities at random starting values
+   * @param MAC The sensor's (unique) MAC
+   */
+  SimulatedSensor(String MAC)
+   {
+    this.MAC = MAC;
+    C02 = ThreadLocalRandom.current().nextInt(C02_MIN,(C02_MIN + C02_MAX) / 2);
+    temp = ThreadLocalRandom.current().nextInt(TEMP_MIN + 5,(TEMP_MIN + TEMP_MAX) / 2);
+   }
+
+
+  /**
+   * Builds the MAC of the i-th simulated sensor (EUI-64, as of the Contiki-NG
+   * devices), sharing the "4c:47" ("LG") prefix to be told apart from real sensors
+   * @param i The index of the simulated sensor
+   * @return The MAC of the i-th simulated sensor
+   */
+  static String simulatedMAC(int i)
+   { return DevicesRegistry.syntheticMAC("4c:47:00:00",i); }
+
+
+  /**
+   * Builds a sensor quantity MQTT message
+   * @param quantity The quantity's JSON attribute name ("C02" || "temp")
+   * @param value    The quantity's value
+   * @return The quantity MQTT message payload
+   */
+  byte[] quantityMsg(String quantity, int value)
+   { return ("{ \"MAC\": \"" + MAC + "\", \"" + quantity + "\": " + value + " }").getBytes(StandardCharsets.US_ASCII); }
+
+
+  /**
+   * Samples the sensor's C02 density
+   * @return The C02 density MQTT message payload
+   */
+  byte[] sampleC02Msg()
+   {
+    C02 = randomWalk(C02,C02_MAX_STEP,C02_MIN,C02_MAX);
+    return quantityMsg("C02",C02);
+   }
+
+
+  /**
+   * Samples the sensor's temperature
+   * @return The temperature MQTT message payload
+   */
+  byte[] sampleTempMsg()
+   {
+    temp = randomWalk(temp,TEMP_MAX_STEP,TEMP_MIN,TEMP_MAX);
+    return quantityMsg("temp",temp);
+   }
+
+
+  /**
+   * Builds an error MQTT message reporting a random error other than the sensor's
+   * disconnection, as published by a sensor connected with the MQTT broker
+   * @return The error MQTT message payload
+   */
+  byte[] errorMsg()
+   {
+    BaseSensorErrCode[] sensorErrCodes = BaseSensorErrCode.values();
+    BaseSensorErrCode sensorErrCode = sensorErrCodes[ThreadLocalRandom.current().nextInt(1,sensorErrCodes.length)];
+
+    return ("{ \"MAC\": \"" + MAC + "\", \"errCode\": " + sensorErrCode.ordinal()
+            + ", \"errDscr\": \"simulated error\", \"MQTTCliState\": "
+            + MQTT_CLI_STATE_BROKER_SUBSCRIBED.ordinal() + " }").getBytes(StandardCharsets.US_ASCII);
+   }
+
+
+  /**
+   * Builds the sensor's "last will" MQTT message, published by the MQTT
+   * broker on behalf of the sensor should it disconnect from the broker
+   * @return The "last will" MQTT message payload
+   */
+  byte[] lastWillMsg()
+   {
+    return ("{ \"MAC\": \"" + MAC + "\", \"errCode\": " + ERR_SENSOR_MQTT_DISCONNECTED.ordinal()
+            + " }").getBytes(StandardCharsets.US_ASCII);
+   }
+ }